@@ -0,0 +1,80 @@
+package io.github.booster.commons.bulkhead
+
+import arrow.core.Option
+import io.github.booster.commons.cache.GenericKeyedObjectCache
+import io.github.booster.commons.cache.KeyedCacheObjectFactory
+import io.github.booster.commons.cache.KeyedObjectCache
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.resilience4j.bulkhead.Bulkhead
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead
+import org.slf4j.LoggerFactory
+
+/**
+ * Provides a central repository for [Bulkhead] and [ThreadPoolBulkhead] management.
+ * Semaphore bulkheads are retrieved with [tryGet], thread pool bulkheads with
+ * [tryGetThreadPool], depending on the [BulkheadSetting.type] of the setting.
+ */
+class BulkheadConfig @JvmOverloads constructor(settings: Map<String, BulkheadSetting>? = null) :
+    KeyedCacheObjectFactory<String, Bulkhead>, KeyedObjectCache<String, Bulkhead> {
+
+    private var settings: Map<String, BulkheadSetting>
+
+    private var registry: MetricsRegistry? = null
+
+    private var pool: GenericKeyedObjectCache<String, Bulkhead>
+
+    private var threadPool: GenericKeyedObjectCache<String, ThreadPoolBulkhead>
+
+    /**
+     * Constructor with default bulkhead settings.
+     * @param settings map of [BulkheadSetting] identified by name
+     */
+    init {
+        this.settings = settings ?: HashMap()
+        this.pool = GenericKeyedObjectCache(this)
+        this.threadPool = this.createThreadPoolCache()
+    }
+
+    private fun createThreadPoolCache() = GenericKeyedObjectCache(
+        object : KeyedCacheObjectFactory<String, ThreadPoolBulkhead> {
+            override fun create(key: String): ThreadPoolBulkhead? {
+                log.debug("booster-commons - cache contains [{}] entry: {}", key, settings.containsKey(key))
+                return settings[key]?.buildThreadPoolBulkhead(key, registry)?.orNull()
+            }
+        }
+    )
+
+    override fun create(key: String): Bulkhead? {
+        log.debug("booster-commons - cache contains [{}] entry: {}", key, settings.containsKey(key))
+        return if (settings.containsKey(key))
+            settings[key]!!.buildBulkhead(key, registry).orNull()
+        else null
+    }
+
+    override fun get(key: String): Bulkhead? = this.pool.get(key)
+
+    /**
+     * Retrieves a thread pool bulkhead by name.
+     * @param key name of the bulkhead.
+     * @return [Option] of [ThreadPoolBulkhead], empty if there is no thread pool bulkhead setting of the name.
+     */
+    fun tryGetThreadPool(key: String): Option<ThreadPoolBulkhead> = Option.fromNullable(this.threadPool.get(key))
+
+    fun setSettings(settings: Map<String, BulkheadSetting>?) {
+        this.settings = settings ?: mapOf()
+        this.pool = GenericKeyedObjectCache(this)
+        this.threadPool = this.createThreadPoolCache()
+    }
+
+    fun getSettings() = this.settings
+
+    fun setMetricsRegistry(registry: MetricsRegistry?) {
+        this.registry = registry ?: MetricsRegistry()
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(BulkheadConfig::class.java)
+    }
+
+    override fun getKeys(): Set<String> = this.pool.getKeys()
+}
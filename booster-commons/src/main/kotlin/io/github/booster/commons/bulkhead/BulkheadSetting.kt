@@ -0,0 +1,170 @@
+package io.github.booster.commons.bulkhead
+
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.resilience4j.bulkhead.Bulkhead
+import io.github.resilience4j.bulkhead.BulkheadConfig
+import io.github.resilience4j.bulkhead.BulkheadRegistry
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics
+import io.github.resilience4j.micrometer.tagged.TaggedThreadPoolBulkheadMetrics
+import lombok.ToString
+import java.time.Duration
+
+/**
+ * Bulkhead settings, either a semaphore or a thread pool bulkhead.
+ */
+@ToString
+class BulkheadSetting {
+
+    /**
+     * Type of bulkhead.
+     */
+    enum class Type {
+        /**
+         * Caps concurrent calls with a semaphore, calls run on the caller's thread.
+         */
+        SEMAPHORE,
+
+        /**
+         * Runs calls on a bounded thread pool with a bounded queue.
+         */
+        THREAD_POOL
+    }
+
+    var type: Type? = Type.SEMAPHORE
+        /**
+         * Type of bulkhead, defaults to semaphore.
+         * @return bulkhead type.
+         */
+        get() = field ?: Type.SEMAPHORE
+        set(type) {
+            field = type ?: Type.SEMAPHORE
+        }
+
+    /**
+     * Maximum number of concurrent calls of a semaphore bulkhead.
+     */
+    var maxConcurrentCalls = DEFAULT_MAX_CONCURRENT_CALLS
+        set(maxConcurrentCalls) {
+            field = if (maxConcurrentCalls <= 0) DEFAULT_MAX_CONCURRENT_CALLS else maxConcurrentCalls
+        }
+
+    /**
+     * Maximum time a call waits for a semaphore bulkhead permit, 0 rejects right away.
+     */
+    var maxWaitDurationMillis = 0
+        set(maxWaitDurationMillis) {
+            field = if (maxWaitDurationMillis < 0) 0 else maxWaitDurationMillis
+        }
+
+    /**
+     * Core size of a thread pool bulkhead.
+     */
+    var coreThreadPoolSize = DEFAULT_CORE_THREAD_POOL_SIZE
+        set(coreThreadPoolSize) {
+            field = if (coreThreadPoolSize <= 0) DEFAULT_CORE_THREAD_POOL_SIZE else coreThreadPoolSize
+        }
+
+    /**
+     * Max size of a thread pool bulkhead, at least the core size.
+     */
+    var maxThreadPoolSize = DEFAULT_MAX_THREAD_POOL_SIZE
+        set(maxThreadPoolSize) {
+            field = if (maxThreadPoolSize <= 0) DEFAULT_MAX_THREAD_POOL_SIZE else maxThreadPoolSize
+        }
+
+    /**
+     * Queue capacity of a thread pool bulkhead, calls are rejected once it is full.
+     */
+    var queueCapacity = DEFAULT_QUEUE_CAPACITY
+        set(queueCapacity) {
+            field = if (queueCapacity < 0) DEFAULT_QUEUE_CAPACITY else queueCapacity
+        }
+
+    /**
+     * Time idle threads above the core size of a thread pool bulkhead are kept alive.
+     */
+    var keepAliveMillis = DEFAULT_KEEP_ALIVE_MILLIS
+        set(keepAliveMillis) {
+            field = if (keepAliveMillis <= 0) DEFAULT_KEEP_ALIVE_MILLIS else keepAliveMillis
+        }
+
+    /**
+     * Builds a semaphore [Bulkhead] using name, will also record metrics.
+     * @param name name of [Bulkhead]
+     * @param metricsRegistry [MetricsRegistry] to record metrics.
+     * @return optional [Bulkhead], empty if this is a thread pool bulkhead setting.
+     */
+    @JvmOverloads
+    fun buildBulkhead(name: String, metricsRegistry: MetricsRegistry? = null): Option<Bulkhead> {
+        Preconditions.checkArgument(name.isNotEmpty(), "name cannot be null")
+        if (this.type != Type.SEMAPHORE) {
+            return Option.fromNullable(null)
+        }
+        val config = BulkheadConfig.custom()
+            .maxConcurrentCalls(this.maxConcurrentCalls)
+            .maxWaitDuration(Duration.ofMillis(this.maxWaitDurationMillis.toLong()))
+            .build()
+        val bulkheadRegistry = BulkheadRegistry.of(config)
+        metricsRegistry?.registryOption?.map {
+            TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(it)
+        }
+        return Option.fromNullable(bulkheadRegistry.bulkhead(name, config))
+    }
+
+    /**
+     * Builds a [ThreadPoolBulkhead] using name, will also record metrics.
+     * @param name name of [ThreadPoolBulkhead]
+     * @param metricsRegistry [MetricsRegistry] to record metrics.
+     * @return optional [ThreadPoolBulkhead], empty if this is a semaphore bulkhead setting.
+     */
+    @JvmOverloads
+    fun buildThreadPoolBulkhead(name: String, metricsRegistry: MetricsRegistry? = null): Option<ThreadPoolBulkhead> {
+        Preconditions.checkArgument(name.isNotEmpty(), "name cannot be null")
+        if (this.type != Type.THREAD_POOL) {
+            return Option.fromNullable(null)
+        }
+        val config = ThreadPoolBulkheadConfig.custom()
+            .coreThreadPoolSize(this.coreThreadPoolSize)
+            .maxThreadPoolSize(maxOf(this.coreThreadPoolSize, this.maxThreadPoolSize))
+            .queueCapacity(this.queueCapacity)
+            .keepAliveDuration(Duration.ofMillis(this.keepAliveMillis.toLong()))
+            .build()
+        val bulkheadRegistry = ThreadPoolBulkheadRegistry.of(config)
+        metricsRegistry?.registryOption?.map {
+            TaggedThreadPoolBulkheadMetrics.ofThreadPoolBulkheadRegistry(bulkheadRegistry).bindTo(it)
+        }
+        return Option.fromNullable(bulkheadRegistry.bulkhead(name, config))
+    }
+
+    companion object {
+        /**
+         * Default maximum number of concurrent calls of a semaphore bulkhead.
+         */
+        const val DEFAULT_MAX_CONCURRENT_CALLS = 25
+
+        /**
+         * Default core size of a thread pool bulkhead.
+         */
+        const val DEFAULT_CORE_THREAD_POOL_SIZE = 10
+
+        /**
+         * Default max size of a thread pool bulkhead.
+         */
+        const val DEFAULT_MAX_THREAD_POOL_SIZE = 10
+
+        /**
+         * Default queue capacity of a thread pool bulkhead.
+         */
+        const val DEFAULT_QUEUE_CAPACITY = 100
+
+        /**
+         * Default keep alive time of a thread pool bulkhead in milliseconds.
+         */
+        const val DEFAULT_KEEP_ALIVE_MILLIS = 20
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.booster.commons.circuit.breaker
 
 import com.google.common.base.Preconditions
+import io.github.booster.commons.deadline.DeadlineExceededException
 import io.github.booster.commons.metrics.MetricsRegistry
 import io.github.resilience4j.circuitbreaker.CircuitBreaker
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig
@@ -192,6 +193,7 @@ class CircuitBreakerSetting {
             .slidingWindowSize(slidingWindowSize)
             .minimumNumberOfCalls(minimumNumberOfCalls)
             .waitDurationInOpenState(Duration.ofMillis(waitDurationInOpenState.toLong()))
+            .ignoreExceptions(DeadlineExceededException::class.java)
         if (isAutomaticTransitionFromOpenToHalfOpenEnabled) {
             builder.enableAutomaticTransitionFromOpenToHalfOpen()
         }
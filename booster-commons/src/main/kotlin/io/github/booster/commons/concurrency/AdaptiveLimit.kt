@@ -0,0 +1,20 @@
+package io.github.booster.commons.concurrency
+
+/**
+ * Algorithm adjusting a concurrency limit from observed latencies.
+ */
+interface AdaptiveLimit {
+
+    /**
+     * Current concurrency limit.
+     */
+    val limit: Int
+
+    /**
+     * Updates the limit with a completed request.
+     * @param rttNanos latency of the request in nanoseconds.
+     * @param inFlight number of requests in flight when the request started completing, including itself.
+     * @param dropped whether the request was dropped, e.g. timed out, a sign of overload.
+     */
+    fun onSample(rttNanos: Long, inFlight: Int, dropped: Boolean)
+}
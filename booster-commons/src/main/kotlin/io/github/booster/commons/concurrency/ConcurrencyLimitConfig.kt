@@ -0,0 +1,55 @@
+package io.github.booster.commons.concurrency
+
+import io.github.booster.commons.cache.GenericKeyedObjectCache
+import io.github.booster.commons.cache.KeyedCacheObjectFactory
+import io.github.booster.commons.cache.KeyedObjectCache
+import io.github.booster.commons.metrics.MetricsRegistry
+import org.slf4j.LoggerFactory
+
+/**
+ * Provides a central repository for [ConcurrencyLimiter] management.
+ */
+class ConcurrencyLimitConfig @JvmOverloads constructor(settings: Map<String, ConcurrencyLimitSetting>? = null) :
+    KeyedCacheObjectFactory<String, ConcurrencyLimiter>, KeyedObjectCache<String, ConcurrencyLimiter> {
+
+    private var settings: Map<String, ConcurrencyLimitSetting>
+
+    private var registry: MetricsRegistry? = null
+
+    private var pool: GenericKeyedObjectCache<String, ConcurrencyLimiter>
+
+    /**
+     * Constructor with default concurrency limit settings.
+     * @param settings map of [ConcurrencyLimitSetting] identified by name
+     */
+    init {
+        this.settings = settings ?: HashMap()
+        this.pool = GenericKeyedObjectCache(this)
+    }
+
+    override fun create(key: String): ConcurrencyLimiter? {
+        log.debug("booster-commons - cache contains [{}] entry: {}", key, settings.containsKey(key))
+        return if (settings.containsKey(key))
+            settings[key]!!.buildLimiter(key, registry).orNull()
+        else null
+    }
+
+    override fun get(key: String): ConcurrencyLimiter? = this.pool.get(key)
+
+    fun setSettings(settings: Map<String, ConcurrencyLimitSetting>?) {
+        this.settings = settings ?: mapOf()
+        this.pool = GenericKeyedObjectCache(this)
+    }
+
+    fun getSettings() = this.settings
+
+    fun setMetricsRegistry(registry: MetricsRegistry?) {
+        this.registry = registry ?: MetricsRegistry()
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(ConcurrencyLimitConfig::class.java)
+    }
+
+    override fun getKeys(): Set<String> = this.pool.getKeys()
+}
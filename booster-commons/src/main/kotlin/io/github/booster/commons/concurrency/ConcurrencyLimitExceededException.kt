@@ -0,0 +1,7 @@
+package io.github.booster.commons.concurrency
+
+/**
+ * Thrown when a request is rejected because its concurrency limit is reached.
+ * @param message exception message.
+ */
+class ConcurrencyLimitExceededException(message: String) : RuntimeException(message)
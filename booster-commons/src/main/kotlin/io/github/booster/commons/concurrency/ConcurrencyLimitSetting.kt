@@ -0,0 +1,88 @@
+package io.github.booster.commons.concurrency
+
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import io.github.booster.commons.metrics.MetricsRegistry
+import lombok.ToString
+
+/**
+ * Adaptive concurrency limit settings.
+ */
+@ToString
+class ConcurrencyLimitSetting {
+
+    /**
+     * Algorithm to adjust the limit with.
+     */
+    enum class Algorithm {
+        /**
+         * Follows the ratio of long term to latest latency, see [GradientLimit].
+         */
+        GRADIENT,
+
+        /**
+         * Follows the queue size estimated from minimum latency, see [VegasLimit].
+         */
+        VEGAS
+    }
+
+    var algorithm: Algorithm? = Algorithm.GRADIENT
+        /**
+         * Algorithm to adjust the limit with, defaults to gradient.
+         * @return limit algorithm.
+         */
+        get() = field ?: Algorithm.GRADIENT
+        set(algorithm) {
+            field = algorithm ?: Algorithm.GRADIENT
+        }
+
+    var initialLimit = DEFAULT_INITIAL_LIMIT
+        set(initialLimit) {
+            field = if (initialLimit <= 0) DEFAULT_INITIAL_LIMIT else initialLimit
+        }
+
+    var minLimit = DEFAULT_MIN_LIMIT
+        set(minLimit) {
+            field = if (minLimit <= 0) DEFAULT_MIN_LIMIT else minLimit
+        }
+
+    var maxLimit = DEFAULT_MAX_LIMIT
+        set(maxLimit) {
+            field = if (maxLimit <= 0) DEFAULT_MAX_LIMIT else maxLimit
+        }
+
+    /**
+     * Builds a [ConcurrencyLimiter] using name, will also record metrics.
+     * @param name name of [ConcurrencyLimiter]
+     * @param metricsRegistry [MetricsRegistry] to record metrics.
+     * @return optional [ConcurrencyLimiter]
+     */
+    @JvmOverloads
+    fun buildLimiter(name: String, metricsRegistry: MetricsRegistry? = null): Option<ConcurrencyLimiter> {
+        Preconditions.checkArgument(name.isNotEmpty(), "name cannot be null")
+        val max = maxOf(this.minLimit, this.maxLimit)
+        val limit = if (this.algorithm == Algorithm.VEGAS) {
+            VegasLimit(this.initialLimit, this.minLimit, max)
+        } else {
+            GradientLimit(this.initialLimit, this.minLimit, max)
+        }
+        return Option.fromNullable(ConcurrencyLimiter(name, limit, metricsRegistry ?: MetricsRegistry()))
+    }
+
+    companion object {
+        /**
+         * Default initial limit.
+         */
+        const val DEFAULT_INITIAL_LIMIT = 20
+
+        /**
+         * Default minimum limit.
+         */
+        const val DEFAULT_MIN_LIMIT = 1
+
+        /**
+         * Default maximum limit.
+         */
+        const val DEFAULT_MAX_LIMIT = 200
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.booster.commons.concurrency
+
+import io.github.booster.commons.metrics.BoundCounter
+import io.github.booster.commons.metrics.MetricsRegistry
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Concurrency limiter with an adaptive limit. Requests over the limit are
+ * rejected rather than queued; every acquired request must be completed
+ * with exactly one of [onSuccess], [onDropped] or [onIgnore].
+ * @param name name of the limiter, used as metric tag.
+ * @param adaptiveLimit [AdaptiveLimit] adjusting the limit.
+ * @param registry [MetricsRegistry] to report limit, requests in flight and rejections.
+ */
+class ConcurrencyLimiter @JvmOverloads constructor(
+    val name: String,
+    private val adaptiveLimit: AdaptiveLimit,
+    registry: MetricsRegistry = MetricsRegistry()
+) {
+
+    private val inFlight = AtomicInteger(0)
+
+    private val reportedLimit = AtomicInteger(adaptiveLimit.limit)
+
+    private val rejectedCounter: BoundCounter = registry.boundCounter(CONCURRENCY_LIMIT_REJECTED_COUNT, NAME, name)
+
+    init {
+        registry.gauge(this.reportedLimit, CONCURRENCY_LIMIT, NAME, name)
+        registry.gauge(this.inFlight, CONCURRENCY_IN_FLIGHT, NAME, name)
+    }
+
+    /**
+     * Current concurrency limit.
+     */
+    val limit: Int
+        get() = this.adaptiveLimit.limit
+
+    /**
+     * Number of requests in flight.
+     */
+    val inFlightCount: Int
+        get() = this.inFlight.get()
+
+    /**
+     * Acquires a permit if the number of requests in flight is under the limit.
+     * @return true if acquired, false if rejected.
+     */
+    fun tryAcquire(): Boolean {
+        while (true) {
+            val current = this.inFlight.get()
+            if (current >= this.adaptiveLimit.limit) {
+                this.rejectedCounter.increment()
+                return false
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                return true
+            }
+        }
+    }
+
+    /**
+     * Completes a request that succeeded, its latency adjusts the limit.
+     * @param rttNanos latency in nanoseconds.
+     */
+    fun onSuccess(rttNanos: Long) {
+        this.release(rttNanos, false)
+    }
+
+    /**
+     * Completes a request that was dropped, e.g. timed out, which shrinks the limit.
+     * @param rttNanos latency in nanoseconds.
+     */
+    fun onDropped(rttNanos: Long) {
+        this.release(rttNanos, true)
+    }
+
+    /**
+     * Completes a request without adjusting the limit, e.g. failed for reasons unrelated to load.
+     */
+    fun onIgnore() {
+        this.inFlight.decrementAndGet()
+    }
+
+    private fun release(rttNanos: Long, dropped: Boolean) {
+        val current = this.inFlight.getAndDecrement()
+        this.adaptiveLimit.onSample(rttNanos, current, dropped)
+        this.reportedLimit.set(this.adaptiveLimit.limit)
+    }
+
+    companion object {
+        /**
+         * Concurrency limit gauge name.
+         */
+        const val CONCURRENCY_LIMIT = "concurrency_limit"
+
+        /**
+         * Requests in flight gauge name.
+         */
+        const val CONCURRENCY_IN_FLIGHT = "concurrency_in_flight"
+
+        /**
+         * Rejected request count metric name.
+         */
+        const val CONCURRENCY_LIMIT_REJECTED_COUNT = "concurrency_limit_rejected_count"
+
+        private const val NAME = "name"
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.booster.commons.concurrency
+
+import com.google.common.base.Preconditions
+import kotlin.math.max
+import kotlin.math.min
+import kotlin.math.sqrt
+
+/**
+ * Gradient based limit. The limit follows the ratio of long term average latency
+ * to the latest latency: it grows while latency stays at its long term level and
+ * shrinks as soon as latency rises above it, i.e. when requests start queueing.
+ * @param initialLimit initial limit.
+ * @param minLimit minimum limit.
+ * @param maxLimit maximum limit.
+ * @param smoothing weight of a new limit against the current limit, between 0 and 1.
+ * @param tolerance latency increase tolerated before the limit shrinks, at least 1.
+ * @param longWindow number of requests the long term average latency spans.
+ */
+class GradientLimit @JvmOverloads constructor(
+    initialLimit: Int,
+    private val minLimit: Int,
+    private val maxLimit: Int,
+    private val smoothing: Double = DEFAULT_SMOOTHING,
+    private val tolerance: Double = DEFAULT_TOLERANCE,
+    longWindow: Int = DEFAULT_LONG_WINDOW
+) : AdaptiveLimit {
+
+    private val longWindowFactor: Double
+
+    private var estimatedLimit: Double
+
+    private var longRtt = 0.0
+
+    @Volatile
+    private var currentLimit: Int
+
+    init {
+        Preconditions.checkArgument(minLimit in 1..maxLimit, "min limit must be between 1 and max limit")
+        Preconditions.checkArgument(smoothing > 0 && smoothing <= 1, "smoothing must be between 0 and 1")
+        Preconditions.checkArgument(tolerance >= 1, "tolerance must be at least 1")
+        Preconditions.checkArgument(longWindow > 0, "long window must be greater than 0")
+        this.longWindowFactor = 2.0 / (longWindow + 1)
+        this.estimatedLimit = initialLimit.coerceIn(minLimit, maxLimit).toDouble()
+        this.currentLimit = this.estimatedLimit.toInt()
+    }
+
+    override val limit: Int
+        get() = this.currentLimit
+
+    @Synchronized
+    override fun onSample(rttNanos: Long, inFlight: Int, dropped: Boolean) {
+        val shortRtt = rttNanos.toDouble()
+        if (this.longRtt == 0.0) {
+            this.longRtt = shortRtt
+            return
+        }
+        this.longRtt += (shortRtt - this.longRtt) * this.longWindowFactor
+
+        // latency has dropped well below its long term level, e.g. after a slow period,
+        // converge faster so the gradient doesn't stay pinned at its maximum.
+        if (this.longRtt / shortRtt > DRIFT_THRESHOLD) {
+            this.longRtt *= DRIFT_DECAY
+        }
+
+        // the application isn't using the limit, latency says nothing about it.
+        if (!dropped && inFlight < this.estimatedLimit / 2) {
+            return
+        }
+
+        val gradient = if (dropped) {
+            MIN_GRADIENT
+        } else {
+            max(MIN_GRADIENT, min(1.0, this.tolerance * this.longRtt / shortRtt))
+        }
+        val newLimit = this.estimatedLimit * gradient + sqrt(this.estimatedLimit)
+        this.estimatedLimit = (this.estimatedLimit * (1 - this.smoothing) + newLimit * this.smoothing)
+            .coerceIn(this.minLimit.toDouble(), this.maxLimit.toDouble())
+        this.currentLimit = this.estimatedLimit.toInt()
+    }
+
+    companion object {
+        const val DEFAULT_SMOOTHING = 0.2
+        const val DEFAULT_TOLERANCE = 1.5
+        const val DEFAULT_LONG_WINDOW = 600
+
+        private const val MIN_GRADIENT = 0.5
+        private const val DRIFT_THRESHOLD = 2.0
+        private const val DRIFT_DECAY = 0.95
+    }
+}
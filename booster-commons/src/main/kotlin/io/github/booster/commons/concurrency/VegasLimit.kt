@@ -0,0 +1,87 @@
+package io.github.booster.commons.concurrency
+
+import com.google.common.base.Preconditions
+import kotlin.math.ceil
+import kotlin.math.log10
+import kotlin.math.max
+
+/**
+ * TCP Vegas style limit. The minimum latency observed is taken as latency
+ * without load, and the queue size is estimated from how much slower the
+ * latest request is. The limit grows while the estimated queue is small
+ * and shrinks once it grows large or a request is dropped.
+ * @param initialLimit initial limit.
+ * @param minLimit minimum limit.
+ * @param maxLimit maximum limit.
+ * @param smoothing weight of a new limit against the current limit, between 0 and 1.
+ * @param probeInterval number of requests after which the no load latency is measured again.
+ */
+class VegasLimit @JvmOverloads constructor(
+    initialLimit: Int,
+    private val minLimit: Int,
+    private val maxLimit: Int,
+    private val smoothing: Double = DEFAULT_SMOOTHING,
+    private val probeInterval: Int = DEFAULT_PROBE_INTERVAL
+) : AdaptiveLimit {
+
+    private var estimatedLimit: Double
+
+    private var rttNoLoad = 0L
+
+    private var samples = 0L
+
+    @Volatile
+    private var currentLimit: Int
+
+    init {
+        Preconditions.checkArgument(minLimit in 1..maxLimit, "min limit must be between 1 and max limit")
+        Preconditions.checkArgument(smoothing > 0 && smoothing <= 1, "smoothing must be between 0 and 1")
+        Preconditions.checkArgument(probeInterval > 0, "probe interval must be greater than 0")
+        this.estimatedLimit = initialLimit.coerceIn(minLimit, maxLimit).toDouble()
+        this.currentLimit = this.estimatedLimit.toInt()
+    }
+
+    override val limit: Int
+        get() = this.currentLimit
+
+    @Synchronized
+    override fun onSample(rttNanos: Long, inFlight: Int, dropped: Boolean) {
+        this.samples++
+        // no load latency drifts, e.g. when the downstream scales, so it's measured again periodically.
+        if (this.samples % this.probeInterval == 0L) {
+            this.rttNoLoad = 0
+        }
+        if (this.rttNoLoad == 0L || rttNanos < this.rttNoLoad) {
+            this.rttNoLoad = rttNanos
+            return
+        }
+
+        val limit = this.estimatedLimit
+        val step = max(1.0, log10(limit))
+        val newLimit = when {
+            dropped -> limit - step
+            // the application isn't using the limit, latency says nothing about it.
+            inFlight * 2 < limit -> return
+            else -> {
+                val queueSize = ceil(limit * (1 - this.rttNoLoad.toDouble() / rttNanos))
+                when {
+                    queueSize <= step -> limit + ALPHA * step
+                    queueSize < ALPHA * step -> limit + step
+                    queueSize > BETA * step -> limit - step
+                    else -> return
+                }
+            }
+        }
+        this.estimatedLimit = (limit * (1 - this.smoothing) + newLimit * this.smoothing)
+            .coerceIn(this.minLimit.toDouble(), this.maxLimit.toDouble())
+        this.currentLimit = this.estimatedLimit.toInt()
+    }
+
+    companion object {
+        const val DEFAULT_SMOOTHING = 1.0
+        const val DEFAULT_PROBE_INTERVAL = 1000
+
+        private const val ALPHA = 3
+        private const val BETA = 6
+    }
+}
@@ -0,0 +1,9 @@
+package io.github.booster.commons.deadline
+
+/**
+ * Thrown when a request's deadline has passed before its work is started.
+ * The work is skipped rather than failed, so retries and circuit breakers
+ * built from booster settings ignore this exception.
+ * @param message exception message.
+ */
+class DeadlineExceededException(message: String) : RuntimeException(message)
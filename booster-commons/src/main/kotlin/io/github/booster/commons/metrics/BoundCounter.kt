@@ -0,0 +1,45 @@
+package io.github.booster.commons.metrics
+
+import io.micrometer.core.instrument.Counter
+
+/**
+ * A counter handle bound once to a name and a static set of tags.
+ * Recording through the handle skips meter lookup entirely. Obtain
+ * one through [MetricsRegistry.boundCounter].
+ *
+ * When the owning [MetricsRegistry] has no [io.micrometer.core.instrument.MeterRegistry],
+ * the handle is a noop. When trace IDs are recorded, the tag set changes
+ * per trace, so the handle falls back to looking up the counter per call.
+ */
+class BoundCounter internal constructor(
+    private val counter: Counter?,
+    private val fallback: ((Double) -> Unit)?
+) {
+
+    /**
+     * Increase counter by 1
+     */
+    fun increment() {
+        this.increment(1.0)
+    }
+
+    /**
+     * Increase counter by specified amount.
+     * @param amount amount to increase
+     */
+    fun increment(amount: Double) {
+        if (this.counter != null) {
+            this.counter.increment(amount)
+        } else {
+            this.fallback?.invoke(amount)
+        }
+    }
+
+    companion object {
+        /**
+         * Handle that records nothing.
+         */
+        @JvmStatic
+        val NOOP = BoundCounter(null, null)
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.booster.commons.metrics
+
+import arrow.core.Option
+import io.micrometer.core.instrument.Timer
+import java.util.concurrent.TimeUnit
+
+/**
+ * A timer handle bound once to a name and a static set of tags.
+ * Stopping a sample through the handle skips meter lookup entirely.
+ * Obtain one through [MetricsRegistry.boundTimer].
+ *
+ * When the owning [MetricsRegistry] has no [io.micrometer.core.instrument.MeterRegistry],
+ * the handle is a noop. When trace IDs are recorded, the tag set changes
+ * per trace, so the handle falls back to looking up the timer per call.
+ */
+class BoundTimer internal constructor(
+    private val timer: Timer?,
+    private val fallback: (() -> Timer)?
+) {
+
+    /**
+     * Stop a timer sample and record the time.
+     * @param sampleTimer sample to stop
+     */
+    fun record(sampleTimer: Option<Timer.Sample>) {
+        val sample = sampleTimer.orNull() ?: return
+        if (this.timer != null) {
+            sample.stop(this.timer)
+        } else if (this.fallback != null) {
+            sample.stop(this.fallback.invoke())
+        }
+    }
+
+    /**
+     * Record a duration measured by the caller.
+     * @param amount duration
+     * @param unit [TimeUnit] of the duration
+     */
+    fun record(amount: Long, unit: TimeUnit) {
+        if (this.timer != null) {
+            this.timer.record(amount, unit)
+        } else {
+            this.fallback?.invoke()?.record(amount, unit)
+        }
+    }
+
+    companion object {
+        /**
+         * Handle that records nothing.
+         */
+        @JvmStatic
+        val NOOP = BoundTimer(null, null)
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.booster.commons.metrics
+
+import io.micrometer.core.instrument.Meter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.config.MeterFilter
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig
+import org.slf4j.LoggerFactory
+
+/**
+ * Name tag timers are matched by, the tag tasks are reported with.
+ */
+const val HISTOGRAM_NAME_TAG = "name"
+
+/**
+ * [MeterFilter] adding histograms to timers by the value of their [HISTOGRAM_NAME_TAG] tag,
+ * so every timer of a task, e.g. execution, queue wait and run time, gets the task's setting.
+ * Filters only apply to meters registered after them, so the filter has to be bound to the
+ * [MeterRegistry] before tasks are created.
+ */
+class HistogramConfig @JvmOverloads constructor(settings: Map<String, HistogramSetting>? = null) : MeterFilter {
+
+    private var settings: Map<String, HistogramSetting> = mapOf()
+
+    private var configs: Map<String, DistributionStatisticConfig> = mapOf()
+
+    /**
+     * Constructor with default histogram settings.
+     * @param settings map of [HistogramSetting] identified by name
+     */
+    init {
+        this.setSettings(settings)
+    }
+
+    override fun configure(id: Meter.Id, config: DistributionStatisticConfig): DistributionStatisticConfig? {
+        if (id.type != Meter.Type.TIMER) {
+            return config
+        }
+        val name = id.getTag(HISTOGRAM_NAME_TAG) ?: return config
+        val histogram = this.configs[name] ?: return config
+        log.debug("booster-commons - histogram setting applied to timer [{}] of [{}]", id.name, name)
+        return histogram.merge(config)
+    }
+
+    /**
+     * Registers the filter on the [MeterRegistry].
+     * @param registry [MeterRegistry] to register the filter on.
+     */
+    fun bindTo(registry: MeterRegistry) {
+        registry.config().meterFilter(this)
+    }
+
+    fun setSettings(settings: Map<String, HistogramSetting>?) {
+        this.settings = settings ?: mapOf()
+        this.configs = this.settings.mapValues { it.value.buildDistributionStatisticConfig() }
+    }
+
+    fun getSettings() = this.settings
+
+    companion object {
+        private val log = LoggerFactory.getLogger(HistogramConfig::class.java)
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.booster.commons.metrics
+
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig
+import lombok.ToString
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+/**
+ * Histogram settings of timers, on top of the count, total and max a timer always reports.
+ */
+@ToString
+class HistogramSetting {
+
+    /**
+     * Percentiles computed locally, e.g. 0.99 and 0.999. Local percentiles are kept in an
+     * HdrHistogram over a rolling window and can't be aggregated across instances.
+     */
+    var percentiles: List<Double>? = null
+        set(percentiles) {
+            field = percentiles?.filter { it > 0.0 && it <= 1.0 }
+        }
+
+    /**
+     * Number of significant decimal digits local percentiles are kept with.
+     */
+    var percentilePrecision = DEFAULT_PERCENTILE_PRECISION
+        set(percentilePrecision) {
+            field = if (percentilePrecision <= 0) DEFAULT_PERCENTILE_PRECISION else percentilePrecision
+        }
+
+    /**
+     * Whether to publish histogram buckets, for percentiles aggregated by the monitoring system.
+     */
+    var percentileHistogram = false
+
+    /**
+     * Service level objectives in milliseconds, each published as a histogram bucket.
+     */
+    var sloMillis: List<Long>? = null
+        set(sloMillis) {
+            field = sloMillis?.filter { it > 0 }
+        }
+
+    /**
+     * Lower bound of published histogram buckets in milliseconds, 0 keeps the default.
+     */
+    var minimumExpectedValueMillis = 0L
+        set(minimumExpectedValueMillis) {
+            field = if (minimumExpectedValueMillis < 0) 0 else minimumExpectedValueMillis
+        }
+
+    /**
+     * Upper bound of published histogram buckets in milliseconds, 0 keeps the default.
+     */
+    var maximumExpectedValueMillis = 0L
+        set(maximumExpectedValueMillis) {
+            field = if (maximumExpectedValueMillis < 0) 0 else maximumExpectedValueMillis
+        }
+
+    /**
+     * Length of the rolling window of local percentiles and max in milliseconds.
+     */
+    var expiryMillis = DEFAULT_EXPIRY_MILLIS
+        set(expiryMillis) {
+            field = if (expiryMillis <= 0) DEFAULT_EXPIRY_MILLIS else expiryMillis
+        }
+
+    /**
+     * Builds the distribution statistics of a timer. Timers record in nanoseconds,
+     * so millisecond values are converted.
+     * @return [DistributionStatisticConfig]
+     */
+    fun buildDistributionStatisticConfig(): DistributionStatisticConfig {
+        val builder = DistributionStatisticConfig.builder()
+            .percentilesHistogram(this.percentileHistogram)
+            .percentilePrecision(this.percentilePrecision)
+            .expiry(Duration.ofMillis(this.expiryMillis))
+        this.percentiles?.let { percentiles ->
+            if (percentiles.isNotEmpty()) {
+                builder.percentiles(*percentiles.toDoubleArray())
+            }
+        }
+        this.sloMillis?.let { slos ->
+            if (slos.isNotEmpty()) {
+                builder.serviceLevelObjectives(*slos.sorted().map { toNanos(it) }.toDoubleArray())
+            }
+        }
+        if (this.minimumExpectedValueMillis > 0) {
+            builder.minimumExpectedValue(toNanos(this.minimumExpectedValueMillis))
+        }
+        if (this.maximumExpectedValueMillis > 0) {
+            builder.maximumExpectedValue(toNanos(this.maximumExpectedValueMillis))
+        }
+        return builder.build()
+    }
+
+    companion object {
+        const val DEFAULT_PERCENTILE_PRECISION = 2
+        const val DEFAULT_EXPIRY_MILLIS = 120_000L
+
+        private fun toNanos(millis: Long): Double = TimeUnit.MILLISECONDS.toNanos(millis).toDouble()
+    }
+}
@@ -5,7 +5,6 @@ import arrow.core.Option.Companion.fromNullable
 import arrow.core.getOrElse
 import arrow.core.orElse
 import com.google.common.base.Preconditions
-import io.micrometer.core.instrument.Counter
 import io.micrometer.core.instrument.MeterRegistry
 import io.micrometer.core.instrument.Tags
 import io.micrometer.core.instrument.Timer
@@ -15,8 +14,10 @@ import io.opentelemetry.api.trace.Span
 import lombok.Getter
 import org.apache.commons.lang3.StringUtils
 import org.slf4j.LoggerFactory
+import java.util.Objects
 import java.util.concurrent.ExecutorService
-import java.util.stream.Stream
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
 
 /**
  * Micrometer registry wrapper that allows one to
@@ -50,16 +51,73 @@ class MetricsRegistry @JvmOverloads constructor(
             return this.registry
         }
 
-    private fun insertTraceTag(vararg tags: String): Array<String> {
-        if (recordTrace && Stream.of(*tags).noneMatch { tag: String -> tag == TRACE_ID }) {
+    private val meterRegistry: MeterRegistry? = registry
+
+    private val counters: ConcurrentMap<MeterKey, BoundCounter> = ConcurrentHashMap()
+
+    private val timers: ConcurrentMap<MeterKey, BoundTimer> = ConcurrentHashMap()
+
+    @Suppress("SpreadOperator")
+    private fun insertTraceTag(vararg tags: String): Array<out String> {
+        if (recordTrace && !containsTraceTag(tags)) {
             val span = Span.current()
             if (span != null && span.spanContext.isValid) {
                 return createTraceTags(span, *tags)
             }
         }
-        return arrayOf(*tags)
+        return tags
+    }
+
+    /**
+     * Returns a counter handle bound to the name and tags. The handle is
+     * cached, so repeated calls with the same name and tags return the same
+     * handle. Callers on hot paths should obtain the handle once and keep it.
+     * @param name name of the counter
+     * @param tags tags for the counter
+     * @return [BoundCounter]
+     */
+    @Suppress("SpreadOperator")
+    fun boundCounter(name: String, vararg tags: String): BoundCounter {
+        val reg = this.meterRegistry ?: return BoundCounter.NOOP
+        if (recordTrace) {
+            val boundTags = arrayOf(*tags)
+            return BoundCounter(null) { reg.counter(name, *insertTraceTag(*boundTags)).increment(it) }
+        }
+        return this.cachedCounter(reg, name, tags)
     }
 
+    /**
+     * Returns a timer handle bound to the name and tags. The handle is
+     * cached, so repeated calls with the same name and tags return the same
+     * handle. Callers on hot paths should obtain the handle once and keep it.
+     * @param name name of the timer
+     * @param tags tags for the timer
+     * @return [BoundTimer]
+     */
+    @Suppress("SpreadOperator")
+    fun boundTimer(name: String, vararg tags: String): BoundTimer {
+        val reg = this.meterRegistry ?: return BoundTimer.NOOP
+        if (recordTrace) {
+            val boundTags = arrayOf(*tags)
+            return BoundTimer(null) { reg.timer(name, *insertTraceTag(*boundTags)) }
+        }
+        return this.cachedTimer(reg, name, tags)
+    }
+
+    @Suppress("SpreadOperator")
+    private fun cachedCounter(reg: MeterRegistry, name: String, tags: Array<out String>): BoundCounter =
+        // look up without copying tags, copy only when the handle is first created.
+        this.counters[MeterKey(name, tags)] ?: this.counters.computeIfAbsent(MeterKey(name, arrayOf(*tags))) {
+            BoundCounter(reg.counter(it.name, *it.tags), null)
+        }
+
+    @Suppress("SpreadOperator")
+    private fun cachedTimer(reg: MeterRegistry, name: String, tags: Array<out String>): BoundTimer =
+        // look up without copying tags, copy only when the handle is first created.
+        this.timers[MeterKey(name, tags)] ?: this.timers.computeIfAbsent(MeterKey(name, arrayOf(*tags))) {
+            BoundTimer(reg.timer(it.name, *it.tags), null)
+        }
+
     /**
      * Start a timer sample.
      * @return Optional sample
@@ -76,15 +134,12 @@ class MetricsRegistry @JvmOverloads constructor(
      */
     @Suppress("SpreadOperator")
     fun endSample(sampleTimer: Option<Timer.Sample>, name: String, vararg tags: String) {
-        registry.map { reg: MeterRegistry ->
-            sampleTimer.map { sample: Timer.Sample ->
-                sample.stop(
-                    reg.timer(
-                        name,
-                        *insertTraceTag(*tags)
-                    )
-                )
-            }
+        val reg = this.meterRegistry ?: return
+        val sample = sampleTimer.orNull() ?: return
+        if (recordTrace) {
+            sample.stop(reg.timer(name, *insertTraceTag(*tags)))
+        } else {
+            this.cachedTimer(reg, name, tags).record(sampleTimer)
         }
     }
 
@@ -95,11 +150,7 @@ class MetricsRegistry @JvmOverloads constructor(
      */
     @Suppress("SpreadOperator")
     fun incrementCounter(name: String, vararg tags: String) {
-        registry.map { reg: MeterRegistry -> reg.counter(name, *insertTraceTag(*tags)) }
-            .map { counter: Counter ->
-                counter.increment()
-                counter
-            }
+        this.incrementCounter(name, 1.0, *tags)
     }
 
     /**
@@ -110,11 +161,12 @@ class MetricsRegistry @JvmOverloads constructor(
      */
     @Suppress("SpreadOperator")
     fun incrementCounter(name: String, increment: Double, vararg tags: String) {
-        registry.map { reg: MeterRegistry -> reg.counter(name, *insertTraceTag(*tags)) }
-            .map { counter: Counter ->
-                counter.increment(increment)
-                counter
-            }
+        val reg = this.meterRegistry ?: return
+        if (recordTrace) {
+            reg.counter(name, *insertTraceTag(*tags)).increment(increment)
+        } else {
+            this.cachedCounter(reg, name, tags).increment(increment)
+        }
     }
 
     /**
@@ -162,6 +214,18 @@ class MetricsRegistry @JvmOverloads constructor(
         }.orElse { executorService }
     }
 
+    /**
+     * Cache key of a meter, name plus tags in the order given.
+     */
+    private class MeterKey(val name: String, val tags: Array<out String>) {
+        private val hash = Objects.hash(name, tags.contentHashCode())
+
+        override fun equals(other: Any?): Boolean =
+            this === other || other is MeterKey && this.name == other.name && this.tags.contentEquals(other.tags)
+
+        override fun hashCode(): Int = this.hash
+    }
+
     companion object {
         private val log = LoggerFactory.getLogger(MetricsRegistry::class.java)
 
@@ -187,5 +251,14 @@ class MetricsRegistry @JvmOverloads constructor(
             }
             return arrayOf(*tags)
         }
+
+        private fun containsTraceTag(tags: Array<out String>): Boolean {
+            for (tag in tags) {
+                if (tag == TRACE_ID) {
+                    return true
+                }
+            }
+            return false
+        }
     }
 }
@@ -0,0 +1,56 @@
+package io.github.booster.commons.rate.limiter
+
+import io.github.booster.commons.cache.GenericKeyedObjectCache
+import io.github.booster.commons.cache.KeyedCacheObjectFactory
+import io.github.booster.commons.cache.KeyedObjectCache
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.resilience4j.ratelimiter.RateLimiter
+import org.slf4j.LoggerFactory
+
+/**
+ * Provides a central repository for [RateLimiter] management.
+ */
+class RateLimiterConfig @JvmOverloads constructor(settings: Map<String, RateLimiterSetting>? = null) :
+    KeyedCacheObjectFactory<String, RateLimiter>, KeyedObjectCache<String, RateLimiter> {
+
+    private var settings: Map<String, RateLimiterSetting>
+
+    private var registry: MetricsRegistry? = null
+
+    private var pool: GenericKeyedObjectCache<String, RateLimiter>
+
+    /**
+     * Constructor with default rate limiter settings.
+     * @param settings map of [RateLimiterSetting] identified by name
+     */
+    init {
+        this.settings = settings ?: HashMap()
+        this.pool = GenericKeyedObjectCache(this)
+    }
+
+    override fun create(key: String): RateLimiter? {
+        log.debug("booster-commons - cache contains [{}] entry: {}", key, settings.containsKey(key))
+        return if (settings.containsKey(key))
+            settings[key]!!.buildRateLimiter(key, registry).orNull()
+        else null
+    }
+
+    override fun get(key: String): RateLimiter? = this.pool.get(key)
+
+    fun setSettings(settings: Map<String, RateLimiterSetting>?) {
+        this.settings = settings ?: mapOf()
+        this.pool = GenericKeyedObjectCache(this)
+    }
+
+    fun getSettings() = this.settings
+
+    fun setMetricsRegistry(registry: MetricsRegistry?) {
+        this.registry = registry ?: MetricsRegistry()
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(RateLimiterConfig::class.java)
+    }
+
+    override fun getKeys(): Set<String> = this.pool.getKeys()
+}
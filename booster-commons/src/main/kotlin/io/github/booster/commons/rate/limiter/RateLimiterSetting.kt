@@ -0,0 +1,77 @@
+package io.github.booster.commons.rate.limiter
+
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.resilience4j.micrometer.tagged.TaggedRateLimiterMetrics
+import io.github.resilience4j.ratelimiter.RateLimiter
+import io.github.resilience4j.ratelimiter.RateLimiterConfig
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry
+import lombok.ToString
+import java.time.Duration
+
+/**
+ * Rate limiter settings, at most [limitForPeriod] calls are permitted
+ * every [limitRefreshPeriodMillis].
+ */
+@ToString
+class RateLimiterSetting {
+
+    /**
+     * Number of calls permitted per refresh period.
+     */
+    var limitForPeriod = DEFAULT_LIMIT_FOR_PERIOD
+        set(limitForPeriod) {
+            field = if (limitForPeriod <= 0) DEFAULT_LIMIT_FOR_PERIOD else limitForPeriod
+        }
+
+    /**
+     * Refresh period in milliseconds, permits are reset at the start of every period.
+     */
+    var limitRefreshPeriodMillis = DEFAULT_LIMIT_REFRESH_PERIOD_MILLIS
+        set(limitRefreshPeriodMillis) {
+            field = if (limitRefreshPeriodMillis <= 0) DEFAULT_LIMIT_REFRESH_PERIOD_MILLIS
+                else limitRefreshPeriodMillis
+        }
+
+    /**
+     * Maximum time a call waits for a permit, 0 rejects right away.
+     */
+    var timeoutMillis = 0
+        set(timeoutMillis) {
+            field = if (timeoutMillis < 0) 0 else timeoutMillis
+        }
+
+    /**
+     * Builds a [RateLimiter] using name, will also record metrics.
+     * @param name name of [RateLimiter]
+     * @param metricsRegistry [MetricsRegistry] to record metrics.
+     * @return optional [RateLimiter]
+     */
+    @JvmOverloads
+    fun buildRateLimiter(name: String, metricsRegistry: MetricsRegistry? = null): Option<RateLimiter> {
+        Preconditions.checkArgument(name.isNotEmpty(), "name cannot be null")
+        val config = RateLimiterConfig.custom()
+            .limitForPeriod(this.limitForPeriod)
+            .limitRefreshPeriod(Duration.ofMillis(this.limitRefreshPeriodMillis.toLong()))
+            .timeoutDuration(Duration.ofMillis(this.timeoutMillis.toLong()))
+            .build()
+        val rateLimiterRegistry = RateLimiterRegistry.of(config)
+        metricsRegistry?.registryOption?.map {
+            TaggedRateLimiterMetrics.ofRateLimiterRegistry(rateLimiterRegistry).bindTo(it)
+        }
+        return Option.fromNullable(rateLimiterRegistry.rateLimiter(name, config))
+    }
+
+    companion object {
+        /**
+         * Default number of calls permitted per refresh period.
+         */
+        const val DEFAULT_LIMIT_FOR_PERIOD = 50
+
+        /**
+         * Default refresh period in milliseconds.
+         */
+        const val DEFAULT_LIMIT_REFRESH_PERIOD_MILLIS = 1000
+    }
+}
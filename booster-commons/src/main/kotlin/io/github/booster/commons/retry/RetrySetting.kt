@@ -4,6 +4,7 @@ import arrow.core.Option
 import arrow.core.Option.Companion.fromNullable
 import arrow.core.getOrElse
 import com.google.common.base.Preconditions
+import io.github.booster.commons.deadline.DeadlineExceededException
 import io.github.booster.commons.metrics.MetricsRegistry
 import io.github.resilience4j.core.IntervalFunction
 import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics
@@ -90,6 +91,7 @@ class RetrySetting {
                     )
                 )
             )
+            .ignoreExceptions(DeadlineExceededException::class.java)
             .build()
         val retryRegistry = RetryRegistry.of(retryConfig)
         if (metricsRegistry != null && metricsRegistry.registryOption.isDefined()) {
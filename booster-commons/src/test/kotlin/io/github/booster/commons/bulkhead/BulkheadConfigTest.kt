@@ -0,0 +1,106 @@
+package io.github.booster.commons.bulkhead
+
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hamcrest.MatcherAssert.assertThat
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.notNullValue
+import org.hamcrest.Matchers.sameInstance
+import org.junit.jupiter.api.Test
+
+internal class BulkheadConfigTest {
+
+    private fun threadPoolSetting(): BulkheadSetting {
+        val setting = BulkheadSetting()
+        setting.type = BulkheadSetting.Type.THREAD_POOL
+        setting.coreThreadPoolSize = 2
+        setting.maxThreadPoolSize = 1
+        setting.queueCapacity = 5
+        return setting
+    }
+
+    @Test
+    fun `should not create bulkhead`() {
+        assertThat(BulkheadConfig().tryGet("test").isDefined(), equalTo(false))
+        assertThat(BulkheadConfig().tryGetThreadPool("test").isDefined(), equalTo(false))
+        assertThat(
+            BulkheadConfig(mapOf(Pair("abc", BulkheadSetting()))).tryGet("test").isDefined(),
+            equalTo(false)
+        )
+
+        val config = BulkheadConfig()
+        config.setSettings(null)
+        assertThat(config.tryGet("test").isDefined(), equalTo(false))
+        assertThat(config.getSettings().isEmpty(), equalTo(true))
+    }
+
+    @Test
+    fun `should create semaphore bulkhead`() {
+        val setting = BulkheadSetting()
+        setting.maxConcurrentCalls = 3
+
+        val config = BulkheadConfig()
+        config.setSettings(mapOf(Pair("test", setting)))
+
+        val bulkhead = config.tryGet("test")
+        assertThat(bulkhead.isDefined(), equalTo(true))
+        assertThat(bulkhead.orNull()!!.name, equalTo("test"))
+        assertThat(bulkhead.orNull()!!.bulkheadConfig.maxConcurrentCalls, equalTo(3))
+        assertThat(config.tryGet("test").orNull(), sameInstance(bulkhead.orNull()))
+        assertThat(config.tryGetThreadPool("test").isDefined(), equalTo(false))
+    }
+
+    @Test
+    fun `should create thread pool bulkhead`() {
+        val config = BulkheadConfig(mapOf(Pair("test", this.threadPoolSetting())))
+
+        val bulkhead = config.tryGetThreadPool("test")
+        assertThat(bulkhead.isDefined(), equalTo(true))
+        assertThat(bulkhead.orNull()!!.bulkheadConfig.coreThreadPoolSize, equalTo(2))
+        assertThat(bulkhead.orNull()!!.bulkheadConfig.maxThreadPoolSize, equalTo(2))
+        assertThat(bulkhead.orNull()!!.bulkheadConfig.queueCapacity, equalTo(5))
+        assertThat(config.tryGetThreadPool("test").orNull(), sameInstance(bulkhead.orNull()))
+        assertThat(config.tryGet("test").isDefined(), equalTo(false))
+    }
+
+    @Test
+    fun `should sanitize setting`() {
+        val setting = BulkheadSetting()
+        setting.type = null
+        setting.maxConcurrentCalls = 0
+        setting.maxWaitDurationMillis = -1
+        setting.coreThreadPoolSize = -1
+        setting.maxThreadPoolSize = 0
+        setting.queueCapacity = -1
+        setting.keepAliveMillis = 0
+
+        assertThat(setting.type, equalTo(BulkheadSetting.Type.SEMAPHORE))
+        assertThat(setting.maxConcurrentCalls, equalTo(BulkheadSetting.DEFAULT_MAX_CONCURRENT_CALLS))
+        assertThat(setting.maxWaitDurationMillis, equalTo(0))
+        assertThat(setting.coreThreadPoolSize, equalTo(BulkheadSetting.DEFAULT_CORE_THREAD_POOL_SIZE))
+        assertThat(setting.maxThreadPoolSize, equalTo(BulkheadSetting.DEFAULT_MAX_THREAD_POOL_SIZE))
+        assertThat(setting.queueCapacity, equalTo(BulkheadSetting.DEFAULT_QUEUE_CAPACITY))
+        assertThat(setting.keepAliveMillis, equalTo(BulkheadSetting.DEFAULT_KEEP_ALIVE_MILLIS))
+    }
+
+    @Test
+    fun `should record metrics`() {
+        val meterRegistry = SimpleMeterRegistry()
+        val config = BulkheadConfig(
+            mapOf(Pair("semaphore", BulkheadSetting()), Pair("pool", this.threadPoolSetting()))
+        )
+        config.setMetricsRegistry(MetricsRegistry(meterRegistry))
+
+        config.tryGet("semaphore")
+        config.tryGetThreadPool("pool")
+
+        assertThat(
+            meterRegistry.find("resilience4j.bulkhead.available.concurrent.calls").tag("name", "semaphore").gauge(),
+            notNullValue()
+        )
+        assertThat(
+            meterRegistry.find("resilience4j.bulkhead.queue.capacity").tag("name", "pool").gauge(),
+            notNullValue()
+        )
+    }
+}
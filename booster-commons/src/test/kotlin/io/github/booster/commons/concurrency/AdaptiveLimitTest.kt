@@ -0,0 +1,101 @@
+package io.github.booster.commons.concurrency
+
+import org.hamcrest.MatcherAssert.assertThat
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.greaterThan
+import org.hamcrest.Matchers.lessThan
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+
+internal class AdaptiveLimitTest {
+
+    @Test
+    fun `should not create limit`() {
+        assertThrows<IllegalArgumentException> { GradientLimit(10, 0, 100) }
+        assertThrows<IllegalArgumentException> { GradientLimit(10, 20, 10) }
+        assertThrows<IllegalArgumentException> { GradientLimit(10, 1, 100, 0.0) }
+        assertThrows<IllegalArgumentException> { GradientLimit(10, 1, 100, 0.2, 0.5) }
+        assertThrows<IllegalArgumentException> { VegasLimit(10, 0, 100) }
+        assertThrows<IllegalArgumentException> { VegasLimit(10, 1, 100, 1.0, 0) }
+    }
+
+    @Test
+    fun `should clamp initial limit`() {
+        assertThat(GradientLimit(1000, 1, 100).limit, equalTo(100))
+        assertThat(GradientLimit(0, 5, 100).limit, equalTo(5))
+        assertThat(VegasLimit(1000, 1, 100).limit, equalTo(100))
+        assertThat(VegasLimit(0, 5, 100).limit, equalTo(5))
+    }
+
+    @Test
+    fun `gradient should grow with stable latency`() {
+        val limit = GradientLimit(10, 1, 100)
+        repeat(50) { limit.onSample(1_000_000, limit.limit, false) }
+        assertThat(limit.limit, greaterThan(10))
+    }
+
+    @Test
+    fun `gradient should shrink with rising latency`() {
+        val limit = GradientLimit(50, 1, 100)
+        repeat(20) { limit.onSample(1_000_000, 50, false) }
+        val grown = limit.limit
+        repeat(20) { limit.onSample(100_000_000, limit.limit, false) }
+        assertThat(limit.limit, lessThan(grown))
+    }
+
+    @Test
+    fun `gradient should shrink on drop`() {
+        val limit = GradientLimit(50, 1, 100)
+        limit.onSample(1_000_000, 50, false)
+        repeat(20) { limit.onSample(1_000_000, 50, true) }
+        assertThat(limit.limit, lessThan(50))
+    }
+
+    @Test
+    fun `gradient should ignore idle samples`() {
+        val limit = GradientLimit(50, 1, 100)
+        repeat(20) { limit.onSample(1_000_000, 1, false) }
+        assertThat(limit.limit, equalTo(50))
+    }
+
+    @Test
+    fun `vegas should grow without queueing`() {
+        val limit = VegasLimit(10, 1, 100)
+        repeat(20) { limit.onSample(1_000_000, limit.limit, false) }
+        assertThat(limit.limit, greaterThan(10))
+    }
+
+    @Test
+    fun `vegas should shrink with queueing`() {
+        val limit = VegasLimit(50, 1, 100)
+        limit.onSample(1_000_000, 50, false)
+        repeat(10) { limit.onSample(10_000_000, limit.limit, false) }
+        assertThat(limit.limit, lessThan(50))
+    }
+
+    @Test
+    fun `vegas should shrink on drop`() {
+        val limit = VegasLimit(50, 1, 100)
+        limit.onSample(1_000_000, 50, false)
+        repeat(10) { limit.onSample(1_000_000, 50, true) }
+        assertThat(limit.limit, lessThan(50))
+    }
+
+    @Test
+    fun `should not exceed bounds`() {
+        val gradient = GradientLimit(10, 5, 20)
+        val vegas = VegasLimit(10, 5, 20)
+        repeat(200) {
+            gradient.onSample(1_000_000, gradient.limit, false)
+            vegas.onSample(1_000_000, vegas.limit, false)
+        }
+        assertThat(gradient.limit, equalTo(20))
+        assertThat(vegas.limit, equalTo(20))
+        repeat(200) {
+            gradient.onSample(1_000_000, gradient.limit, true)
+            vegas.onSample(1_000_000, vegas.limit, true)
+        }
+        assertThat(gradient.limit, equalTo(5))
+        assertThat(vegas.limit, equalTo(5))
+    }
+}
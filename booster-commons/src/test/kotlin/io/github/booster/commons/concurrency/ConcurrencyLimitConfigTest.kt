@@ -0,0 +1,66 @@
+package io.github.booster.commons.concurrency
+
+import io.github.booster.commons.metrics.MetricsRegistry
+import org.hamcrest.MatcherAssert.assertThat
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.instanceOf
+import org.hamcrest.Matchers.sameInstance
+import org.junit.jupiter.api.Test
+
+internal class ConcurrencyLimitConfigTest {
+
+    @Test
+    fun `should not create limiter`() {
+        assertThat(ConcurrencyLimitConfig().tryGet("test").isDefined(), equalTo(false))
+        assertThat(
+            ConcurrencyLimitConfig(mapOf(Pair("abc", ConcurrencyLimitSetting()))).tryGet("test").isDefined(),
+            equalTo(false)
+        )
+
+        val config = ConcurrencyLimitConfig()
+        config.setSettings(null)
+        assertThat(config.tryGet("test").isDefined(), equalTo(false))
+    }
+
+    @Test
+    fun `should create limiter`() {
+        val config = ConcurrencyLimitConfig()
+        config.setMetricsRegistry(MetricsRegistry())
+        config.setSettings(mapOf(Pair("test", ConcurrencyLimitSetting())))
+
+        val limiter = config.tryGet("test")
+        assertThat(limiter.isDefined(), equalTo(true))
+        assertThat(limiter.orNull()!!.name, equalTo("test"))
+        assertThat(limiter.orNull()!!.limit, equalTo(ConcurrencyLimitSetting.DEFAULT_INITIAL_LIMIT))
+        assertThat(config.tryGet("test").orNull(), sameInstance(limiter.orNull()))
+        assertThat(config.getKeys(), equalTo(setOf("test")))
+    }
+
+    @Test
+    fun `should sanitize setting`() {
+        val setting = ConcurrencyLimitSetting()
+        setting.algorithm = null
+        setting.initialLimit = -1
+        setting.minLimit = 0
+        setting.maxLimit = -5
+
+        assertThat(setting.algorithm, equalTo(ConcurrencyLimitSetting.Algorithm.GRADIENT))
+        assertThat(setting.initialLimit, equalTo(ConcurrencyLimitSetting.DEFAULT_INITIAL_LIMIT))
+        assertThat(setting.minLimit, equalTo(ConcurrencyLimitSetting.DEFAULT_MIN_LIMIT))
+        assertThat(setting.maxLimit, equalTo(ConcurrencyLimitSetting.DEFAULT_MAX_LIMIT))
+    }
+
+    @Test
+    fun `should build limiter with algorithm`() {
+        val setting = ConcurrencyLimitSetting()
+        setting.algorithm = ConcurrencyLimitSetting.Algorithm.VEGAS
+        setting.initialLimit = 500
+        setting.minLimit = 10
+        setting.maxLimit = 50
+
+        val limiter = setting.buildLimiter("test")
+        assertThat(limiter.isDefined(), equalTo(true))
+        assertThat(limiter.orNull()!!.limit, equalTo(50))
+        assertThat(limiter.orNull(), instanceOf(ConcurrencyLimiter::class.java))
+    }
+}
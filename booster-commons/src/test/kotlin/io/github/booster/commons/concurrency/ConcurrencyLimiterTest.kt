@@ -0,0 +1,65 @@
+package io.github.booster.commons.concurrency
+
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hamcrest.MatcherAssert.assertThat
+import org.hamcrest.Matchers.equalTo
+import org.junit.jupiter.api.Test
+
+internal class ConcurrencyLimiterTest {
+
+    private class FixedLimit(override val limit: Int) : AdaptiveLimit {
+        var samples = 0
+        var drops = 0
+
+        override fun onSample(rttNanos: Long, inFlight: Int, dropped: Boolean) {
+            this.samples++
+            if (dropped) {
+                this.drops++
+            }
+        }
+    }
+
+    @Test
+    fun `should reject over limit`() {
+        val meterRegistry = SimpleMeterRegistry()
+        val limiter = ConcurrencyLimiter("test", FixedLimit(2), MetricsRegistry(meterRegistry))
+
+        assertThat(limiter.tryAcquire(), equalTo(true))
+        assertThat(limiter.tryAcquire(), equalTo(true))
+        assertThat(limiter.tryAcquire(), equalTo(false))
+        assertThat(limiter.inFlightCount, equalTo(2))
+        assertThat(
+            meterRegistry.get(ConcurrencyLimiter.CONCURRENCY_LIMIT_REJECTED_COUNT).tag("name", "test").counter().count(),
+            equalTo(1.0)
+        )
+        assertThat(
+            meterRegistry.get(ConcurrencyLimiter.CONCURRENCY_IN_FLIGHT).tag("name", "test").gauge().value(),
+            equalTo(2.0)
+        )
+        assertThat(
+            meterRegistry.get(ConcurrencyLimiter.CONCURRENCY_LIMIT).tag("name", "test").gauge().value(),
+            equalTo(2.0)
+        )
+
+        limiter.onIgnore()
+        assertThat(limiter.tryAcquire(), equalTo(true))
+    }
+
+    @Test
+    fun `should sample on release`() {
+        val limit = FixedLimit(2)
+        val limiter = ConcurrencyLimiter("test", limit)
+
+        limiter.tryAcquire()
+        limiter.tryAcquire()
+        limiter.tryAcquire()
+        limiter.onSuccess(1000)
+        limiter.onDropped(1000)
+
+        assertThat(limiter.inFlightCount, equalTo(0))
+        assertThat(limit.samples, equalTo(2))
+        assertThat(limit.drops, equalTo(1))
+        assertThat(limiter.limit, equalTo(2))
+    }
+}
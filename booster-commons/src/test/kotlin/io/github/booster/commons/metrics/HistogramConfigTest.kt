@@ -0,0 +1,84 @@
+package io.github.booster.commons.metrics
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.MatcherAssert.assertThat
+import org.hamcrest.Matchers.contains
+import org.hamcrest.Matchers.hasSize
+import org.junit.jupiter.api.Test
+import java.util.concurrent.TimeUnit
+
+internal class HistogramConfigTest {
+
+    private fun setting(): HistogramSetting {
+        val setting = HistogramSetting()
+        setting.percentiles = listOf(0.99, 0.999)
+        setting.sloMillis = listOf(100, 10)
+        return setting
+    }
+
+    @Test
+    fun `should sanitize setting`() {
+        val setting = HistogramSetting()
+        setting.percentiles = listOf(0.0, 0.5, 1.5)
+        setting.sloMillis = listOf(-1, 0, 10)
+        setting.percentilePrecision = 0
+        setting.minimumExpectedValueMillis = -1
+        setting.maximumExpectedValueMillis = -1
+        setting.expiryMillis = 0
+
+        assertThat(setting.percentiles, contains(0.5))
+        assertThat(setting.sloMillis, contains(10L))
+        assertThat(setting.percentilePrecision, equalTo(HistogramSetting.DEFAULT_PERCENTILE_PRECISION))
+        assertThat(setting.minimumExpectedValueMillis, equalTo(0L))
+        assertThat(setting.maximumExpectedValueMillis, equalTo(0L))
+        assertThat(setting.expiryMillis, equalTo(HistogramSetting.DEFAULT_EXPIRY_MILLIS))
+    }
+
+    @Test
+    fun `should build distribution config`() {
+        val setting = setting()
+        setting.percentileHistogram = true
+        setting.minimumExpectedValueMillis = 1
+        setting.maximumExpectedValueMillis = 1000
+        val config = setting.buildDistributionStatisticConfig()
+
+        assertThat(config.percentiles!!.toList(), contains(0.99, 0.999))
+        assertThat(config.serviceLevelObjectiveBoundaries!!.toList(), contains(1.0e7, 1.0e8))
+        assertThat(config.isPercentileHistogram, equalTo(true))
+        assertThat(config.minimumExpectedValueAsDouble, equalTo(1.0e6))
+        assertThat(config.maximumExpectedValueAsDouble, equalTo(1.0e9))
+    }
+
+    @Test
+    fun `should add histogram to timers by name tag`() {
+        val meterRegistry = SimpleMeterRegistry()
+        HistogramConfig(mapOf("length" to setting())).bindTo(meterRegistry)
+
+        val timer = meterRegistry.timer("task_execution_time", HISTOGRAM_NAME_TAG, "length")
+        val other = meterRegistry.timer("task_execution_time", HISTOGRAM_NAME_TAG, "other")
+        listOf(1L, 5L, 50L, 500L).forEach {
+            timer.record(it, TimeUnit.MILLISECONDS)
+            other.record(it, TimeUnit.MILLISECONDS)
+        }
+
+        val snapshot = timer.takeSnapshot()
+        assertThat(snapshot.percentileValues().toList(), hasSize(2))
+        assertThat(snapshot.histogramCounts().map { it.count() }, contains(2.0, 3.0))
+        assertThat(other.takeSnapshot().percentileValues().toList(), hasSize(0))
+        assertThat(other.takeSnapshot().histogramCounts().toList(), hasSize(0))
+    }
+
+    @Test
+    fun `should not apply without settings`() {
+        val meterRegistry = SimpleMeterRegistry()
+        val config = HistogramConfig()
+        config.setSettings(null)
+        config.bindTo(meterRegistry)
+
+        assertThat(config.getSettings().size, equalTo(0))
+        val timer = meterRegistry.timer("task_execution_time", HISTOGRAM_NAME_TAG, "length")
+        timer.record(1, TimeUnit.MILLISECONDS)
+        assertThat(timer.takeSnapshot().percentileValues().toList(), hasSize(0))
+    }
+}
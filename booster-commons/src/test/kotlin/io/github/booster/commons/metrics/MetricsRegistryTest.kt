@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Test
 import java.util.Arrays
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicInteger
 
 internal class MetricsRegistryTest {
@@ -121,4 +122,52 @@ internal class MetricsRegistryTest {
         assertThat(unMonitoredExecutorServiceOption.toList(), hasSize(1))
         assertThat(unMonitoredExecutorServiceOption.toList()[0], sameInstance(executorService))
     }
+
+    @Test
+    fun shouldBindCounter() {
+        val registry = MetricsRegistry(meterRegistry)
+        val counter = registry.boundCounter("bound", "tag", "value")
+        assertThat(registry.boundCounter("bound", "tag", "value"), sameInstance(counter))
+        assertThat(registry.boundCounter("bound", "tag", "other"), not(sameInstance(counter)))
+
+        counter.increment()
+        counter.increment(2.0)
+        registry.incrementCounter("bound", "tag", "value")
+        assertThat(meterRegistry!!.get("bound").tag("tag", "value").counter().count(), equalTo(4.0))
+    }
+
+    @Test
+    fun shouldBindTimer() {
+        val registry = MetricsRegistry(meterRegistry)
+        val timer = registry.boundTimer("bound", "tag", "value")
+        assertThat(registry.boundTimer("bound", "tag", "value"), sameInstance(timer))
+
+        timer.record(registry.startSample())
+        timer.record(fromNullable(null))
+        registry.endSample(registry.startSample(), "bound", "tag", "value")
+        assertThat(meterRegistry!!.get("bound").tag("tag", "value").timer().count(), equalTo(2L))
+
+        timer.record(5, TimeUnit.MILLISECONDS)
+        assertThat(meterRegistry!!.get("bound").tag("tag", "value").timer().count(), equalTo(3L))
+    }
+
+    @Test
+    fun shouldBindNoopWithoutRegistry() {
+        val registry = MetricsRegistry()
+        assertThat(registry.boundCounter("bound", "tag", "value"), sameInstance(BoundCounter.NOOP))
+        assertThat(registry.boundTimer("bound", "tag", "value"), sameInstance(BoundTimer.NOOP))
+        registry.boundCounter("bound").increment()
+        registry.boundTimer("bound").record(registry.startSample())
+        registry.boundTimer("bound").record(5, TimeUnit.MILLISECONDS)
+    }
+
+    @Test
+    fun shouldBindWithTrace() {
+        val registry = MetricsRegistry(meterRegistry, true)
+        registry.boundCounter("traced", "tag", "value").increment()
+        registry.boundTimer("tracedTimer", "tag", "value").record(registry.startSample())
+        registry.boundTimer("tracedTimer", "tag", "value").record(5, TimeUnit.MILLISECONDS)
+        assertThat(meterRegistry!!.get("traced").tag("tag", "value").counter().count(), equalTo(1.0))
+        assertThat(meterRegistry!!.get("tracedTimer").tag("tag", "value").timer().count(), equalTo(2L))
+    }
 }
@@ -0,0 +1,62 @@
+package io.github.booster.commons.rate.limiter
+
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hamcrest.MatcherAssert.assertThat
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.notNullValue
+import org.hamcrest.Matchers.sameInstance
+import org.junit.jupiter.api.Test
+import java.time.Duration
+
+internal class RateLimiterConfigTest {
+
+    @Test
+    fun `should not create rate limiter`() {
+        assertThat(RateLimiterConfig().tryGet("test").isDefined(), equalTo(false))
+        assertThat(
+            RateLimiterConfig(mapOf(Pair("abc", RateLimiterSetting()))).tryGet("test").isDefined(),
+            equalTo(false)
+        )
+
+        val config = RateLimiterConfig()
+        config.setSettings(null)
+        assertThat(config.tryGet("test").isDefined(), equalTo(false))
+    }
+
+    @Test
+    fun `should create rate limiter`() {
+        val setting = RateLimiterSetting()
+        setting.limitForPeriod = 10
+        setting.limitRefreshPeriodMillis = 100
+        setting.timeoutMillis = 5
+
+        val meterRegistry = SimpleMeterRegistry()
+        val config = RateLimiterConfig()
+        config.setMetricsRegistry(MetricsRegistry(meterRegistry))
+        config.setSettings(mapOf(Pair("test", setting)))
+
+        val rateLimiter = config.tryGet("test")
+        assertThat(rateLimiter.isDefined(), equalTo(true))
+        assertThat(rateLimiter.orNull()!!.rateLimiterConfig.limitForPeriod, equalTo(10))
+        assertThat(rateLimiter.orNull()!!.rateLimiterConfig.limitRefreshPeriod, equalTo(Duration.ofMillis(100)))
+        assertThat(rateLimiter.orNull()!!.rateLimiterConfig.timeoutDuration, equalTo(Duration.ofMillis(5)))
+        assertThat(config.tryGet("test").orNull(), sameInstance(rateLimiter.orNull()))
+        assertThat(
+            meterRegistry.find("resilience4j.ratelimiter.available.permissions").tag("name", "test").gauge(),
+            notNullValue()
+        )
+    }
+
+    @Test
+    fun `should sanitize setting`() {
+        val setting = RateLimiterSetting()
+        setting.limitForPeriod = 0
+        setting.limitRefreshPeriodMillis = -1
+        setting.timeoutMillis = -1
+
+        assertThat(setting.limitForPeriod, equalTo(RateLimiterSetting.DEFAULT_LIMIT_FOR_PERIOD))
+        assertThat(setting.limitRefreshPeriodMillis, equalTo(RateLimiterSetting.DEFAULT_LIMIT_REFRESH_PERIOD_MILLIS))
+        assertThat(setting.timeoutMillis, equalTo(0))
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.booster.commons.retry
 
+import io.github.booster.commons.deadline.DeadlineExceededException
 import io.github.booster.commons.metrics.MetricsRegistry
 import io.github.booster.commons.retry.RetrySetting
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry
@@ -133,4 +134,19 @@ internal class RetrySettingTest {
         setting.initialBackOffMillis = 100
         assertThat(setting.initialBackOffMillis, IsEqual.equalTo(100))
     }
+
+    @Test
+    fun shouldNotRetryDeadlineExceeded() {
+        val setting = RetrySetting()
+        setting.maxAttempts = 3
+        val retry = setting.buildRetry("test").orNull()!!
+        assertThat(
+            retry.retryConfig.exceptionPredicate.test(DeadlineExceededException("test")),
+            equalTo(false)
+        )
+        assertThat(
+            retry.retryConfig.exceptionPredicate.test(IllegalStateException()),
+            equalTo(true)
+        )
+    }
 }
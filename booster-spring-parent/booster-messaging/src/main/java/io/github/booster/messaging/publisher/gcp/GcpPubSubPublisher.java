@@ -24,11 +24,10 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
 
 /**
  * GCP pub/sub publisher
@@ -73,7 +72,7 @@ public class GcpPubSubPublisher<T> implements MessagePublisher<PubsubRecord<T>>
 
     private final MetricsRegistry registry;
 
-    private final ExecutorService executorService;
+    private final Scheduler scheduler;
 
     private final OpenTelemetryConfig openTelemetryConfig;
 
@@ -107,7 +106,7 @@ public class GcpPubSubPublisher<T> implements MessagePublisher<PubsubRecord<T>>
 
         this.template = template;
         this.name = name;
-        this.executorService = threadPoolConfig.get(name);
+        this.scheduler = threadPoolConfig.getScheduler(name);
         this.registry = registry == null ? new MetricsRegistry() : registry;
         this.openTelemetryConfig = openTelemetryConfig;
         this.manuallyInjectTrace = manuallyInjectTrace;
@@ -127,7 +126,7 @@ public class GcpPubSubPublisher<T> implements MessagePublisher<PubsubRecord<T>>
         log.debug("booster-messaging - gcp publisher[{}] publishing to topic: {}, payload: {}", this.name, topic, pubsubMessage);
 
         Mono<String> publishMono = FutureHelper.fromListenableFutureToMono(this.template.publish(topic, pubsubMessage))
-                .subscribeOn(Schedulers.fromExecutorService(this.executorService));
+                .subscribeOn(this.scheduler);
 
         return publishMono.map(string -> {
                     log.debug("booster-messaging - gcp publisher[{}] send successful", this.name);
@@ -22,13 +22,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 import reactor.kafka.sender.KafkaSender;
 import reactor.kafka.sender.SenderRecord;
 import reactor.kafka.sender.SenderResult;
 
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.ExecutorService;
 
 /**
  * Kafka publisher using {@link KafkaSender}
@@ -52,7 +51,7 @@ public class ReactiveKafkaPublisher<T> implements MessagePublisher<KafkaRecord<T
 
     private final KafkaSender<String, T> kafkaSender;
 
-    private final ExecutorService executorService;
+    private final Scheduler scheduler;
 
     private final MetricsRegistry registry;
 
@@ -84,7 +83,7 @@ public class ReactiveKafkaPublisher<T> implements MessagePublisher<KafkaRecord<T
 
         this.name = name;
         this.kafkaSender = kafkaSender;
-        this.executorService = threadPoolConfig.get(name);
+        this.scheduler = threadPoolConfig.getScheduler(name);
         this.registry = registry == null ? new MetricsRegistry() : registry;
         this.openTelemetryConfig = openTelemetryConfig;
         this.manuallyInjectTrace = manuallyInjectTrace;
@@ -163,7 +162,7 @@ public class ReactiveKafkaPublisher<T> implements MessagePublisher<KafkaRecord<T
         log.debug("booster-messaging - kafka publisher[{}] sending to topic {}", this.name, topic);
 
         Flux<SenderResult<String>> senderResultFlux = this.kafkaSender.send(Mono.just(senderRecord))
-                .subscribeOn(Schedulers.fromExecutorService(this.executorService))
+                .subscribeOn(this.scheduler)
                 .doOnTerminate(() -> {
                     log.debug("booster-messaging - kafka publisher[{}] message send terminated", this.name);
                     MetricsHelper.recordProcessingTime(
@@ -23,10 +23,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.ExecutorService;
 
 /**
  * Uses {@link KafkaTemplate} to publish messages to Kafka
@@ -52,7 +51,7 @@ public class TemplateKafkaPublisher<T> implements MessagePublisher<KafkaRecord<T
 
     private final KafkaTemplate<String, T> kafkaTemplate;
 
-    private final ExecutorService executorService;
+    private final Scheduler scheduler;
 
     private final MetricsRegistry registry;
 
@@ -84,7 +83,7 @@ public class TemplateKafkaPublisher<T> implements MessagePublisher<KafkaRecord<T
 
         this.name = name;
         this.kafkaTemplate = kafkaTemplate;
-        this.executorService = threadPoolConfig.get(name);
+        this.scheduler = threadPoolConfig.getScheduler(name);
         this.registry = registry == null ? new MetricsRegistry() : registry;
         this.openTelemetryConfig = openTelemetryConfig;
         this.manuallyInjectTrace = manuallyInjectTrace;
@@ -115,7 +114,7 @@ public class TemplateKafkaPublisher<T> implements MessagePublisher<KafkaRecord<T
         }
 
         return FutureHelper.fromListenableFutureToMono(this.kafkaTemplate.send(producerRecord))
-                .subscribeOn(Schedulers.fromExecutorService(this.executorService))
+                .subscribeOn(this.scheduler)
                 .map(sendResult -> {
                     log.debug("booster-messaging - kafka publisher[{}] published to Kafka with result: {}", this.name, sendResult);
                     MetricsHelper.recordMessagePublishCount(
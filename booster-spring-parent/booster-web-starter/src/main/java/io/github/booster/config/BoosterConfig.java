@@ -1,10 +1,17 @@
 package io.github.booster.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.booster.commons.bulkhead.BulkheadConfig;
 import io.github.booster.commons.circuit.breaker.CircuitBreakerConfig;
+import io.github.booster.commons.concurrency.ConcurrencyLimitConfig;
+import io.github.booster.commons.metrics.HistogramConfig;
 import io.github.booster.commons.metrics.MetricsRegistry;
+import io.github.booster.commons.rate.limiter.RateLimiterConfig;
 import io.github.booster.commons.retry.RetryConfig;
+import io.github.booster.config.cache.CacheConfig;
 import io.github.booster.config.thread.ThreadPoolConfig;
+import io.github.booster.config.warmup.TaskWarmup;
+import io.github.booster.config.warmup.WarmupRequest;
 import io.github.booster.factories.HttpClientFactory;
 import io.github.booster.factories.TaskFactory;
 import io.github.booster.http.client.config.CustomWebClientExchangeTagsProvider;
@@ -24,6 +31,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.util.List;
+
 /**
  * Auto configuration for Booster Web, HTTP client and tasks.
  */
@@ -92,6 +101,72 @@ public class BoosterConfig implements ApplicationContextAware {
         return new CircuitBreakerConfig();
     }
 
+    /**
+     * Creates a {@link ConcurrencyLimitConfig} bean
+     * @param registry {@link MetricsRegistry} to record metrics
+     * @return {@link ConcurrencyLimitConfig} bean
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "booster.tasks.concurrency-limits")
+    public ConcurrencyLimitConfig concurrencyLimitConfig(
+            @Autowired MetricsRegistry registry
+    ) {
+        ConcurrencyLimitConfig config = new ConcurrencyLimitConfig();
+        config.setMetricsRegistry(registry);
+        return config;
+    }
+
+    /**
+     * Creates a {@link BulkheadConfig} bean
+     * @param registry {@link MetricsRegistry} to record metrics
+     * @return {@link BulkheadConfig} bean
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "booster.tasks.bulkheads")
+    public BulkheadConfig bulkheadConfig(
+            @Autowired MetricsRegistry registry
+    ) {
+        BulkheadConfig config = new BulkheadConfig();
+        config.setMetricsRegistry(registry);
+        return config;
+    }
+
+    /**
+     * Creates a {@link RateLimiterConfig} bean
+     * @param registry {@link MetricsRegistry} to record metrics
+     * @return {@link RateLimiterConfig} bean
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "booster.tasks.rate-limiters")
+    public RateLimiterConfig rateLimiterConfig(
+            @Autowired MetricsRegistry registry
+    ) {
+        RateLimiterConfig config = new RateLimiterConfig();
+        config.setMetricsRegistry(registry);
+        return config;
+    }
+
+    /**
+     * Creates a {@link HistogramConfig} bean. As a {@link io.micrometer.core.instrument.config.MeterFilter}
+     * bean, it is applied to the {@link MeterRegistry} before any task timer is registered.
+     * @return {@link HistogramConfig} bean
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "booster.tasks.histograms")
+    public HistogramConfig histogramConfig() {
+        return new HistogramConfig();
+    }
+
+    /**
+     * Creates a {@link CacheConfig} bean
+     * @return {@link CacheConfig} bean
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "booster.tasks.caches")
+    public CacheConfig cacheConfig() {
+        return new CacheConfig();
+    }
+
     /**
      * Creates a {@link HttpClientConnectionConfig} bean
      * @return {@link HttpClientConnectionConfig} bean
@@ -142,6 +217,10 @@ public class BoosterConfig implements ApplicationContextAware {
      * @param threadPoolConfig {@link ThreadPoolConfig} for {@link io.github.booster.task.Task}
      * @param retryConfig {@link RetryConfig} for {@link io.github.booster.task.Task}
      * @param circuitBreakerConfig {@link CircuitBreakerConfig} for {@link io.github.booster.task.Task}
+     * @param concurrencyLimitConfig {@link ConcurrencyLimitConfig} for {@link io.github.booster.task.Task}
+     * @param bulkheadConfig {@link BulkheadConfig} for {@link io.github.booster.task.Task}
+     * @param rateLimiterConfig {@link RateLimiterConfig} for {@link io.github.booster.task.Task}
+     * @param cacheConfig {@link CacheConfig} for {@link io.github.booster.task.Task}
      * @param httpClientFactory {@link HttpClientFactory} to create HTTP {@link io.github.booster.task.Task}
      * @param registry {@link MetricsRegistry} to record metrics
      * @return {@link TaskFactory} bean
@@ -151,6 +230,10 @@ public class BoosterConfig implements ApplicationContextAware {
             @Autowired ThreadPoolConfig threadPoolConfig,
             @Autowired RetryConfig retryConfig,
             @Autowired CircuitBreakerConfig circuitBreakerConfig,
+            @Autowired ConcurrencyLimitConfig concurrencyLimitConfig,
+            @Autowired BulkheadConfig bulkheadConfig,
+            @Autowired RateLimiterConfig rateLimiterConfig,
+            @Autowired CacheConfig cacheConfig,
             @Autowired HttpClientFactory httpClientFactory,
             @Autowired MetricsRegistry registry
     ) {
@@ -158,11 +241,34 @@ public class BoosterConfig implements ApplicationContextAware {
                 threadPoolConfig,
                 retryConfig,
                 circuitBreakerConfig,
+                concurrencyLimitConfig,
+                bulkheadConfig,
+                rateLimiterConfig,
+                cacheConfig,
                 httpClientFactory,
                 registry
         );
     }
 
+    /**
+     * Creates {@link TaskWarmup} bean, running at start up if enabled
+     * @param threadPoolConfig {@link ThreadPoolConfig} to create thread pools
+     * @param taskFactory {@link TaskFactory} to build tasks
+     * @param httpClientConnectionConfig {@link HttpClientConnectionConfig} to find HTTP clients
+     * @param warmupRequests {@link WarmupRequest} beans to run
+     * @return {@link TaskWarmup} bean
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "booster.tasks.warmup")
+    public TaskWarmup taskWarmup(
+            @Autowired ThreadPoolConfig threadPoolConfig,
+            @Autowired TaskFactory taskFactory,
+            @Autowired HttpClientConnectionConfig httpClientConnectionConfig,
+            @Autowired(required = false) List<WarmupRequest<?>> warmupRequests
+    ) {
+        return new TaskWarmup(threadPoolConfig, taskFactory, httpClientConnectionConfig, warmupRequests);
+    }
+
     /**
      * Creates {@link MeterRegistryCustomizer} bean to inject common tags on metrics
      * @param serviceName name of service
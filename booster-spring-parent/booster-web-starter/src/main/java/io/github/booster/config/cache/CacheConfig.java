@@ -0,0 +1,85 @@
+package io.github.booster.config.cache;
+
+import arrow.core.Option;
+import io.github.booster.commons.metrics.MetricsRegistry;
+import io.github.booster.task.Task;
+import io.github.booster.task.impl.CachingTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Task response cache configuration. Tasks with a cache setting
+ * of the same name have their responses cached.
+ */
+public class CacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheConfig.class);
+
+    private Map<String, CacheSetting> settings = new HashMap<>();
+
+    /**
+     * Default constructor
+     */
+    public CacheConfig() {
+    }
+
+    /**
+     * Sets cache settings.
+     * @param settings cache settings.
+     */
+    public void setSettings(Map<String, CacheSetting> settings) {
+        this.settings = settings == null ? Map.of() : settings;
+    }
+
+    /**
+     * Retrieves original setting.
+     * @param key name of the setting.
+     * @return {@link CacheSetting} if exists, otherwise null.
+     */
+    public CacheSetting getSetting(String key) {
+        if (key != null) {
+            return this.settings.get(key);
+        }
+        return null;
+    }
+
+    /**
+     * Try get a cache setting
+     * @param key name of the setting.
+     * @return {@link Option} of {@link CacheSetting}
+     */
+    public Option<CacheSetting> tryGet(String key) {
+        return Option.fromNullable(this.getSetting(key));
+    }
+
+    /**
+     * Wraps a {@link Task} with {@link CachingTask} if a cache setting exists for the name,
+     * requests are used as cache keys.
+     * @param name name of the cache setting.
+     * @param task {@link Task} to be wrapped.
+     * @param registry {@link MetricsRegistry} to record cache metrics.
+     * @return {@link CachingTask} if cache setting exists, otherwise the original {@link Task}
+     * @param <Request> request type
+     * @param <Response> response type
+     */
+    public <Request, Response> Task<Request, Response> decorate(
+            String name,
+            Task<Request, Response> task,
+            MetricsRegistry registry
+    ) {
+        CacheSetting setting = this.getSetting(name);
+        if (setting == null) {
+            return task;
+        }
+        log.debug("booster-starter - caching responses for task [{}], setting: [{}]", name, setting);
+        return new CachingTask<>(
+                task,
+                request -> request,
+                setting.buildCacheContext(),
+                registry
+        );
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.booster.config.cache;
+
+import arrow.core.Option;
+import io.github.booster.task.CacheContext;
+import io.github.booster.task.CacheContextKt;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Task response cache settings
+ */
+@ToString
+@Getter
+@EqualsAndHashCode
+public class CacheSetting {
+
+    /**
+     * Default maximum number of cached responses
+     */
+    public static final long DEFAULT_MAX_SIZE = CacheContextKt.DEFAULT_CACHE_MAX_SIZE;
+
+    private long maxSize = DEFAULT_MAX_SIZE;
+
+    private long expireAfterWriteMillis = 0;
+
+    private long expireAfterAccessMillis = 0;
+
+    private long refreshAfterWriteMillis = 0;
+
+    private boolean cacheNegative = false;
+
+    /**
+     * Default constructor with default values.
+     */
+    public CacheSetting() {
+    }
+
+    /**
+     * Sets maximum number of cached responses
+     * @param maxSize maximum size, need to be greater than 0 or defaults to 1000
+     */
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize <= 0 ? DEFAULT_MAX_SIZE : maxSize;
+    }
+
+    /**
+     * Sets time a response stays cached after it's written
+     * @param expireAfterWriteMillis time in milliseconds, 0 or less means no expiration
+     */
+    public void setExpireAfterWriteMillis(long expireAfterWriteMillis) {
+        this.expireAfterWriteMillis = Math.max(expireAfterWriteMillis, 0);
+    }
+
+    /**
+     * Sets time a response stays cached after it's last read
+     * @param expireAfterAccessMillis time in milliseconds, 0 or less means no expiration
+     */
+    public void setExpireAfterAccessMillis(long expireAfterAccessMillis) {
+        this.expireAfterAccessMillis = Math.max(expireAfterAccessMillis, 0);
+    }
+
+    /**
+     * Sets time after which a read reloads the response in the background
+     * @param refreshAfterWriteMillis time in milliseconds, 0 or less means no refresh
+     */
+    public void setRefreshAfterWriteMillis(long refreshAfterWriteMillis) {
+        this.refreshAfterWriteMillis = Math.max(refreshAfterWriteMillis, 0);
+    }
+
+    /**
+     * Sets whether to cache empty responses and exceptions
+     * @param cacheNegative true to cache negative responses
+     */
+    public void setCacheNegative(boolean cacheNegative) {
+        this.cacheNegative = cacheNegative;
+    }
+
+    /**
+     * Creates a {@link CacheContext} from the setting
+     * @return {@link CacheContext}
+     */
+    public CacheContext buildCacheContext() {
+        return new CacheContext(
+                this.maxSize,
+                toDuration(this.expireAfterWriteMillis),
+                toDuration(this.expireAfterAccessMillis),
+                toDuration(this.refreshAfterWriteMillis),
+                this.cacheNegative
+        );
+    }
+
+    private static Option<Duration> toDuration(long millis) {
+        return Option.fromNullable(millis > 0 ? Duration.ofMillis(millis) : null);
+    }
+}
@@ -5,6 +5,10 @@ import io.github.booster.commons.cache.GenericKeyedObjectCache;
 import io.github.booster.commons.cache.KeyedCacheObjectFactory;
 import io.github.booster.commons.cache.KeyedObjectCache;
 import io.github.booster.commons.metrics.MetricsRegistry;
+import io.github.booster.task.util.BoundedExecutorService;
+import io.github.booster.task.util.DeadlineExecutorService;
+import io.github.booster.task.util.ExecutorUtilKt;
+import io.github.booster.task.util.SchedulerRegistry;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -13,12 +17,18 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cloud.sleuth.instrument.async.LazyTraceThreadPoolTaskExecutor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.scheduler.Scheduler;
 
 import javax.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Spring Configuration for thread groups.
@@ -37,6 +47,8 @@ public class ThreadPoolConfig
 
     private final ApplicationContext applicationContext;
 
+    private final SchedulerRegistry schedulerRegistry = SchedulerRegistry.SHARED;
+
     /**
      * Constructs a {@link ThreadPoolConfig} object
      * @param applicationContext {@link ApplicationContext} to create {@link LazyTraceThreadPoolTaskExecutor}
@@ -71,6 +83,48 @@ public class ThreadPoolConfig
         return null;
     }
 
+    /**
+     * Names of all configured thread pools, created or not.
+     * @return {@link Set} of configured thread pool names.
+     */
+    public Set<String> getSettingKeys() {
+        return this.settings.keySet();
+    }
+
+    /**
+     * Creates every configured thread pool and starts its threads, so first requests
+     * don't pay for creating them. Platform pools start their core threads and fork join
+     * pools their parallelism, by running a no-op per thread. Virtual thread pools have
+     * nothing to start.
+     * @return names of thread pools created.
+     */
+    public Set<String> warmUp() {
+        Set<String> created = new HashSet<>();
+        this.settings.forEach((key, setting) -> {
+            ExecutorService executorService = this.get(key);
+            if (executorService == null) {
+                return;
+            }
+            created.add(key);
+            int threads;
+            switch (setting.getPoolType()) {
+                case PLATFORM:
+                    threads = setting.getCoreSize();
+                    break;
+                case FORK_JOIN:
+                    threads = setting.getMaxSize();
+                    break;
+                default:
+                    threads = 0;
+            }
+            log.debug("booster-starter - warming up thread pool [{}] with [{}] threads", key, threads);
+            for (int i = 0; i < threads; i++) {
+                executorService.execute(() -> { });
+            }
+        });
+        return created;
+    }
+
     /**
      * Shuts down all threads when application closes.
      */
@@ -81,6 +135,7 @@ public class ThreadPoolConfig
                     ExecutorService threadPool = this.cache.get(key);
                     if (threadPool != null) {
                         threadPool.shutdown();
+                        this.schedulerRegistry.remove(threadPool);
                     }
                 });
     }
@@ -98,47 +153,121 @@ public class ThreadPoolConfig
     public ExecutorService create(String key) {
         if (this.settings.containsKey(key)) {
             ThreadPoolSetting setting = this.settings.get(key);
-            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
             log.debug("booster-starter - creating thread pool for [{}], setting: [{}]", key, setting);
 
             if (StringUtils.isNotBlank(setting.getPrefix())) {
                 setting.setPrefix(key);
             }
-            if (setting.getCoreSize() > setting.getMaxSize()) {
-                setting.setCoreSize(setting.getMaxSize());
-            }
-            executor.setCorePoolSize(setting.getCoreSize());
-            executor.setMaxPoolSize(setting.getMaxSize());
-            executor.setQueueCapacity(setting.getQueueSize());
-            executor.setThreadNamePrefix(setting.getPrefix());
-            executor.initialize();
 
             ExecutorService executorService;
-            if (this.applicationContext != null) {
-                LazyTraceThreadPoolTaskExecutor taskExecutor = new LazyTraceThreadPoolTaskExecutor(
-                        this.applicationContext.getAutowireCapableBeanFactory(),
-                        executor
-                );
-                executorService = taskExecutor.getThreadPoolExecutor();
-                if (this.registry != null) {
-                    Option<ExecutorService> executorServiceOption =
-                            this.registry.measureExecutorService(Option.fromNullable(executorService), key);
-                    return executorServiceOption.orNull();
-                }
-            } else {
-                executorService = executor.getThreadPoolExecutor();
-                if (this.registry != null) {
-                    Option<ExecutorService> executorServiceOption =
-                            this.registry.measureExecutorService(Option.fromNullable(executorService), key);
-                    return executorServiceOption.orNull();
-                }
+            switch (setting.getPoolType()) {
+                case VIRTUAL:
+                    executorService = this.createVirtualPool(key, setting);
+                    break;
+                case FORK_JOIN:
+                    executorService = this.createForkJoinPool(key, setting);
+                    break;
+                case DEADLINE:
+                    executorService = this.createDeadlinePool(key, setting);
+                    break;
+                default:
+                    executorService = this.createPlatformPool(setting);
+            }
+
+            // deadline pools record their own metrics, wrapping them would hide deadlines from tasks.
+            if (this.registry != null && setting.getPoolType() != ThreadPoolSetting.PoolType.DEADLINE) {
+                Option<ExecutorService> executorServiceOption =
+                        this.registry.measureExecutorService(Option.fromNullable(executorService), key);
+                executorService = executorServiceOption.orNull();
             }
+            this.registerScheduler(key, executorService);
             return executorService;
         }
         log.debug("booster-starter - no thread pool setup for [{}]", key);
         return null;
     }
 
+    private void registerScheduler(String key, ExecutorService executorService) {
+        if (executorService == null) {
+            return;
+        }
+        if (SchedulerRegistry.PARALLEL.equals(key) || SchedulerRegistry.BOUNDED_ELASTIC.equals(key)) {
+            log.warn("booster-starter - thread pool [{}] shares its name with a built-in scheduler", key);
+            return;
+        }
+        this.schedulerRegistry.register(key, executorService);
+    }
+
+    private ExecutorService createPlatformPool(ThreadPoolSetting setting) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (setting.getCoreSize() > setting.getMaxSize()) {
+            setting.setCoreSize(setting.getMaxSize());
+        }
+        executor.setCorePoolSize(setting.getCoreSize());
+        executor.setMaxPoolSize(setting.getMaxSize());
+        executor.setQueueCapacity(setting.getQueueSize());
+        executor.setThreadNamePrefix(setting.getPrefix());
+        executor.initialize();
+
+        if (this.applicationContext != null) {
+            LazyTraceThreadPoolTaskExecutor taskExecutor = new LazyTraceThreadPoolTaskExecutor(
+                    this.applicationContext.getAutowireCapableBeanFactory(),
+                    executor
+            );
+            return taskExecutor.getThreadPoolExecutor();
+        }
+        return executor.getThreadPoolExecutor();
+    }
+
+    private ExecutorService createVirtualPool(String key, ThreadPoolSetting setting) {
+        Option<ExecutorService> virtualExecutor = ExecutorUtilKt.virtualThreadExecutor(setting.getPrefix());
+        if (virtualExecutor.isEmpty()) {
+            log.warn(
+                    "booster-starter - virtual threads not available, creating platform thread pool for [{}]",
+                    key
+            );
+            return this.createPlatformPool(setting);
+        }
+
+        ExecutorService executorService = virtualExecutor.orNull();
+        if (setting.getMaxConcurrency() > 0) {
+            log.debug(
+                    "booster-starter - limiting virtual thread pool [{}] to [{}] concurrent tasks",
+                    key,
+                    setting.getMaxConcurrency()
+            );
+            return new BoundedExecutorService(executorService, setting.getMaxConcurrency());
+        }
+        return executorService;
+    }
+
+    private ExecutorService createForkJoinPool(String key, ThreadPoolSetting setting) {
+        String prefix = StringUtils.isNotBlank(setting.getPrefix()) ? setting.getPrefix() : key;
+        return new ForkJoinPool(
+                setting.getMaxSize(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName(prefix + "-" + thread.getPoolIndex());
+                    return thread;
+                },
+                null,
+                false
+        );
+    }
+
+    private ExecutorService createDeadlinePool(String key, ThreadPoolSetting setting) {
+        String prefix = StringUtils.isNotBlank(setting.getPrefix()) ? setting.getPrefix() : key;
+        AtomicInteger index = new AtomicInteger(0);
+        return new DeadlineExecutorService(
+                key,
+                setting.getMaxSize(),
+                setting.getQueueSize(),
+                Duration.ofMillis(setting.getDefaultBudgetMillis()),
+                this.registry == null ? new MetricsRegistry() : this.registry,
+                runnable -> new Thread(runnable, prefix + "-" + index.getAndIncrement())
+        );
+    }
+
     /**
      * Retrieves all the keys for created thread pools
      * @return {@link Set} of keys for all created thread pools.
@@ -174,4 +303,23 @@ public class ThreadPoolConfig
     public Option<ExecutorService> tryGet(String key) {
         return this.cache.tryGet(key);
     }
+
+    /**
+     * Retrieves the {@link Scheduler} of a thread pool. The same {@link Scheduler} instance
+     * is returned for a thread pool every time, and is shared with tasks running on it.
+     * @param key key of the thread pool, or {@link SchedulerRegistry#PARALLEL} and
+     *            {@link SchedulerRegistry#BOUNDED_ELASTIC} for Reactor's built-in schedulers.
+     * @return {@link Scheduler} instance or null if no thread pool or built-in scheduler has the key.
+     */
+    @Nullable
+    public Scheduler getScheduler(String key) {
+        if (key == null) {
+            return null;
+        }
+        ExecutorService executorService = this.get(key);
+        if (executorService != null) {
+            return this.schedulerRegistry.get(executorService);
+        }
+        return this.schedulerRegistry.tryGet(key).orNull();
+    }
 }
@@ -12,6 +12,30 @@ import lombok.ToString;
 @EqualsAndHashCode
 public class ThreadPoolSetting {
 
+    /**
+     * Type of thread pool
+     */
+    public enum PoolType {
+        /**
+         * Platform threads with core size, max size and queue.
+         */
+        PLATFORM,
+        /**
+         * A virtual thread per task, falls back to platform if virtual threads
+         * are not available.
+         */
+        VIRTUAL,
+        /**
+         * Work-stealing fork join pool, max size is used as parallelism.
+         */
+        FORK_JOIN,
+        /**
+         * Fixed pool of max size threads running queued work earliest deadline first.
+         * Work whose deadline passes while queued is dropped.
+         */
+        DEADLINE
+    }
+
     /**
      * Default pool core size
      */
@@ -27,6 +51,11 @@ public class ThreadPoolSetting {
      */
     public static final int DEFAULT_QUEUE_SIZE = 100;
 
+    /**
+     * Default deadline of work queued without one on a {@link PoolType#DEADLINE} pool
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 1000L;
+
     private int coreSize = DEFAULT_CORE_SIZE;
 
     private int maxSize = DEFAULT_MAX_SIZE;
@@ -35,6 +64,12 @@ public class ThreadPoolSetting {
 
     private String prefix;
 
+    private PoolType poolType = PoolType.PLATFORM;
+
+    private int maxConcurrency = 0;
+
+    private long defaultBudgetMillis = DEFAULT_BUDGET_MILLIS;
+
     /**
      * Default constructor with default values.
      */
@@ -72,4 +107,29 @@ public class ThreadPoolSetting {
     public void setPrefix(String prefix) {
         this.prefix = prefix;
     }
+
+    /**
+     * Sets type of thread pool
+     * @param poolType type of thread pool, defaults to {@link PoolType#PLATFORM} if null
+     */
+    public void setPoolType(PoolType poolType) {
+        this.poolType = poolType == null ? PoolType.PLATFORM : poolType;
+    }
+
+    /**
+     * Sets maximum number of tasks running concurrently on a {@link PoolType#VIRTUAL} pool
+     * @param maxConcurrency maximum concurrency, 0 or less means unbounded
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = Math.max(maxConcurrency, 0);
+    }
+
+    /**
+     * Sets deadline given to work queued without one on a {@link PoolType#DEADLINE} pool,
+     * used to order it among work with deadlines.
+     * @param defaultBudgetMillis default budget in milliseconds, defaults to 1000 if negative
+     */
+    public void setDefaultBudgetMillis(long defaultBudgetMillis) {
+        this.defaultBudgetMillis = defaultBudgetMillis < 0 ? DEFAULT_BUDGET_MILLIS : defaultBudgetMillis;
+    }
 }
@@ -0,0 +1,206 @@
+package io.github.booster.config.warmup;
+
+import io.github.booster.config.thread.ThreadPoolConfig;
+import io.github.booster.factories.TaskFactory;
+import io.github.booster.http.client.config.HttpClientConnectionConfig;
+import lombok.Getter;
+import lombok.ToString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Warms up thread pools, tasks and the JIT at start up. Spring Boot reports readiness
+ * only after all {@link ApplicationRunner}s complete, so the application starts accepting
+ * traffic once warm-up is done.
+ *
+ * Warm-up creates every configured thread pool with its threads, builds a task for
+ * every configured name with {@link TaskFactory}, and an HTTP task for every HTTP client.
+ * Each {@link WarmupRequest} is then executed {@link #getIterations()} times. Failures
+ * and timeouts are logged and don't fail start up.
+ *
+ * Warm-up requests run through the production tasks, see {@link WarmupRequest} for the
+ * state they share. Circuit breakers of warmed up tasks are reset once requests complete,
+ * so failing warm-up requests don't leave them open.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public class TaskWarmup implements ApplicationRunner {
+
+    /**
+     * Default number of executions per warm-up request, about when hot paths get compiled.
+     */
+    public static final int DEFAULT_ITERATIONS = 10_000;
+
+    /**
+     * Default number of concurrent executions per warm-up request
+     */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    /**
+     * Default time allowed to run all warm-up requests
+     */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 30_000L;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWarmup.class);
+
+    private final ThreadPoolConfig threadPoolConfig;
+
+    private final TaskFactory taskFactory;
+
+    private final HttpClientConnectionConfig httpClientConnectionConfig;
+
+    private final List<WarmupRequest<?>> requests;
+
+    @Getter
+    @ToString.Include
+    private boolean enabled = false;
+
+    @Getter
+    @ToString.Include
+    private int iterations = DEFAULT_ITERATIONS;
+
+    @Getter
+    @ToString.Include
+    private int concurrency = DEFAULT_CONCURRENCY;
+
+    @Getter
+    @ToString.Include
+    private long timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+    /**
+     * Constructs a {@link TaskWarmup}
+     * @param threadPoolConfig {@link ThreadPoolConfig} to create thread pools.
+     * @param taskFactory {@link TaskFactory} to build tasks.
+     * @param httpClientConnectionConfig {@link HttpClientConnectionConfig} to find HTTP clients, can be null.
+     * @param requests {@link WarmupRequest}s to run, can be null.
+     */
+    public TaskWarmup(
+            ThreadPoolConfig threadPoolConfig,
+            TaskFactory taskFactory,
+            HttpClientConnectionConfig httpClientConnectionConfig,
+            List<WarmupRequest<?>> requests
+    ) {
+        this.threadPoolConfig = threadPoolConfig;
+        this.taskFactory = taskFactory;
+        this.httpClientConnectionConfig = httpClientConnectionConfig;
+        this.requests = requests == null ? List.of() : requests;
+    }
+
+    /**
+     * Enables warm-up, disabled by default.
+     * @param enabled whether to warm up at start up.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sets number of executions per warm-up request
+     * @param iterations number of executions, defaults to 10000 if negative
+     */
+    public void setIterations(int iterations) {
+        this.iterations = iterations < 0 ? DEFAULT_ITERATIONS : iterations;
+    }
+
+    /**
+     * Sets number of concurrent executions per warm-up request
+     * @param concurrency concurrent executions, defaults to 4 if not greater than 0
+     */
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency <= 0 ? DEFAULT_CONCURRENCY : concurrency;
+    }
+
+    /**
+     * Sets time allowed to run all warm-up requests
+     * @param timeoutMillis timeout in milliseconds, defaults to 30000 if not greater than 0
+     */
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis <= 0 ? DEFAULT_TIMEOUT_MILLIS : timeoutMillis;
+    }
+
+    /**
+     * Runs warm-up if enabled.
+     * @param args application arguments, not used.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!this.enabled) {
+            log.debug("booster-starter - warm-up disabled");
+            return;
+        }
+        long start = System.nanoTime();
+        log.info("booster-starter - warming up: {}", this);
+
+        if (this.threadPoolConfig != null) {
+            Set<String> pools = this.threadPoolConfig.warmUp();
+            log.info("booster-starter - thread pools warmed up: {}", pools);
+        }
+        if (this.taskFactory != null) {
+            this.taskFactory.getConfiguredNames().forEach(this::warmUpTask);
+            if (this.httpClientConnectionConfig != null && this.httpClientConnectionConfig.getSettings() != null) {
+                this.httpClientConnectionConfig.getSettings().keySet().forEach(this::warmUpHttpTask);
+            }
+        }
+        this.runRequests();
+        this.resetCircuitBreakers();
+
+        log.info(
+                "booster-starter - warm-up completed in [{}] ms",
+                Duration.ofNanos(System.nanoTime() - start).toMillis()
+        );
+    }
+
+    private void warmUpTask(String name) {
+        try {
+            this.taskFactory.warmUp(name);
+        } catch (RuntimeException e) {
+            log.warn("booster-starter - warming up task [{}] failed", name, e);
+        }
+    }
+
+    private void warmUpHttpTask(String name) {
+        try {
+            this.taskFactory.getHttpTask(name);
+        } catch (RuntimeException e) {
+            log.warn("booster-starter - warming up http task [{}] failed", name, e);
+        }
+    }
+
+    private void resetCircuitBreakers() {
+        if (this.taskFactory == null || this.iterations == 0) {
+            return;
+        }
+        this.requests.forEach(request -> this.taskFactory.resetCircuitBreaker(request.getName()));
+    }
+
+    private void runRequests() {
+        if (this.requests.isEmpty() || this.iterations == 0) {
+            return;
+        }
+        log.info(
+                "booster-starter - running [{}] warm-up requests [{}] times",
+                this.requests.size(),
+                this.iterations
+        );
+        try {
+            Flux.fromIterable(this.requests)
+                    .concatMap(request -> Flux.range(0, this.iterations)
+                            .flatMap(i -> request.execute().onErrorResume(t -> {
+                                log.debug("booster-starter - warm-up request [{}] failed", request.getName(), t);
+                                return Mono.empty();
+                            }), this.concurrency)
+                            .then())
+                    .then()
+                    .block(Duration.ofMillis(this.timeoutMillis));
+        } catch (RuntimeException e) {
+            log.warn("booster-starter - warm-up requests did not complete in [{}] ms", this.timeoutMillis, e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.booster.config.warmup;
+
+import com.google.common.base.Preconditions;
+import io.github.booster.task.Task;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Synthetic request run through a {@link Task} during warm-up, so the task's hot
+ * paths are compiled before real traffic arrives. Registered as a bean to be picked
+ * up by {@link TaskWarmup}. Requests should be safe to run repeatedly, e.g. reads
+ * against stubs or idempotent lookups.
+ *
+ * <p><b>Warm-up requests share state with real traffic.</b> Tasks are looked up by name,
+ * so warm-up executions go through the same circuit breaker, rate limiter, concurrency
+ * limiter and metrics as production requests, {@link TaskWarmup#DEFAULT_ITERATIONS} times
+ * by default. Failing requests can open the circuit breaker, slow stubs can shrink the
+ * adaptive concurrency limit, and every execution consumes rate limiter permits and is
+ * counted in task metrics. {@link TaskWarmup} resets circuit breakers after warm-up; other
+ * state is kept, so requests should succeed quickly, or use fewer iterations.</p>
+ * @param <Request> request type
+ */
+public class WarmupRequest<Request> {
+
+    private final Task<Request, ?> task;
+
+    private final Supplier<Request> requestSupplier;
+
+    /**
+     * Constructs a {@link WarmupRequest}
+     * @param task {@link Task} to warm up.
+     * @param requestSupplier creates a request per warm-up execution.
+     */
+    public WarmupRequest(Task<Request, ?> task, Supplier<Request> requestSupplier) {
+        Preconditions.checkArgument(task != null, "task cannot be null");
+        Preconditions.checkArgument(requestSupplier != null, "request supplier cannot be null");
+        this.task = task;
+        this.requestSupplier = requestSupplier;
+    }
+
+    /**
+     * Name of the task warmed up.
+     * @return name of the task.
+     */
+    public String getName() {
+        return this.task.getName();
+    }
+
+    /**
+     * Executes the task with a new synthetic request.
+     * @return {@link Mono} completing when the execution completes.
+     */
+    public Mono<?> execute() {
+        return this.task.execute(this.requestSupplier.get());
+    }
+}
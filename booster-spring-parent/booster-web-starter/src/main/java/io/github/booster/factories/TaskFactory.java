@@ -2,18 +2,24 @@ package io.github.booster.factories;
 
 import arrow.core.Option;
 import com.google.common.base.Preconditions;
+import io.github.booster.commons.bulkhead.BulkheadConfig;
 import io.github.booster.commons.circuit.breaker.CircuitBreakerConfig;
+import io.github.booster.commons.concurrency.ConcurrencyLimitConfig;
 import io.github.booster.commons.metrics.MetricsRegistry;
+import io.github.booster.commons.rate.limiter.RateLimiterConfig;
 import io.github.booster.commons.retry.RetryConfig;
+import io.github.booster.config.cache.CacheConfig;
 import io.github.booster.config.thread.ThreadPoolConfig;
 import io.github.booster.http.client.HttpClient;
 import io.github.booster.http.client.config.HttpClientConnectionConfig;
 import io.github.booster.http.client.request.HttpClientRequestContext;
 import io.github.booster.task.Task;
+import io.github.booster.task.ExecutionType;
 import io.github.booster.task.TaskExecutionContext;
 import io.github.booster.task.impl.AsyncTask;
 import io.github.booster.task.impl.RequestHandlers;
 import io.github.booster.task.impl.SynchronousTask;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import kotlin.jvm.functions.Function1;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +27,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import reactor.core.publisher.Mono;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Generates {@link Task}
  */
@@ -38,11 +47,51 @@ public class TaskFactory {
 
     private final MetricsRegistry registry;
 
+    private final ConcurrencyLimitConfig concurrencyLimitConfig;
+
+    private final BulkheadConfig bulkheadConfig;
+
+    private final RateLimiterConfig rateLimiterConfig;
+
+    private final CacheConfig cacheConfig;
+
+    /**
+     * Constructs a {@link TaskFactory}
+     * @param threadPoolConfig {@link ThreadPoolConfig} for {@link Task}
+     * @param retryConfig {@link RetryConfig} for {@link Task}
+     * @param circuitBreakerConfig {@link CircuitBreakerConfig} for {@link Task}
+     * @param httpClientFactory {@link HttpClientFactory} to create HTTP client {@link Task}
+     * @param registry {@link MetricsRegistry} to record metrics.
+     */
+    public TaskFactory(
+            ThreadPoolConfig threadPoolConfig,
+            RetryConfig retryConfig,
+            CircuitBreakerConfig circuitBreakerConfig,
+            HttpClientFactory httpClientFactory,
+            MetricsRegistry registry
+    ) {
+        this(
+                threadPoolConfig,
+                retryConfig,
+                circuitBreakerConfig,
+                new ConcurrencyLimitConfig(),
+                new BulkheadConfig(),
+                new RateLimiterConfig(),
+                new CacheConfig(),
+                httpClientFactory,
+                registry
+        );
+    }
+
     /**
      * Constructs a {@link TaskFactory}
      * @param threadPoolConfig {@link ThreadPoolConfig} for {@link Task}
      * @param retryConfig {@link RetryConfig} for {@link Task}
      * @param circuitBreakerConfig {@link CircuitBreakerConfig} for {@link Task}
+     * @param concurrencyLimitConfig {@link ConcurrencyLimitConfig} for {@link Task}
+     * @param bulkheadConfig {@link BulkheadConfig} for {@link Task}
+     * @param rateLimiterConfig {@link RateLimiterConfig} for {@link Task}
+     * @param cacheConfig {@link CacheConfig} for {@link Task} response caching
      * @param httpClientFactory {@link HttpClientFactory} to create HTTP client {@link Task}
      * @param registry {@link MetricsRegistry} to record metrics.
      */
@@ -50,6 +99,10 @@ public class TaskFactory {
             ThreadPoolConfig threadPoolConfig,
             RetryConfig retryConfig,
             CircuitBreakerConfig circuitBreakerConfig,
+            ConcurrencyLimitConfig concurrencyLimitConfig,
+            BulkheadConfig bulkheadConfig,
+            RateLimiterConfig rateLimiterConfig,
+            CacheConfig cacheConfig,
             HttpClientFactory httpClientFactory,
             MetricsRegistry registry
     ) {
@@ -57,6 +110,11 @@ public class TaskFactory {
         this.registry = registry;
         this.retryConfig = retryConfig;
         this.circuitBreakerConfig = circuitBreakerConfig;
+        this.concurrencyLimitConfig = concurrencyLimitConfig == null ?
+                new ConcurrencyLimitConfig() : concurrencyLimitConfig;
+        this.bulkheadConfig = bulkheadConfig == null ? new BulkheadConfig() : bulkheadConfig;
+        this.rateLimiterConfig = rateLimiterConfig == null ? new RateLimiterConfig() : rateLimiterConfig;
+        this.cacheConfig = cacheConfig == null ? new CacheConfig() : cacheConfig;
         this.httpClientFactory = httpClientFactory;
     }
 
@@ -74,8 +132,8 @@ public class TaskFactory {
     /**
      * Creates an {@link AsyncTask}
      * @param name name of the task to create. the name is also used
-     *             to look for thread pools, retry settings and
-     *             circuit breaker settings.
+     *             to look for thread pools, retry, circuit breaker, concurrency
+     *             limit, bulkhead, rate limiter and cache settings.
      * @param processor the task processor that handles inputs and product outputs.
      * @param exceptionHandler exception handler. if missing, a default one is used to
      *                         just throw any exception in the input.
@@ -91,7 +149,7 @@ public class TaskFactory {
         if (exceptionHandler == null) {
             exceptionHandler = TaskFactory::handleException;
         }
-        return new AsyncTask<>(
+        Task<Request, Response> task = new AsyncTask<>(
                 name,
                 new RequestHandlers<>(
                         Option.fromNullable(null),
@@ -101,17 +159,23 @@ public class TaskFactory {
                         this.threadPoolConfig.tryGet(name),
                         this.retryConfig.tryGet(name),
                         this.circuitBreakerConfig.tryGet(name),
-                        this.registry
+                        this.registry,
+                        ExecutionType.PUBLISH_ON,
+                        this.concurrencyLimitConfig.tryGet(name),
+                        this.bulkheadConfig.tryGet(name),
+                        this.bulkheadConfig.tryGetThreadPool(name),
+                        this.rateLimiterConfig.tryGet(name)
                 ),
                 processor
         );
+        return this.cacheConfig.decorate(name, task, this.registry);
     }
 
     /**
      * Creates an {@link SynchronousTask}
      * @param name name of the task to create. the name is also used
-     *             to look for thread pools, retry settings and
-     *             circuit breaker settings.
+     *             to look for thread pools, retry, circuit breaker, concurrency
+     *             limit, bulkhead, rate limiter and cache settings.
      * @param processor the task processor that handles inputs and product outputs.
      * @param exceptionHandler exception handler. if missing, a default one is used to
      *                         just throw any exception in the input.
@@ -127,7 +191,7 @@ public class TaskFactory {
         if (exceptionHandler == null) {
             exceptionHandler = TaskFactory::handleException;
         }
-        return new SynchronousTask<>(
+        Task<Request, Response> task = new SynchronousTask<>(
                 name,
                 new RequestHandlers<>(
                         Option.fromNullable(null),
@@ -137,10 +201,16 @@ public class TaskFactory {
                         this.threadPoolConfig.tryGet(name),
                         this.retryConfig.tryGet(name),
                         this.circuitBreakerConfig.tryGet(name),
-                        this.registry
+                        this.registry,
+                        ExecutionType.PUBLISH_ON,
+                        this.concurrencyLimitConfig.tryGet(name),
+                        this.bulkheadConfig.tryGet(name),
+                        this.bulkheadConfig.tryGetThreadPool(name),
+                        this.rateLimiterConfig.tryGet(name)
                 ),
                 processor
         );
+        return this.cacheConfig.decorate(name, task, this.registry);
     }
 
     /**
@@ -179,7 +249,7 @@ public class TaskFactory {
         if (exceptionHandler == null) {
             exceptionHandler = TaskFactory::handleRequestException;
         }
-        return new AsyncTask<>(
+        Task<HttpClientRequestContext<Request, Response>, ResponseEntity<Response>> task = new AsyncTask<>(
                 name,
                 new RequestHandlers<>(
                         Option.fromNullable(null),
@@ -189,10 +259,16 @@ public class TaskFactory {
                         this.threadPoolConfig.tryGet(name),
                         this.retryConfig.tryGet(name),
                         this.circuitBreakerConfig.tryGet(name),
-                        this.registry
+                        this.registry,
+                        ExecutionType.PUBLISH_ON,
+                        this.concurrencyLimitConfig.tryGet(name),
+                        this.bulkheadConfig.tryGet(name),
+                        this.bulkheadConfig.tryGetThreadPool(name),
+                        this.rateLimiterConfig.tryGet(name)
                 ),
                 function
         );
+        return this.cacheConfig.decorate(name, task, this.registry);
     }
 
     /**
@@ -306,4 +382,42 @@ public class TaskFactory {
         log.debug("booster-starter - creating sync task for: [{}]", name);
         return this.createSyncTask(name, processor, exceptionHandler);
     }
+
+    /**
+     * Names with thread pool, retry, circuit breaker, concurrency limit, bulkhead
+     * or rate limiter settings, i.e. names tasks are expected to be created with.
+     * @return {@link Set} of configured names.
+     */
+    public Set<String> getConfiguredNames() {
+        Set<String> names = new HashSet<>(this.threadPoolConfig.getSettingKeys());
+        names.addAll(this.retryConfig.getSettings().keySet());
+        names.addAll(this.circuitBreakerConfig.getSettings().keySet());
+        names.addAll(this.concurrencyLimitConfig.getSettings().keySet());
+        names.addAll(this.bulkheadConfig.getSettings().keySet());
+        names.addAll(this.rateLimiterConfig.getSettings().keySet());
+        return names;
+    }
+
+    /**
+     * Builds a task with the name and drops it, so thread pool, retry, circuit breaker,
+     * concurrency limit, bulkhead and rate limiter of the name are created, and task
+     * classes loaded, before the first request.
+     * @param name name of the task.
+     */
+    public void warmUp(String name) {
+        log.debug("booster-starter - warming up task: [{}]", name);
+        this.createSyncTask(name, Option::fromNullable, null);
+    }
+
+    /**
+     * Resets the circuit breaker of the name, if any, to closed with its recorded calls cleared.
+     * @param name name of the task.
+     */
+    public void resetCircuitBreaker(String name) {
+        CircuitBreaker circuitBreaker = this.circuitBreakerConfig.get(name);
+        if (circuitBreaker != null) {
+            log.debug("booster-starter - resetting circuit breaker: [{}]", name);
+            circuitBreaker.reset();
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package io.github.booster.config.cache;
+
+import arrow.core.Option;
+import io.github.booster.commons.metrics.MetricsRegistry;
+import io.github.booster.task.CacheContext;
+import io.github.booster.task.Task;
+import io.github.booster.task.impl.CachingTask;
+import io.github.booster.task.impl.SynchronousTaskBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+class CacheConfigTest {
+
+    private Task<String, Integer> createTask() {
+        SynchronousTaskBuilder<String, Integer> builder = new SynchronousTaskBuilder<>();
+        builder.name("length");
+        builder.processor(str -> Option.fromNullable(str.length()));
+        return builder.build();
+    }
+
+    @Test
+    void shouldNotBreak() {
+        CacheConfig config = new CacheConfig();
+        config.setSettings(null);
+        assertThat(config.getSetting("abc"), nullValue());
+        assertThat(config.getSetting(null), nullValue());
+        assertThat(config.tryGet("abc").isDefined(), equalTo(false));
+    }
+
+    @Test
+    void shouldNotDecorate() {
+        CacheConfig config = new CacheConfig();
+        Task<String, Integer> task = this.createTask();
+        assertThat(config.decorate("length", task, new MetricsRegistry()), sameInstance(task));
+    }
+
+    @Test
+    void shouldDecorate() {
+        CacheConfig config = new CacheConfig();
+        config.setSettings(Map.of("length", new CacheSetting()));
+
+        assertThat(config.getSetting("length"), notNullValue());
+        Task<String, Integer> task = config.decorate("length", this.createTask(), new MetricsRegistry());
+        assertThat(task, instanceOf(CachingTask.class));
+        assertThat(task.getName(), equalTo("length"));
+    }
+
+    @Test
+    void shouldBuildCacheContext() {
+        CacheSetting setting = new CacheSetting();
+        setting.setMaxSize(0);
+        setting.setExpireAfterWriteMillis(-1);
+        setting.setRefreshAfterWriteMillis(1000);
+        CacheContext context = setting.buildCacheContext();
+
+        assertThat(context.getMaxSize(), equalTo(CacheSetting.DEFAULT_MAX_SIZE));
+        assertThat(context.getExpireAfterWrite().isDefined(), equalTo(false));
+        assertThat(context.getExpireAfterAccess().isDefined(), equalTo(false));
+        assertThat(context.getRefreshAfterWrite().orNull(), equalTo(Duration.ofSeconds(1)));
+        assertThat(context.getCacheNegative(), equalTo(false));
+    }
+}
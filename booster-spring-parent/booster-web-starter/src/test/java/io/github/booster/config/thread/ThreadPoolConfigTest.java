@@ -1,17 +1,25 @@
 package io.github.booster.config.thread;
 
 import io.github.booster.commons.metrics.MetricsRegistry;
+import io.github.booster.task.util.DeadlineExecutorService;
+import io.github.booster.task.util.SchedulerRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
 
 class ThreadPoolConfigTest {
 
@@ -66,4 +74,75 @@ class ThreadPoolConfigTest {
         ExecutorService anotherReference = config.get("test");
         assertThat(anotherReference, sameInstance(service));
     }
+
+    @Test
+    void shouldCreateVirtualPool() throws Exception {
+        ThreadPoolSetting setting = new ThreadPoolSetting();
+        setting.setPoolType(ThreadPoolSetting.PoolType.VIRTUAL);
+        setting.setMaxConcurrency(2);
+        ThreadPoolConfig config = new ThreadPoolConfig(null, new MetricsRegistry(new SimpleMeterRegistry()));
+        config.setSettings(Map.of("test", setting));
+
+        // falls back to platform threads if virtual threads are not available.
+        ExecutorService service = config.get("test");
+        assertThat(service, notNullValue());
+        assertThat(service.submit(() -> "done").get(), equalTo("done"));
+        config.destroy();
+    }
+
+    @Test
+    void shouldCreateForkJoinPool() throws Exception {
+        ThreadPoolSetting setting = new ThreadPoolSetting();
+        setting.setPoolType(ThreadPoolSetting.PoolType.FORK_JOIN);
+        setting.setMaxSize(4);
+        ThreadPoolConfig config = new ThreadPoolConfig(null, null);
+        config.setSettings(Map.of("test", setting));
+
+        ExecutorService service = config.get("test");
+        assertThat(service, instanceOf(ForkJoinPool.class));
+        assertThat(((ForkJoinPool) service).getParallelism(), equalTo(4));
+        assertThat(service.submit(() -> Thread.currentThread().getName()).get(), startsWith("test-"));
+        config.destroy();
+    }
+
+    @Test
+    void shouldCreateDeadlinePool() throws Exception {
+        ThreadPoolSetting setting = new ThreadPoolSetting();
+        setting.setPoolType(ThreadPoolSetting.PoolType.DEADLINE);
+        setting.setMaxSize(2);
+        setting.setDefaultBudgetMillis(-1);
+        assertThat(setting.getDefaultBudgetMillis(), equalTo(ThreadPoolSetting.DEFAULT_BUDGET_MILLIS));
+        ThreadPoolConfig config = new ThreadPoolConfig(null, new MetricsRegistry(new SimpleMeterRegistry()));
+        config.setSettings(Map.of("test", setting));
+
+        ExecutorService service = config.get("test");
+        assertThat(service, instanceOf(DeadlineExecutorService.class));
+        assertThat(service.submit(() -> Thread.currentThread().getName()).get(), startsWith("test-"));
+        config.destroy();
+    }
+
+    @Test
+    void shouldShareScheduler() {
+        ThreadPoolConfig config = new ThreadPoolConfig(null, new MetricsRegistry(new SimpleMeterRegistry()));
+        config.setSettings(Map.of("test", setting));
+
+        Scheduler scheduler = config.getScheduler("test");
+        assertThat(scheduler, notNullValue());
+        assertThat(config.getScheduler("test"), sameInstance(scheduler));
+        assertThat(SchedulerRegistry.SHARED.get(config.get("test")), sameInstance(scheduler));
+        assertThat(config.getScheduler(SchedulerRegistry.PARALLEL), sameInstance(Schedulers.parallel()));
+        assertThat(config.getScheduler("abc"), nullValue());
+        assertThat(config.getScheduler(null), nullValue());
+        config.destroy();
+    }
+
+    @Test
+    void shouldDefaultPoolType() {
+        ThreadPoolSetting setting = new ThreadPoolSetting();
+        assertThat(setting.getPoolType(), equalTo(ThreadPoolSetting.PoolType.PLATFORM));
+        setting.setPoolType(null);
+        assertThat(setting.getPoolType(), equalTo(ThreadPoolSetting.PoolType.PLATFORM));
+        setting.setMaxConcurrency(-1);
+        assertThat(setting.getMaxConcurrency(), equalTo(0));
+    }
 }
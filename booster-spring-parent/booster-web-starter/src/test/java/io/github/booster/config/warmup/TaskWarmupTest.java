@@ -0,0 +1,142 @@
+package io.github.booster.config.warmup;
+
+import arrow.core.Option;
+import io.github.booster.commons.circuit.breaker.CircuitBreakerConfig;
+import io.github.booster.commons.circuit.breaker.CircuitBreakerSetting;
+import io.github.booster.commons.metrics.MetricsRegistry;
+import io.github.booster.commons.retry.RetryConfig;
+import io.github.booster.commons.retry.RetrySetting;
+import io.github.booster.config.thread.ThreadPoolConfig;
+import io.github.booster.config.thread.ThreadPoolSetting;
+import io.github.booster.factories.TaskFactory;
+import io.github.booster.task.Task;
+import io.github.booster.task.impl.SynchronousTaskBuilder;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class TaskWarmupTest {
+
+    private ThreadPoolConfig threadPoolConfig() {
+        ThreadPoolSetting setting = new ThreadPoolSetting();
+        setting.setCoreSize(3);
+        ThreadPoolConfig config = new ThreadPoolConfig(null, null);
+        config.setSettings(Map.of("pool", setting));
+        return config;
+    }
+
+    private TaskFactory taskFactory(ThreadPoolConfig threadPoolConfig) {
+        return new TaskFactory(
+                threadPoolConfig,
+                new RetryConfig(Map.of("retry", new RetrySetting())),
+                new CircuitBreakerConfig(Map.of("breaker", new CircuitBreakerSetting())),
+                null,
+                new MetricsRegistry()
+        );
+    }
+
+    private WarmupRequest<String> request(AtomicInteger invocations) {
+        SynchronousTaskBuilder<String, Integer> builder = new SynchronousTaskBuilder<>();
+        builder.name("length");
+        builder.processor(request -> {
+            invocations.incrementAndGet();
+            return Option.fromNullable(request.length());
+        });
+        Task<String, Integer> task = builder.build();
+        return new WarmupRequest<>(task, () -> "abc");
+    }
+
+    @Test
+    void shouldNotWarmUpIfDisabled() {
+        ThreadPoolConfig threadPoolConfig = this.threadPoolConfig();
+        AtomicInteger invocations = new AtomicInteger(0);
+        TaskWarmup warmup = new TaskWarmup(
+                threadPoolConfig,
+                this.taskFactory(threadPoolConfig),
+                null,
+                List.of(this.request(invocations))
+        );
+        warmup.run(null);
+
+        assertThat(threadPoolConfig.getKeys().isEmpty(), equalTo(true));
+        assertThat(invocations.get(), equalTo(0));
+    }
+
+    @Test
+    void shouldWarmUp() {
+        ThreadPoolConfig threadPoolConfig = this.threadPoolConfig();
+        TaskFactory taskFactory = this.taskFactory(threadPoolConfig);
+        assertThat(taskFactory.getConfiguredNames(), equalTo(Set.of("pool", "retry", "breaker")));
+
+        AtomicInteger invocations = new AtomicInteger(0);
+        TaskWarmup warmup = new TaskWarmup(
+                threadPoolConfig,
+                taskFactory,
+                null,
+                List.of(this.request(invocations), this.request(invocations))
+        );
+        warmup.setEnabled(true);
+        warmup.setIterations(100);
+        warmup.run(null);
+
+        assertThat(threadPoolConfig.getKeys(), equalTo(Set.of("pool")));
+        assertThat(((ThreadPoolExecutor) threadPoolConfig.get("pool")).getPoolSize(), equalTo(3));
+        assertThat(invocations.get(), equalTo(200));
+        threadPoolConfig.destroy();
+    }
+
+    @Test
+    void shouldResetCircuitBreakerAfterWarmUp() {
+        ThreadPoolConfig threadPoolConfig = this.threadPoolConfig();
+        CircuitBreakerConfig circuitBreakerConfig =
+                new CircuitBreakerConfig(Map.of("breaker", new CircuitBreakerSetting()));
+        TaskFactory taskFactory = new TaskFactory(
+                threadPoolConfig,
+                new RetryConfig(),
+                circuitBreakerConfig,
+                null,
+                new MetricsRegistry()
+        );
+        AtomicInteger invocations = new AtomicInteger(0);
+        Task<String, Integer> task = taskFactory.getSyncTask("breaker", request -> {
+            invocations.incrementAndGet();
+            throw new IllegalStateException("failed");
+        });
+
+        TaskWarmup warmup = new TaskWarmup(
+                threadPoolConfig,
+                taskFactory,
+                null,
+                List.of(new WarmupRequest<>(task, () -> "abc"))
+        );
+        warmup.setEnabled(true);
+        warmup.setIterations(200);
+        warmup.run(null);
+
+        // the circuit breaker opened during warm-up, rejecting the remaining requests.
+        assertThat(invocations.get() < 200, equalTo(true));
+        assertThat(circuitBreakerConfig.get("breaker").getState(), equalTo(CircuitBreaker.State.CLOSED));
+        threadPoolConfig.destroy();
+    }
+
+    @Test
+    void shouldHandleSettings() {
+        TaskWarmup warmup = new TaskWarmup(null, null, null, null);
+        warmup.setEnabled(true);
+        warmup.setIterations(-1);
+        warmup.setConcurrency(0);
+        warmup.setTimeoutMillis(0);
+        assertThat(warmup.getIterations(), equalTo(TaskWarmup.DEFAULT_ITERATIONS));
+        assertThat(warmup.getConcurrency(), equalTo(TaskWarmup.DEFAULT_CONCURRENCY));
+        assertThat(warmup.getTimeoutMillis(), equalTo(TaskWarmup.DEFAULT_TIMEOUT_MILLIS));
+        warmup.run(null);
+    }
+}
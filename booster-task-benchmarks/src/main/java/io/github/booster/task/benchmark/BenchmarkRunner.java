@@ -0,0 +1,34 @@
+package io.github.booster.task.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs booster-task benchmarks with the GC profiler attached, so that
+ * allocation rate per operation is reported next to throughput and latency.
+ * Accepts the same command line options as the JMH launcher.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Entry point
+     * @param args JMH command line options, e.g. a benchmark regex or <code>-p execution=NONE</code>
+     * @throws RunnerException when benchmarks fail to run.
+     * @throws CommandLineOptionException when command line options are invalid.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
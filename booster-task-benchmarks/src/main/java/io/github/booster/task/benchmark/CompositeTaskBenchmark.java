@@ -0,0 +1,131 @@
+package io.github.booster.task.benchmark;
+
+import arrow.core.Either;
+import arrow.core.Option;
+import io.github.booster.commons.metrics.MetricsRegistry;
+import io.github.booster.task.Task;
+import io.github.booster.task.impl.ParallelTaskBuilder;
+import io.github.booster.task.impl.SequentialTaskBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures overhead of {@link io.github.booster.task.impl.SequentialTask} and
+ * {@link io.github.booster.task.impl.ParallelTask} on top of their sub-tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompositeTaskBenchmark {
+
+    @Param({"NONE", "SCHEDULER", "RETRY", "CIRCUIT_BREAKER", "ALL"})
+    public ExecutionProfile execution;
+
+    @Param({"NOOP", "MICROMETER"})
+    public MetricsProfile metrics;
+
+    @Param({"10", "100"})
+    public int parallelism;
+
+    private ExecutorService executorService;
+
+    private Task<String, String> sequentialTask;
+
+    private Task<List<String>, List<Integer>> parallelTask;
+
+    private Mono<Either<Throwable, Option<String>>> request;
+
+    private Mono<Either<Throwable, Option<List<String>>>> listRequest;
+
+    /**
+     * Creates tasks for the parameter combination.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        MetricsRegistry registry = this.metrics.createRegistry();
+        this.executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+        SequentialTaskBuilder<String, Integer, String> sequentialTaskBuilder = new SequentialTaskBuilder<>();
+        sequentialTaskBuilder.name("sequential");
+        sequentialTaskBuilder.registry(registry);
+        sequentialTaskBuilder.firstTask(
+                TaskFixtures.syncLengthTask(
+                        "length",
+                        TaskFixtures.createContext("length", this.execution, this.executorService, registry)
+                )
+        );
+        sequentialTaskBuilder.secondTask(
+                TaskFixtures.syncStringTask(
+                        "string",
+                        TaskFixtures.createContext("string", this.execution, this.executorService, registry)
+                )
+        );
+        this.sequentialTask = sequentialTaskBuilder.build();
+
+        ParallelTaskBuilder<String, Integer> parallelTaskBuilder = new ParallelTaskBuilder<>();
+        parallelTaskBuilder.name("parallel");
+        parallelTaskBuilder.registry(registry);
+        parallelTaskBuilder.task(
+                TaskFixtures.syncLengthTask(
+                        "element",
+                        TaskFixtures.createContext("element", this.execution, this.executorService, registry)
+                )
+        );
+        this.parallelTask = parallelTaskBuilder.build();
+
+        List<String> requests = new ArrayList<>(this.parallelism);
+        for (int i = 0; i < this.parallelism; i++) {
+            requests.add("benchmark-" + i);
+        }
+        this.request = TaskFixtures.request("benchmark");
+        this.listRequest = TaskFixtures.request(requests);
+    }
+
+    /**
+     * Shuts down thread pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * Executes a {@link io.github.booster.task.impl.SequentialTask} of two synchronous tasks.
+     * @return task result
+     */
+    @Benchmark
+    public Either<Throwable, Option<String>> sequentialTask() {
+        return this.sequentialTask.execute(this.request).block();
+    }
+
+    /**
+     * Executes a {@link io.github.booster.task.impl.ParallelTask} over a list of
+     * {@link #parallelism} elements.
+     * @return task result
+     */
+    @Benchmark
+    public Either<Throwable, Option<List<Integer>>> parallelTask() {
+        return this.parallelTask.execute(this.listRequest).block();
+    }
+}
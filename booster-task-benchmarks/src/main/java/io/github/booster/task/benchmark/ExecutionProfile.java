@@ -0,0 +1,68 @@
+package io.github.booster.task.benchmark;
+
+/**
+ * Execution features enabled on the simple tasks being benchmarked.
+ */
+public enum ExecutionProfile {
+
+    /**
+     * Calling thread, no retry, no circuit breaker.
+     */
+    NONE(false, false, false),
+
+    /**
+     * Dedicated thread pool only.
+     */
+    SCHEDULER(true, false, false),
+
+    /**
+     * Retry only.
+     */
+    RETRY(false, true, false),
+
+    /**
+     * Circuit breaker only.
+     */
+    CIRCUIT_BREAKER(false, false, true),
+
+    /**
+     * Dedicated thread pool, retry and circuit breaker.
+     */
+    ALL(true, true, true);
+
+    private final boolean scheduler;
+
+    private final boolean retry;
+
+    private final boolean circuitBreaker;
+
+    ExecutionProfile(boolean scheduler, boolean retry, boolean circuitBreaker) {
+        this.scheduler = scheduler;
+        this.retry = retry;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Whether task runs on a dedicated thread pool
+     * @return true if a thread pool is used.
+     */
+    public boolean hasScheduler() {
+        return this.scheduler;
+    }
+
+    /**
+     * Whether task has a {@link io.github.resilience4j.retry.Retry}
+     * @return true if retry is enabled.
+     */
+    public boolean hasRetry() {
+        return this.retry;
+    }
+
+    /**
+     * Whether task has a {@link io.github.resilience4j.circuitbreaker.CircuitBreaker}
+     * @return true if circuit breaker is enabled.
+     */
+    public boolean hasCircuitBreaker() {
+        return this.circuitBreaker;
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.booster.task.benchmark;
+
+import io.github.booster.commons.metrics.MetricsRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Metrics recording used by the tasks being benchmarked.
+ */
+public enum MetricsProfile {
+
+    /**
+     * {@link MetricsRegistry} without a {@link io.micrometer.core.instrument.MeterRegistry}, nothing is recorded.
+     */
+    NOOP,
+
+    /**
+     * {@link MetricsRegistry} backed by a {@link SimpleMeterRegistry}.
+     */
+    MICROMETER;
+
+    /**
+     * Creates a {@link MetricsRegistry} for this profile.
+     * @return {@link MetricsRegistry}
+     */
+    public MetricsRegistry createRegistry() {
+        return this == NOOP ? new MetricsRegistry() : new MetricsRegistry(new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.booster.task.benchmark;
+
+import arrow.core.Either;
+import arrow.core.Option;
+import io.github.booster.commons.metrics.MetricsRegistry;
+import io.github.booster.task.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures per call overhead of {@link io.github.booster.task.impl.SynchronousTask}
+ * and {@link io.github.booster.task.impl.AsyncTask} with trivial processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimpleTaskBenchmark {
+
+    @Param({"NONE", "SCHEDULER", "RETRY", "CIRCUIT_BREAKER", "ALL"})
+    public ExecutionProfile execution;
+
+    @Param({"NOOP", "MICROMETER"})
+    public MetricsProfile metrics;
+
+    private ExecutorService executorService;
+
+    private Task<String, Integer> syncTask;
+
+    private Task<String, Integer> asyncTask;
+
+    private Mono<Either<Throwable, Option<String>>> request;
+
+    /**
+     * Creates tasks for the parameter combination.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        MetricsRegistry registry = this.metrics.createRegistry();
+        this.executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+        this.syncTask = TaskFixtures.syncLengthTask(
+                "sync",
+                TaskFixtures.createContext("sync", this.execution, this.executorService, registry)
+        );
+        this.asyncTask = TaskFixtures.asyncLengthTask(
+                "async",
+                TaskFixtures.createContext("async", this.execution, this.executorService, registry)
+        );
+        this.request = TaskFixtures.request("benchmark");
+    }
+
+    /**
+     * Shuts down thread pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * Executes a {@link io.github.booster.task.impl.SynchronousTask}
+     * @return task result
+     */
+    @Benchmark
+    public Either<Throwable, Option<Integer>> synchronousTask() {
+        return this.syncTask.execute(this.request).block();
+    }
+
+    /**
+     * Executes an {@link io.github.booster.task.impl.AsyncTask}
+     * @return task result
+     */
+    @Benchmark
+    public Either<Throwable, Option<Integer>> asyncTask() {
+        return this.asyncTask.execute(this.request).block();
+    }
+}
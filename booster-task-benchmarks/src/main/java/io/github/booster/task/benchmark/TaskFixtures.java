@@ -0,0 +1,131 @@
+package io.github.booster.task.benchmark;
+
+import arrow.core.Either;
+import arrow.core.Option;
+import io.github.booster.commons.circuit.breaker.CircuitBreakerSetting;
+import io.github.booster.commons.metrics.MetricsRegistry;
+import io.github.booster.commons.retry.RetrySetting;
+import io.github.booster.commons.util.EitherUtil;
+import io.github.booster.task.Task;
+import io.github.booster.task.TaskExecutionContext;
+import io.github.booster.task.impl.AsyncTask;
+import io.github.booster.task.impl.RequestHandlers;
+import io.github.booster.task.impl.SynchronousTask;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates tasks and requests shared by benchmarks.
+ */
+final class TaskFixtures {
+
+    /**
+     * Number of attempts for benchmark retries. Processors never fail,
+     * so only the overhead of the retry operator is measured.
+     */
+    private static final int RETRY_ATTEMPTS = 3;
+
+    private static final int RETRY_BACKOFF_MILLIS = 1;
+
+    private TaskFixtures() {
+    }
+
+    /**
+     * Creates a {@link TaskExecutionContext} for a benchmark task.
+     * @param name name of the task, used for retry and circuit breaker names.
+     * @param profile features to enable.
+     * @param executorService thread pool used when profile has a scheduler.
+     * @param registry {@link MetricsRegistry} to record metrics.
+     * @return {@link TaskExecutionContext}
+     */
+    static TaskExecutionContext createContext(
+            String name,
+            ExecutionProfile profile,
+            ExecutorService executorService,
+            MetricsRegistry registry
+    ) {
+        Option<ExecutorService> executorServiceOption =
+                Option.fromNullable(profile.hasScheduler() ? executorService : null);
+
+        Option<Retry> retryOption = Option.fromNullable(null);
+        if (profile.hasRetry()) {
+            RetrySetting setting = new RetrySetting();
+            setting.setMaxAttempts(RETRY_ATTEMPTS);
+            setting.setInitialBackOffMillis(RETRY_BACKOFF_MILLIS);
+            retryOption = setting.buildRetry(name, registry);
+        }
+
+        Option<CircuitBreaker> circuitBreakerOption = Option.fromNullable(null);
+        if (profile.hasCircuitBreaker()) {
+            circuitBreakerOption = Option.fromNullable(
+                    new CircuitBreakerSetting().buildCircuitBreaker(name, registry).getOrNull()
+            );
+        }
+
+        return new TaskExecutionContext(
+                executorServiceOption,
+                retryOption,
+                circuitBreakerOption,
+                registry
+        );
+    }
+
+    /**
+     * Creates a {@link SynchronousTask} computing string length.
+     * @param name name of the task.
+     * @param context {@link TaskExecutionContext}
+     * @return {@link Task}
+     */
+    static Task<String, Integer> syncLengthTask(String name, TaskExecutionContext context) {
+        return new SynchronousTask<>(
+                name,
+                new RequestHandlers<>(Option.fromNullable(null), Option.fromNullable(null)),
+                context,
+                request -> Option.fromNullable(request.length())
+        );
+    }
+
+    /**
+     * Creates an {@link AsyncTask} computing string length.
+     * @param name name of the task.
+     * @param context {@link TaskExecutionContext}
+     * @return {@link Task}
+     */
+    static Task<String, Integer> asyncLengthTask(String name, TaskExecutionContext context) {
+        return new AsyncTask<>(
+                name,
+                new RequestHandlers<>(Option.fromNullable(null), Option.fromNullable(null)),
+                context,
+                request -> Mono.just(Option.fromNullable(request.length()))
+        );
+    }
+
+    /**
+     * Creates a {@link SynchronousTask} converting an integer to string.
+     * @param name name of the task.
+     * @param context {@link TaskExecutionContext}
+     * @return {@link Task}
+     */
+    static Task<Integer, String> syncStringTask(String name, TaskExecutionContext context) {
+        return new SynchronousTask<>(
+                name,
+                new RequestHandlers<>(Option.fromNullable(null), Option.fromNullable(null)),
+                context,
+                request -> Option.fromNullable(request.toString())
+        );
+    }
+
+    /**
+     * Wraps a request the way {@link Task#execute(Object)} does, so that
+     * request wrapping is not part of the measurement.
+     * @param request request value
+     * @return request as {@link Mono}
+     * @param <T> type of request.
+     */
+    static <T> Mono<Either<Throwable, Option<T>>> request(T request) {
+        return Mono.just(EitherUtil.convertData(Option.fromNullable(request)));
+    }
+}
@@ -0,0 +1,261 @@
+package io.github.booster.task.benchmark;
+
+import arrow.core.Either;
+import arrow.core.Option;
+import io.github.booster.commons.metrics.MetricsRegistry;
+import io.github.booster.task.Task;
+import io.github.booster.task.impl.Tuple2TaskBuilder;
+import io.github.booster.task.impl.Tuple3TaskBuilder;
+import io.github.booster.task.impl.Tuple4TaskBuilder;
+import io.github.booster.task.impl.Tuple5TaskBuilder;
+import io.github.booster.task.impl.Tuple6TaskBuilder;
+import io.github.booster.task.impl.Tuple7TaskBuilder;
+import io.github.booster.task.impl.Tuple8TaskBuilder;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.Tuple3;
+import io.vavr.Tuple4;
+import io.vavr.Tuple5;
+import io.vavr.Tuple6;
+import io.vavr.Tuple7;
+import io.vavr.Tuple8;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures overhead of heterogeneous parallel tasks, {@code Tuple2Task} through {@code Tuple8Task}.
+ * Every branch is a synchronous string length task configured by {@link #execution}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TupleTaskBenchmark {
+
+    private static final String REQUEST = "benchmark";
+
+    @Param({"NONE", "SCHEDULER", "RETRY", "CIRCUIT_BREAKER", "ALL"})
+    public ExecutionProfile execution;
+
+    @Param({"NOOP", "MICROMETER"})
+    public MetricsProfile metrics;
+
+    private ExecutorService executorService;
+
+    private MetricsRegistry registry;
+
+    private Task<Tuple2<Option<String>, Option<String>>, ?> tuple2Task;
+
+    private Task<Tuple3<Option<String>, Option<String>, Option<String>>, ?> tuple3Task;
+
+    private Task<Tuple4<Option<String>, Option<String>, Option<String>, Option<String>>, ?> tuple4Task;
+
+    private Task<Tuple5<Option<String>, Option<String>, Option<String>, Option<String>, Option<String>>, ?> tuple5Task;
+
+    private Task<Tuple6<Option<String>, Option<String>, Option<String>, Option<String>, Option<String>, Option<String>>, ?> tuple6Task;
+
+    private Task<Tuple7<Option<String>, Option<String>, Option<String>, Option<String>, Option<String>, Option<String>, Option<String>>, ?> tuple7Task;
+
+    private Task<Tuple8<Option<String>, Option<String>, Option<String>, Option<String>, Option<String>, Option<String>, Option<String>, Option<String>>, ?> tuple8Task;
+
+    private Mono<Either<Throwable, Option<Tuple2<Option<String>, Option<String>>>>> tuple2Request;
+
+    private Mono<Either<Throwable, Option<Tuple3<Option<String>, Option<String>, Option<String>>>>> tuple3Request;
+
+    private Mono<Either<Throwable, Option<Tuple4<Option<String>, Option<String>, Option<String>, Option<String>>>>> tuple4Request;
+
+    private Mono<Either<Throwable, Option<Tuple5<Option<String>, Option<String>, Option<String>, Option<String>, Option<String>>>>> tuple5Request;
+
+    private Mono<Either<Throwable, Option<Tuple6<Option<String>, Option<String>, Option<String>, Option<String>, Option<String>, Option<String>>>>> tuple6Request;
+
+    private Mono<Either<Throwable, Option<Tuple7<Option<String>, Option<String>, Option<String>, Option<String>, Option<String>, Option<String>, Option<String>>>>> tuple7Request;
+
+    private Mono<Either<Throwable, Option<Tuple8<Option<String>, Option<String>, Option<String>, Option<String>, Option<String>, Option<String>, Option<String>, Option<String>>>>> tuple8Request;
+
+    private Task<String, Integer> elementTask(int index) {
+        String name = "element" + index;
+        return TaskFixtures.syncLengthTask(
+                name,
+                TaskFixtures.createContext(name, this.execution, this.executorService, this.registry)
+        );
+    }
+
+    private Option<String> element() {
+        return Option.fromNullable(REQUEST);
+    }
+
+    /**
+     * Creates tasks for the parameter combination.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        this.registry = this.metrics.createRegistry();
+        this.executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+        Tuple2TaskBuilder<String, Integer, String, Integer> tuple2Builder = new Tuple2TaskBuilder<>();
+        tuple2Builder.name("tuple2");
+        tuple2Builder.registry(this.registry);
+        tuple2Builder.firstTask(this.elementTask(0));
+        tuple2Builder.secondTask(this.elementTask(1));
+        this.tuple2Task = tuple2Builder.build();
+        this.tuple2Request = TaskFixtures.request(Tuple.of(this.element(), this.element()));
+
+        Tuple3TaskBuilder<String, Integer, String, Integer, String, Integer> tuple3Builder = new Tuple3TaskBuilder<>();
+        tuple3Builder.name("tuple3");
+        tuple3Builder.registry(this.registry);
+        tuple3Builder.firstTask(this.elementTask(0));
+        tuple3Builder.secondTask(this.elementTask(1));
+        tuple3Builder.thirdTask(this.elementTask(2));
+        this.tuple3Task = tuple3Builder.build();
+        this.tuple3Request = TaskFixtures.request(Tuple.of(this.element(), this.element(), this.element()));
+
+        Tuple4TaskBuilder<String, Integer, String, Integer, String, Integer, String, Integer> tuple4Builder = new Tuple4TaskBuilder<>();
+        tuple4Builder.name("tuple4");
+        tuple4Builder.registry(this.registry);
+        tuple4Builder.firstTask(this.elementTask(0));
+        tuple4Builder.secondTask(this.elementTask(1));
+        tuple4Builder.thirdTask(this.elementTask(2));
+        tuple4Builder.fourthTask(this.elementTask(3));
+        this.tuple4Task = tuple4Builder.build();
+        this.tuple4Request = TaskFixtures.request(Tuple.of(this.element(), this.element(), this.element(), this.element()));
+
+        Tuple5TaskBuilder<String, Integer, String, Integer, String, Integer, String, Integer, String, Integer> tuple5Builder = new Tuple5TaskBuilder<>();
+        tuple5Builder.name("tuple5");
+        tuple5Builder.registry(this.registry);
+        tuple5Builder.firstTask(this.elementTask(0));
+        tuple5Builder.secondTask(this.elementTask(1));
+        tuple5Builder.thirdTask(this.elementTask(2));
+        tuple5Builder.fourthTask(this.elementTask(3));
+        tuple5Builder.fifthTask(this.elementTask(4));
+        this.tuple5Task = tuple5Builder.build();
+        this.tuple5Request = TaskFixtures.request(Tuple.of(this.element(), this.element(), this.element(), this.element(), this.element()));
+
+        Tuple6TaskBuilder<String, Integer, String, Integer, String, Integer, String, Integer, String, Integer, String, Integer> tuple6Builder = new Tuple6TaskBuilder<>();
+        tuple6Builder.name("tuple6");
+        tuple6Builder.registry(this.registry);
+        tuple6Builder.firstTask(this.elementTask(0));
+        tuple6Builder.secondTask(this.elementTask(1));
+        tuple6Builder.thirdTask(this.elementTask(2));
+        tuple6Builder.fourthTask(this.elementTask(3));
+        tuple6Builder.fifthTask(this.elementTask(4));
+        tuple6Builder.sixthTask(this.elementTask(5));
+        this.tuple6Task = tuple6Builder.build();
+        this.tuple6Request = TaskFixtures.request(Tuple.of(this.element(), this.element(), this.element(), this.element(), this.element(), this.element()));
+
+        Tuple7TaskBuilder<String, Integer, String, Integer, String, Integer, String, Integer, String, Integer, String, Integer, String, Integer> tuple7Builder = new Tuple7TaskBuilder<>();
+        tuple7Builder.name("tuple7");
+        tuple7Builder.registry(this.registry);
+        tuple7Builder.firstTask(this.elementTask(0));
+        tuple7Builder.secondTask(this.elementTask(1));
+        tuple7Builder.thirdTask(this.elementTask(2));
+        tuple7Builder.fourthTask(this.elementTask(3));
+        tuple7Builder.fifthTask(this.elementTask(4));
+        tuple7Builder.sixthTask(this.elementTask(5));
+        tuple7Builder.seventhTask(this.elementTask(6));
+        this.tuple7Task = tuple7Builder.build();
+        this.tuple7Request = TaskFixtures.request(Tuple.of(this.element(), this.element(), this.element(), this.element(), this.element(), this.element(), this.element()));
+
+        Tuple8TaskBuilder<String, Integer, String, Integer, String, Integer, String, Integer, String, Integer, String, Integer, String, Integer, String, Integer> tuple8Builder = new Tuple8TaskBuilder<>();
+        tuple8Builder.name("tuple8");
+        tuple8Builder.registry(this.registry);
+        tuple8Builder.firstTask(this.elementTask(0));
+        tuple8Builder.secondTask(this.elementTask(1));
+        tuple8Builder.thirdTask(this.elementTask(2));
+        tuple8Builder.fourthTask(this.elementTask(3));
+        tuple8Builder.fifthTask(this.elementTask(4));
+        tuple8Builder.sixthTask(this.elementTask(5));
+        tuple8Builder.seventhTask(this.elementTask(6));
+        tuple8Builder.eighthTask(this.elementTask(7));
+        this.tuple8Task = tuple8Builder.build();
+        this.tuple8Request = TaskFixtures.request(Tuple.of(this.element(), this.element(), this.element(), this.element(), this.element(), this.element(), this.element(), this.element()));
+    }
+
+    /**
+     * Shuts down thread pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * Executes a tuple task with 2 branches.
+     * @return task result
+     */
+    @Benchmark
+    public Object tuple2Task() {
+        return this.tuple2Task.execute(this.tuple2Request).block();
+    }
+
+    /**
+     * Executes a tuple task with 3 branches.
+     * @return task result
+     */
+    @Benchmark
+    public Object tuple3Task() {
+        return this.tuple3Task.execute(this.tuple3Request).block();
+    }
+
+    /**
+     * Executes a tuple task with 4 branches.
+     * @return task result
+     */
+    @Benchmark
+    public Object tuple4Task() {
+        return this.tuple4Task.execute(this.tuple4Request).block();
+    }
+
+    /**
+     * Executes a tuple task with 5 branches.
+     * @return task result
+     */
+    @Benchmark
+    public Object tuple5Task() {
+        return this.tuple5Task.execute(this.tuple5Request).block();
+    }
+
+    /**
+     * Executes a tuple task with 6 branches.
+     * @return task result
+     */
+    @Benchmark
+    public Object tuple6Task() {
+        return this.tuple6Task.execute(this.tuple6Request).block();
+    }
+
+    /**
+     * Executes a tuple task with 7 branches.
+     * @return task result
+     */
+    @Benchmark
+    public Object tuple7Task() {
+        return this.tuple7Task.execute(this.tuple7Request).block();
+    }
+
+    /**
+     * Executes a tuple task with 8 branches.
+     * @return task result
+     */
+    @Benchmark
+    public Object tuple8Task() {
+        return this.tuple8Task.execute(this.tuple8Request).block();
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.booster.task
+
+import arrow.core.Option
+import java.time.Duration
+
+/**
+ * Default maximum number of cached responses.
+ */
+const val DEFAULT_CACHE_MAX_SIZE = 1000L
+
+/**
+ * Response caching context.
+ * @param maxSize maximum number of cached responses, least recently used responses are evicted first.
+ * @param expireAfterWrite [Option] of time a response stays cached after it's written.
+ * @param expireAfterAccess [Option] of time a response stays cached after it's last read.
+ * @param refreshAfterWrite [Option] of time after which a read triggers reloading of the
+ * response in the background, while the cached response is still served.
+ * @param cacheNegative whether to cache empty responses and exceptions too.
+ */
+data class CacheContext @JvmOverloads constructor(
+    val maxSize: Long = DEFAULT_CACHE_MAX_SIZE,
+    val expireAfterWrite: Option<Duration> = Option.fromNullable(null),
+    val expireAfterAccess: Option<Duration> = Option.fromNullable(null),
+    val refreshAfterWrite: Option<Duration> = Option.fromNullable(null),
+    val cacheNegative: Boolean = false
+)
@@ -0,0 +1,66 @@
+package io.github.booster.task
+
+import arrow.core.Option
+import java.time.Duration
+
+/**
+ * When a parallel task completes.
+ */
+enum class CompletionType {
+    /**
+     * Once every element completes.
+     */
+    ALL,
+
+    /**
+     * Once a number of elements complete with a response, the rest are cancelled.
+     */
+    FIRST_SUCCESSES,
+
+    /**
+     * Once every element completes, or the timeout passes, in which case the rest are cancelled.
+     */
+    ALL_WITHIN
+}
+
+/**
+ * Completion policy of a parallel task.
+ * @param type [CompletionType]
+ * @param successes number of responses to wait for, for [CompletionType.FIRST_SUCCESSES].
+ * @param timeout [Option] of time to wait for elements, for [CompletionType.ALL_WITHIN].
+ */
+data class CompletionPolicy @JvmOverloads constructor(
+    val type: CompletionType = CompletionType.ALL,
+    val successes: Int = 1,
+    val timeout: Option<Duration> = Option.fromNullable(null)
+) {
+    companion object {
+
+        /**
+         * Waits for every element, the default.
+         */
+        @JvmStatic
+        fun all() = CompletionPolicy()
+
+        /**
+         * Completes with the first response, the rest are cancelled.
+         */
+        @JvmStatic
+        fun firstSuccess() = CompletionPolicy(CompletionType.FIRST_SUCCESSES)
+
+        /**
+         * Completes with the first responses, the rest are cancelled.
+         * @param successes number of responses to wait for.
+         */
+        @JvmStatic
+        fun firstSuccesses(successes: Int) = CompletionPolicy(CompletionType.FIRST_SUCCESSES, successes)
+
+        /**
+         * Completes with the responses received within the timeout, the rest are cancelled.
+         * @param timeout time to wait for elements.
+         */
+        @JvmStatic
+        fun allWithin(timeout: Duration) =
+            CompletionPolicy(CompletionType.ALL_WITHIN, timeout = Option.fromNullable(timeout))
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.booster.task
+
+import arrow.core.Option
+import io.github.booster.commons.deadline.DeadlineExceededException
+import org.slf4j.LoggerFactory
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.util.context.Context
+import reactor.util.context.ContextView
+import java.time.Duration
+
+private val log = LoggerFactory.getLogger("io.github.booster.task.Deadline")
+
+/**
+ * Reactor context key of the deadline, a [System.nanoTime] value.
+ */
+const val DEADLINE_CONTEXT_KEY = "booster.task.deadline"
+
+/**
+ * Sets a deadline for all tasks executed within this [Mono]. The deadline travels
+ * in the Reactor context, so it reaches every task in sequential, parallel and
+ * tuple tasks. Tasks whose deadline has passed fail with
+ * [io.github.booster.commons.deadline.DeadlineExceededException] without running.
+ * If a deadline is already set downstream, the earlier one is kept.
+ * @param timeout time from subscription until the deadline.
+ * @return [Mono] with deadline set.
+ */
+fun <T> Mono<T>.withDeadline(timeout: Duration): Mono<T> =
+    this.contextWrite { setDeadline(it, timeout) }
+
+/**
+ * Sets a deadline for all tasks executed within this [Flux], see [Mono.withDeadline].
+ * @param timeout time from subscription until the deadline.
+ * @return [Flux] with deadline set.
+ */
+fun <T> Flux<T>.withDeadline(timeout: Duration): Flux<T> =
+    this.contextWrite { setDeadline(it, timeout) }
+
+/**
+ * Time remaining until the deadline.
+ * @param context Reactor context.
+ * @return [Option] of remaining [Duration], negative if the deadline has passed, empty if no deadline is set.
+ */
+fun remainingBudget(context: ContextView): Option<Duration> =
+    Option.fromNullable(context.getOrDefault<Long>(DEADLINE_CONTEXT_KEY, null))
+        .map { Duration.ofNanos(it - System.nanoTime()) }
+
+/**
+ * Whether the deadline in the Reactor context has passed.
+ * @param context Reactor context.
+ * @return true if a deadline is set and has passed.
+ */
+fun deadlineExceeded(context: ContextView): Boolean {
+    val deadline = context.getOrDefault<Long>(DEADLINE_CONTEXT_KEY, null) ?: return false
+    return System.nanoTime() - deadline >= 0
+}
+
+/**
+ * Creates the execution on subscription unless the deadline has passed, in which case
+ * it fails with [DeadlineExceededException] and the execution is never created.
+ * The execution is created once, resubscribing, e.g. by a retry, checks the deadline
+ * again and resubscribes to the same execution.
+ * @param name name of the task, used in the exception message.
+ * @param execution creates the execution.
+ * @return [Mono] of the execution.
+ */
+fun <T> withinDeadline(name: String, execution: () -> Mono<T>): Mono<T> {
+    val created = lazy(execution)
+    return Mono.deferContextual {
+        if (deadlineExceeded(it)) {
+            log.debug("booster-task - task[{}] deadline exceeded, not executing", name)
+            Mono.error(DeadlineExceededException("task[$name] deadline exceeded"))
+        } else {
+            created.value
+        }
+    }
+}
+
+private fun setDeadline(context: Context, timeout: Duration): Context {
+    val deadline = System.nanoTime() + timeout.toNanos()
+    val existing = context.getOrDefault<Long>(DEADLINE_CONTEXT_KEY, null)
+    return if (existing != null && existing - deadline <= 0) {
+        context
+    } else {
+        context.put(DEADLINE_CONTEXT_KEY, deadline)
+    }
+}
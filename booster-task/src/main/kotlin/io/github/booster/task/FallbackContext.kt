@@ -0,0 +1,20 @@
+package io.github.booster.task
+
+import arrow.core.Option
+import java.time.Duration
+
+/**
+ * Default maximum number of responses kept for fallback.
+ */
+const val DEFAULT_FALLBACK_MAX_SIZE = 1000L
+
+/**
+ * Stale response fallback context. The last successful response of each request is kept,
+ * and served as stale when the circuit breaker is open or the execution fails.
+ * @param maxSize maximum number of responses kept, least recently used responses are evicted first.
+ * @param maxStaleness [Option] of time a response can be served after it's written, kept until evicted if empty.
+ */
+data class FallbackContext @JvmOverloads constructor(
+    val maxSize: Long = DEFAULT_FALLBACK_MAX_SIZE,
+    val maxStaleness: Option<Duration> = Option.fromNullable(null)
+)
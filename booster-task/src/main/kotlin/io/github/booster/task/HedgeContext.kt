@@ -0,0 +1,29 @@
+package io.github.booster.task
+
+import arrow.core.Option
+import java.time.Duration
+
+/**
+ * Default ratio of hedged executions to executions, 5% extra load at most.
+ */
+const val DEFAULT_HEDGE_BUDGET = 0.05
+
+/**
+ * Default number of most recent latencies the hedge delay percentile is computed from.
+ */
+const val DEFAULT_HEDGE_WINDOW_SIZE = 1000
+
+/**
+ * Hedged execution context.
+ * @param delay time to wait for the first execution before starting a hedged one.
+ * If percentile is set, this is only used until enough latencies are observed.
+ * @param percentile [Option] of latency percentile, between 0 and 1, to use as delay, e.g. 0.95.
+ * @param budget maximum ratio of hedged executions to executions.
+ * @param windowSize number of most recent latencies the percentile is computed from.
+ */
+data class HedgeContext @JvmOverloads constructor(
+    val delay: Duration,
+    val percentile: Option<Double> = Option.fromNullable(null),
+    val budget: Double = DEFAULT_HEDGE_BUDGET,
+    val windowSize: Int = DEFAULT_HEDGE_WINDOW_SIZE
+)
@@ -0,0 +1,8 @@
+package io.github.booster.task
+
+/**
+ * Thrown when all elements of a parallel task complete with fewer responses
+ * than its [CompletionType.FIRST_SUCCESSES] policy waits for.
+ * @param message exception message.
+ */
+class QuorumNotReachedException(message: String) : RuntimeException(message)
@@ -2,6 +2,7 @@ package io.github.booster.task
 
 import arrow.core.Either
 import arrow.core.Option
+import io.github.booster.task.util.awaitValue
 import reactor.core.publisher.Mono
 
 typealias Maybe<T> = Either<Throwable, Option<T>>
@@ -47,6 +48,23 @@ interface Task<Request, Response> {
      */
     fun execute(request: Mono<Maybe<Request>>): Mono<Maybe<Response>>
 
+    /**
+     * Execute task in a coroutine with a request object.
+     * @param request [Request] object
+     * @return returns a response with exception wrapped inside an [Either] and an [Option]
+     */
+    suspend fun executeSuspending(request: Request): Maybe<Response> =
+        this.executeSuspending(Either.Right(Option.fromNullable(request)))
+
+    /**
+     * Execute task in a coroutine. By default awaits [execute], tasks with
+     * a coroutine native path run without Reactor.
+     * @param request Request object as [Either]
+     * @return returns a response with exception wrapped inside an [Either] and an [Option]
+     */
+    suspend fun executeSuspending(request: Maybe<Request>): Maybe<Response> =
+        this.execute(request).awaitValue()
+
     /**
      * Name of the task.
      * @return name of the task
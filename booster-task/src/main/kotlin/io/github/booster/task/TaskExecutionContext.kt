@@ -1,9 +1,14 @@
 package io.github.booster.task
 
 import arrow.core.Option
+import io.github.booster.commons.concurrency.ConcurrencyLimiter
 import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.resilience4j.bulkhead.Bulkhead
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead
 import io.github.resilience4j.circuitbreaker.CircuitBreaker
+import io.github.resilience4j.ratelimiter.RateLimiter
 import io.github.resilience4j.retry.Retry
+import io.opentelemetry.api.trace.Tracer
 import java.util.concurrent.ExecutorService
 
 enum class ExecutionType {
@@ -18,11 +23,25 @@ enum class ExecutionType {
  * @param circuitBreakerOption [Option] of [CircuitBreaker]
  * @param registry [MetricsRegistry]
  * @param executionType whether to publish on thread or subscribe on thread.
+ * @param concurrencyLimiterOption [Option] of [ConcurrencyLimiter], requests over the limit
+ * are rejected before being queued on the thread pool.
+ * @param bulkheadOption [Option] of semaphore [Bulkhead] capping concurrent calls.
+ * @param threadPoolBulkheadOption [Option] of [ThreadPoolBulkhead] calls are isolated on.
+ * @param rateLimiterOption [Option] of [RateLimiter] capping calls per period.
+ * @param tracerOption [Option] of OpenTelemetry [Tracer], each execution is traced in a span if set.
+ * @param fallbackOption [Option] of [FallbackContext], last successful responses are served as stale
+ * when the circuit breaker is open or the execution fails.
  */
 data class TaskExecutionContext @JvmOverloads constructor(
     val executorServiceOption: Option<ExecutorService>,
     val retryOption: Option<Retry>,
     val circuitBreakerOption: Option<CircuitBreaker>,
     val registry: MetricsRegistry,
-    val executionType: ExecutionType = ExecutionType.PUBLISH_ON
+    val executionType: ExecutionType = ExecutionType.PUBLISH_ON,
+    val concurrencyLimiterOption: Option<ConcurrencyLimiter> = Option.fromNullable(null),
+    val bulkheadOption: Option<Bulkhead> = Option.fromNullable(null),
+    val threadPoolBulkheadOption: Option<ThreadPoolBulkhead> = Option.fromNullable(null),
+    val rateLimiterOption: Option<RateLimiter> = Option.fromNullable(null),
+    val tracerOption: Option<Tracer> = Option.fromNullable(null),
+    val fallbackOption: Option<FallbackContext> = Option.fromNullable(null)
 )
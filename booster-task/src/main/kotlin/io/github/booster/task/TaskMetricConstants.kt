@@ -10,6 +10,16 @@ const val NAME = "name"
  */
 const val TASK_EXECUTION_TIME = "task_execution_time"
 
+/**
+ * Time a request waited for the task's thread pool, metric name.
+ */
+const val TASK_QUEUE_WAIT_TIME = "task_queue_wait_time"
+
+/**
+ * Time taken by the task once running on its thread, including retries, metric name.
+ */
+const val TASK_RUN_TIME = "task_run_time"
+
 /**
  * Status tag
  */
@@ -34,3 +44,123 @@ const val FAILURE = "failure"
  * Success status
  */
 const val SUCCESS = "success"
+
+/**
+ * Number of executions that joined an in flight execution instead of executing.
+ */
+const val TASK_COALESCED_COUNT = "task_coalesced_count"
+
+/**
+ * Task response cache count metric name.
+ */
+const val TASK_CACHE_COUNT = "task_cache_count"
+
+/**
+ * Cache result tag
+ */
+const val CACHE_RESULT = "result"
+
+/**
+ * Cache hit
+ */
+const val CACHE_HIT = "hit"
+
+/**
+ * Cache miss
+ */
+const val CACHE_MISS = "miss"
+
+/**
+ * Cache eviction
+ */
+const val CACHE_EVICTION = "eviction"
+
+/**
+ * Number of batch processor calls made by a batching task.
+ */
+const val TASK_BATCH_COUNT = "task_batch_count"
+
+/**
+ * Hedged execution count metric name.
+ */
+const val TASK_HEDGE_COUNT = "task_hedge_count"
+
+/**
+ * Hedge result tag
+ */
+const val HEDGE_RESULT = "result"
+
+/**
+ * A hedged execution is started.
+ */
+const val HEDGE_SENT = "sent"
+
+/**
+ * A hedged execution returned first.
+ */
+const val HEDGE_WON = "won"
+
+/**
+ * A hedged execution is not started, because of the budget or the circuit breaker.
+ */
+const val HEDGE_REJECTED = "rejected"
+
+/**
+ * Graph node execution time metric name.
+ */
+const val TASK_GRAPH_NODE_TIME = "task_graph_node_time"
+
+/**
+ * Graph node tag
+ */
+const val NODE = "node"
+
+/**
+ * Time a request waits in a deadline executor's queue metric name.
+ */
+const val EXECUTOR_QUEUE_WAIT_TIME = "executor_queue_wait_time"
+
+/**
+ * Requests dropped by a deadline executor because their deadline passed while queued.
+ */
+const val EXECUTOR_EXPIRED_COUNT = "executor_expired_count"
+
+/**
+ * Requests rejected by a deadline executor because its queue is full.
+ */
+const val EXECUTOR_REJECTED_COUNT = "executor_rejected_count"
+
+/**
+ * Stale response fallback count metric name.
+ */
+const val TASK_FALLBACK_COUNT = "task_fallback_count"
+
+/**
+ * Fallback result tag
+ */
+const val FALLBACK_RESULT = "result"
+
+/**
+ * A stale response is served.
+ */
+const val FALLBACK_SERVED = "served"
+
+/**
+ * The execution failed and there is no response to serve.
+ */
+const val FALLBACK_MISSED = "missed"
+
+/**
+ * A stale response is refreshed in the background.
+ */
+const val FALLBACK_REFRESHED = "refreshed"
+
+/**
+ * Number of races won by an alternative of a race task, metric name.
+ */
+const val TASK_RACE_WON_COUNT = "task_race_won_count"
+
+/**
+ * Alternative tag, name of the alternative task.
+ */
+const val ALTERNATIVE = "alternative"
@@ -0,0 +1,218 @@
+package io.github.booster.task
+
+import arrow.core.Option
+import io.opentelemetry.api.common.AttributeKey
+import io.opentelemetry.api.trace.Span
+import io.opentelemetry.api.trace.StatusCode
+import io.opentelemetry.api.trace.Tracer
+import reactor.core.publisher.Mono
+import reactor.util.context.ContextView
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import io.opentelemetry.context.Context as TraceContext
+
+/**
+ * Reactor context key of the OpenTelemetry [TraceContext] task spans are parented to.
+ */
+const val TRACE_CONTEXT_KEY = "booster.task.trace.context"
+
+/**
+ * Task name span attribute.
+ */
+val TASK_NAME_ATTRIBUTE: AttributeKey<String> = AttributeKey.stringKey("booster.task.name")
+
+/**
+ * Number of attempts, including retries, span attribute.
+ */
+val TASK_ATTEMPTS_ATTRIBUTE: AttributeKey<Long> = AttributeKey.longKey("booster.task.attempts")
+
+/**
+ * Circuit breaker state span attribute.
+ */
+val TASK_CIRCUIT_BREAKER_STATE_ATTRIBUTE: AttributeKey<String> =
+    AttributeKey.stringKey("booster.task.circuit_breaker.state")
+
+/**
+ * Scheduler span attribute.
+ */
+val TASK_SCHEDULER_ATTRIBUTE: AttributeKey<String> = AttributeKey.stringKey("booster.task.scheduler")
+
+/**
+ * Time between the request arriving and the task starting on its thread pool, span attribute.
+ */
+val TASK_QUEUE_WAIT_ATTRIBUTE: AttributeKey<Long> = AttributeKey.longKey("booster.task.queue_wait_ms")
+
+/**
+ * Whether a stale response was served, span attribute.
+ */
+val TASK_STALE_ATTRIBUTE: AttributeKey<Boolean> = AttributeKey.booleanKey("booster.task.stale")
+
+/**
+ * Parents spans of all tasks executed within this [Mono] to the trace context.
+ * Without it, spans are parented to [TraceContext.current] at subscription.
+ * @param context OpenTelemetry [TraceContext], e.g. extracted from incoming request headers.
+ * @return [Mono] with trace context set.
+ */
+fun <T> Mono<T>.withTraceContext(context: TraceContext): Mono<T> =
+    this.contextWrite { it.put(TRACE_CONTEXT_KEY, context) }
+
+/**
+ * Trace context task spans are parented to.
+ * @param context Reactor context.
+ * @return [TraceContext] in the Reactor context, or [TraceContext.current] if there is none.
+ */
+fun traceContext(context: ContextView): TraceContext =
+    context.getOrDefault<TraceContext>(TRACE_CONTEXT_KEY, null) ?: TraceContext.current()
+
+/**
+ * Span of one task execution, kept in the Reactor context so the task can
+ * record attempts and the time its request waited for a thread.
+ */
+internal class TaskSpan(val span: Span) {
+
+    private val startNanos = System.nanoTime()
+
+    private val attempts = AtomicInteger(0)
+
+    private val ended = AtomicBoolean(false)
+
+    @Volatile
+    private var queueWaitNanos = -1L
+
+    @Volatile
+    private var stale = false
+
+    /**
+     * The task started running, after waiting for its thread pool.
+     */
+    fun onStart() {
+        if (this.queueWaitNanos < 0) {
+            this.queueWaitNanos = System.nanoTime() - this.startNanos
+        }
+    }
+
+    /**
+     * The task started an attempt.
+     */
+    fun onAttempt() {
+        this.attempts.incrementAndGet()
+    }
+
+    /**
+     * The task served a stale response.
+     */
+    fun onStale() {
+        this.stale = true
+    }
+
+    /**
+     * Ends the span, only the first call has any effect.
+     */
+    fun end(failure: Throwable?, onEnd: (Span) -> Unit) {
+        if (!this.ended.compareAndSet(false, true)) {
+            return
+        }
+        if (this.span.isRecording) {
+            if (this.attempts.get() > 0) {
+                this.span.setAttribute(TASK_ATTEMPTS_ATTRIBUTE, this.attempts.get().toLong())
+            }
+            if (this.queueWaitNanos >= 0) {
+                this.span.setAttribute(TASK_QUEUE_WAIT_ATTRIBUTE, TimeUnit.NANOSECONDS.toMillis(this.queueWaitNanos))
+            }
+            if (this.stale) {
+                this.span.setAttribute(TASK_STALE_ATTRIBUTE, true)
+            }
+            if (failure != null) {
+                this.span.recordException(failure)
+                this.span.setStatus(StatusCode.ERROR)
+            }
+            onEnd(this.span)
+        }
+        this.span.end()
+    }
+}
+
+/**
+ * Runs the execution under a span named after the task. The span starts when the request
+ * arrives and becomes the parent of spans of tasks executed within it, while the request
+ * itself keeps the caller's context. Attributes are only set if the span is recording,
+ * and nothing is done if the tracer produces no valid span, e.g. a noop tracer.
+ * @param tracer [Tracer] creating spans.
+ * @param name name of the task.
+ * @param onEnd sets task specific attributes on a recording span.
+ * @param request request of the task.
+ * @param execution creates the execution from the request.
+ * @return traced execution.
+ */
+internal fun <Request, Response> traced(
+    tracer: Tracer,
+    name: String,
+    onEnd: (Span) -> Unit,
+    request: Mono<Request>,
+    execution: (Mono<Request>) -> Mono<Maybe<Response>>
+): Mono<Maybe<Response>> =
+    Mono.deferContextual { context ->
+        request.materialize().flatMap { signal ->
+            val parent = traceContext(context)
+            val span = tracer.spanBuilder(name).setParent(parent).startSpan()
+            val arrived: Mono<Request> = Mono.just(signal).dematerialize()
+            if (!span.spanContext.isValid) {
+                execution(arrived)
+            } else {
+                if (span.isRecording) {
+                    span.setAttribute(TASK_NAME_ATTRIBUTE, name)
+                }
+                val taskSpan = TaskSpan(span)
+                execution(arrived)
+                    .doOnNext { result -> taskSpan.end(result.swap().orNull(), onEnd) }
+                    .doOnError { taskSpan.end(it, onEnd) }
+                    // completes empty or cancelled.
+                    .doFinally { taskSpan.end(null, onEnd) }
+                    .contextWrite { it.put(TRACE_CONTEXT_KEY, parent.with(span)).put(TaskSpan::class.java, taskSpan) }
+            }
+        }
+    }
+
+/**
+ * Runs the execution under a span if a tracer is set, otherwise runs it on the request as is.
+ * @param name name of the task.
+ * @param request request of the task.
+ * @param onEnd sets task specific attributes on a recording span.
+ * @param execution creates the execution from the request.
+ * @return traced execution.
+ */
+internal fun <Request, Response> Option<Tracer>.trace(
+    name: String,
+    request: Mono<Request>,
+    onEnd: (Span) -> Unit = { },
+    execution: (Mono<Request>) -> Mono<Maybe<Response>>
+): Mono<Maybe<Response>> =
+    this.fold({ execution(request) }, { traced(it, name, onEnd, request, execution) })
+
+/**
+ * Records that the task started running on the span in the Reactor context, if any.
+ */
+internal fun <T> Mono<T>.traceStart(): Mono<T> =
+    Mono.deferContextual { context ->
+        context.getOrEmpty<TaskSpan>(TaskSpan::class.java).ifPresent { it.onStart() }
+        this
+    }
+
+/**
+ * Records an attempt on the span in the Reactor context, if any.
+ */
+internal fun <T> Mono<T>.traceAttempt(): Mono<T> =
+    Mono.deferContextual { context ->
+        context.getOrEmpty<TaskSpan>(TaskSpan::class.java).ifPresent { it.onAttempt() }
+        this
+    }
+
+/**
+ * Records that a stale response was served on the span in the Reactor context, if any.
+ */
+internal fun <T> Mono<T>.traceStale(): Mono<T> =
+    Mono.deferContextual { context ->
+        context.getOrEmpty<TaskSpan>(TaskSpan::class.java).ifPresent { it.onStale() }
+        this
+    }
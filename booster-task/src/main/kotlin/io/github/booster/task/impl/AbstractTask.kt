@@ -1,27 +1,50 @@
 package io.github.booster.task.impl
 
+import arrow.core.None
 import arrow.core.Option
-import arrow.core.getOrElse
+import arrow.core.Some
 import arrow.core.orElse
 import com.google.common.base.Preconditions
-import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.commons.concurrency.ConcurrencyLimitExceededException
+import io.github.booster.commons.concurrency.ConcurrencyLimiter
 import io.github.booster.task.Maybe
 import io.github.booster.task.EmptyRequestHandler
 import io.github.booster.task.ExecutionType
 import io.github.booster.task.RequestExceptionHandler
 import io.github.booster.task.Task
+import io.github.booster.task.TASK_CIRCUIT_BREAKER_STATE_ATTRIBUTE
+import io.github.booster.task.TASK_SCHEDULER_ATTRIBUTE
 import io.github.booster.task.TaskExecutionContext
+import io.github.booster.task.traceAttempt
+import io.github.booster.task.trace
+import io.github.booster.task.traceStart
+import io.github.booster.task.util.DeadlineExecutorService
+import io.github.booster.task.util.TaskMeters
 import io.github.booster.task.util.convertAndRecord
 import io.github.booster.task.util.toScheduler
+import io.github.booster.task.withinDeadline
+import io.github.resilience4j.bulkhead.Bulkhead
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead
 import io.github.resilience4j.circuitbreaker.CircuitBreaker
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator
 import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator
+import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator
 import io.github.resilience4j.reactor.retry.RetryOperator
 import io.github.resilience4j.retry.Retry
 import io.micrometer.core.instrument.Timer
-import org.apache.commons.lang3.StringUtils
+import io.opentelemetry.api.trace.Span
 import org.slf4j.LoggerFactory
 import reactor.core.publisher.Mono
+import reactor.core.publisher.SignalType
 import reactor.core.scheduler.Scheduler
+import java.util.concurrent.Callable
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicReference
+import java.util.function.Function
 
 /**
  * Default handlers for request edge cases
@@ -35,7 +58,10 @@ data class RequestHandlers<Response>(
 
 /**
  * Base class for all tasks. Every task being executed supports optional
- * [Retry] and [CircuitBreaker].
+ * [Retry], [CircuitBreaker], [Bulkhead], [ThreadPoolBulkhead] and rate limiter,
+ * and an optional stale response fallback, see [StaleFallback].
+ * Requests whose deadline, set with [io.github.booster.task.withDeadline], has passed fail with
+ * [io.github.booster.commons.deadline.DeadlineExceededException] without running.
  * @param [Request] Request object type.
  * @param [Response] Response object type.
  */
@@ -43,9 +69,52 @@ abstract class AbstractTask<Request, Response>(
     name: String,
     private val requestHandlers: RequestHandlers<Response>,
     private val taskExecutionContext: TaskExecutionContext
-) : Task<Request, Response> {
+) : FusibleTask<Request, Response> {
     private val taskName: String
     private val scheduler: Option<Scheduler>
+    private val meters: TaskMeters
+
+    /**
+     * Bulkhead, rate limiter, retry and circuit breaker stages, assembled once. [None]
+     * when the task has none of them, in which case the stage is skipped entirely.
+     */
+    private val resilience: Option<Function<Mono<Option<Response>>, Mono<Option<Response>>>>
+
+    /**
+     * Pre-bound reference to [executeInternal], avoids allocating a lambda per request.
+     */
+    private val internalExecution: Function<Maybe<Request>, Mono<Option<Response>>>
+
+    /**
+     * Thread placement of the request, assembled once based on [ExecutionType] and scheduler.
+     */
+    private val pipeline: Function<Mono<Maybe<Request>>, Mono<Option<Response>>>
+
+    /**
+     * Execution on the thread requests are emitted on, assembled once. [None] unless the
+     * task publishes requests on a scheduler, see [FusibleTask].
+     */
+    private val fusedPipeline: Option<Function<Mono<Maybe<Request>>, Mono<Option<Response>>>>
+
+    /**
+     * Concurrency limit stage, assembled once. [None] when the task has no limiter.
+     */
+    private val limiter: Option<Function<Mono<Option<Response>>, Mono<Option<Response>>>>
+
+    /**
+     * Stale response fallback, [None] when the task has no [io.github.booster.task.FallbackContext].
+     */
+    private val fallback: Option<StaleFallback<Response>>
+
+    /**
+     * Whether executions are traced, in which case starts and attempts are recorded on the span.
+     */
+    private val traced: Boolean
+
+    /**
+     * Sets task attributes on a recording span.
+     */
+    private val spanAttributes: (Span) -> Unit
 
     /**
      * Constructor
@@ -55,6 +124,41 @@ abstract class AbstractTask<Request, Response>(
         this.taskName = name
         // Create a scheduler from ExecutorService, then monitor it for metrics.
         this.scheduler = toScheduler(taskExecutionContext.executorServiceOption)
+        this.meters = TaskMeters(taskExecutionContext.registry, name)
+        this.resilience = buildResilience(name, taskExecutionContext)
+        this.traced = taskExecutionContext.tracerOption.isDefined()
+        this.internalExecution = if (this.traced) {
+            Function { this.executeInternal(it).traceStart() }
+        } else {
+            Function { this.executeInternal(it) }
+        }
+        this.spanAttributes = buildSpanAttributes(taskExecutionContext, this.scheduler)
+        this.pipeline = buildPipeline(
+            name,
+            taskExecutionContext.executionType,
+            this.scheduler,
+            taskExecutionContext.executorServiceOption.orNull() as? DeadlineExecutorService,
+            this.internalExecution,
+            taskExecutionContext.registry.registryOption.map { this.meters }
+        )
+        this.fusedPipeline = if (
+            taskExecutionContext.executionType == ExecutionType.PUBLISH_ON &&
+            taskExecutionContext.executorServiceOption.orNull() !is DeadlineExecutorService
+        ) {
+            this.scheduler.map {
+                buildFusedPipeline(
+                    this.internalExecution,
+                    taskExecutionContext.registry.registryOption.map { this.meters }
+                )
+            }
+        } else {
+            None
+        }
+        this.limiter = taskExecutionContext.concurrencyLimiterOption.map { buildLimiter(name, it) }
+        this.fallback = taskExecutionContext.fallbackOption.map {
+            log.debug("booster-task - task[{}] enabling stale response fallback: {}", name, it)
+            StaleFallback(name, it, taskExecutionContext.circuitBreakerOption, taskExecutionContext.registry)
+        }
     }
 
     /**
@@ -62,58 +166,68 @@ abstract class AbstractTask<Request, Response>(
      * @param request request
      * @return a [Mono] of execution result.
      */
-    //@Suppress("UnsafeCallOnNullableType")
-    private fun executeInternal(request: Maybe<Request>): Mono<Option<Response>> {
-
-        return request.map { req ->
-            log.debug("booster-task - task[{}] running with optional request values: [{}]", name, req)
-            var response = req.map {
-                this.handleRequest(it)
-            }.getOrElse {
-                // handles empty requests with [RequestHandlers#emptyRequestHandler]
-                Mono.just(
-                    this.requestHandlers.emptyRequestHandler.map {
-                        it.invoke()
-                    }.getOrElse {
-                        Option.fromNullable(null)
+    private fun executeInternal(request: Maybe<Request>): Mono<Option<Response>> =
+        request.fold(
+            {
+                // handles request exceptions.
+                log.warn("booster-task - task[{}] input has exception", name, it)
+                Mono.fromSupplier { handleRequestException(it) }
+            },
+            { req ->
+                log.debug("booster-task - task[{}] running with optional request values: [{}]", name, req)
+                req.fold(
+                    // handles empty requests with [RequestHandlers#emptyRequestHandler]
+                    { Mono.just(handleEmptyRequest()) },
+                    { request ->
+                        // deadline is checked before the processor is invoked, so no work or retries
+                        // are started, and before every attempt, so retries stop once it passes.
+                        val execution = withinDeadline(name) {
+                            val attempt = withinDeadline(name) { this.handleRequest(request) }
+                            val response = if (this.traced) attempt.traceAttempt() else attempt
+                            this.resilience.fold({ response }, { it.apply(response) })
+                        }
+                        // stale responses are kept per request, served when the execution fails.
+                        this.fallback.fold(
+                            { execution },
+                            { if (request == null) execution else it.apply(request, execution) }
+                        )
                     }
                 )
             }
+        )
 
-            // if has retry, add it.
-            response = this.taskExecutionContext.retryOption.map { retry ->
-                log.debug(
-                    "booster-task - task[{}] enabling retry: {}",
-                    name,
-                    this.taskExecutionContext.retryOption.getOrElse { null }
-                )
-                response.transformDeferred(RetryOperator.of(retry))
-            }.getOrElse {
-                log.debug("booster-task - task[{}] without retry", name)
-                response
-            }
-
-            // if has circuit breaker, add it.
-            response = this.taskExecutionContext.circuitBreakerOption.map { circuitBreaker ->
-                log.debug(
-                    "booster-task - task[{}] enabling circuit breaker: {}",
-                    name,
-                    this.taskExecutionContext.circuitBreakerOption.getOrElse { null }
-                )
-                response.transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
-            }.getOrElse {
-                log.debug("booster-task - task[{}] without circuit breaker", name)
-                response
-            }
-            response
-        }.getOrElse {
-            // handles request exceptions.
-            log.warn("booster-task - task[{}] input has exception", name, it)
-            Mono.fromSupplier { handleRequestException(it) }
+    protected abstract fun handleRequest(request: Request): Mono<Option<Response>>
+
+    /**
+     * Whether [handleRequest] emits responses on the thread it's invoked on.
+     */
+    protected open val emitsOnCallingThread: Boolean
+        get() = false
+
+    /**
+     * Responses are emitted on the task's scheduler if requests are published on it and the
+     * processor responds on the same thread. Retries, rate limiters and thread pool bulkheads
+     * may delay or move responses to threads of their own.
+     */
+    override val responseScheduler: Option<Scheduler> by lazy {
+        if (
+            this.emitsOnCallingThread &&
+            this.fusedPipeline.isDefined() &&
+            this.taskExecutionContext.retryOption.isEmpty() &&
+            this.taskExecutionContext.rateLimiterOption.isEmpty() &&
+            this.taskExecutionContext.threadPoolBulkheadOption.isEmpty()
+        ) {
+            this.scheduler
+        } else {
+            None
         }
     }
 
-    protected abstract fun handleRequest(request: Request): Mono<Option<Response>>
+    override fun fusesAfter(scheduler: Scheduler): Boolean =
+        this.fusedPipeline.isDefined() && this.scheduler.orNull() == scheduler
+
+    private fun handleEmptyRequest(): Option<Response> =
+        this.requestHandlers.emptyRequestHandler.fold({ None }, { it.invoke() })
 
     private fun handleRequestException(t: Throwable): Option<Response> {
         return this.requestHandlers.requestExceptionHandler.flatMap {
@@ -125,35 +239,287 @@ abstract class AbstractTask<Request, Response>(
         }
     }
 
-    override fun execute(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> {
+    override fun execute(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> =
+        this.taskExecutionContext.tracerOption.trace(name, request, this.spanAttributes) {
+            this.executeAndRecord(it, this.pipeline)
+        }
+
+    override fun executeFused(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> {
+        val fused = this.fusedPipeline.orNull() ?: return this.execute(request)
+        return this.taskExecutionContext.tracerOption.trace(name, request, this.spanAttributes) {
+            this.executeAndRecord(it, fused)
+        }
+    }
+
+    private fun executeAndRecord(
+        request: Mono<Maybe<Request>>,
+        pipeline: Function<Mono<Maybe<Request>>, Mono<Option<Response>>>
+    ): Mono<Maybe<Response>> {
         val sampleOption: Option<Timer.Sample> = this.taskExecutionContext.registry.startSample()
 
-        return if (this.taskExecutionContext.executionType == ExecutionType.PUBLISH_ON) {
-            // To execute on thread provided, or calling thread.
-            this.scheduler.map {
-                log.debug("booster-task - task[{}] using thread pool", name)
-                request.publishOn(it)
-            }.getOrElse {
-                log.debug("booster-task - task[{}] using calling thread", name)
-                request
-            }.flatMap {
-                this.executeInternal(it)
-            }
-        } else {
-            this.scheduler.map {
-                request.flatMap { req -> this.executeInternal(req) }.subscribeOn(it)
-            }.getOrElse {
-                request.flatMap {
-                    this.executeInternal(it)
-                }
-            }
-        }.convertAndRecord(log, this.taskExecutionContext.registry, sampleOption, name)
+        // the permit is taken once the request arrives, so time spent upstream isn't counted.
+        val response = this.limiter.fold(
+            { pipeline.apply(request) },
+            { limited -> request.flatMap { limited.apply(pipeline.apply(Mono.just(it))) } }
+        )
+        return response.convertAndRecord(log, this.meters, sampleOption, name)
     }
 
     companion object {
         private val log = LoggerFactory.getLogger(AbstractTask::class.java)
+
+        private const val CALLING_THREAD = "calling_thread"
+
+        /**
+         * Assembles bulkhead, rate limiter, retry and circuit breaker operators once.
+         * Operators are applied with [Mono.transformDeferred] so that each subscription
+         * still gets its own retry context and permissions. Bulkheads and the rate
+         * limiter are applied inside retries, so every attempt takes its own permit.
+         */
+        private fun <T> buildResilience(
+            name: String,
+            context: TaskExecutionContext
+        ): Option<Function<Mono<T>, Mono<T>>> {
+            val threadPoolBulkheadOperator: Option<Function<Mono<T>, Mono<T>>> = context.threadPoolBulkheadOption.map {
+                log.debug("booster-task - task[{}] enabling thread pool bulkhead: {}", name, it)
+                threadPoolBulkhead(it)
+            }
+            val bulkheadOperator: Option<BulkheadOperator<T>> = context.bulkheadOption.map {
+                log.debug("booster-task - task[{}] enabling bulkhead: {}", name, it)
+                BulkheadOperator.of(it)
+            }
+            val rateLimiterOperator: Option<RateLimiterOperator<T>> = context.rateLimiterOption.map {
+                log.debug("booster-task - task[{}] enabling rate limiter: {}", name, it)
+                RateLimiterOperator.of(it)
+            }
+            val retryOperator: Option<RetryOperator<T>> = context.retryOption.map {
+                log.debug("booster-task - task[{}] enabling retry: {}", name, it)
+                RetryOperator.of(it)
+            }
+            val circuitBreakerOperator: Option<CircuitBreakerOperator<T>> = context.circuitBreakerOption.map {
+                log.debug("booster-task - task[{}] enabling circuit breaker: {}", name, it)
+                CircuitBreakerOperator.of(it)
+            }
+
+            // innermost first.
+            val operators: List<Function<Mono<T>, Mono<T>>> = listOfNotNull(
+                threadPoolBulkheadOperator.orNull(),
+                bulkheadOperator.map { operator -> Function<Mono<T>, Mono<T>> { it.transformDeferred(operator) } }
+                    .orNull(),
+                rateLimiterOperator.map { operator -> Function<Mono<T>, Mono<T>> { it.transformDeferred(operator) } }
+                    .orNull(),
+                retryOperator.map { operator -> Function<Mono<T>, Mono<T>> { it.transformDeferred(operator) } }
+                    .orNull(),
+                circuitBreakerOperator.map { operator -> Function<Mono<T>, Mono<T>> { it.transformDeferred(operator) } }
+                    .orNull()
+            )
+
+            return when (operators.size) {
+                0 -> {
+                    log.debug("booster-task - task[{}] without bulkhead, rate limiter, retry and circuit breaker", name)
+                    None
+                }
+                1 -> Some(operators[0])
+                else -> Some(
+                    Function { mono -> operators.fold(mono) { execution, operator -> operator.apply(execution) } }
+                )
+            }
+        }
+
+        /**
+         * Runs each execution on the bulkhead's threads, blocking one of them until the
+         * execution completes, so the bulkhead caps threads and queued calls. The bulkhead
+         * doesn't expose its executor, so the execution can't be scheduled on it without
+         * blocking. Cancelling disposes the execution, which frees the blocked thread. Best suited
+         * to synchronous processors; async processors are better served by a semaphore [Bulkhead].
+         */
+        private fun <T> threadPoolBulkhead(bulkhead: ThreadPoolBulkhead): Function<Mono<T>, Mono<T>> =
+            Function { execution ->
+                // the Reactor context doesn't cross into the bulkhead thread by itself.
+                Mono.deferContextual { context ->
+                    val cancelled = AtomicBoolean(false)
+                    val inner = AtomicReference<CompletableFuture<T>>()
+                    Mono.fromCompletionStage(
+                        bulkhead.submit(
+                            Callable {
+                                val future = execution.contextWrite(context).toFuture()
+                                inner.set(future)
+                                // cancelled before the execution was subscribed to.
+                                if (cancelled.get()) {
+                                    future.cancel(true)
+                                }
+                                try {
+                                    future.join()
+                                } catch (e: CompletionException) {
+                                    throw e.cause ?: e
+                                }
+                            }
+                        )
+                    ).doOnCancel {
+                        cancelled.set(true)
+                        inner.get()?.cancel(true)
+                    }
+                }
+            }
+
+        /**
+         * Assembles the concurrency limit once. A permit is acquired when the request is
+         * emitted, before it's queued on the task's thread pool, and the request is
+         * rejected right away if none is available. Latency of successful requests
+         * adjusts the limit, timeouts shrink it, and other failures are ignored.
+         */
+        private fun <T> buildLimiter(name: String, limiter: ConcurrencyLimiter): Function<Mono<T>, Mono<T>> {
+            log.debug("booster-task - task[{}] enabling concurrency limit: {}", name, limiter.name)
+            return Function { execution ->
+                Mono.defer {
+                    if (!limiter.tryAcquire()) {
+                        log.debug("booster-task - task[{}] concurrency limit reached, rejecting", name)
+                        Mono.error(ConcurrencyLimitExceededException("task[$name] concurrency limit reached"))
+                    } else {
+                        val start = System.nanoTime()
+                        var dropped = false
+                        execution.doOnError(TimeoutException::class.java) {
+                            dropped = true
+                        }.doFinally {
+                            when {
+                                it == SignalType.ON_COMPLETE -> limiter.onSuccess(System.nanoTime() - start)
+                                dropped -> limiter.onDropped(System.nanoTime() - start)
+                                else -> limiter.onIgnore()
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Span attributes known when the task is created, the circuit breaker state is read when the span ends.
+         */
+        private fun buildSpanAttributes(context: TaskExecutionContext, scheduler: Option<Scheduler>): (Span) -> Unit {
+            val schedulerName = scheduler.fold({ CALLING_THREAD }, { it.toString() })
+            return { span ->
+                span.setAttribute(TASK_SCHEDULER_ATTRIBUTE, schedulerName)
+                context.circuitBreakerOption.map {
+                    span.setAttribute(TASK_CIRCUIT_BREAKER_STATE_ATTRIBUTE, it.state.name)
+                }
+            }
+        }
+
+        /**
+         * Assembles thread placement once: publish on or subscribe on the
+         * task's scheduler, or run on the calling thread if there is none.
+         * With meters, the time a request waits for the scheduler and the time
+         * the task runs for are recorded as well. On a [DeadlineExecutorService],
+         * requests are queued by their deadline regardless of [ExecutionType].
+         */
+        @Suppress("LongParameterList")
+        private fun <Request, Response> buildPipeline(
+            name: String,
+            executionType: ExecutionType,
+            scheduler: Option<Scheduler>,
+            deadlineExecutor: DeadlineExecutorService?,
+            execution: Function<Maybe<Request>, Mono<Option<Response>>>,
+            meters: Option<TaskMeters>
+        ): Function<Mono<Maybe<Request>>, Mono<Option<Response>>> {
+            val timedExecution = meters.fold({ execution }, { timeRun(execution, it) })
+            if (deadlineExecutor != null) {
+                log.debug("booster-task - task[{}] using deadline executor {}", name, deadlineExecutor)
+                return meters.fold(
+                    { Function { request -> request.flatMap { deadlineExecutor.emitOn(it) }.flatMap(timedExecution) } },
+                    { taskMeters -> emitOnTimed(deadlineExecutor, timedExecution, taskMeters) }
+                )
+            }
+            return scheduler.fold(
+                {
+                    log.debug("booster-task - task[{}] using calling thread", name)
+                    Function { it.flatMap(timedExecution) }
+                },
+                {
+                    log.debug("booster-task - task[{}] using thread pool with {}", name, executionType)
+                    if (executionType == ExecutionType.PUBLISH_ON) {
+                        meters.fold(
+                            { Function { request -> request.publishOn(it).flatMap(timedExecution) } },
+                            { taskMeters -> publishOnTimed(it, timedExecution, taskMeters) }
+                        )
+                    } else {
+                        meters.fold(
+                            { Function { request -> request.flatMap(timedExecution).subscribeOn(it) } },
+                            { taskMeters -> subscribeOnTimed(it, timedExecution, taskMeters) }
+                        )
+                    }
+                }
+            )
+        }
+
+        /**
+         * Assembles execution on the thread requests are emitted on, for requests already
+         * on the task's scheduler. No queue wait is recorded, as requests don't wait for a thread.
+         */
+        private fun <Request, Response> buildFusedPipeline(
+            execution: Function<Maybe<Request>, Mono<Option<Response>>>,
+            meters: Option<TaskMeters>
+        ): Function<Mono<Maybe<Request>>, Mono<Option<Response>>> {
+            val timedExecution = meters.fold({ execution }, { timeRun(execution, it) })
+            return Function { it.flatMap(timedExecution) }
+        }
+
+        private fun <Request, Response> timeRun(
+            execution: Function<Maybe<Request>, Mono<Option<Response>>>,
+            meters: TaskMeters
+        ): Function<Maybe<Request>, Mono<Option<Response>>> =
+            Function { request ->
+                val startedAt = System.nanoTime()
+                execution.apply(request)
+                    .doOnTerminate { meters.runTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS) }
+            }
+
+        private fun <Request, Response> publishOnTimed(
+            scheduler: Scheduler,
+            execution: Function<Maybe<Request>, Mono<Option<Response>>>,
+            meters: TaskMeters
+        ): Function<Mono<Maybe<Request>>, Mono<Option<Response>>> =
+            Function { request ->
+                request.map { QueuedRequest(it, System.nanoTime()) }
+                    .publishOn(scheduler)
+                    .flatMap {
+                        meters.queueWaitTimer.record(System.nanoTime() - it.queuedAt, TimeUnit.NANOSECONDS)
+                        execution.apply(it.request)
+                    }
+            }
+
+        private fun <Request, Response> emitOnTimed(
+            executor: DeadlineExecutorService,
+            execution: Function<Maybe<Request>, Mono<Option<Response>>>,
+            meters: TaskMeters
+        ): Function<Mono<Maybe<Request>>, Mono<Option<Response>>> =
+            Function { request ->
+                request.flatMap { executor.emitOn(QueuedRequest(it, System.nanoTime())) }
+                    .flatMap {
+                        meters.queueWaitTimer.record(System.nanoTime() - it.queuedAt, TimeUnit.NANOSECONDS)
+                        execution.apply(it.request)
+                    }
+            }
+
+        private fun <Request, Response> subscribeOnTimed(
+            scheduler: Scheduler,
+            execution: Function<Maybe<Request>, Mono<Option<Response>>>,
+            meters: TaskMeters
+        ): Function<Mono<Maybe<Request>>, Mono<Option<Response>>> =
+            Function { request ->
+                Mono.defer {
+                    val queuedAt = System.nanoTime()
+                    request.doOnSubscribe {
+                        meters.queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS)
+                    }.flatMap(execution).subscribeOn(scheduler)
+                }
+            }
     }
 
+    /**
+     * Request with the time it was queued for the scheduler.
+     */
+    private class QueuedRequest<T>(val request: T, val queuedAt: Long)
+
     override val name: String
         get() = this.taskName
 }
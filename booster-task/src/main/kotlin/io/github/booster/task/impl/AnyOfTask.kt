@@ -0,0 +1,233 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import io.github.booster.commons.metrics.BoundCounter
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.ALTERNATIVE
+import io.github.booster.task.Maybe
+import io.github.booster.task.NAME
+import io.github.booster.task.TASK_RACE_WON_COUNT
+import io.github.booster.task.Task
+import io.github.booster.task.trace
+import io.github.booster.task.util.TaskMeters
+import io.github.booster.task.util.recordTime
+import io.opentelemetry.api.trace.Tracer
+import org.slf4j.LoggerFactory
+import reactor.core.publisher.Mono
+import reactor.core.publisher.Sinks
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Races alternative tasks for the same request, e.g. a primary and a secondary region,
+ * or a cache and a database. The first successful response is returned and the other
+ * alternatives are cancelled.
+ *
+ * Alternatives are started in order, each one a stagger delay after the previous, or
+ * right away once all started alternatives have failed. With no stagger delay, all
+ * alternatives start at once. If all alternatives fail, the first failure is returned.
+ *
+ * Empty requests and requests with exceptions are passed to the first alternative only.
+ * @param name name of the task, derived from the alternatives if blank.
+ * @param tasks alternatives, in the order they are started.
+ * @param stagger delay between starting alternatives.
+ * @param registry [MetricsRegistry] to record execution time and the alternative that responded.
+ * @param tracerOption optional [Tracer], each execution is traced in a span if set.
+ */
+class AnyOfTask<Request, Response> @JvmOverloads constructor(
+    name: String?,
+    private val tasks: List<Task<Request, Response>>,
+    private val stagger: Duration,
+    private val registry: MetricsRegistry,
+    private val tracerOption: Option<Tracer> = Option.fromNullable(null)
+) : Task<Request, Response> {
+
+    init {
+        Preconditions.checkArgument(tasks.size > 1, "at least 2 tasks are required")
+        Preconditions.checkArgument(!stagger.isNegative, "stagger cannot be negative")
+    }
+
+    private val taskName = if (name?.isNotBlank() == true) {
+        name
+    } else {
+        (listOf("any_of") + tasks.map { it.name }).joinToString("_")
+    }
+
+    private val meters = TaskMeters(registry, this.taskName)
+
+    private val wonCounters: List<BoundCounter> = this.tasks.map {
+        registry.boundCounter(TASK_RACE_WON_COUNT, NAME, this.taskName, ALTERNATIVE, it.name)
+    }
+
+    override fun execute(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> =
+        this.tracerOption.trace(this.name, request) { this.executeAndRecord(it) }
+
+    private fun executeAndRecord(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> {
+        val sampleOption = this.registry.startSample()
+
+        // alternatives report their own results, only time is recorded here.
+        return request.flatMap { maybe ->
+            when (maybe) {
+                is Either.Right -> maybe.value.fold(
+                    { this.tasks[0].execute(maybe) },
+                    { this.race(maybe) }
+                )
+                is Either.Left -> this.tasks[0].execute(maybe)
+            }
+        }.doOnTerminate { recordTime(this.meters, sampleOption) }
+    }
+
+    private fun race(maybe: Maybe<Request>): Mono<Maybe<Response>> {
+        val race = Race<Response>()
+        return this.attempt(maybe, 0, race)
+            .map {
+                this.wonCounters[it.first].increment()
+                it.second
+            }.onErrorResume(NoSuchElementException::class.java) {
+                Mono.just(
+                    race.failure.get() ?: Either.Left(NoSuchElementException("task[$name] no alternative responded"))
+                )
+            }
+    }
+
+    /**
+     * Runs the alternative at the index, racing it against the alternatives after it.
+     * Emits only successful responses, with the index of the alternative that responded.
+     */
+    private fun attempt(
+        maybe: Maybe<Request>,
+        index: Int,
+        race: Race<Response>
+    ): Mono<Pair<Int, Maybe<Response>>> =
+        Mono.defer {
+            val allFailed = race.start()
+            val current = this.tasks[index].execute(maybe)
+                // completes with null if empty, which counts as a failure as well.
+                .doOnSuccess { if (it == null || it.isLeft()) race.fail(it) }
+                .filter { it.isRight() }
+                .map { Pair(index, it) }
+            if (index == this.tasks.size - 1) {
+                return@defer current
+            }
+
+            val next = Mono.defer {
+                log.debug("booster-task - task[{}] starting alternative [{}]", name, this.tasks[index + 1].name)
+                this.attempt(maybe, index + 1, race)
+            }
+            val started = if (this.stagger.isZero) {
+                next
+            } else {
+                // the next alternative starts after the stagger delay, or right away once all started ones fail.
+                Mono.firstWithSignal(Mono.delay(this.stagger).then(), allFailed).then(next)
+            }
+            Mono.firstWithValue(current, started)
+        }
+
+    /**
+     * Failures of the alternatives started in one race.
+     */
+    private class Race<Response> {
+
+        /**
+         * First failure, returned if all alternatives fail.
+         */
+        val failure = AtomicReference<Maybe<Response>>()
+
+        private var started = 0
+
+        private var failed = 0
+
+        private var allFailed: Sinks.Empty<Void> = Sinks.empty()
+
+        /**
+         * Starts an alternative.
+         * @return [Mono] completing once every alternative started so far has failed.
+         */
+        @Synchronized
+        fun start(): Mono<Void> {
+            this.started++
+            this.allFailed = Sinks.empty()
+            return this.allFailed.asMono()
+        }
+
+        /**
+         * An alternative failed, or completed without a response if null.
+         */
+        fun fail(response: Maybe<Response>?) {
+            if (response != null) {
+                this.failure.compareAndSet(null, response)
+            }
+            // emitted outside the lock, as it starts the next alternative.
+            val allFailed = synchronized(this) {
+                this.failed++
+                if (this.failed == this.started) this.allFailed else null
+            }
+            allFailed?.tryEmitEmpty()
+        }
+    }
+
+    override val name: String
+        get() = this.taskName
+
+    companion object {
+        private val log = LoggerFactory.getLogger(AnyOfTask::class.java)
+    }
+}
+
+class AnyOfTaskBuilder<Request, Response> {
+
+    private var taskName: String? = ""
+    private var registry = MetricsRegistry()
+    private var tracerOption: Option<Tracer> = Option.fromNullable(null)
+    private var stagger = Duration.ZERO
+    private val tasks = mutableListOf<Task<Request, Response>>()
+
+    fun name(name: String?) {
+        this.taskName = name
+    }
+
+    fun registry(registry: MetricsRegistry) {
+        this.registry = registry
+    }
+
+    /**
+     * Traces each execution in a span created by the [Tracer].
+     * @param tracerOption [Option] of [Tracer]
+     */
+    fun tracerOption(tracerOption: Option<Tracer>) {
+        this.tracerOption = tracerOption
+    }
+
+    /**
+     * Adds an alternative, alternatives are started in the order they are added.
+     * @param task alternative task.
+     */
+    fun task(task: Task<Request, Response>) {
+        this.tasks.add(task)
+    }
+
+    /**
+     * Delay between starting alternatives, defaults to 0, starting all alternatives at once.
+     * @param stagger delay between alternatives.
+     */
+    fun stagger(stagger: Duration) {
+        this.stagger = stagger
+    }
+
+    fun build(): Task<Request, Response> {
+        Preconditions.checkArgument(this.tasks.size > 1, "at least 2 tasks are required")
+
+        return AnyOfTask(
+            this.taskName,
+            this.tasks.toList(),
+            this.stagger,
+            this.registry,
+            this.tracerOption
+        )
+    }
+}
+
+fun <Request, Response> raceTask(initializer: AnyOfTaskBuilder<Request, Response>.() -> Unit) =
+    AnyOfTaskBuilder<Request, Response>().apply(initializer)
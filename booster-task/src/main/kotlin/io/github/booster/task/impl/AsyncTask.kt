@@ -2,12 +2,19 @@ package io.github.booster.task.impl
 
 import arrow.core.Option
 import com.google.common.base.Preconditions
+import io.github.booster.commons.concurrency.ConcurrencyLimiter
 import io.github.booster.commons.metrics.MetricsRegistry
 import io.github.booster.task.EmptyRequestHandler
+import io.github.booster.task.FallbackContext
+import io.github.booster.task.HedgeContext
 import io.github.booster.task.RequestExceptionHandler
 import io.github.booster.task.TaskExecutionContext
+import io.github.resilience4j.bulkhead.Bulkhead
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead
 import io.github.resilience4j.circuitbreaker.CircuitBreaker
+import io.github.resilience4j.ratelimiter.RateLimiter
 import io.github.resilience4j.retry.Retry
+import io.opentelemetry.api.trace.Tracer
 import reactor.core.publisher.Mono
 import java.util.concurrent.ExecutorService
 
@@ -33,7 +40,15 @@ class AsynchronousTaskBuilder<Request, Response> {
     private var registry: MetricsRegistry = MetricsRegistry()
     private var retryOption: Option<Retry> = Option.fromNullable(null)
     private var circuitBreakerOption: Option<CircuitBreaker> = Option.fromNullable(null)
+    private var concurrencyLimiterOption: Option<ConcurrencyLimiter> = Option.fromNullable(null)
+    private var bulkheadOption: Option<Bulkhead> = Option.fromNullable(null)
+    private var threadPoolBulkheadOption: Option<ThreadPoolBulkhead> = Option.fromNullable(null)
+    private var rateLimiterOption: Option<RateLimiter> = Option.fromNullable(null)
+    private var tracerOption: Option<Tracer> = Option.fromNullable(null)
     private var executorServiceOption: Option<ExecutorService> = Option.fromNullable(null)
+    private var keyExtractor: Option<CoalescingKeyExtractor<Request>> = Option.fromNullable(null)
+    private var hedgeContext: Option<HedgeContext> = Option.fromNullable(null)
+    private var fallbackOption: Option<FallbackContext> = Option.fromNullable(null)
     private lateinit var process: AsyncProcessor<Request, Response>
     private var requestExceptionHandler: Option<RequestExceptionHandler<Response>> = Option.fromNullable(null)
     private var emptyRequestHandler: Option<EmptyRequestHandler<Response>> = Option.fromNullable(null)
@@ -66,15 +81,82 @@ class AsynchronousTaskBuilder<Request, Response> {
         this.circuitBreakerOption = circuitBreakerOption
     }
 
+    /**
+     * Rejects requests over an adaptive concurrency limit, see [ConcurrencyLimiter].
+     * @param concurrencyLimiterOption [Option] of [ConcurrencyLimiter]
+     */
+    fun concurrencyLimiterOption(concurrencyLimiterOption: Option<ConcurrencyLimiter>) {
+        this.concurrencyLimiterOption = concurrencyLimiterOption
+    }
+
+    /**
+     * Caps concurrent calls with a semaphore [Bulkhead].
+     * @param bulkheadOption [Option] of [Bulkhead]
+     */
+    fun bulkheadOption(bulkheadOption: Option<Bulkhead>) {
+        this.bulkheadOption = bulkheadOption
+    }
+
+    /**
+     * Isolates calls on a [ThreadPoolBulkhead], rejecting them once its queue is full.
+     * @param threadPoolBulkheadOption [Option] of [ThreadPoolBulkhead]
+     */
+    fun threadPoolBulkheadOption(threadPoolBulkheadOption: Option<ThreadPoolBulkhead>) {
+        this.threadPoolBulkheadOption = threadPoolBulkheadOption
+    }
+
+    /**
+     * Caps calls per period with a [RateLimiter].
+     * @param rateLimiterOption [Option] of [RateLimiter]
+     */
+    fun rateLimiterOption(rateLimiterOption: Option<RateLimiter>) {
+        this.rateLimiterOption = rateLimiterOption
+    }
+
+    /**
+     * Traces each execution in a span created by the [Tracer].
+     * @param tracerOption [Option] of [Tracer]
+     */
+    fun tracerOption(tracerOption: Option<Tracer>) {
+        this.tracerOption = tracerOption
+    }
+
     fun executorOption(executorServiceOption: Option<ExecutorService>) {
         this.executorServiceOption = executorServiceOption
     }
 
+    /**
+     * Coalesces concurrent executions of requests with the same key into
+     * a single execution, see [CoalescingTask].
+     * @param keyExtractor extracts the coalescing key from a request.
+     */
+    fun coalescing(keyExtractor: CoalescingKeyExtractor<Request>) {
+        this.keyExtractor = Option.fromNullable(keyExtractor)
+    }
+
+    /**
+     * Starts a second execution if the first has not responded within
+     * the hedge delay, see [HedgedTask]. Only for idempotent tasks.
+     * @param hedgeContext [HedgeContext] with delay and budget settings.
+     */
+    fun hedging(hedgeContext: HedgeContext) {
+        this.hedgeContext = Option.fromNullable(hedgeContext)
+    }
+
+    /**
+     * Serves the last successful response of a request as stale when the circuit
+     * breaker is open or the execution fails, see [StaleFallback].
+     * @param fallbackContext [FallbackContext] with size and staleness settings.
+     */
+    fun fallback(fallbackContext: FallbackContext) {
+        this.fallbackOption = Option.fromNullable(fallbackContext)
+    }
+
     fun build(): io.github.booster.task.Task<Request, Response> {
         Preconditions.checkArgument(::taskName.isInitialized, "task name not initialized")
         Preconditions.checkArgument(::process.isInitialized, "processor not initialized")
 
-        return AsyncTask(
+        val task = AsyncTask(
             this.taskName,
             RequestHandlers(
                 this.emptyRequestHandler,
@@ -84,10 +166,26 @@ class AsynchronousTaskBuilder<Request, Response> {
                 this.executorServiceOption,
                 this.retryOption,
                 this.circuitBreakerOption,
-                this.registry
+                this.registry,
+                concurrencyLimiterOption = this.concurrencyLimiterOption,
+                bulkheadOption = this.bulkheadOption,
+                threadPoolBulkheadOption = this.threadPoolBulkheadOption,
+                rateLimiterOption = this.rateLimiterOption,
+                tracerOption = this.tracerOption,
+                fallbackOption = this.fallbackOption
             ),
             this.process,
         )
+
+        val hedged = this.hedgeContext.fold(
+            { task },
+            { HedgedTask(task, it, this.registry, this.circuitBreakerOption) }
+        )
+
+        return this.keyExtractor.fold(
+            { hedged },
+            { CoalescingTask(hedged, it, this.registry) }
+        )
     }
 }
 
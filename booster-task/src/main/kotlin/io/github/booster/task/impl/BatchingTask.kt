@@ -0,0 +1,352 @@
+package io.github.booster.task.impl
+
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import io.github.booster.commons.metrics.BoundCounter
+import io.github.booster.commons.concurrency.ConcurrencyLimiter
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.EmptyRequestHandler
+import io.github.booster.task.NAME
+import io.github.booster.task.RequestExceptionHandler
+import io.github.booster.task.TASK_BATCH_COUNT
+import io.github.booster.task.TaskExecutionContext
+import io.github.resilience4j.bulkhead.Bulkhead
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead
+import io.github.resilience4j.circuitbreaker.CircuitBreaker
+import io.github.resilience4j.ratelimiter.RateLimiter
+import io.github.resilience4j.retry.Retry
+import io.opentelemetry.api.trace.Tracer
+import org.slf4j.LoggerFactory
+import reactor.core.Disposable
+import reactor.core.publisher.Mono
+import reactor.core.publisher.Sinks
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+
+typealias BatchProcessor<Request, Response> = (List<Request>) -> Mono<Map<Request, Response>>
+
+/**
+ * Default maximum number of requests in a batch.
+ */
+const val DEFAULT_MAX_BATCH_SIZE = 100
+
+/**
+ * Default maximum time in milliseconds a request waits for its batch to fill.
+ */
+const val DEFAULT_MAX_BATCH_WAIT_MILLIS = 10L
+
+/**
+ * Default maximum time a request waits for its batch to fill.
+ */
+val DEFAULT_MAX_BATCH_WAIT: Duration = Duration.ofMillis(DEFAULT_MAX_BATCH_WAIT_MILLIS)
+
+/**
+ * Default number of batches processed concurrently.
+ */
+const val DEFAULT_MAX_CONCURRENT_BATCHES = 1
+
+/**
+ * Micro-batching task. Requests executed individually are grouped into batches
+ * of at most [maxBatchSize] requests, or the requests received within
+ * [maxBatchWait], whichever comes first. Each batch is handed to the batch
+ * processor once, with duplicate requests removed, and every caller receives
+ * the response mapped to its request. Requests without a mapped response
+ * receive an empty response; if the batch fails, every request in it fails.
+ *
+ * Request handlers, retry, circuit breaker and metrics apply to individual
+ * requests like any other [AbstractTask]. A retried request joins the next batch.
+ * @param name name of the task.
+ * @param requestHandlers handlers for empty requests and request exceptions.
+ * @param taskExecutionContext [TaskExecutionContext] of the task.
+ * @param processor batch processor, responses are looked up by request, so
+ *                  requests need proper equals and hashCode.
+ * @param maxBatchSize maximum number of requests in a batch.
+ * @param maxBatchWait maximum time a request waits for its batch to fill.
+ * @param maxConcurrentBatches maximum number of batches processed concurrently.
+ */
+class BatchingTask<Request, Response> @JvmOverloads constructor(
+    name: String,
+    requestHandlers: RequestHandlers<Response>,
+    taskExecutionContext: TaskExecutionContext,
+    private val processor: BatchProcessor<Request, Response>,
+    private val maxBatchSize: Int = DEFAULT_MAX_BATCH_SIZE,
+    private val maxBatchWait: Duration = DEFAULT_MAX_BATCH_WAIT,
+    private val maxConcurrentBatches: Int = DEFAULT_MAX_CONCURRENT_BATCHES
+) : AbstractTask<Request, Response>(
+    name,
+    requestHandlers,
+    taskExecutionContext
+), Disposable {
+
+    private class Pending<Request, Response>(
+        val request: Request,
+        val response: Sinks.One<Option<Response>>
+    )
+
+    @Volatile
+    private lateinit var requests: Sinks.Many<Pending<Request, Response>>
+
+    @Volatile
+    private lateinit var subscription: Disposable
+
+    @Volatile
+    private var disposed = false
+
+    /**
+     * Requests submitted and not yet responded to, failed if batching stops on an error.
+     */
+    private val inFlight: MutableSet<Pending<Request, Response>> = ConcurrentHashMap.newKeySet()
+
+    private val batchCounter: BoundCounter = taskExecutionContext.registry.boundCounter(TASK_BATCH_COUNT, NAME, name)
+
+    init {
+        Preconditions.checkArgument(maxBatchSize > 0, "max batch size must be greater than 0")
+        Preconditions.checkArgument(
+            !maxBatchWait.isNegative && !maxBatchWait.isZero,
+            "max batch wait must be greater than 0"
+        )
+        Preconditions.checkArgument(maxConcurrentBatches > 0, "max concurrent batches must be greater than 0")
+
+        this.start()
+    }
+
+    /**
+     * Subscribes to requests. Batches are only emitted on demand, so batches filled
+     * while [maxConcurrentBatches] are being processed wait rather than overflow.
+     */
+    private fun start() {
+        val requests = Sinks.many().unicast().onBackpressureBuffer<Pending<Request, Response>>()
+        this.requests = requests
+        this.subscription = requests.asFlux()
+            .bufferTimeout(this.maxBatchSize, this.maxBatchWait, true)
+            .flatMap({ this.processBatch(it) }, this.maxConcurrentBatches)
+            .subscribe({ }, { this.restart(it) })
+    }
+
+    /**
+     * Fails requests waiting on the stopped subscription and subscribes again, unless disposed.
+     */
+    private fun restart(t: Throwable) {
+        log.error("booster-task - task[{}] batching stopped, restarting", name, t)
+        val failed = this.inFlight.toList()
+        if (!this.disposed) {
+            this.start()
+        }
+        failed.forEach {
+            this.inFlight.remove(it)
+            it.response.tryEmitError(t)
+        }
+    }
+
+    override fun handleRequest(request: Request): Mono<Option<Response>> =
+        Mono.defer {
+            val pending = Pending<Request, Response>(request, Sinks.one())
+            this.inFlight.add(pending)
+            val result = this.submit(pending)
+            if (result.isSuccess) {
+                pending.response.asMono()
+            } else {
+                this.inFlight.remove(pending)
+                Mono.error(IllegalStateException("task[$name] cannot accept request: $result"))
+            }
+        }
+
+    private fun submit(pending: Pending<Request, Response>): Sinks.EmitResult {
+        while (true) {
+            val requests = this.requests
+            val result = requests.tryEmitNext(pending)
+            // concurrent callers may emit at the same time, retries until the other emission is done,
+            // or on the new subscription if batching restarted in the meantime.
+            if (result != Sinks.EmitResult.FAIL_NON_SERIALIZED && (result.isSuccess || requests === this.requests)) {
+                return result
+            }
+        }
+    }
+
+    private fun processBatch(batch: List<Pending<Request, Response>>): Mono<Void> {
+        val requests = batch.map { it.request }.distinct()
+        log.debug("booster-task - task[{}] processing batch of {} requests", name, requests.size)
+        this.batchCounter.increment()
+
+        return Mono.defer { this.processor.invoke(requests) }
+            .defaultIfEmpty(mapOf())
+            .doOnNext { responses ->
+                batch.forEach {
+                    this.inFlight.remove(it)
+                    it.response.tryEmitValue(Option.fromNullable(responses[it.request]))
+                }
+            }
+            .onErrorResume { t ->
+                log.warn("booster-task - task[{}] batch failed", name, t)
+                batch.forEach {
+                    this.inFlight.remove(it)
+                    it.response.tryEmitError(t)
+                }
+                Mono.empty()
+            }
+            .then()
+    }
+
+    /**
+     * Stops accepting requests. Requests already submitted are still processed.
+     */
+    override fun dispose() {
+        this.disposed = true
+        this.requests.tryEmitComplete()
+    }
+
+    override fun isDisposed(): Boolean =
+        this.subscription.isDisposed
+
+    companion object {
+        private val log = LoggerFactory.getLogger(BatchingTask::class.java)
+    }
+}
+
+class BatchingTaskBuilder<Request, Response> {
+
+    private lateinit var taskName: String
+    private var registry: MetricsRegistry = MetricsRegistry()
+    private var retryOption: Option<Retry> = Option.fromNullable(null)
+    private var circuitBreakerOption: Option<CircuitBreaker> = Option.fromNullable(null)
+    private var concurrencyLimiterOption: Option<ConcurrencyLimiter> = Option.fromNullable(null)
+    private var bulkheadOption: Option<Bulkhead> = Option.fromNullable(null)
+    private var threadPoolBulkheadOption: Option<ThreadPoolBulkhead> = Option.fromNullable(null)
+    private var rateLimiterOption: Option<RateLimiter> = Option.fromNullable(null)
+    private var tracerOption: Option<Tracer> = Option.fromNullable(null)
+    private var executorServiceOption: Option<ExecutorService> = Option.fromNullable(null)
+    private lateinit var process: BatchProcessor<Request, Response>
+    private var requestExceptionHandler: Option<RequestExceptionHandler<Response>> = Option.fromNullable(null)
+    private var emptyRequestHandler: Option<EmptyRequestHandler<Response>> = Option.fromNullable(null)
+    private var maxBatchSize = DEFAULT_MAX_BATCH_SIZE
+    private var maxBatchWait = DEFAULT_MAX_BATCH_WAIT
+    private var maxConcurrentBatches = DEFAULT_MAX_CONCURRENT_BATCHES
+
+    fun name(name: String) {
+        this.taskName = name
+    }
+
+    fun registry(registry: MetricsRegistry) {
+        this.registry = registry
+    }
+
+    fun processor(process: BatchProcessor<Request, Response>) {
+        this.process = process
+    }
+
+    fun defaultHandler(emptyRequestHandler: EmptyRequestHandler<Response>) {
+        this.emptyRequestHandler = Option.fromNullable(emptyRequestHandler)
+    }
+
+    fun exceptionHandler(errorHandler: RequestExceptionHandler<Response>) {
+        this.requestExceptionHandler = Option.fromNullable(errorHandler)
+    }
+
+    fun retryOption(retryOption: Option<Retry>) {
+        this.retryOption = retryOption
+    }
+
+    fun circuitBreakerOption(circuitBreakerOption: Option<CircuitBreaker>) {
+        this.circuitBreakerOption = circuitBreakerOption
+    }
+
+    /**
+     * Rejects requests over an adaptive concurrency limit, see [ConcurrencyLimiter].
+     * @param concurrencyLimiterOption [Option] of [ConcurrencyLimiter]
+     */
+    fun concurrencyLimiterOption(concurrencyLimiterOption: Option<ConcurrencyLimiter>) {
+        this.concurrencyLimiterOption = concurrencyLimiterOption
+    }
+
+    /**
+     * Caps concurrent calls with a semaphore [Bulkhead].
+     * @param bulkheadOption [Option] of [Bulkhead]
+     */
+    fun bulkheadOption(bulkheadOption: Option<Bulkhead>) {
+        this.bulkheadOption = bulkheadOption
+    }
+
+    /**
+     * Isolates calls on a [ThreadPoolBulkhead], rejecting them once its queue is full.
+     * @param threadPoolBulkheadOption [Option] of [ThreadPoolBulkhead]
+     */
+    fun threadPoolBulkheadOption(threadPoolBulkheadOption: Option<ThreadPoolBulkhead>) {
+        this.threadPoolBulkheadOption = threadPoolBulkheadOption
+    }
+
+    /**
+     * Caps calls per period with a [RateLimiter].
+     * @param rateLimiterOption [Option] of [RateLimiter]
+     */
+    fun rateLimiterOption(rateLimiterOption: Option<RateLimiter>) {
+        this.rateLimiterOption = rateLimiterOption
+    }
+
+    /**
+     * Traces each execution in a span created by the [Tracer].
+     * @param tracerOption [Option] of [Tracer]
+     */
+    fun tracerOption(tracerOption: Option<Tracer>) {
+        this.tracerOption = tracerOption
+    }
+
+    fun executorOption(executorServiceOption: Option<ExecutorService>) {
+        this.executorServiceOption = executorServiceOption
+    }
+
+    /**
+     * Maximum number of requests in a batch.
+     * @param maxBatchSize maximum batch size.
+     */
+    fun maxBatchSize(maxBatchSize: Int) {
+        this.maxBatchSize = maxBatchSize
+    }
+
+    /**
+     * Maximum time a request waits for its batch to fill before the batch is processed.
+     * @param maxBatchWait maximum wait.
+     */
+    fun maxBatchWait(maxBatchWait: Duration) {
+        this.maxBatchWait = maxBatchWait
+    }
+
+    /**
+     * Maximum number of batches processed at the same time.
+     * @param maxConcurrentBatches maximum concurrent batches.
+     */
+    fun maxConcurrentBatches(maxConcurrentBatches: Int) {
+        this.maxConcurrentBatches = maxConcurrentBatches
+    }
+
+    fun build(): BatchingTask<Request, Response> {
+        Preconditions.checkArgument(::taskName.isInitialized, "task name not initialized")
+        Preconditions.checkArgument(::process.isInitialized, "processor not initialized")
+
+        return BatchingTask(
+            this.taskName,
+            RequestHandlers(
+                this.emptyRequestHandler,
+                this.requestExceptionHandler
+            ),
+            TaskExecutionContext(
+                this.executorServiceOption,
+                this.retryOption,
+                this.circuitBreakerOption,
+                this.registry,
+                concurrencyLimiterOption = this.concurrencyLimiterOption,
+                bulkheadOption = this.bulkheadOption,
+                threadPoolBulkheadOption = this.threadPoolBulkheadOption,
+                rateLimiterOption = this.rateLimiterOption,
+                tracerOption = this.tracerOption
+            ),
+            this.process,
+            this.maxBatchSize,
+            this.maxBatchWait,
+            this.maxConcurrentBatches
+        )
+    }
+}
+
+fun <Request, Response> batchingTask(initializer: BatchingTaskBuilder<Request, Response>.() -> Unit) =
+    BatchingTaskBuilder<Request, Response>().apply(initializer)
@@ -0,0 +1,221 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import com.google.common.base.Ticker
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.cache.RemovalNotification
+import io.github.booster.commons.metrics.BoundCounter
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.CACHE_EVICTION
+import io.github.booster.task.CACHE_HIT
+import io.github.booster.task.CACHE_MISS
+import io.github.booster.task.CACHE_RESULT
+import io.github.booster.task.CacheContext
+import io.github.booster.task.DEFAULT_CACHE_MAX_SIZE
+import io.github.booster.task.Maybe
+import io.github.booster.task.NAME
+import io.github.booster.task.TASK_CACHE_COUNT
+import io.github.booster.task.Task
+import org.slf4j.LoggerFactory
+import reactor.core.publisher.Mono
+import reactor.core.scheduler.Schedulers
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Response caching decorator. Responses are cached by the key extracted from
+ * the request. Misses are coalesced, so concurrent misses on the same key
+ * execute the decorated task once.
+ *
+ * If refresh after write is set, a hit on a response older than that
+ * triggers one background execution to reload it, while the cached response
+ * is served. A failed refresh keeps the cached response unless negative
+ * responses are cached.
+ *
+ * Empty requests and requests with exceptions are passed to the decorated
+ * task without caching.
+ * @param task task to be decorated.
+ * @param keyExtractor extracts the cache key from a request.
+ * @param cacheContext [CacheContext] with cache size, expiration and refresh settings.
+ * @param registry [MetricsRegistry] to record cache hits, misses and evictions.
+ * @param ticker time source for expiration and refresh.
+ */
+class CachingTask<Request, Response> internal constructor(
+    private val task: Task<Request, Response>,
+    private val keyExtractor: CoalescingKeyExtractor<Request>,
+    private val cacheContext: CacheContext,
+    registry: MetricsRegistry,
+    private val ticker: Ticker
+) : Task<Request, Response> {
+
+    constructor(
+        task: Task<Request, Response>,
+        keyExtractor: CoalescingKeyExtractor<Request>,
+        cacheContext: CacheContext,
+        registry: MetricsRegistry
+    ) : this(task, keyExtractor, cacheContext, registry, Ticker.systemTicker())
+
+    private class Entry<Response>(val response: Maybe<Response>, val writtenAt: Long)
+
+    private val hitCounter: BoundCounter =
+        registry.boundCounter(TASK_CACHE_COUNT, NAME, task.name, CACHE_RESULT, CACHE_HIT)
+    private val missCounter: BoundCounter =
+        registry.boundCounter(TASK_CACHE_COUNT, NAME, task.name, CACHE_RESULT, CACHE_MISS)
+    private val evictionCounter: BoundCounter =
+        registry.boundCounter(TASK_CACHE_COUNT, NAME, task.name, CACHE_RESULT, CACHE_EVICTION)
+
+    private val loader: Task<Request, Response> = CoalescingTask(task, keyExtractor, registry)
+
+    private val refreshAfterWriteNanos: Long = cacheContext.refreshAfterWrite.fold({ -1L }, { it.toNanos() })
+
+    private val refreshing: MutableSet<Any> = ConcurrentHashMap.newKeySet()
+
+    private val cache: Cache<Any, Entry<Response>>
+
+    init {
+        Preconditions.checkArgument(cacheContext.maxSize > 0, "max size must be greater than 0")
+        val builder = CacheBuilder.newBuilder()
+            .maximumSize(cacheContext.maxSize)
+            .ticker(ticker)
+            .removalListener { notification: RemovalNotification<Any, Entry<Response>> ->
+                if (notification.wasEvicted()) {
+                    this.evictionCounter.increment()
+                }
+            }
+        cacheContext.expireAfterWrite.map { builder.expireAfterWrite(it) }
+        cacheContext.expireAfterAccess.map { builder.expireAfterAccess(it) }
+        this.cache = builder.build()
+    }
+
+    override fun execute(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> =
+        request.flatMap { maybe ->
+            when (maybe) {
+                is Either.Right -> maybe.value.fold(
+                    { this.task.execute(maybe) },
+                    { this.lookup(it, maybe) }
+                )
+                is Either.Left -> this.task.execute(maybe)
+            }
+        }
+
+    private fun lookup(request: Request, maybe: Maybe<Request>): Mono<Maybe<Response>> {
+        val key = this.keyExtractor.invoke(request)
+        val entry = this.cache.getIfPresent(key)
+        if (entry != null) {
+            log.debug("booster-task - task[{}] cache hit for key: [{}]", name, key)
+            this.hitCounter.increment()
+            this.refreshIfStale(key, entry, maybe)
+            return Mono.just(entry.response)
+        }
+
+        log.debug("booster-task - task[{}] cache miss for key: [{}]", name, key)
+        this.missCounter.increment()
+        return this.loader.execute(maybe)
+            .doOnNext { this.store(key, it) }
+    }
+
+    private fun refreshIfStale(key: Any, entry: Entry<Response>, maybe: Maybe<Request>) {
+        if (this.refreshAfterWriteNanos < 0 ||
+            this.ticker.read() - entry.writtenAt < this.refreshAfterWriteNanos ||
+            !this.refreshing.add(key)
+        ) {
+            return
+        }
+
+        log.debug("booster-task - task[{}] refreshing key: [{}]", name, key)
+        this.task.execute(maybe)
+            .doOnNext { this.store(key, it) }
+            .doFinally { this.refreshing.remove(key) }
+            // off the caller's thread, so a blocking task doesn't delay the cached response.
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe(
+                { },
+                { log.warn("booster-task - task[{}] refresh failed for key: [{}]", name, key, it) }
+            )
+    }
+
+    private fun store(key: Any, response: Maybe<Response>) {
+        val cacheable = response.fold({ false }, { it.isDefined() })
+        if (cacheable || this.cacheContext.cacheNegative) {
+            this.cache.put(key, Entry(response, this.ticker.read()))
+        }
+    }
+
+    override val name: String
+        get() = this.task.name
+
+    companion object {
+        private val log = LoggerFactory.getLogger(CachingTask::class.java)
+    }
+}
+
+class CachingTaskBuilder<Request, Response> {
+
+    private lateinit var delegateTask: Task<Request, Response>
+    private var keyExtractor: CoalescingKeyExtractor<Request> = { it as Any }
+    private var registry = MetricsRegistry()
+    private var maxSize = DEFAULT_CACHE_MAX_SIZE
+    private var expireAfterWrite: Option<Duration> = Option.fromNullable(null)
+    private var expireAfterAccess: Option<Duration> = Option.fromNullable(null)
+    private var refreshAfterWrite: Option<Duration> = Option.fromNullable(null)
+    private var cacheNegative = false
+
+    fun task(task: Task<Request, Response>) {
+        this.delegateTask = task
+    }
+
+    /**
+     * Extracts the cache key from a request, defaults to the request itself.
+     * @param keyExtractor key extractor
+     */
+    fun key(keyExtractor: CoalescingKeyExtractor<Request>) {
+        this.keyExtractor = keyExtractor
+    }
+
+    fun registry(registry: MetricsRegistry) {
+        this.registry = registry
+    }
+
+    fun maxSize(maxSize: Long) {
+        this.maxSize = maxSize
+    }
+
+    fun expireAfterWrite(duration: Duration) {
+        this.expireAfterWrite = Option.fromNullable(duration)
+    }
+
+    fun expireAfterAccess(duration: Duration) {
+        this.expireAfterAccess = Option.fromNullable(duration)
+    }
+
+    fun refreshAfterWrite(duration: Duration) {
+        this.refreshAfterWrite = Option.fromNullable(duration)
+    }
+
+    fun cacheNegative(cacheNegative: Boolean) {
+        this.cacheNegative = cacheNegative
+    }
+
+    fun build(): Task<Request, Response> {
+        Preconditions.checkArgument(::delegateTask.isInitialized, "task not initialized")
+
+        return CachingTask(
+            this.delegateTask,
+            this.keyExtractor,
+            CacheContext(
+                this.maxSize,
+                this.expireAfterWrite,
+                this.expireAfterAccess,
+                this.refreshAfterWrite,
+                this.cacheNegative
+            ),
+            this.registry
+        )
+    }
+}
+
+fun <Request, Response> cachingTask(initializer: CachingTaskBuilder<Request, Response>.() -> Unit) =
+    CachingTaskBuilder<Request, Response>().apply(initializer)
@@ -0,0 +1,110 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import com.google.common.base.Preconditions
+import io.github.booster.commons.metrics.BoundCounter
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.Maybe
+import io.github.booster.task.NAME
+import io.github.booster.task.TASK_COALESCED_COUNT
+import io.github.booster.task.Task
+import org.slf4j.LoggerFactory
+import reactor.core.publisher.Mono
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+
+typealias CoalescingKeyExtractor<Request> = (Request) -> Any
+
+/**
+ * Single-flight decorator. While an execution for a key is in flight,
+ * concurrent executions with the same key subscribe to that execution
+ * instead of starting a new one. Once the execution terminates, the key
+ * is released and the next request executes again; results are not cached.
+ *
+ * Empty requests and requests with exceptions are passed to the decorated
+ * task without coalescing.
+ * @param task task to be decorated.
+ * @param keyExtractor extracts the coalescing key from a request.
+ * @param registry [MetricsRegistry] to record number of coalesced executions.
+ */
+class CoalescingTask<Request, Response>(
+    private val task: Task<Request, Response>,
+    private val keyExtractor: CoalescingKeyExtractor<Request>,
+    registry: MetricsRegistry
+) : Task<Request, Response> {
+
+    private val inFlight: ConcurrentMap<Any, Mono<Maybe<Response>>> = ConcurrentHashMap()
+
+    private val coalescedCounter: BoundCounter = registry.boundCounter(TASK_COALESCED_COUNT, NAME, task.name)
+
+    override fun execute(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> =
+        request.flatMap { maybe ->
+            when (maybe) {
+                is Either.Right -> maybe.value.fold(
+                    { this.task.execute(maybe) },
+                    { this.coalesce(it, maybe) }
+                )
+                is Either.Left -> this.task.execute(maybe)
+            }
+        }
+
+    private fun coalesce(request: Request, maybe: Maybe<Request>): Mono<Maybe<Response>> {
+        val key = this.keyExtractor.invoke(request)
+        val existing = this.inFlight[key]
+        if (existing != null) {
+            log.debug("booster-task - task[{}] joining in flight execution for key: [{}]", name, key)
+            this.coalescedCounter.increment()
+            return existing
+        }
+
+        lateinit var shared: Mono<Maybe<Response>>
+        // released before the result reaches subscribers, so a request
+        // arriving after completion never joins the finished execution.
+        shared = this.task.execute(maybe)
+            .doOnTerminate { this.inFlight.remove(key, shared) }
+            .cache()
+        val previous = this.inFlight.putIfAbsent(key, shared)
+        if (previous != null) {
+            log.debug("booster-task - task[{}] joining in flight execution for key: [{}]", name, key)
+            this.coalescedCounter.increment()
+            return previous
+        }
+        return shared
+    }
+
+    override val name: String
+        get() = this.task.name
+
+    companion object {
+        private val log = LoggerFactory.getLogger(CoalescingTask::class.java)
+    }
+}
+
+class CoalescingTaskBuilder<Request, Response> {
+
+    private lateinit var delegateTask: Task<Request, Response>
+    private lateinit var keyExtractor: CoalescingKeyExtractor<Request>
+    private var registry = MetricsRegistry()
+
+    fun task(task: Task<Request, Response>) {
+        this.delegateTask = task
+    }
+
+    fun key(keyExtractor: CoalescingKeyExtractor<Request>) {
+        this.keyExtractor = keyExtractor
+    }
+
+    fun registry(registry: MetricsRegistry) {
+        this.registry = registry
+    }
+
+    fun build(): Task<Request, Response> {
+        Preconditions.checkArgument(::delegateTask.isInitialized, "task not initialized")
+        Preconditions.checkArgument(::keyExtractor.isInitialized, "key extractor not initialized")
+
+        return CoalescingTask(this.delegateTask, this.keyExtractor, this.registry)
+    }
+}
+
+fun <Request, Response> coalescingTask(initializer: CoalescingTaskBuilder<Request, Response>.() -> Unit) =
+    CoalescingTaskBuilder<Request, Response>().apply(initializer)
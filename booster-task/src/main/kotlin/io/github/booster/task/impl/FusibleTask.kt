@@ -0,0 +1,37 @@
+package io.github.booster.task.impl
+
+import arrow.core.Option
+import io.github.booster.task.Maybe
+import io.github.booster.task.Task
+import reactor.core.publisher.Mono
+import reactor.core.scheduler.Scheduler
+
+/**
+ * [Task] whose thread placement is known when it's created, so [SequentialTask] can run
+ * consecutive tasks sharing a scheduler on the same thread instead of hopping between
+ * threads of that scheduler.
+ */
+interface FusibleTask<Request, Response> : Task<Request, Response> {
+
+    /**
+     * Scheduler responses are emitted on, [arrow.core.None] if it's not known,
+     * e.g. the task runs on the calling thread, or an async processor or retry
+     * may emit on another thread.
+     */
+    val responseScheduler: Option<Scheduler>
+
+    /**
+     * Whether requests emitted on the scheduler can run inline, without being published on it again.
+     * @param scheduler scheduler requests are emitted on.
+     * @return true if the task would otherwise publish requests on the same scheduler.
+     */
+    fun fusesAfter(scheduler: Scheduler): Boolean
+
+    /**
+     * Executes requests on the thread they are emitted on. Only to be used
+     * for requests emitted on a scheduler the task [fusesAfter].
+     * @param request request emitted on the task's scheduler.
+     * @return [Mono] of response.
+     */
+    fun executeFused(request: Mono<Maybe<Request>>): Mono<Maybe<Response>>
+}
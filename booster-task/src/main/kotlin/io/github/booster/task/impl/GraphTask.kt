@@ -0,0 +1,339 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import io.github.booster.commons.metrics.BoundTimer
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.FAILURE
+import io.github.booster.task.Maybe
+import io.github.booster.task.NAME
+import io.github.booster.task.NODE
+import io.github.booster.task.STATUS
+import io.github.booster.task.SUCCESS
+import io.github.booster.task.TASK_GRAPH_NODE_TIME
+import io.github.booster.task.Task
+import io.github.booster.task.trace
+import io.github.booster.task.util.TaskMeters
+import io.github.booster.task.util.convertAndRecord
+import io.github.booster.task.withinDeadline
+import io.opentelemetry.api.trace.Tracer
+import org.slf4j.LoggerFactory
+import reactor.core.publisher.Mono
+
+/**
+ * Typed key of a node in a [GraphTask], used to declare dependencies
+ * and to read node results. Keys are equal if their names are.
+ * @param name name of the node, unique within a graph.
+ * @param [T] type of node response.
+ */
+class NodeKey<T>(val name: String) {
+
+    init {
+        Preconditions.checkArgument(name.isNotBlank(), "node name cannot be blank")
+    }
+
+    override fun equals(other: Any?): Boolean = other is NodeKey<*> && other.name == this.name
+
+    override fun hashCode(): Int = this.name.hashCode()
+
+    override fun toString(): String = "NodeKey(${this.name})"
+}
+
+/**
+ * Inputs available to a node: the graph request and the responses
+ * of the nodes it depends on.
+ * @param request graph request, null if empty.
+ */
+class NodeInputs<Request> internal constructor(
+    val request: Request?,
+    private val node: String,
+    private val values: Map<String, Option<Any?>>
+) {
+
+    /**
+     * Response of a dependency.
+     * @param key key of a node this node depends on.
+     * @return response of the dependency, null if empty.
+     */
+    @Suppress("UNCHECKED_CAST")
+    operator fun <T> get(key: NodeKey<T>): T? {
+        val value = this.values[key.name]
+        Preconditions.checkArgument(value != null, "node [%s] does not depend on [%s]", this.node, key.name)
+        return value!!.orNull() as T?
+    }
+}
+
+/**
+ * Results of all nodes of one [GraphTask] execution.
+ */
+class GraphResults internal constructor(
+    private val results: Map<String, Maybe<*>>
+) {
+
+    /**
+     * Result of a node.
+     * @param key key of the node.
+     * @return result of the node, with exception wrapped inside an [Either] and an [Option]
+     */
+    @Suppress("UNCHECKED_CAST")
+    operator fun <T> get(key: NodeKey<T>): Maybe<T> {
+        val result = this.results[key.name]
+        Preconditions.checkArgument(result != null, "node [%s] does not exist", key.name)
+        return result as Maybe<T>
+    }
+}
+
+typealias GraphAggregator<Response> = (GraphResults) -> Response?
+
+/**
+ * A node of a [GraphTask].
+ */
+internal class GraphNode<Request, NodeRequest, NodeResponse>(
+    val key: NodeKey<NodeResponse>,
+    val task: Task<NodeRequest, NodeResponse>,
+    val dependencies: List<NodeKey<*>>,
+    private val input: (NodeInputs<Request>) -> NodeRequest?
+) {
+
+    /**
+     * Executes the node once its dependencies are resolved. An exception from a dependency
+     * is passed on to the node's task as its request, so its request exception handler applies.
+     */
+    @Suppress("TooGenericExceptionCaught")
+    fun execute(request: Request?, dependencyResults: List<Maybe<*>>): Mono<Maybe<NodeResponse>> {
+        val failure = dependencyResults.firstOrNull { it.isLeft() }
+        if (failure != null) {
+            return this.task.execute(Either.Left(failure.swap().orNull()!!))
+        }
+
+        val values = HashMap<String, Option<Any?>>()
+        this.dependencies.forEachIndexed { index, key ->
+            values[key.name] = dependencyResults[index].orNull()!!
+        }
+        val nodeRequest: Maybe<NodeRequest> = try {
+            Either.Right(Option.fromNullable(this.input.invoke(NodeInputs(request, this.key.name, values))))
+        } catch (t: Throwable) {
+            Either.Left(t)
+        }
+        return this.task.execute(nodeRequest)
+    }
+}
+
+/**
+ * Executes a directed acyclic graph of tasks. Each node starts as soon as the
+ * nodes it depends on complete, independent nodes run concurrently, and each
+ * node runs once per execution no matter how many nodes depend on it.
+ *
+ * All nodes run on every execution. The response is produced by an aggregator
+ * from the results of all nodes. Time taken by each node, from its inputs being
+ * ready to its response, is recorded per node.
+ * @param name name of the task.
+ * @param nodes nodes in topological order.
+ * @param aggregator produces the response from node results.
+ * @param registry [MetricsRegistry] to record metrics.
+ */
+class GraphTask<Request, Response> internal constructor(
+    name: String,
+    private val nodes: List<GraphNode<Request, *, *>>,
+    private val aggregator: GraphAggregator<Response>,
+    private val registry: MetricsRegistry,
+    private val tracerOption: Option<Tracer> = Option.fromNullable(null)
+) : Task<Request, Response> {
+
+    private val taskName: String
+    private val meters: TaskMeters
+    private val successTimers: Map<String, BoundTimer>
+    private val failureTimers: Map<String, BoundTimer>
+
+    init {
+        Preconditions.checkArgument(name.isNotBlank(), "task name cannot be blank")
+        this.taskName = name
+        this.meters = TaskMeters(registry, name)
+        this.successTimers = this.nodes.associate {
+            it.key.name to registry.boundTimer(TASK_GRAPH_NODE_TIME, NAME, name, NODE, it.key.name, STATUS, SUCCESS)
+        }
+        this.failureTimers = this.nodes.associate {
+            it.key.name to registry.boundTimer(TASK_GRAPH_NODE_TIME, NAME, name, NODE, it.key.name, STATUS, FAILURE)
+        }
+    }
+
+    private fun executeNode(
+        node: GraphNode<Request, *, *>,
+        request: Request?,
+        dependencyResults: List<Maybe<*>>
+    ): Mono<Maybe<*>> =
+        Mono.defer {
+            val sampleOption = this.registry.startSample()
+            log.debug("booster-task - graph[{}] node[{}] inputs ready", name, node.key.name)
+            node.execute(request, dependencyResults)
+                .map<Maybe<*>> { it }
+                .onErrorResume { Mono.just(Either.Left(it)) }
+                .doOnNext { result ->
+                    val timers = if (result.isRight()) this.successTimers else this.failureTimers
+                    timers[node.key.name]!!.record(sampleOption)
+                }
+        }
+
+    private fun executeGraph(request: Request?): Mono<Option<Response>> {
+        val executions = LinkedHashMap<String, Mono<Maybe<*>>>()
+        this.nodes.forEach { node ->
+            val dependencies = node.dependencies.map { executions[it.name]!! }
+            val execution = if (dependencies.isEmpty()) {
+                this.executeNode(node, request, listOf())
+            } else {
+                Mono.zip(dependencies) { results -> results.map { it as Maybe<*> } }
+                    .flatMap { this.executeNode(node, request, it) }
+            }
+            // shared by all dependents, so each node runs once.
+            executions[node.key.name] = execution.cache()
+        }
+
+        return Mono.zip(executions.values.toList()) { results ->
+            val resultMap = HashMap<String, Maybe<*>>()
+            executions.keys.forEachIndexed { index, key -> resultMap[key] = results[index] as Maybe<*> }
+            GraphResults(resultMap)
+        }.map { Option.fromNullable(this.aggregator.invoke(it)) }
+    }
+
+    override fun execute(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> =
+        this.tracerOption.trace(this.name, request) { this.executeAndRecord(it) }
+
+    private fun executeAndRecord(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> {
+        val sampleOption = this.registry.startSample()
+        return request.flatMap { maybe ->
+            maybe.fold(
+                { Mono.error(it) },
+                { withinDeadline(this.name) { this.executeGraph(it.orNull()) } }
+            )
+        }.convertAndRecord(log, this.meters, sampleOption, name)
+    }
+
+    override val name: String
+        get() = this.taskName
+
+    companion object {
+        private val log = LoggerFactory.getLogger(GraphTask::class.java)
+    }
+}
+
+class GraphTaskBuilder<Request, Response> {
+
+    private lateinit var taskName: String
+    private var registry = MetricsRegistry()
+    private var tracerOption: Option<Tracer> = Option.fromNullable(null)
+    private val nodes = LinkedHashMap<String, GraphNode<Request, *, *>>()
+    private var aggregator: GraphAggregator<Response>? = null
+
+    fun name(name: String) {
+        this.taskName = name
+    }
+
+    fun registry(registry: MetricsRegistry) {
+        this.registry = registry
+    }
+
+    /**
+     * Traces each execution in a span created by the [Tracer].
+     * @param tracerOption [Option] of [Tracer]
+     */
+    fun tracerOption(tracerOption: Option<Tracer>) {
+        this.tracerOption = tracerOption
+    }
+
+    /**
+     * Adds a node that takes the graph request as its request.
+     * @param key key of the node.
+     * @param task task executed by the node.
+     */
+    fun <NodeResponse> node(key: NodeKey<NodeResponse>, task: Task<Request, NodeResponse>) {
+        this.node(key, task) { it.request }
+    }
+
+    /**
+     * Adds a node depending on other nodes. The node runs once all of them complete,
+     * with the request produced by input from the graph request and their responses.
+     * @param key key of the node.
+     * @param task task executed by the node.
+     * @param dependsOn keys of the nodes this node depends on.
+     * @param input produces the node request from [NodeInputs].
+     */
+    fun <NodeRequest, NodeResponse> node(
+        key: NodeKey<NodeResponse>,
+        task: Task<NodeRequest, NodeResponse>,
+        vararg dependsOn: NodeKey<*>,
+        input: (NodeInputs<Request>) -> NodeRequest?
+    ) {
+        Preconditions.checkArgument(!this.nodes.containsKey(key.name), "node [%s] already exists", key.name)
+        this.nodes[key.name] = GraphNode(key, task, dependsOn.distinct(), input)
+    }
+
+    /**
+     * Uses the response of a node as the graph response.
+     * @param key key of the node.
+     */
+    fun output(key: NodeKey<Response>) {
+        this.aggregator = { results -> results[key].fold({ throw it }, { it.orNull() }) }
+    }
+
+    /**
+     * Produces the graph response from the results of all nodes.
+     * @param aggregator aggregator of node results.
+     */
+    fun aggregator(aggregator: GraphAggregator<Response>) {
+        this.aggregator = aggregator
+    }
+
+    /**
+     * Orders nodes so that each node comes after the nodes it depends on.
+     */
+    private fun sort(): List<GraphNode<Request, *, *>> {
+        this.nodes.values.forEach { node ->
+            node.dependencies.forEach {
+                Preconditions.checkArgument(
+                    this.nodes.containsKey(it.name),
+                    "node [%s] depends on unknown node [%s]", node.key.name, it.name
+                )
+            }
+        }
+
+        val remaining = this.nodes.values.associateTo(LinkedHashMap()) { it.key.name to it.dependencies.size }
+        val dependents = HashMap<String, MutableList<String>>()
+        this.nodes.values.forEach { node ->
+            node.dependencies.forEach { dependents.getOrPut(it.name) { mutableListOf() }.add(node.key.name) }
+        }
+        val ready = ArrayDeque(remaining.filterValues { it == 0 }.keys)
+        val sorted = ArrayList<GraphNode<Request, *, *>>()
+        while (ready.isNotEmpty()) {
+            val name = ready.removeFirst()
+            sorted.add(this.nodes[name]!!)
+            dependents[name]?.forEach {
+                val count = remaining[it]!! - 1
+                remaining[it] = count
+                if (count == 0) {
+                    ready.addLast(it)
+                }
+            }
+        }
+        Preconditions.checkArgument(
+            sorted.size == this.nodes.size,
+            "graph has a cycle among nodes: %s", remaining.filterValues { it > 0 }.keys
+        )
+        return sorted
+    }
+
+    fun build(): Task<Request, Response> {
+        Preconditions.checkArgument(::taskName.isInitialized, "task name not initialized")
+        Preconditions.checkArgument(this.nodes.isNotEmpty(), "graph has no nodes")
+        Preconditions.checkArgument(this.aggregator != null, "output or aggregator not initialized")
+
+        return GraphTask(this.taskName, this.sort(), this.aggregator!!, this.registry, this.tracerOption)
+    }
+}
+
+fun <Request, Response> graphTask(initializer: GraphTaskBuilder<Request, Response>.() -> Unit):
+        GraphTaskBuilder<Request, Response> {
+    val builder = GraphTaskBuilder<Request, Response>()
+    builder.apply(initializer)
+    return builder
+}
@@ -0,0 +1,275 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import arrow.core.getOrElse
+import com.google.common.base.Preconditions
+import io.github.booster.commons.metrics.BoundCounter
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.DEFAULT_HEDGE_BUDGET
+import io.github.booster.task.DEFAULT_HEDGE_WINDOW_SIZE
+import io.github.booster.task.HEDGE_REJECTED
+import io.github.booster.task.HEDGE_RESULT
+import io.github.booster.task.HEDGE_SENT
+import io.github.booster.task.HEDGE_WON
+import io.github.booster.task.HedgeContext
+import io.github.booster.task.Maybe
+import io.github.booster.task.NAME
+import io.github.booster.task.TASK_HEDGE_COUNT
+import io.github.booster.task.Task
+import io.github.booster.task.util.LatencyWindow
+import io.github.resilience4j.circuitbreaker.CircuitBreaker
+import org.slf4j.LoggerFactory
+import reactor.core.publisher.Mono
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Hedging decorator. If an execution has not responded within the hedge delay,
+ * a second execution of the same request is started, and whichever succeeds
+ * first is returned while the other is cancelled. A failure of the first
+ * execution before hedging is returned right away; once hedged, the first
+ * failure is returned only if both fail. Only idempotent tasks should be hedged.
+ *
+ * The delay is either fixed, or the configured percentile of the latencies of
+ * recent first executions. Hedged executions are capped by a budget, a ratio of
+ * hedged executions to executions, and are not started unless the circuit
+ * breaker is closed, so hedging doesn't add load to a struggling downstream.
+ *
+ * Retries of the decorated task happen within each execution. Empty requests and
+ * requests with exceptions are passed to the decorated task without hedging.
+ * @param task task to be decorated.
+ * @param hedgeContext [HedgeContext] with delay and budget settings.
+ * @param registry [MetricsRegistry] to record hedged executions.
+ * @param circuitBreakerOption [Option] of [CircuitBreaker] guarding the decorated task.
+ */
+class HedgedTask<Request, Response> @JvmOverloads constructor(
+    private val task: Task<Request, Response>,
+    private val hedgeContext: HedgeContext,
+    registry: MetricsRegistry,
+    private val circuitBreakerOption: Option<CircuitBreaker> = Option.fromNullable(null)
+) : Task<Request, Response> {
+
+    private val latencyWindow: Option<LatencyWindow> =
+        hedgeContext.percentile.map { LatencyWindow(hedgeContext.windowSize, it) }
+
+    /**
+     * Hedge budget in micro tokens, each execution deposits the budget ratio,
+     * each hedged execution withdraws a whole token.
+     */
+    private val tokens = AtomicLong(0)
+
+    private val tokensPerExecution: Long = (hedgeContext.budget * TOKEN).toLong()
+
+    private val sentCounter: BoundCounter =
+        registry.boundCounter(TASK_HEDGE_COUNT, NAME, task.name, HEDGE_RESULT, HEDGE_SENT)
+    private val wonCounter: BoundCounter =
+        registry.boundCounter(TASK_HEDGE_COUNT, NAME, task.name, HEDGE_RESULT, HEDGE_WON)
+    private val rejectedCounter: BoundCounter =
+        registry.boundCounter(TASK_HEDGE_COUNT, NAME, task.name, HEDGE_RESULT, HEDGE_REJECTED)
+
+    init {
+        Preconditions.checkArgument(
+            !hedgeContext.delay.isNegative && !hedgeContext.delay.isZero,
+            "hedge delay must be greater than 0"
+        )
+        Preconditions.checkArgument(
+            hedgeContext.budget > 0 && hedgeContext.budget <= 1,
+            "hedge budget must be between 0 and 1"
+        )
+    }
+
+    override fun execute(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> =
+        request.flatMap { maybe ->
+            when (maybe) {
+                is Either.Right -> maybe.value.fold(
+                    { this.task.execute(maybe) },
+                    { this.hedge(maybe) }
+                )
+                is Either.Left -> this.task.execute(maybe)
+            }
+        }
+
+    private fun hedge(maybe: Maybe<Request>): Mono<Maybe<Response>> {
+        this.deposit()
+        val delay = this.delay()
+        val state = AtomicInteger(PENDING)
+        val failure = AtomicReference<Maybe<Response>>()
+
+        val primary = Mono.defer {
+            val start = System.nanoTime()
+            // only successes are recorded, cancelled executions and fast failures would shorten the delay.
+            this.task.execute(maybe)
+                .doOnNext {
+                    if (it.isRight()) {
+                        this.latencyWindow.map { window -> window.record(System.nanoTime() - start) }
+                    }
+                }
+        }.flatMap {
+            // a failure before hedging is returned right away, after hedging the hedged execution may still succeed.
+            if (it.isRight() || state.compareAndSet(PENDING, PRIMARY_FAILED)) {
+                Mono.just(Pair(false, it))
+            } else {
+                failure.compareAndSet(null, it)
+                Mono.empty()
+            }
+        }
+
+        val hedged = Mono.delay(delay)
+            .filter {
+                when {
+                    !state.compareAndSet(PENDING, HEDGED) -> false
+                    this.tryHedge() -> true
+                    else -> {
+                        // not hedged, a failure of the first execution is still returned right away.
+                        state.set(PENDING)
+                        false
+                    }
+                }
+            }
+            .flatMap {
+                log.debug("booster-task - task[{}] no response after {}, hedging", name, delay)
+                this.task.execute(maybe)
+            }.flatMap {
+                if (it.isRight()) {
+                    Mono.just(Pair(true, it))
+                } else {
+                    failure.compareAndSet(null, it)
+                    Mono.empty()
+                }
+            }
+
+        return Mono.firstWithValue(primary, hedged)
+            .map {
+                if (it.first) {
+                    this.wonCounter.increment()
+                }
+                it.second
+            }.onErrorResume(NoSuchElementException::class.java) {
+                Mono.just(
+                    failure.get() ?: Either.Left(NoSuchElementException("task[$name] completed without a response"))
+                )
+            }
+    }
+
+    private fun delay(): Duration =
+        this.latencyWindow.flatMap { it.get() }
+            .map { maxOf(it, MIN_DELAY) }
+            .getOrElse { this.hedgeContext.delay }
+
+    private fun deposit() {
+        this.tokens.updateAndGet { minOf(it + this.tokensPerExecution, MAX_TOKENS) }
+    }
+
+    private fun tryHedge(): Boolean {
+        val closed = this.circuitBreakerOption.fold(
+            { true },
+            { it.state == CircuitBreaker.State.CLOSED }
+        )
+        if (!closed) {
+            log.debug("booster-task - task[{}] circuit breaker not closed, not hedging", name)
+            this.rejectedCounter.increment()
+            return false
+        }
+
+        var current = this.tokens.get()
+        while (current >= TOKEN) {
+            if (this.tokens.compareAndSet(current, current - TOKEN)) {
+                this.sentCounter.increment()
+                return true
+            }
+            current = this.tokens.get()
+        }
+        log.debug("booster-task - task[{}] hedge budget exhausted, not hedging", name)
+        this.rejectedCounter.increment()
+        return false
+    }
+
+    override val name: String
+        get() = this.task.name
+
+    companion object {
+        private val log = LoggerFactory.getLogger(HedgedTask::class.java)
+
+        private const val PENDING = 0
+        private const val HEDGED = 1
+        private const val PRIMARY_FAILED = 2
+
+        private const val TOKEN = 1_000_000L
+
+        /**
+         * Maximum number of hedged executions that can be saved up for a burst.
+         */
+        private const val MAX_TOKENS = 10 * TOKEN
+
+        private val MIN_DELAY = Duration.ofMillis(1)
+    }
+}
+
+class HedgedTaskBuilder<Request, Response> {
+
+    private lateinit var delegateTask: Task<Request, Response>
+    private lateinit var hedgeDelay: Duration
+    private var percentile: Option<Double> = Option.fromNullable(null)
+    private var budget = DEFAULT_HEDGE_BUDGET
+    private var windowSize = DEFAULT_HEDGE_WINDOW_SIZE
+    private var registry = MetricsRegistry()
+    private var circuitBreakerOption: Option<CircuitBreaker> = Option.fromNullable(null)
+
+    fun task(task: Task<Request, Response>) {
+        this.delegateTask = task
+    }
+
+    /**
+     * Fixed hedge delay, or the initial delay if a percentile is set.
+     * @param delay time to wait before hedging.
+     */
+    fun delay(delay: Duration) {
+        this.hedgeDelay = delay
+    }
+
+    /**
+     * Uses a percentile of recent latencies as hedge delay.
+     * @param percentile percentile between 0 and 1, e.g. 0.95
+     */
+    fun percentile(percentile: Double) {
+        this.percentile = Option.fromNullable(percentile)
+    }
+
+    /**
+     * Maximum ratio of hedged executions to executions, defaults to 0.05.
+     * @param budget budget ratio.
+     */
+    fun budget(budget: Double) {
+        this.budget = budget
+    }
+
+    fun windowSize(windowSize: Int) {
+        this.windowSize = windowSize
+    }
+
+    fun registry(registry: MetricsRegistry) {
+        this.registry = registry
+    }
+
+    fun circuitBreakerOption(circuitBreakerOption: Option<CircuitBreaker>) {
+        this.circuitBreakerOption = circuitBreakerOption
+    }
+
+    fun build(): Task<Request, Response> {
+        Preconditions.checkArgument(::delegateTask.isInitialized, "task not initialized")
+        Preconditions.checkArgument(::hedgeDelay.isInitialized, "delay not initialized")
+
+        return HedgedTask(
+            this.delegateTask,
+            HedgeContext(this.hedgeDelay, this.percentile, this.budget, this.windowSize),
+            this.registry,
+            this.circuitBreakerOption
+        )
+    }
+}
+
+fun <Request, Response> hedgedTask(initializer: HedgedTaskBuilder<Request, Response>.() -> Unit) =
+    HedgedTaskBuilder<Request, Response>().apply(initializer)
@@ -0,0 +1,222 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.Maybe
+import io.github.booster.task.Task
+import io.github.booster.task.trace
+import io.github.booster.task.util.TaskMeters
+import io.github.booster.task.util.convertAndRecord
+import io.github.booster.task.withinDeadline
+import io.opentelemetry.api.trace.Tracer
+import org.slf4j.LoggerFactory
+import reactor.core.publisher.Mono
+
+/**
+ * Typed key of a branch in a [HeterogeneousParallelTask], returned when the branch
+ * is added and used to read its result. Only valid for the task it was created for.
+ * @param [T] type of branch response.
+ */
+class BranchKey<T> internal constructor(
+    internal val owner: Any,
+    internal val index: Int
+) {
+    override fun toString(): String = "BranchKey(${this.index})"
+}
+
+/**
+ * Indexed view of the results of all branches of one [HeterogeneousParallelTask]
+ * execution, backed by the array branches are zipped into.
+ */
+class BranchResults internal constructor(
+    private val owner: Any,
+    private val results: Array<Any>
+) {
+
+    /**
+     * Number of branches.
+     */
+    val size: Int
+        get() = this.results.size
+
+    /**
+     * Result of a branch.
+     * @param key key of the branch.
+     * @return result of the branch, with exception wrapped inside an [Either] and an [Option]
+     */
+    @Suppress("UNCHECKED_CAST")
+    operator fun <T> get(key: BranchKey<T>): Maybe<T> {
+        Preconditions.checkArgument(key.owner === this.owner, "branch key belongs to another task")
+        return this.results[key.index] as Maybe<T>
+    }
+}
+
+typealias BranchAggregator<Response> = (BranchResults) -> Response?
+
+/**
+ * A branch of a [HeterogeneousParallelTask].
+ */
+internal class Branch<Request, BranchRequest, BranchResponse>(
+    private val task: Task<BranchRequest, BranchResponse>,
+    private val input: (Request) -> BranchRequest?
+) {
+
+    @Suppress("TooGenericExceptionCaught")
+    fun execute(request: Maybe<Request>): Mono<Maybe<BranchResponse>> {
+        val branchRequest: Maybe<BranchRequest> = when (request) {
+            is Either.Left -> request
+            is Either.Right -> request.value.fold(
+                { EMPTY_REQUEST },
+                {
+                    try {
+                        Either.Right(Option.fromNullable(this.input.invoke(it)))
+                    } catch (t: Throwable) {
+                        Either.Left(t)
+                    }
+                }
+            )
+        }
+        return this.task.execute(branchRequest)
+    }
+
+    companion object {
+        private val EMPTY_REQUEST = Either.Right(Option.fromNullable(null))
+    }
+}
+
+/**
+ * Executes any number of tasks of different request and response types in parallel
+ * on one request, then aggregates their results. Unlike [Tuple2Task] to [Tuple8Task],
+ * there is no limit on the number of branches, and results are zipped into a single
+ * array read through [BranchResults] without intermediate tuples.
+ *
+ * Each branch derives its request from the task's request. Empty requests and request
+ * exceptions are passed to every branch as is.
+ * @param name name of the task.
+ * @param branches branches, in the order of their keys.
+ * @param aggregator produces the response from branch results.
+ * @param registry [MetricsRegistry] to record metrics.
+ */
+class HeterogeneousParallelTask<Request, Response> internal constructor(
+    name: String,
+    private val owner: Any,
+    branches: List<Branch<Request, *, *>>,
+    private val aggregator: BranchAggregator<Response>,
+    private val registry: MetricsRegistry,
+    private val tracerOption: Option<Tracer> = Option.fromNullable(null)
+) : Task<Request, Response> {
+
+    private val taskName: String
+    private val meters: TaskMeters
+    private val branches: Array<Branch<Request, *, *>> = branches.toTypedArray()
+
+    init {
+        Preconditions.checkArgument(name.isNotBlank(), "task name cannot be blank")
+        Preconditions.checkArgument(branches.isNotEmpty(), "no branches")
+        this.taskName = name
+        this.meters = TaskMeters(registry, name)
+    }
+
+    private fun executeBranches(request: Maybe<Request>): Mono<Option<Response>> {
+        val executions = ArrayList<Mono<out Maybe<*>>>(this.branches.size)
+        for (branch in this.branches) {
+            executions.add(branch.execute(request))
+        }
+        return Mono.zip(executions) { results ->
+            Option.fromNullable(this.aggregator.invoke(BranchResults(this.owner, results)))
+        }
+    }
+
+    override fun execute(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> =
+        this.tracerOption.trace(this.name, request) { this.executeAndRecord(it) }
+
+    private fun executeAndRecord(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> {
+        val sampleOption = this.registry.startSample()
+        return request.flatMap {
+            withinDeadline(this.name) { this.executeBranches(it) }
+        }.convertAndRecord(log, this.meters, sampleOption, name)
+    }
+
+    override val name: String
+        get() = this.taskName
+
+    companion object {
+        private val log = LoggerFactory.getLogger(HeterogeneousParallelTask::class.java)
+    }
+}
+
+class HeterogeneousParallelTaskBuilder<Request, Response> {
+
+    private lateinit var taskName: String
+    private var registry = MetricsRegistry()
+    private var tracerOption: Option<Tracer> = Option.fromNullable(null)
+    private val branches = ArrayList<Branch<Request, *, *>>()
+    private lateinit var branchAggregator: BranchAggregator<Response>
+
+    fun name(name: String) {
+        this.taskName = name
+    }
+
+    fun registry(registry: MetricsRegistry) {
+        this.registry = registry
+    }
+
+    /**
+     * Traces each execution in a span created by the [Tracer].
+     * @param tracerOption [Option] of [Tracer]
+     */
+    fun tracerOption(tracerOption: Option<Tracer>) {
+        this.tracerOption = tracerOption
+    }
+
+    /**
+     * Adds a branch that takes the task's request as its request.
+     * @param task task executed by the branch.
+     * @return key to read the branch's result with.
+     */
+    fun <BranchResponse> branch(task: Task<Request, BranchResponse>): BranchKey<BranchResponse> =
+        this.branch(task) { it }
+
+    /**
+     * Adds a branch.
+     * @param task task executed by the branch.
+     * @param input produces the branch request from the task's request.
+     * @return key to read the branch's result with.
+     */
+    fun <BranchRequest, BranchResponse> branch(
+        task: Task<BranchRequest, BranchResponse>,
+        input: (Request) -> BranchRequest?
+    ): BranchKey<BranchResponse> {
+        this.branches.add(Branch(task, input))
+        return BranchKey(this, this.branches.size - 1)
+    }
+
+    fun aggregator(aggregator: BranchAggregator<Response>) {
+        this.branchAggregator = aggregator
+    }
+
+    fun build(): Task<Request, Response> {
+        Preconditions.checkArgument(::taskName.isInitialized, "task name not initialized")
+        Preconditions.checkArgument(this.branches.isNotEmpty(), "no branches")
+        Preconditions.checkArgument(::branchAggregator.isInitialized, "aggregator not initialized")
+
+        return HeterogeneousParallelTask(
+            this.taskName,
+            this,
+            this.branches,
+            this.branchAggregator,
+            this.registry,
+            this.tracerOption
+        )
+    }
+}
+
+fun <Request, Response> heterogeneousParallelTask(
+    initializer: HeterogeneousParallelTaskBuilder<Request, Response>.() -> Unit
+): HeterogeneousParallelTaskBuilder<Request, Response> {
+    val builder = HeterogeneousParallelTaskBuilder<Request, Response>()
+    builder.apply(initializer)
+    return builder
+}
@@ -1,32 +1,79 @@
 package io.github.booster.task.impl
 
+import arrow.core.Either
 import arrow.core.Option
 import arrow.core.getOrElse
 import com.google.common.base.Preconditions
 import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.CompletionPolicy
+import io.github.booster.task.CompletionType
 import io.github.booster.task.Maybe
+import io.github.booster.task.QuorumNotReachedException
 import io.github.booster.task.Task
+import io.github.booster.task.trace
+import io.github.booster.task.util.TaskMeters
 import io.github.booster.task.util.convertAndRecord
 import io.github.booster.task.util.findExisting
 import io.github.booster.task.util.toScheduler
+import io.github.booster.task.withinDeadline
+import io.opentelemetry.api.trace.Tracer
 import org.slf4j.LoggerFactory
+import reactor.core.publisher.Flux
 import reactor.core.publisher.Mono
+import java.time.Duration
 import java.util.concurrent.ExecutorService
+import java.util.concurrent.TimeoutException
 import java.util.stream.Collectors
 import java.util.stream.Stream
 
 typealias ParallelAggregator<T> = (List<Maybe<T>>) -> Option<List<T>>
 typealias ParallelRequestExceptionHandler<T> = (Throwable) -> Option<List<T>>
 
-class ParallelTask<Request, Response>(
+/**
+ * No limit on the number of elements executed concurrently.
+ */
+const val UNBOUNDED_CONCURRENCY = Int.MAX_VALUE
+
+/**
+ * Executes the same task on every element of the input list.
+ * @param maxConcurrency maximum number of elements executed concurrently,
+ * [UNBOUNDED_CONCURRENCY] executes all elements at once.
+ * @param ordered when concurrency is bounded, whether results keep the order of
+ * the input list, or are emitted in completion order.
+ * @param tracerOption optional [Tracer], each execution is traced in a span if set.
+ * @param completionPolicy [CompletionPolicy], by default all elements are waited for.
+ * With [CompletionType.FIRST_SUCCESSES], responses are aggregated in completion order,
+ * and if all elements complete with fewer responses, the task fails with [QuorumNotReachedException].
+ * With [CompletionType.ALL_WITHIN], elements not completed within the timeout are aggregated
+ * as [TimeoutException]s, and with the default aggregator the task fails with a [TimeoutException]
+ * if none completes. An empty input list responds with an empty list under every policy.
+ */
+class ParallelTask<Request, Response> @JvmOverloads constructor(
     name: String?,
     private val task: Task<Request, Response>,
     executorServiceOption: Option<ExecutorService>,
     private val errorHandler: Option<ParallelRequestExceptionHandler<Response>>,
     private val aggregateHandler: Option<ParallelAggregator<Response>>,
     private val registry: MetricsRegistry,
+    private val maxConcurrency: Int = UNBOUNDED_CONCURRENCY,
+    private val ordered: Boolean = true,
+    private val tracerOption: Option<Tracer> = Option.fromNullable(null),
+    private val completionPolicy: CompletionPolicy = CompletionPolicy.all()
 ): Task<List<Request>, List<Response>> {
 
+    init {
+        Preconditions.checkArgument(maxConcurrency > 0, "max concurrency must be greater than 0")
+        Preconditions.checkArgument(
+            completionPolicy.type != CompletionType.FIRST_SUCCESSES || completionPolicy.successes > 0,
+            "successes must be greater than 0"
+        )
+        Preconditions.checkArgument(
+            completionPolicy.type != CompletionType.ALL_WITHIN ||
+                completionPolicy.timeout.fold({ false }, { !it.isNegative && !it.isZero }),
+            "timeout must be greater than 0"
+        )
+    }
+
     private val taskName = if (name?.isNotBlank() == true) {
         name
     } else {
@@ -36,6 +83,8 @@ class ParallelTask<Request, Response>(
 
     private val schedulerOption = toScheduler(executorServiceOption)
 
+    private val meters = TaskMeters(registry, this.taskName)
+
     private fun handleRequestError(t: Throwable): Mono<Option<List<Response>>> {
         return this.errorHandler.map { handler ->
             log.debug("booster-task - task [{}] exception handler provided, processing", this.name)
@@ -53,15 +102,19 @@ class ParallelTask<Request, Response>(
                 this.name,
                 req
             )
-            executeParallel(req)
+            // checked once here, so an expired request fails fast instead of fanning out.
+            withinDeadline(this.name) { executeParallel(req) }
         }.getOrElse {
             log.warn("booster-task - task[{}] input contains error", this.name, it)
             this.handleRequestError(it)
         }
     }
 
+    override fun execute(request: Mono<Maybe<List<Request>>>): Mono<Maybe<List<Response>>> =
+        this.tracerOption.trace(this.name, request) { this.executeAndRecord(it) }
+
     @Suppress("UnsafeCallOnNullableType", "TooGenericExceptionCaught")
-    override fun execute(request: Mono<Maybe<List<Request>>>): Mono<Maybe<List<Response>>> {
+    private fun executeAndRecord(request: Mono<Maybe<List<Request>>>): Mono<Maybe<List<Response>>> {
         val sampleOption = this.registry.startSample()
 
         return this.schedulerOption.map {
@@ -72,11 +125,29 @@ class ParallelTask<Request, Response>(
             request
         }.flatMap {
             this.process(it)
-        }.convertAndRecord(log, this.registry, sampleOption, this.name)
+        }.convertAndRecord(log, this.meters, sampleOption, this.name)
     }
 
     private fun executeParallel(requests: Option<List<Request>>): Mono<Option<List<Response>>> {
 
+        if (requests.fold({ false }, { it.isEmpty() })) {
+            log.debug("booster-task - task[{}] no elements to execute", this.name)
+            return Mono.just(Option.fromNullable(listOf()))
+        }
+
+        if (requests.isDefined() && this.completionPolicy.type != CompletionType.ALL) {
+            val elements = requests.getOrElse { listOf() }
+            return when (this.completionPolicy.type) {
+                CompletionType.FIRST_SUCCESSES -> this.executeFirstSuccesses(elements, this.completionPolicy.successes)
+                else -> this.executeWithin(elements, this.completionPolicy.timeout.getOrElse { Duration.ZERO })
+            }
+        }
+
+        val bounded = requests.map { it.size > this.maxConcurrency }.getOrElse { false }
+        if (bounded) {
+            return this.executeBounded(requests.getOrElse { listOf() })
+        }
+
         val processedRequests = requests.map { reqs ->
             reqs.map { req -> this.task.execute(req) }
         }.getOrElse {
@@ -91,16 +162,92 @@ class ParallelTask<Request, Response>(
                     convertedResponses.add(value)
                 }
             }
-            this.aggregateHandler.map {
-                it.invoke(convertedResponses)
-            }.getOrElse {
-                val list = findExisting(convertedResponses)
-                require(list.isNotEmpty())
-                Option.fromNullable(list)
-            }
+            this.aggregate(convertedResponses)
+        }
+    }
+
+    /**
+     * Executes at most [maxConcurrency] elements at a time, an element starts
+     * only when a previous one completes.
+     */
+    private fun executeBounded(requests: List<Request>): Mono<Option<List<Response>>> {
+        log.debug(
+            "booster-task - task[{}] executing {} elements with max concurrency of {}",
+            this.name,
+            requests.size,
+            this.maxConcurrency
+        )
+        val elements = Flux.fromIterable(requests)
+        val responses = if (this.ordered) {
+            elements.flatMapSequential({ this.task.execute(it) }, this.maxConcurrency)
+        } else {
+            elements.flatMap({ this.task.execute(it) }, this.maxConcurrency)
         }
+        return responses.collectList().map { this.aggregate(it) }
+    }
+
+    /**
+     * Completes once enough elements respond, cancelling elements still in flight.
+     */
+    private fun executeFirstSuccesses(requests: List<Request>, successes: Int): Mono<Option<List<Response>>> {
+        log.debug("booster-task - task[{}] waiting for {} of {} elements", this.name, successes, requests.size)
+        return Flux.fromIterable(requests)
+            .flatMap({ this.task.execute(it) }, this.maxConcurrency)
+            .filter { response -> response.fold({ false }, { it.isDefined() }) }
+            .take(successes.toLong())
+            .collectList()
+            .flatMap {
+                if (it.size < successes) {
+                    Mono.error(
+                        QuorumNotReachedException(
+                            "task[${this.name}] received ${it.size} of $successes responses"
+                        )
+                    )
+                } else {
+                    Mono.just(this.aggregate(it))
+                }
+            }
     }
 
+    /**
+     * Completes once every element completes or the timeout passes, cancelling elements
+     * still in flight. Responses keep the order of the input list.
+     */
+    private fun executeWithin(requests: List<Request>, timeout: Duration): Mono<Option<List<Response>>> {
+        log.debug("booster-task - task[{}] waiting {} for {} elements", this.name, timeout, requests.size)
+        return Flux.range(0, requests.size)
+            .flatMap(
+                { index -> this.task.execute(requests[index]).map { IndexedResponse(index, it) } },
+                this.maxConcurrency
+            )
+            .take(timeout)
+            .collectList()
+            .flatMap { completed ->
+                // the default aggregator has nothing to aggregate, a custom one may still handle the timeouts.
+                if (completed.isEmpty() && this.aggregateHandler.isEmpty()) {
+                    return@flatMap Mono.error(
+                        TimeoutException("task[${this.name}] no element completed within $timeout")
+                    )
+                }
+                val responses = MutableList<Maybe<Response>>(requests.size) {
+                    Either.Left(TimeoutException("task[${this.name}] element not completed within $timeout"))
+                }
+                completed.forEach { responses[it.index] = it.response }
+                Mono.just(this.aggregate(responses))
+            }
+    }
+
+    private class IndexedResponse<T>(val index: Int, val response: Maybe<T>)
+
+    private fun aggregate(responses: List<Maybe<Response>>): Option<List<Response>> =
+        this.aggregateHandler.map {
+            it.invoke(responses)
+        }.getOrElse {
+            val list = findExisting(responses)
+            require(list.isNotEmpty()) { "task[${this.name}] no element responded" }
+            Option.fromNullable(list)
+        }
+
     companion object {
         private val log = LoggerFactory.getLogger(ParallelTask::class.java)
     }
@@ -113,10 +260,14 @@ class ParallelTaskBuilder<Request, Response> {
 
     private var taskName: String? = ""
     private var metricsRegistry = MetricsRegistry()
+    private var tracerOption: Option<Tracer> = Option.fromNullable(null)
     private var executorServiceOption: Option<ExecutorService> = Option.fromNullable(null)
     private lateinit var elementTask: Task<Request, Response>
     private var errorHandler: Option<ParallelRequestExceptionHandler<Response>> = Option.fromNullable(null)
     private var aggregateHandler: Option<ParallelAggregator<Response>> = Option.fromNullable(null)
+    private var maxConcurrency = UNBOUNDED_CONCURRENCY
+    private var ordered = true
+    private var completionPolicy = CompletionPolicy.all()
 
     fun name(name: String?) {
         this.taskName = name
@@ -126,6 +277,14 @@ class ParallelTaskBuilder<Request, Response> {
         this.metricsRegistry = registry
     }
 
+    /**
+     * Traces each execution in a span created by the [Tracer].
+     * @param tracerOption [Option] of [Tracer]
+     */
+    fun tracerOption(tracerOption: Option<Tracer>) {
+        this.tracerOption = tracerOption
+    }
+
     fun task(task: Task<Request, Response>) {
         this.elementTask = task
     }
@@ -142,8 +301,58 @@ class ParallelTaskBuilder<Request, Response> {
         this.executorServiceOption = executorServiceOption
     }
 
+    /**
+     * Caps the number of elements executed concurrently.
+     * @param maxConcurrency maximum number of concurrent executions.
+     */
+    fun maxConcurrency(maxConcurrency: Int) {
+        this.maxConcurrency = maxConcurrency
+    }
+
+    /**
+     * Whether results keep the order of the input list when concurrency is
+     * capped. Unordered emission avoids holding completed results behind a
+     * slow element. Defaults to true.
+     * @param ordered true to keep input order.
+     */
+    fun ordered(ordered: Boolean) {
+        this.ordered = ordered
+    }
+
+    /**
+     * When the task completes, defaults to once every element completes.
+     * @param completionPolicy [CompletionPolicy]
+     */
+    fun completion(completionPolicy: CompletionPolicy) {
+        this.completionPolicy = completionPolicy
+    }
+
+    /**
+     * Completes with the first response, elements still in flight are cancelled.
+     */
+    fun firstSuccess() {
+        this.completionPolicy = CompletionPolicy.firstSuccess()
+    }
+
+    /**
+     * Completes with the first responses, elements still in flight are cancelled.
+     * @param successes number of responses to wait for.
+     */
+    fun firstSuccesses(successes: Int) {
+        this.completionPolicy = CompletionPolicy.firstSuccesses(successes)
+    }
+
+    /**
+     * Completes with responses received within the timeout, elements still in flight are cancelled.
+     * @param timeout time to wait for elements.
+     */
+    fun allWithin(timeout: Duration) {
+        this.completionPolicy = CompletionPolicy.allWithin(timeout)
+    }
+
     fun build(): Task<List<Request>, List<Response>> {
         Preconditions.checkArgument(::elementTask.isInitialized, "task not initialized")
+        Preconditions.checkArgument(this.maxConcurrency > 0, "max concurrency must be greater than 0")
 
         return ParallelTask(
             this.taskName,
@@ -151,7 +360,11 @@ class ParallelTaskBuilder<Request, Response> {
             this.executorServiceOption,
             this.errorHandler,
             this.aggregateHandler,
-            this.metricsRegistry
+            this.metricsRegistry,
+            this.maxConcurrency,
+            this.ordered,
+            this.tracerOption,
+            this.completionPolicy
         )
     }
 }
@@ -1,20 +1,33 @@
 package io.github.booster.task.impl
 
+import arrow.core.None
+import arrow.core.Option
 import com.google.common.base.Preconditions
 import io.github.booster.commons.metrics.MetricsRegistry
 import io.github.booster.task.Maybe
 import io.github.booster.task.Task
+import io.github.booster.task.trace
+import io.github.booster.task.util.TaskMeters
 import io.github.booster.task.util.recordTime
+import io.opentelemetry.api.trace.Tracer
+import org.slf4j.LoggerFactory
 import reactor.core.publisher.Mono
+import reactor.core.scheduler.Scheduler
 import java.util.stream.Collectors
 import java.util.stream.Stream
 
+/**
+ * Executes the second task with the response of the first. If the first task emits its
+ * responses on the scheduler the second task publishes requests on, the second task runs
+ * on the same thread instead of hopping to another thread of the scheduler, see [FusibleTask].
+ */
 class SequentialTask<T1Request, IntermediateResponse, T2Response>(
     name: String?,
     private val task1: Task<T1Request, IntermediateResponse>,
     private val task2: Task<IntermediateResponse, T2Response>,
     private val registry: MetricsRegistry,
-): Task<T1Request, T2Response> {
+    private val tracerOption: Option<Tracer> = Option.fromNullable(null)
+): FusibleTask<T1Request, T2Response> {
 
     private val taskName = if (name != null && name.isNotBlank()) {
         name
@@ -22,7 +35,32 @@ class SequentialTask<T1Request, IntermediateResponse, T2Response>(
         Stream.of("seq", task1.name, task2.name).collect(Collectors.joining("_"))
     }
 
-    override fun execute(request: Mono<Maybe<T1Request>>): Mono<Maybe<T2Response>> {
+    private val meters = TaskMeters(registry, this.taskName)
+
+    /**
+     * Execution of the second task, assembled once, fused with the first task if they share a scheduler.
+     */
+    private val secondExecution: (Mono<Maybe<IntermediateResponse>>) -> Mono<Maybe<T2Response>> =
+        fuse(this.taskName, task1, task2)
+
+    override val responseScheduler: Option<Scheduler>
+        get() = (this.task2 as? FusibleTask<*, *>)?.responseScheduler ?: None
+
+    override fun fusesAfter(scheduler: Scheduler): Boolean =
+        (this.task1 as? FusibleTask<*, *>)?.fusesAfter(scheduler) ?: false
+
+    override fun execute(request: Mono<Maybe<T1Request>>): Mono<Maybe<T2Response>> =
+        this.tracerOption.trace(this.name, request) { this.executeAndRecord(it, this.task1::execute) }
+
+    override fun executeFused(request: Mono<Maybe<T1Request>>): Mono<Maybe<T2Response>> {
+        val first = this.task1 as? FusibleTask<T1Request, IntermediateResponse> ?: return this.execute(request)
+        return this.tracerOption.trace(this.name, request) { this.executeAndRecord(it, first::executeFused) }
+    }
+
+    private fun executeAndRecord(
+        request: Mono<Maybe<T1Request>>,
+        firstExecution: (Mono<Maybe<T1Request>>) -> Mono<Maybe<IntermediateResponse>>
+    ): Mono<Maybe<T2Response>> {
         val sampleOption = registry.startSample()
 
         // since success or failure depends on second task, not
@@ -30,8 +68,29 @@ class SequentialTask<T1Request, IntermediateResponse, T2Response>(
 
         // since success or failure depends on second task, not
         // recording success/failures in sequential task.
-        return task2.execute(task1.execute(request))
-            .doOnTerminate { recordTime(registry, sampleOption, this.name) }
+        return this.secondExecution(firstExecution(request))
+            .doOnTerminate { recordTime(this.meters, sampleOption) }
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(SequentialTask::class.java)
+
+        private fun <Request, IntermediateResponse, Response> fuse(
+            name: String,
+            task1: Task<Request, IntermediateResponse>,
+            task2: Task<IntermediateResponse, Response>
+        ): (Mono<Maybe<IntermediateResponse>>) -> Mono<Maybe<Response>> {
+            val scheduler = (task1 as? FusibleTask<*, *>)?.responseScheduler?.orNull()
+            if (
+                scheduler != null &&
+                task2 is FusibleTask<IntermediateResponse, Response> &&
+                task2.fusesAfter(scheduler)
+            ) {
+                log.debug("booster-task - task[{}] running [{}] on the thread of [{}]", name, task2.name, task1.name)
+                return task2::executeFused
+            }
+            return task2::execute
+        }
     }
 
     override val name: String
@@ -42,6 +101,7 @@ class SequentialTaskBuilder<Request, IntermediateResponse, Response> {
 
     private var taskName: String? = ""
     private var registry = MetricsRegistry()
+    private var tracerOption: Option<Tracer> = Option.fromNullable(null)
     private lateinit var task0: Task<Request, IntermediateResponse>
     private lateinit var task1: Task<IntermediateResponse, Response>
 
@@ -53,6 +113,14 @@ class SequentialTaskBuilder<Request, IntermediateResponse, Response> {
         this.registry = registry
     }
 
+    /**
+     * Traces each execution in a span created by the [Tracer].
+     * @param tracerOption [Option] of [Tracer]
+     */
+    fun tracerOption(tracerOption: Option<Tracer>) {
+        this.tracerOption = tracerOption
+    }
+
     fun firstTask(task0: Task<Request, IntermediateResponse>) {
         this.task0 = task0
     }
@@ -69,7 +137,8 @@ class SequentialTaskBuilder<Request, IntermediateResponse, Response> {
             this.taskName,
             this.task0,
             this.task1,
-            this.registry
+            this.registry,
+            this.tracerOption
         )
     }
 }
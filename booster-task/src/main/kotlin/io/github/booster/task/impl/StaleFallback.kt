@@ -0,0 +1,140 @@
+package io.github.booster.task.impl
+
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import com.google.common.base.Ticker
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import io.github.booster.commons.metrics.BoundCounter
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.FALLBACK_MISSED
+import io.github.booster.task.FALLBACK_REFRESHED
+import io.github.booster.task.FALLBACK_RESULT
+import io.github.booster.task.FALLBACK_SERVED
+import io.github.booster.task.FallbackContext
+import io.github.booster.task.NAME
+import io.github.booster.task.TASK_FALLBACK_COUNT
+import io.github.booster.task.traceStale
+import io.github.resilience4j.circuitbreaker.CircuitBreaker
+import org.slf4j.LoggerFactory
+import reactor.core.publisher.Mono
+import reactor.core.scheduler.Schedulers
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Keeps the last successful response of each request, and serves it as stale when the
+ * execution fails, including when the circuit breaker is open and rejects it.
+ *
+ * Once a response has been served as stale, requests for it keep being served the stale
+ * response, while one background execution at a time refreshes it on the bounded elastic
+ * scheduler. Refreshes are not started while the circuit breaker is open. This way a
+ * recovering dependency sees one execution per request instead of every caller at once
+ * when the circuit breaker closes.
+ *
+ * An empty successful response removes the kept response.
+ * @param name name of the task.
+ * @param fallbackContext [FallbackContext] with size and staleness settings.
+ * @param circuitBreakerOption [Option] of the task's [CircuitBreaker].
+ * @param registry [MetricsRegistry] to record stale responses served.
+ * @param ticker time source for staleness.
+ */
+internal class StaleFallback<Response>(
+    private val name: String,
+    fallbackContext: FallbackContext,
+    private val circuitBreakerOption: Option<CircuitBreaker>,
+    registry: MetricsRegistry,
+    ticker: Ticker = Ticker.systemTicker()
+) {
+
+    private class Entry<Response>(val response: Option<Response>) {
+        @Volatile
+        var stale = false
+    }
+
+    private val servedCounter: BoundCounter =
+        registry.boundCounter(TASK_FALLBACK_COUNT, NAME, name, FALLBACK_RESULT, FALLBACK_SERVED)
+    private val missedCounter: BoundCounter =
+        registry.boundCounter(TASK_FALLBACK_COUNT, NAME, name, FALLBACK_RESULT, FALLBACK_MISSED)
+    private val refreshedCounter: BoundCounter =
+        registry.boundCounter(TASK_FALLBACK_COUNT, NAME, name, FALLBACK_RESULT, FALLBACK_REFRESHED)
+
+    private val refreshing: MutableSet<Any> = ConcurrentHashMap.newKeySet()
+
+    private val cache: Cache<Any, Entry<Response>>
+
+    init {
+        Preconditions.checkArgument(fallbackContext.maxSize > 0, "max size must be greater than 0")
+        val builder = CacheBuilder.newBuilder()
+            .maximumSize(fallbackContext.maxSize)
+            .ticker(ticker)
+        fallbackContext.maxStaleness.map { builder.expireAfterWrite(it) }
+        this.cache = builder.build()
+    }
+
+    /**
+     * Applies the fallback to an execution.
+     * @param key key of the request.
+     * @param execution execution of the request, can be subscribed to again to refresh.
+     * @return [Mono] of the execution, or of the stale response.
+     */
+    fun apply(key: Any, execution: Mono<Option<Response>>): Mono<Option<Response>> {
+        val entry = this.cache.getIfPresent(key)
+        if (entry != null && entry.stale) {
+            this.refresh(key, execution)
+            return this.serve(key, entry)
+        }
+
+        return execution
+            .doOnNext { this.store(key, it) }
+            .onErrorResume { t ->
+                val kept = this.cache.getIfPresent(key)
+                if (kept == null) {
+                    this.missedCounter.increment()
+                    Mono.error(t)
+                } else {
+                    log.warn("booster-task - task[{}] failed, serving stale response for key: [{}]", name, key, t)
+                    kept.stale = true
+                    this.serve(key, kept)
+                }
+            }
+    }
+
+    private fun serve(key: Any, entry: Entry<Response>): Mono<Option<Response>> {
+        log.debug("booster-task - task[{}] serving stale response for key: [{}]", name, key)
+        this.servedCounter.increment()
+        return Mono.just(entry.response).traceStale()
+    }
+
+    private fun refresh(key: Any, execution: Mono<Option<Response>>) {
+        val open = this.circuitBreakerOption.fold({ false }, { it.state == CircuitBreaker.State.OPEN })
+        if (open || !this.refreshing.add(key)) {
+            return
+        }
+
+        log.debug("booster-task - task[{}] refreshing stale response for key: [{}]", name, key)
+        execution
+            .doOnNext {
+                this.store(key, it)
+                this.refreshedCounter.increment()
+            }
+            .doFinally { this.refreshing.remove(key) }
+            // off the caller's thread, so a blocking processor doesn't delay the stale response.
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe(
+                { },
+                { log.debug("booster-task - task[{}] refresh failed for key: [{}]", name, key, it) }
+            )
+    }
+
+    private fun store(key: Any, response: Option<Response>) {
+        if (response.isDefined()) {
+            this.cache.put(key, Entry(response))
+        } else {
+            this.cache.invalidate(key)
+        }
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(StaleFallback::class.java)
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import arrow.core.getOrElse
+import com.google.common.base.Preconditions
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.Maybe
+import io.github.booster.task.Task
+import io.github.booster.task.util.TaskMeters
+import io.github.booster.task.util.recordTime
+import io.github.booster.task.util.toScheduler
+import org.slf4j.LoggerFactory
+import reactor.core.publisher.Flux
+import reactor.util.concurrent.Queues
+import java.util.concurrent.ExecutorService
+import java.util.stream.Collectors
+import java.util.stream.Stream
+
+/**
+ * Default number of elements a [StreamingTask] executes concurrently.
+ */
+val DEFAULT_STREAMING_CONCURRENCY = Queues.SMALL_BUFFER_SIZE
+
+/**
+ * Executes an element task on every element of a [Flux]. Unlike [ParallelTask],
+ * neither requests nor responses are collected into a list: at most
+ * [maxConcurrency] elements are requested from upstream and in flight at a
+ * time, so memory stays constant regardless of the stream length.
+ *
+ * Retry, circuit breaker and per element metrics come from the element task.
+ * The streaming task itself records time taken for the whole stream.
+ * @param name name of the task, defaults to streaming_ followed by the element task name.
+ * @param task element task.
+ * @param executorServiceOption optional thread pool elements are published on.
+ * @param registry [MetricsRegistry]
+ * @param maxConcurrency maximum number of elements executed concurrently.
+ * @param ordered whether responses keep the order of requests, or are emitted in completion order.
+ */
+class StreamingTask<Request, Response> @JvmOverloads constructor(
+    name: String?,
+    private val task: Task<Request, Response>,
+    executorServiceOption: Option<ExecutorService>,
+    registry: MetricsRegistry,
+    private val maxConcurrency: Int = DEFAULT_STREAMING_CONCURRENCY,
+    private val ordered: Boolean = true
+) {
+
+    private val taskName = if (name?.isNotBlank() == true) {
+        name
+    } else {
+        Stream.of("streaming", task.name)
+            .collect(Collectors.joining("_"))
+    }
+
+    private val schedulerOption = toScheduler(executorServiceOption)
+
+    private val meters = TaskMeters(registry, this.taskName)
+
+    init {
+        Preconditions.checkArgument(maxConcurrency > 0, "max concurrency must be greater than 0")
+    }
+
+    /**
+     * Name of the task.
+     */
+    val name: String
+        get() = this.taskName
+
+    /**
+     * Execute the element task on every request value.
+     * @param requests [Flux] of request values.
+     * @return a [Flux] of responses with exception wrapped inside an [Either] and an [Option]
+     */
+    fun executeValues(requests: Flux<Request>): Flux<Maybe<Response>> =
+        this.execute(requests.map { Either.Right(Option.fromNullable(it)) })
+
+    /**
+     * Execute the element task on every request.
+     * @param requests [Flux] of requests.
+     * @return a [Flux] of responses with exception wrapped inside an [Either] and an [Option]
+     */
+    fun execute(requests: Flux<Maybe<Request>>): Flux<Maybe<Response>> {
+        val sampleOption = this.meters.registry.startSample()
+
+        val elements = this.schedulerOption.map {
+            log.debug("booster-task - task[{}] executing on thread pool", name)
+            requests.publishOn(it, this.maxConcurrency)
+        }.getOrElse {
+            log.debug("booster-task - task[{}] executing on calling thread", name)
+            requests
+        }
+
+        // element failures are already wrapped as Either.Left by the element task.
+        return if (this.ordered) {
+            elements.flatMapSequential({ this.task.execute(it) }, this.maxConcurrency)
+        } else {
+            elements.flatMap({ this.task.execute(it) }, this.maxConcurrency)
+        }.doOnTerminate {
+            recordTime(this.meters, sampleOption)
+            log.debug("booster-task - task[{}] terminated", name)
+        }
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(StreamingTask::class.java)
+    }
+}
+
+class StreamingTaskBuilder<Request, Response> {
+
+    private var taskName: String? = ""
+    private var metricsRegistry = MetricsRegistry()
+    private var executorServiceOption: Option<ExecutorService> = Option.fromNullable(null)
+    private lateinit var elementTask: Task<Request, Response>
+    private var maxConcurrency = DEFAULT_STREAMING_CONCURRENCY
+    private var ordered = true
+
+    fun name(name: String?) {
+        this.taskName = name
+    }
+
+    fun registry(registry: MetricsRegistry) {
+        this.metricsRegistry = registry
+    }
+
+    fun task(task: Task<Request, Response>) {
+        this.elementTask = task
+    }
+
+    fun executorOption(executorServiceOption: Option<ExecutorService>) {
+        this.executorServiceOption = executorServiceOption
+    }
+
+    /**
+     * Caps the number of elements requested from upstream and executed concurrently.
+     * @param maxConcurrency maximum number of concurrent executions.
+     */
+    fun maxConcurrency(maxConcurrency: Int) {
+        this.maxConcurrency = maxConcurrency
+    }
+
+    /**
+     * Whether responses keep the order of requests. Defaults to true.
+     * @param ordered true to keep request order.
+     */
+    fun ordered(ordered: Boolean) {
+        this.ordered = ordered
+    }
+
+    fun build(): StreamingTask<Request, Response> {
+        Preconditions.checkArgument(::elementTask.isInitialized, "task not initialized")
+        Preconditions.checkArgument(this.maxConcurrency > 0, "max concurrency must be greater than 0")
+
+        return StreamingTask(
+            this.taskName,
+            this.elementTask,
+            this.executorServiceOption,
+            this.metricsRegistry,
+            this.maxConcurrency,
+            this.ordered
+        )
+    }
+}
+
+fun <Request, Response> streamingTask(initializer: StreamingTaskBuilder<Request, Response>.() -> Unit):
+        StreamingTaskBuilder<Request, Response> {
+    val builder = StreamingTaskBuilder<Request, Response>()
+    builder.apply(initializer)
+    return builder
+}
@@ -0,0 +1,216 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.None
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.EmptyRequestHandler
+import io.github.booster.task.Maybe
+import io.github.booster.task.RequestExceptionHandler
+import io.github.booster.task.Task
+import io.github.booster.task.util.TaskMeters
+import io.github.booster.task.util.executeSuspending
+import io.github.booster.task.util.recordFailureCount
+import io.github.booster.task.util.recordSuccessCount
+import io.github.booster.task.util.recordTime
+import io.github.booster.task.util.suspendingMono
+import io.github.booster.task.util.toDispatcher
+import io.github.booster.task.withinDeadline
+import io.github.resilience4j.circuitbreaker.CircuitBreaker
+import io.github.resilience4j.retry.Retry
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.withContext
+import org.slf4j.LoggerFactory
+import reactor.core.publisher.Mono
+import java.util.concurrent.ExecutorService
+
+typealias SuspendProcessor<Request, Response> = suspend (Request) -> Option<Response>
+
+/**
+ * Task whose processor is a suspend function. [executeSuspending] runs the processor in
+ * the calling coroutine, or on the dispatcher if one is set, with retries and circuit breaker
+ * applied directly, so no [Mono] is assembled or subscribed per call.
+ *
+ * [execute] runs the same path in a coroutine, so the task can be combined with other tasks,
+ * and fails without running once the deadline set with [io.github.booster.task.withDeadline]
+ * has passed.
+ * @param name name of the task.
+ * @param requestHandlers handlers of empty requests and requests with exceptions.
+ * @param dispatcherOption optional [CoroutineDispatcher] the processor runs on.
+ * @param retryOption optional [Retry], attempts are spaced without blocking a thread.
+ * @param circuitBreakerOption optional [CircuitBreaker] around all attempts.
+ * @param registry [MetricsRegistry] to record metrics.
+ * @param processor suspend processor.
+ */
+class SuspendTask<Request, Response>(
+    name: String,
+    private val requestHandlers: RequestHandlers<Response>,
+    private val dispatcherOption: Option<CoroutineDispatcher>,
+    private val retryOption: Option<Retry>,
+    private val circuitBreakerOption: Option<CircuitBreaker>,
+    registry: MetricsRegistry,
+    private val processor: SuspendProcessor<Request, Response>
+) : Task<Request, Response> {
+
+    private val taskName: String
+    private val meters: TaskMeters
+
+    init {
+        Preconditions.checkArgument(name.isNotBlank(), "name cannot be blank")
+        this.taskName = name
+        this.meters = TaskMeters(registry, name)
+    }
+
+    override fun execute(request: Mono<Maybe<Request>>): Mono<Maybe<Response>> =
+        request.flatMap { maybe ->
+            withinDeadline(name) { suspendingMono { this.executeSuspending(maybe) } }
+        }
+
+    @Suppress("TooGenericExceptionCaught")
+    override suspend fun executeSuspending(request: Maybe<Request>): Maybe<Response> {
+        val sampleOption = this.meters.registry.startSample()
+        return try {
+            val response = this.executeInternal(request)
+            recordSuccessCount(response, log, this.meters, name)
+            Either.Right(response)
+        } catch (e: CancellationException) {
+            throw e
+        } catch (t: Throwable) {
+            recordFailureCount(t, log, this.meters, name)
+            Either.Left(t)
+        } finally {
+            recordTime(this.meters, sampleOption)
+        }
+    }
+
+    private suspend fun executeInternal(request: Maybe<Request>): Option<Response> =
+        when (request) {
+            is Either.Left -> {
+                log.warn("booster-task - task[{}] input has exception", name, request.value)
+                this.handleRequestException(request.value)
+            }
+            is Either.Right -> {
+                log.debug("booster-task - task[{}] running with optional request values: [{}]", name, request.value)
+                when (val value = request.value.orNull()) {
+                    null -> this.requestHandlers.emptyRequestHandler.fold({ None }, { it.invoke() })
+                    else -> this.dispatcherOption.fold(
+                        { this.process(value) },
+                        { withContext(it) { process(value) } }
+                    )
+                }
+            }
+        }
+
+    /**
+     * Circuit breaker around retries, the same order as [AbstractTask].
+     */
+    private suspend fun process(request: Request): Option<Response> =
+        this.circuitBreakerOption.fold(
+            { this.processWithRetry(request) },
+            { it.executeSuspending { this.processWithRetry(request) } }
+        )
+
+    private suspend fun processWithRetry(request: Request): Option<Response> =
+        this.retryOption.fold(
+            { this.processor.invoke(request) },
+            { it.executeSuspending { this.processor.invoke(request) } }
+        )
+
+    private fun handleRequestException(t: Throwable): Option<Response> =
+        this.requestHandlers.requestExceptionHandler.fold(
+            {
+                log.warn("booster-task - task[{}] no request exception handler, throwing exception", name, t)
+                throw t
+            },
+            {
+                log.warn("booster-task - task[{}] invoking request exception handler", name, t)
+                it.invoke(t)
+            }
+        )
+
+    override val name: String
+        get() = this.taskName
+
+    companion object {
+        private val log = LoggerFactory.getLogger(SuspendTask::class.java)
+    }
+}
+
+class SuspendTaskBuilder<Request, Response> {
+
+    private lateinit var taskName: String
+    private var registry: MetricsRegistry = MetricsRegistry()
+    private var retryOption: Option<Retry> = Option.fromNullable(null)
+    private var circuitBreakerOption: Option<CircuitBreaker> = Option.fromNullable(null)
+    private var dispatcherOption: Option<CoroutineDispatcher> = Option.fromNullable(null)
+    private lateinit var process: SuspendProcessor<Request, Response>
+    private var errorHandler: Option<RequestExceptionHandler<Response>> = Option.fromNullable(null)
+    private var defaultHandler: Option<EmptyRequestHandler<Response>> = Option.fromNullable(null)
+
+    fun name(name: String) {
+        this.taskName = name
+    }
+
+    fun registry(registry: MetricsRegistry) {
+        this.registry = registry
+    }
+
+    fun processor(process: SuspendProcessor<Request, Response>) {
+        this.process = process
+    }
+
+    fun defaultRequestHandler(emptyRequestHandler: EmptyRequestHandler<Response>) {
+        this.defaultHandler = Option.fromNullable(emptyRequestHandler)
+    }
+
+    fun exceptionHandler(errorHandler: RequestExceptionHandler<Response>) {
+        this.errorHandler = Option.fromNullable(errorHandler)
+    }
+
+    fun retryOption(retryOption: Option<Retry>) {
+        this.retryOption = retryOption
+    }
+
+    fun circuitBreakerOption(circuitBreakerOption: Option<CircuitBreaker>) {
+        this.circuitBreakerOption = circuitBreakerOption
+    }
+
+    /**
+     * Runs the processor on the dispatcher, e.g. Dispatchers.IO for blocking calls.
+     * @param dispatcherOption [Option] of [CoroutineDispatcher]
+     */
+    fun dispatcherOption(dispatcherOption: Option<CoroutineDispatcher>) {
+        this.dispatcherOption = dispatcherOption
+    }
+
+    /**
+     * Runs the processor on a dispatcher backed by the thread pool.
+     * @param executorServiceOption [Option] of [ExecutorService]
+     */
+    fun executorOption(executorServiceOption: Option<ExecutorService>) {
+        this.dispatcherOption = toDispatcher(executorServiceOption)
+    }
+
+    fun build(): Task<Request, Response> {
+        Preconditions.checkArgument(::taskName.isInitialized, "task name not initialized")
+        Preconditions.checkArgument(::process.isInitialized, "processor not initialized")
+
+        return SuspendTask(
+            this.taskName,
+            RequestHandlers(
+                this.defaultHandler,
+                this.errorHandler
+            ),
+            this.dispatcherOption,
+            this.retryOption,
+            this.circuitBreakerOption,
+            this.registry,
+            this.process
+        )
+    }
+}
+
+fun <Request, Response> suspendTask(initializer: SuspendTaskBuilder<Request, Response>.() -> Unit) =
+    SuspendTaskBuilder<Request, Response>().apply(initializer)
@@ -6,7 +6,11 @@ import com.google.common.base.Preconditions
 import io.github.booster.commons.metrics.MetricsRegistry
 import io.github.booster.task.Maybe
 import io.github.booster.task.Task
+import io.github.booster.task.trace
+import io.github.booster.task.util.TaskMeters
 import io.github.booster.task.util.convertAndRecord
+import io.github.booster.task.withinDeadline
+import io.opentelemetry.api.trace.Tracer
 import io.vavr.Tuple
 import io.vavr.Tuple2
 import org.slf4j.LoggerFactory
@@ -26,14 +30,17 @@ internal class Tuple2Task<Req0, Resp0, Req1, Resp1>(
     private val task0: Task<Req0, Resp0>,
     private val task1: Task<Req1, Resp1>,
     private val requestExceptionHandler: Option<Tuple2ExceptionHandler<Resp0, Resp1>>,
-    private val registry: MetricsRegistry
+    private val registry: MetricsRegistry,
+    private val tracerOption: Option<Tracer> = Option.fromNullable(null)
 ): Task<OptionTuple2<Req0, Req1>, Tuple2WithError<Resp0, Resp1>> {
 
     private val taskName: String
+    private val meters: TaskMeters
 
     init {
         Preconditions.checkArgument(name.isNotBlank(), "task name cannot be blank")
         this.taskName = name
+        this.meters = TaskMeters(registry, name)
     }
 
     @Suppress("TooGenericExceptionCaught")
@@ -77,16 +84,22 @@ internal class Tuple2Task<Req0, Resp0, Req1, Resp1>(
 
     override fun execute(
         request: Mono<Maybe<OptionTuple2<Req0, Req1>>>
+    ):
+            Mono<Maybe<Tuple2WithError<Resp0, Resp1>>> =
+        this.tracerOption.trace(this.name, request) { this.executeAndRecord(it) }
+
+    private fun executeAndRecord(
+        request: Mono<Maybe<OptionTuple2<Req0, Req1>>>
     ): Mono<Maybe<Tuple2WithError<Resp0, Resp1>>> {
 
         val sampleOption = this.registry.startSample()
         return request.flatMap { req ->
             req.map {
-                this.executeOnOption(it)
+                withinDeadline(this.name) { this.executeOnOption(it) }
             }.getOrElse {
                 this.handleException(it)
             }
-        }.convertAndRecord(log, registry, sampleOption, name)
+        }.convertAndRecord(log, meters, sampleOption, name)
     }
 
     companion object {
@@ -101,6 +114,7 @@ class Tuple2TaskBuilder<Req0, Resp0, Req1, Resp1> {
 
     private lateinit var taskName: String
     private var registry = MetricsRegistry()
+    private var tracerOption: Option<Tracer> = Option.fromNullable(null)
     private lateinit var task0: Task<Req0, Resp0>
     private lateinit var task1: Task<Req1, Resp1>
     private var requestExceptionHandler: Option<Tuple2ExceptionHandler<Resp0, Resp1>> = Option.fromNullable(null)
@@ -113,6 +127,14 @@ class Tuple2TaskBuilder<Req0, Resp0, Req1, Resp1> {
         this.registry = registry
     }
 
+    /**
+     * Traces each execution in a span created by the [Tracer].
+     * @param tracerOption [Option] of [Tracer]
+     */
+    fun tracerOption(tracerOption: Option<Tracer>) {
+        this.tracerOption = tracerOption
+    }
+
     fun firstTask(task0: Task<Req0, Resp0>) {
         this.task0 = task0
     }
@@ -134,7 +156,8 @@ class Tuple2TaskBuilder<Req0, Resp0, Req1, Resp1> {
             this.task0,
             this.task1,
             this.requestExceptionHandler,
-            this.registry
+            this.registry,
+            this.tracerOption
         )
     }
 }
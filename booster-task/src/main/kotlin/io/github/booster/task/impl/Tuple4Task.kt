@@ -6,7 +6,11 @@ import com.google.common.base.Preconditions
 import io.github.booster.commons.metrics.MetricsRegistry
 import io.github.booster.task.Maybe
 import io.github.booster.task.Task
+import io.github.booster.task.trace
+import io.github.booster.task.util.TaskMeters
 import io.github.booster.task.util.convertAndRecord
+import io.github.booster.task.withinDeadline
+import io.opentelemetry.api.trace.Tracer
 import io.vavr.Tuple
 import io.vavr.Tuple2
 import io.vavr.Tuple4
@@ -35,14 +39,17 @@ class Tuple4Task<Req0, Resp0, Req1, Resp1, Req2, Resp2, Req3, Resp3>(
     private val task2: Task<Req2, Resp2>,
     private val task3: Task<Req3, Resp3>,
     private val requestExceptionHandler: Option<Tuple4ExceptionHandler<Resp0, Resp1, Resp2, Resp3>>,
-    private val registry: MetricsRegistry
+    private val registry: MetricsRegistry,
+    private val tracerOption: Option<Tracer> = Option.fromNullable(null)
 ): Task<OptionTuple4<Req0, Req1, Req2, Req3>, Tuple4WithError<Resp0, Resp1, Resp2, Resp3>> {
 
     private val taskName: String
+    private val meters: TaskMeters
 
     init {
         Preconditions.checkArgument(name.isNotBlank(), "task name cannot be blank")
         this.taskName = name
+        this.meters = TaskMeters(registry, name)
     }
 
     private fun handleException(t: Throwable): Mono<Option<Tuple4WithError<Resp0, Resp1, Resp2, Resp3>>> {
@@ -83,16 +90,20 @@ class Tuple4Task<Req0, Resp0, Req1, Resp1, Req2, Resp2, Req3, Resp3>(
     }
 
     override fun execute(request: Mono<Maybe<OptionTuple4<Req0, Req1, Req2, Req3>>>):
+            Mono<Maybe<Tuple4WithError<Resp0, Resp1, Resp2, Resp3>>> =
+        this.tracerOption.trace(this.name, request) { this.executeAndRecord(it) }
+
+    private fun executeAndRecord(request: Mono<Maybe<OptionTuple4<Req0, Req1, Req2, Req3>>>):
             Mono<Maybe<Tuple4WithError<Resp0, Resp1, Resp2, Resp3>>> {
 
         val sampleOption = this.registry.startSample()
         return request.flatMap { req ->
             req.map {
-                this.executeOnOption(it)
+                withinDeadline(this.name) { this.executeOnOption(it) }
             }.getOrElse {
                 this.handleException(it)
             }
-        }.convertAndRecord(log, registry, sampleOption, name)
+        }.convertAndRecord(log, meters, sampleOption, name)
     }
 
     companion object {
@@ -107,6 +118,7 @@ class Tuple4TaskBuilder<Req0, Resp0, Req1, Resp1, Req2, Resp2, Req3, Resp3> {
 
     private lateinit var taskName: String
     private var registry = MetricsRegistry()
+    private var tracerOption: Option<Tracer> = Option.fromNullable(null)
     private lateinit var task0: Task<Req0, Resp0>
     private lateinit var task1: Task<Req1, Resp1>
     private lateinit var task2: Task<Req2, Resp2>
@@ -122,6 +134,14 @@ class Tuple4TaskBuilder<Req0, Resp0, Req1, Resp1, Req2, Resp2, Req3, Resp3> {
         this.registry = registry
     }
 
+    /**
+     * Traces each execution in a span created by the [Tracer].
+     * @param tracerOption [Option] of [Tracer]
+     */
+    fun tracerOption(tracerOption: Option<Tracer>) {
+        this.tracerOption = tracerOption
+    }
+
     fun firstTask(task0: Task<Req0, Resp0>) {
         this.task0 = task0
     }
@@ -156,7 +176,8 @@ class Tuple4TaskBuilder<Req0, Resp0, Req1, Resp1, Req2, Resp2, Req3, Resp3> {
             this.task2,
             this.task3,
             this.requestExceptionHandler,
-            this.registry
+            this.registry,
+            this.tracerOption
         )
     }
 }
@@ -6,7 +6,11 @@ import com.google.common.base.Preconditions
 import io.github.booster.commons.metrics.MetricsRegistry
 import io.github.booster.task.Maybe
 import io.github.booster.task.Task
+import io.github.booster.task.trace
+import io.github.booster.task.util.TaskMeters
 import io.github.booster.task.util.convertAndRecord
+import io.github.booster.task.withinDeadline
+import io.opentelemetry.api.trace.Tracer
 import io.vavr.Tuple
 import io.vavr.Tuple6
 import org.slf4j.LoggerFactory
@@ -38,15 +42,18 @@ class Tuple6Task<Req0, Resp0, Req1, Resp1, Req2, Resp2, Req3, Resp3, Req4, Resp4
     private val task4: Task<Req4, Resp4>,
     private val task5: Task<Req5, Resp5>,
     private val requestExceptionHandler: Option<Tuple6ExceptionHandler<Resp0, Resp1, Resp2, Resp3, Resp4, Resp5>>,
-    private val registry: MetricsRegistry
+    private val registry: MetricsRegistry,
+    private val tracerOption: Option<Tracer> = Option.fromNullable(null)
 ): Task<OptionTuple6<Req0, Req1, Req2, Req3, Req4, Req5>,
         Tuple6WithError<Resp0, Resp1, Resp2, Resp3, Resp4, Resp5>> {
 
     private val taskName: String
+    private val meters: TaskMeters
 
     init {
         Preconditions.checkArgument(name.isNotBlank(), "task name cannot be blank")
         this.taskName = name
+        this.meters = TaskMeters(registry, name)
     }
 
     private fun handleException(t: Throwable): Mono<Option<Tuple6WithError<Resp0, Resp1, Resp2, Resp3, Resp4, Resp5>>> {
@@ -93,16 +100,20 @@ class Tuple6Task<Req0, Resp0, Req1, Resp1, Req2, Resp2, Req3, Resp3, Req4, Resp4
     }
 
     override fun execute(request: Mono<Maybe<OptionTuple6<Req0, Req1, Req2, Req3, Req4, Req5>>>):
+            Mono<Maybe<Tuple6WithError<Resp0, Resp1, Resp2, Resp3, Resp4, Resp5>>> =
+        this.tracerOption.trace(this.name, request) { this.executeAndRecord(it) }
+
+    private fun executeAndRecord(request: Mono<Maybe<OptionTuple6<Req0, Req1, Req2, Req3, Req4, Req5>>>):
             Mono<Maybe<Tuple6WithError<Resp0, Resp1, Resp2, Resp3, Resp4, Resp5>>> {
 
         val sampleOption = this.registry.startSample()
         return request.flatMap { req ->
             req.map {
-                this.executeOnOption(it)
+                withinDeadline(this.name) { this.executeOnOption(it) }
             }.getOrElse {
                 this.handleException(it)
             }
-        }.convertAndRecord(log, registry, sampleOption, name)
+        }.convertAndRecord(log, meters, sampleOption, name)
     }
 
     companion object {
@@ -118,6 +129,7 @@ class Tuple6TaskBuilder<Req0, Resp0, Req1, Resp1, Req2, Resp2, Req3, Resp3, Req4
 
     private lateinit var taskName: String
     private var registry = MetricsRegistry()
+    private var tracerOption: Option<Tracer> = Option.fromNullable(null)
     private lateinit var task0: Task<Req0, Resp0>
     private lateinit var task1: Task<Req1, Resp1>
     private lateinit var task2: Task<Req2, Resp2>
@@ -135,6 +147,14 @@ class Tuple6TaskBuilder<Req0, Resp0, Req1, Resp1, Req2, Resp2, Req3, Resp3, Req4
         this.registry = registry
     }
 
+    /**
+     * Traces each execution in a span created by the [Tracer].
+     * @param tracerOption [Option] of [Tracer]
+     */
+    fun tracerOption(tracerOption: Option<Tracer>) {
+        this.tracerOption = tracerOption
+    }
+
     fun firstTask(task0: Task<Req0, Resp0>) {
         this.task0 = task0
     }
@@ -182,7 +202,8 @@ class Tuple6TaskBuilder<Req0, Resp0, Req1, Resp1, Req2, Resp2, Req3, Resp3, Req4
             this.task4,
             this.task5,
             this.requestExceptionHandler,
-            this.registry
+            this.registry,
+            this.tracerOption
         )
     }
 }
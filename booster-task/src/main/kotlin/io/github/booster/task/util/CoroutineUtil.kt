@@ -0,0 +1,112 @@
+package io.github.booster.task.util
+
+import arrow.core.Option
+import io.github.resilience4j.circuitbreaker.CircuitBreaker
+import io.github.resilience4j.retry.Retry
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.suspendCancellableCoroutine
+import reactor.core.publisher.Mono
+import java.util.concurrent.ExecutorService
+import kotlin.coroutines.Continuation
+import kotlin.coroutines.resume
+import kotlin.coroutines.resumeWithException
+import kotlin.coroutines.startCoroutine
+
+/**
+ * Converts optional executor service to optional coroutine dispatcher.
+ */
+fun toDispatcher(executorServiceOption: Option<ExecutorService>): Option<CoroutineDispatcher> =
+    executorServiceOption.map { executorService -> executorService.asCoroutineDispatcher() }
+
+/**
+ * Executes the block with retries. Attempts are spaced by the retry's interval
+ * function, suspending instead of blocking a thread in between.
+ * @param block block to execute.
+ * @return result of the last attempt.
+ */
+@Suppress("TooGenericExceptionCaught")
+suspend fun <T> Retry.executeSuspending(block: suspend () -> T): T {
+    val context = this.asyncContext<T>()
+    while (true) {
+        val waitMillis = try {
+            val result = block()
+            val waitMillis = context.onResult(result)
+            if (waitMillis < 1) {
+                context.onComplete()
+                return result
+            }
+            waitMillis
+        } catch (e: CancellationException) {
+            throw e
+        } catch (t: Throwable) {
+            val waitMillis = context.onError(t)
+            if (waitMillis < 1) {
+                throw t
+            }
+            waitMillis
+        }
+        delay(waitMillis)
+    }
+}
+
+/**
+ * Executes the block if the circuit breaker permits it, fails with
+ * [io.github.resilience4j.circuitbreaker.CallNotPermittedException] otherwise.
+ * Cancelled executions release their permission without being recorded.
+ * @param block block to execute.
+ * @return result of the block.
+ */
+@Suppress("TooGenericExceptionCaught")
+suspend fun <T : Any> CircuitBreaker.executeSuspending(block: suspend () -> T): T {
+    this.acquirePermission()
+    val start = this.currentTimestamp
+    try {
+        val result = block()
+        this.onResult(this.currentTimestamp - start, this.timestampUnit, result)
+        return result
+    } catch (e: CancellationException) {
+        this.releasePermission()
+        throw e
+    } catch (t: Throwable) {
+        this.onError(this.currentTimestamp - start, this.timestampUnit, t)
+        throw t
+    }
+}
+
+/**
+ * Awaits the single value of the [Mono] without blocking. Cancelling the coroutine
+ * cancels the subscription.
+ * @return value of the [Mono].
+ */
+suspend fun <T> Mono<T>.awaitValue(): T =
+    suspendCancellableCoroutine { continuation ->
+        val disposable = this.subscribe(
+            { continuation.resume(it) },
+            { continuation.resumeWithException(it) },
+            {
+                if (continuation.isActive) {
+                    continuation.resumeWithException(NoSuchElementException("mono completed without a value"))
+                }
+            }
+        )
+        continuation.invokeOnCancellation { disposable.dispose() }
+    }
+
+/**
+ * Creates a [Mono] that runs the block in a coroutine on subscription.
+ * Disposing the subscription cancels the coroutine.
+ * @param block block to run.
+ * @return [Mono] of the block's result.
+ */
+fun <T : Any> suspendingMono(block: suspend () -> T): Mono<T> =
+    Mono.create { sink ->
+        val job = Job()
+        sink.onDispose { job.cancel() }
+        block.startCoroutine(Continuation(job) { result ->
+            result.fold({ sink.success(it) }, { sink.error(it) })
+        })
+    }
@@ -0,0 +1,188 @@
+package io.github.booster.task.util
+
+import com.google.common.base.Preconditions
+import io.github.booster.commons.deadline.DeadlineExceededException
+import io.github.booster.commons.metrics.BoundCounter
+import io.github.booster.commons.metrics.BoundTimer
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.DEADLINE_CONTEXT_KEY
+import io.github.booster.task.EXECUTOR_EXPIRED_COUNT
+import io.github.booster.task.EXECUTOR_QUEUE_WAIT_TIME
+import io.github.booster.task.EXECUTOR_REJECTED_COUNT
+import io.github.booster.task.NAME
+import org.slf4j.LoggerFactory
+import reactor.core.publisher.Mono
+import java.time.Duration
+import java.util.concurrent.AbstractExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.PriorityBlockingQueue
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * [java.util.concurrent.ExecutorService] running queued work earliest deadline first, instead of
+ * first in first out, so under load fresh requests don't wait behind requests about to time out.
+ *
+ * Work submitted with a deadline, either explicitly or from the Reactor context with [emitOn], is
+ * dropped if its deadline passes while queued. Work submitted without one, e.g. by a Reactor
+ * [reactor.core.scheduler.Scheduler], is given a deadline of [defaultBudget] after submission for
+ * ordering, and always runs.
+ * @param name name of the executor, used to tag metrics.
+ * @param poolSize number of threads.
+ * @param queueSize maximum number of queued items, submissions beyond it are rejected.
+ * @param defaultBudget deadline given to work submitted without one.
+ * @param registry [MetricsRegistry] to record queue wait, expiry and rejection metrics.
+ * @param threadFactory [ThreadFactory] to create threads.
+ */
+class DeadlineExecutorService @JvmOverloads constructor(
+    private val name: String,
+    poolSize: Int,
+    private val queueSize: Int,
+    private val defaultBudget: Duration,
+    registry: MetricsRegistry = MetricsRegistry(),
+    threadFactory: ThreadFactory = Executors.defaultThreadFactory()
+) : AbstractExecutorService() {
+
+    private val executor: ThreadPoolExecutor
+
+    private val sequence = AtomicLong(0)
+
+    private val queueWaitTimer: BoundTimer
+
+    private val expiredCounter: BoundCounter
+
+    private val rejectedCounter: BoundCounter
+
+    init {
+        Preconditions.checkArgument(name.isNotBlank(), "name cannot be blank")
+        Preconditions.checkArgument(poolSize > 0, "pool size must be greater than 0")
+        Preconditions.checkArgument(queueSize > 0, "queue size must be greater than 0")
+        Preconditions.checkArgument(!defaultBudget.isNegative, "default budget cannot be negative")
+        this.executor = ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            PriorityBlockingQueue(),
+            threadFactory
+        )
+        // with all threads started, work is always queued and picked by deadline.
+        this.executor.prestartAllCoreThreads()
+        this.queueWaitTimer = registry.boundTimer(EXECUTOR_QUEUE_WAIT_TIME, NAME, name)
+        this.expiredCounter = registry.boundCounter(EXECUTOR_EXPIRED_COUNT, NAME, name)
+        this.rejectedCounter = registry.boundCounter(EXECUTOR_REJECTED_COUNT, NAME, name)
+    }
+
+    /**
+     * Queues work with a deadline of [defaultBudget] from now. The work always runs.
+     * @param command work to run.
+     */
+    override fun execute(command: Runnable) {
+        this.enqueue(Entry(command, System.nanoTime() + this.defaultBudget.toNanos(), null))
+    }
+
+    /**
+     * Queues work with an explicit deadline. Work with earlier deadlines runs first.
+     * @param command work to run.
+     * @param deadline deadline as a [System.nanoTime] value.
+     * @param onExpired invoked on a pool thread instead of the work, if the deadline passes while queued.
+     * @return handle of the queued work, to be passed to [cancel].
+     */
+    fun execute(command: Runnable, deadline: Long, onExpired: Runnable): Runnable =
+        this.enqueue(Entry(command, deadline, onExpired))
+
+    /**
+     * Removes queued work, work already running is not interrupted.
+     * @param handle handle returned by [execute].
+     * @return true if the work was still queued.
+     */
+    fun cancel(handle: Runnable): Boolean = this.executor.remove(handle)
+
+    /**
+     * Emits the value on one of the pool's threads, ordered by the deadline in the Reactor context,
+     * see [io.github.booster.task.withDeadline]. Fails with [DeadlineExceededException] if the
+     * deadline passes while queued. Values without a deadline are ordered by [defaultBudget] and
+     * always emitted.
+     * @param value value to emit.
+     * @return [Mono] of the value, emitted on a pool thread.
+     */
+    fun <T> emitOn(value: T): Mono<T> =
+        Mono.create { sink ->
+            val deadline = sink.contextView().getOrDefault<Long>(DEADLINE_CONTEXT_KEY, null)
+            val command = Runnable { sink.success(value) }
+            val handle = if (deadline == null) {
+                Entry(command, System.nanoTime() + this.defaultBudget.toNanos(), null)
+            } else {
+                Entry(command, deadline) {
+                    sink.error(DeadlineExceededException("executor[$name] deadline exceeded while queued"))
+                }
+            }
+            sink.onCancel { this.cancel(handle) }
+            try {
+                this.enqueue(handle)
+            } catch (e: RejectedExecutionException) {
+                sink.error(e)
+            }
+        }
+
+    private fun enqueue(entry: Entry): Runnable {
+        if (this.executor.queue.size >= this.queueSize) {
+            this.rejectedCounter.increment()
+            throw RejectedExecutionException("executor[$name] queue is full")
+        }
+        this.executor.execute(entry)
+        return entry
+    }
+
+    override fun shutdown() = this.executor.shutdown()
+
+    override fun shutdownNow(): MutableList<Runnable> = this.executor.shutdownNow()
+
+    override fun isShutdown(): Boolean = this.executor.isShutdown
+
+    override fun isTerminated(): Boolean = this.executor.isTerminated
+
+    override fun awaitTermination(timeout: Long, unit: TimeUnit): Boolean =
+        this.executor.awaitTermination(timeout, unit)
+
+    override fun toString(): String = "DeadlineExecutorService[$name]"
+
+    /**
+     * Queued work, ordered by deadline, then by submission.
+     */
+    private inner class Entry(
+        private val command: Runnable,
+        private val deadline: Long,
+        private val onExpired: Runnable?
+    ) : Runnable, Comparable<Entry> {
+
+        private val queuedAt = System.nanoTime()
+
+        private val order = sequence.getAndIncrement()
+
+        override fun run() {
+            val now = System.nanoTime()
+            queueWaitTimer.record(now - this.queuedAt, TimeUnit.NANOSECONDS)
+            if (this.onExpired != null && now - this.deadline >= 0) {
+                log.debug("booster-task - executor[{}] dropping expired work", name)
+                expiredCounter.increment()
+                this.onExpired.run()
+            } else {
+                this.command.run()
+            }
+        }
+
+        override fun compareTo(other: Entry): Int {
+            // deadlines are nanoTime values, compared by difference to be safe from overflow.
+            val byDeadline = java.lang.Long.signum(this.deadline - other.deadline)
+            return if (byDeadline != 0) byDeadline else this.order.compareTo(other.order)
+        }
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(DeadlineExecutorService::class.java)
+    }
+}
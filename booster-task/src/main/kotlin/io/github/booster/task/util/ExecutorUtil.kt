@@ -0,0 +1,83 @@
+package io.github.booster.task.util
+
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import org.slf4j.LoggerFactory
+import java.util.concurrent.AbstractExecutorService
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Semaphore
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.TimeUnit
+
+private val log = LoggerFactory.getLogger("io.github.booster.task.util.ExecutorUtil")
+
+/**
+ * Creates a virtual-thread-per-task executor. Virtual threads are looked up
+ * reflectively, as the library targets Java 11.
+ * @param prefix prefix of virtual thread names, threads are unnamed if null or blank.
+ * @return [Option] of [ExecutorService], empty if the running JVM has no virtual threads.
+ */
+@Suppress("TooGenericExceptionCaught", "SwallowedException")
+fun virtualThreadExecutor(prefix: String?): Option<ExecutorService> =
+    try {
+        var builder = Thread::class.java.getMethod("ofVirtual").invoke(null)
+        val builderClass = Class.forName("java.lang.Thread\$Builder")
+        if (prefix?.isNotBlank() == true) {
+            builder = builderClass.getMethod("name", String::class.java, Long::class.javaPrimitiveType)
+                .invoke(builder, prefix, 0L)
+        }
+        val factory = builderClass.getMethod("factory").invoke(builder) as ThreadFactory
+        val executor = Executors::class.java.getMethod("newThreadPerTaskExecutor", ThreadFactory::class.java)
+            .invoke(null, factory) as ExecutorService
+        Option.fromNullable(executor)
+    } catch (e: ReflectiveOperationException) {
+        log.debug("booster-task - virtual threads not available", e)
+        Option.fromNullable(null)
+    } catch (e: RuntimeException) {
+        log.debug("booster-task - virtual threads not available", e)
+        Option.fromNullable(null)
+    }
+
+/**
+ * [ExecutorService] that runs at most a fixed number of submitted tasks at a time.
+ * Permits are acquired on the delegate's thread, not the submitting thread, so
+ * submission never blocks. Meant for executors with cheap blocking, such as
+ * virtual threads, where threads waiting for a permit cost next to nothing.
+ * @param delegate [ExecutorService] that runs the tasks.
+ * @param maxConcurrency maximum number of tasks running at the same time.
+ */
+class BoundedExecutorService(
+    private val delegate: ExecutorService,
+    maxConcurrency: Int
+) : AbstractExecutorService() {
+
+    private val permits: Semaphore
+
+    init {
+        Preconditions.checkArgument(maxConcurrency > 0, "max concurrency must be greater than 0")
+        this.permits = Semaphore(maxConcurrency)
+    }
+
+    override fun execute(command: Runnable) {
+        this.delegate.execute {
+            this.permits.acquireUninterruptibly()
+            try {
+                command.run()
+            } finally {
+                this.permits.release()
+            }
+        }
+    }
+
+    override fun shutdown() = this.delegate.shutdown()
+
+    override fun shutdownNow(): MutableList<Runnable> = this.delegate.shutdownNow()
+
+    override fun isShutdown(): Boolean = this.delegate.isShutdown
+
+    override fun isTerminated(): Boolean = this.delegate.isTerminated
+
+    override fun awaitTermination(timeout: Long, unit: TimeUnit): Boolean =
+        this.delegate.awaitTermination(timeout, unit)
+}
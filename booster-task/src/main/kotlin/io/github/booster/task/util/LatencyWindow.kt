@@ -0,0 +1,67 @@
+package io.github.booster.task.util
+
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import java.time.Duration
+
+/**
+ * Rolling window of the most recent latencies. Percentiles are recomputed
+ * after every [recomputeInterval] recordings rather than on every read,
+ * so reads stay cheap on hot paths.
+ * @param size number of latencies kept.
+ * @param percentile percentile to compute, between 0 and 1.
+ */
+class LatencyWindow(
+    private val size: Int,
+    private val percentile: Double
+) {
+
+    private val latencies: LongArray
+
+    private val recomputeInterval: Int
+
+    private var count = 0L
+
+    @Volatile
+    private var current: Option<Duration> = Option.fromNullable(null)
+
+    init {
+        Preconditions.checkArgument(size > 0, "window size must be greater than 0")
+        Preconditions.checkArgument(percentile > 0 && percentile <= 1, "percentile must be between 0 and 1")
+        this.latencies = LongArray(size)
+        this.recomputeInterval = maxOf(1, size / RECOMPUTE_RATIO)
+    }
+
+    /**
+     * Records a latency.
+     * @param nanos latency in nanoseconds.
+     */
+    fun record(nanos: Long) {
+        synchronized(this.latencies) {
+            this.latencies[(this.count % this.size).toInt()] = nanos
+            this.count++
+            if (this.count >= minOf(this.size.toLong(), MIN_SAMPLES) && this.count % this.recomputeInterval == 0L) {
+                this.current = Option.fromNullable(this.compute())
+            }
+        }
+    }
+
+    /**
+     * Latency at the percentile.
+     * @return [Option] of [Duration], empty until enough latencies are recorded.
+     */
+    fun get(): Option<Duration> = this.current
+
+    private fun compute(): Duration {
+        val samples = minOf(this.count, this.size.toLong()).toInt()
+        val sorted = this.latencies.copyOf(samples)
+        sorted.sort()
+        val index = minOf(samples - 1, maxOf(0, Math.ceil(this.percentile * samples).toInt() - 1))
+        return Duration.ofNanos(sorted[index])
+    }
+
+    companion object {
+        private const val MIN_SAMPLES = 20L
+        private const val RECOMPUTE_RATIO = 10
+    }
+}
@@ -42,3 +42,31 @@ fun <T> Mono<T>.convertAndRecord(
         recordTime(registry, sampleOption, name)
         log.debug("booster-task - task[{}] terminated", name)
     }
+
+/**
+ * Same as [convertAndRecord], recording with meters bound once per task.
+ * @param log [Logger] to write logs
+ * @param meters [TaskMeters] of the task.
+ * @param sampleOption [Timer.Sample] to record time taken to execute.
+ * @param name name of the task to be recorded.
+ */
+fun <T> Mono<T>.convertAndRecord(
+    log: Logger,
+    meters: TaskMeters,
+    sampleOption: Option<Timer.Sample>,
+    name: String
+): Mono<Either<Throwable, T>> =
+
+    this.map {
+        recordSuccessCount(it, log, meters, name)
+        log.debug("booster-task - task[{}] produced result: [{}]", name, it)
+        val result: Either<Throwable, T> = Either.Right(it)
+        result
+    }.onErrorResume {
+        recordFailureCount(it, log, meters, name)
+        log.warn("booster-task - task [{}] execution produced exception", name, it)
+        Mono.just(Either.Left(it))
+    }.doOnTerminate {
+        recordTime(meters, sampleOption)
+        log.debug("booster-task - task[{}] terminated", name)
+    }
@@ -0,0 +1,115 @@
+package io.github.booster.task.util
+
+import arrow.core.Option
+import com.google.common.base.Preconditions
+import org.slf4j.LoggerFactory
+import reactor.core.scheduler.Scheduler
+import reactor.core.scheduler.Schedulers
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+
+/**
+ * Keeps one [Scheduler] per [ExecutorService], so tasks and publishers running on the same
+ * thread pool share a scheduler instead of wrapping the pool on every call. Thread pools
+ * registered with a name can be looked up by it, along with the built-in [PARALLEL] and
+ * [BOUNDED_ELASTIC] schedulers.
+ */
+class SchedulerRegistry {
+
+    private val schedulers = ConcurrentHashMap<ExecutorService, Scheduler>()
+
+    private val names = ConcurrentHashMap<String, ExecutorService>()
+
+    /**
+     * Registers the thread pool under a name. The scheduler created for it is named
+     * after the thread pool.
+     * @param name name of the thread pool.
+     * @param executorService thread pool to register.
+     * @return [Scheduler] of the thread pool.
+     */
+    fun register(name: String, executorService: ExecutorService): Scheduler {
+        Preconditions.checkArgument(name.isNotBlank(), "name cannot be blank")
+        Preconditions.checkArgument(
+            name != PARALLEL && name != BOUNDED_ELASTIC,
+            "name [%s] is reserved for built-in schedulers",
+            name
+        )
+        this.names[name] = executorService
+        return this.schedulers[executorService] ?: this.create(executorService, name)
+    }
+
+    /**
+     * Retrieves the scheduler of a thread pool, creating one on first use.
+     * @param executorService thread pool to run on.
+     * @return [Scheduler] of the thread pool.
+     */
+    fun get(executorService: ExecutorService): Scheduler =
+        this.schedulers[executorService] ?: this.create(executorService, null)
+
+    /**
+     * Retrieves a scheduler by name.
+     * @param name [PARALLEL], [BOUNDED_ELASTIC], or name of a registered thread pool.
+     * @return [Option] of [Scheduler], empty if no thread pool is registered under the name.
+     */
+    fun tryGet(name: String): Option<Scheduler> =
+        when (name) {
+            PARALLEL -> Option.fromNullable(Schedulers.parallel())
+            BOUNDED_ELASTIC -> Option.fromNullable(Schedulers.boundedElastic())
+            else -> Option.fromNullable(this.names[name]).map { this.get(it) }
+        }
+
+    /**
+     * Creates the scheduler of a thread pool, dropping schedulers of thread pools shut down
+     * since, so short-lived thread pools don't accumulate.
+     */
+    private fun create(executorService: ExecutorService, name: String?): Scheduler {
+        this.schedulers.keys.removeIf { it.isShutdown }
+        this.names.values.removeIf { it.isShutdown }
+        return this.schedulers.computeIfAbsent(executorService) {
+            log.debug("booster-task - creating scheduler for thread pool [{}]", name)
+            if (name == null) Schedulers.fromExecutorService(it) else Schedulers.fromExecutorService(it, name)
+        }
+    }
+
+    /**
+     * Removes the scheduler of a thread pool without disposing it, e.g. after the
+     * thread pool has been shut down by its owner.
+     * @param executorService thread pool to remove.
+     */
+    fun remove(executorService: ExecutorService) {
+        this.names.values.removeIf { it === executorService }
+        this.schedulers.remove(executorService)
+    }
+
+    /**
+     * Disposes all schedulers created by the registry, which shuts down their thread pools.
+     * Built-in schedulers are left to Reactor.
+     */
+    fun dispose() {
+        val disposing = this.schedulers.values.toList()
+        this.names.clear()
+        this.schedulers.clear()
+        disposing.forEach { it.dispose() }
+        log.debug("booster-task - disposed [{}] schedulers", disposing.size)
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(SchedulerRegistry::class.java)
+
+        /**
+         * Name of Reactor's [Schedulers.parallel] scheduler, for non-blocking work.
+         */
+        const val PARALLEL = "parallel"
+
+        /**
+         * Name of Reactor's [Schedulers.boundedElastic] scheduler, for blocking work.
+         */
+        const val BOUNDED_ELASTIC = "boundedElastic"
+
+        /**
+         * Registry shared by tasks and thread pools created by the starter.
+         */
+        @JvmField
+        val SHARED = SchedulerRegistry()
+    }
+}
@@ -2,11 +2,11 @@ package io.github.booster.task.util
 
 import arrow.core.Option
 import reactor.core.scheduler.Scheduler
-import reactor.core.scheduler.Schedulers
 import java.util.concurrent.ExecutorService
 
 /**
- * Converts optional executor service to optional scheduler.
+ * Converts optional executor service to optional scheduler. Schedulers are shared
+ * through [SchedulerRegistry.SHARED], so tasks on the same thread pool use the same scheduler.
  */
 fun toScheduler(executorServiceOption: Option<ExecutorService>): Option<Scheduler> =
-    executorServiceOption.map { executorService -> Schedulers.fromExecutorService(executorService) }
+    executorServiceOption.map { executorService -> SchedulerRegistry.SHARED.get(executorService) }
@@ -0,0 +1,96 @@
+package io.github.booster.task.util
+
+import com.google.common.base.Preconditions
+import io.github.booster.commons.metrics.BoundCounter
+import io.github.booster.commons.metrics.BoundTimer
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.FAILURE
+import io.github.booster.task.NAME
+import io.github.booster.task.REASON
+import io.github.booster.task.STATUS
+import io.github.booster.task.SUCCESS
+import io.github.booster.task.TASK_EXECUTION_RESULT_COUNT
+import io.github.booster.task.TASK_EXECUTION_TIME
+import io.github.booster.task.TASK_QUEUE_WAIT_TIME
+import io.github.booster.task.TASK_RUN_TIME
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+
+/**
+ * Meters of a single task, bound once when the task is created so that
+ * recording per execution does not look up meters.
+ * @param registry [MetricsRegistry] to bind meters to.
+ * @param taskName name of task.
+ */
+class TaskMeters(
+    val registry: MetricsRegistry,
+    taskName: String
+) {
+
+    /**
+     * Success counter.
+     */
+    val successCounter: BoundCounter
+
+    /**
+     * Execution timer.
+     */
+    val executionTimer: BoundTimer
+
+    /**
+     * Queue wait timer, time between a request arriving and the task starting on its thread pool.
+     * Bound on first use, so tasks that don't run on a thread of their own don't report it.
+     */
+    val queueWaitTimer: BoundTimer by lazy {
+        registry.boundTimer(
+            TASK_QUEUE_WAIT_TIME,
+            NAME, taskName
+        )
+    }
+
+    /**
+     * Run timer, time between the task starting on its thread and completing.
+     * Bound on first use, so composite tasks don't report it.
+     */
+    val runTimer: BoundTimer by lazy {
+        registry.boundTimer(
+            TASK_RUN_TIME,
+            NAME, taskName
+        )
+    }
+
+    private val name: String
+
+    // failure reason is the exception class, bound lazily per class.
+    private val failureCounters: ConcurrentMap<Class<*>, BoundCounter> = ConcurrentHashMap()
+
+    init {
+        Preconditions.checkArgument(taskName.isNotBlank(), "task name cannot be blank")
+        this.name = taskName
+        this.successCounter = registry.boundCounter(
+            TASK_EXECUTION_RESULT_COUNT,
+            NAME, taskName,
+            STATUS, SUCCESS,
+            REASON, SUCCESS
+        )
+        this.executionTimer = registry.boundTimer(
+            TASK_EXECUTION_TIME,
+            NAME, taskName
+        )
+    }
+
+    /**
+     * Failure counter for the exception's type.
+     * @param t exception to be recorded.
+     * @return [BoundCounter]
+     */
+    fun failureCounter(t: Throwable): BoundCounter =
+        this.failureCounters[t.javaClass] ?: this.failureCounters.computeIfAbsent(t.javaClass) {
+            registry.boundCounter(
+                TASK_EXECUTION_RESULT_COUNT,
+                NAME, this.name,
+                STATUS, FAILURE,
+                REASON, it.simpleName
+            )
+        }
+}
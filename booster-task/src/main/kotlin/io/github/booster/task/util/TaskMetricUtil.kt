@@ -78,3 +78,50 @@ fun recordTime(
         NAME, taskName
     )
 }
+
+/**
+ * Record success counter with pre-bound meters.
+ * @param response success response.
+ * @param log [Logger]
+ * @param meters [TaskMeters] of the task.
+ * @param taskName name of task.
+ * @param <T> type of response.
+</T> */
+fun <T> recordSuccessCount(
+    response: T?,
+    log: Logger,
+    meters: TaskMeters,
+    taskName: String,
+) {
+    log.debug("booster-task - task[{}] produced result: [{}]", taskName, response)
+    meters.successCounter.increment()
+}
+
+/**
+ * Record failure counter with pre-bound meters.
+ * @param t exception to be recorded.
+ * @param log [Logger]
+ * @param meters [TaskMeters] of the task.
+ * @param taskName name of task.
+ */
+fun recordFailureCount(
+    t: Throwable,
+    log: Logger,
+    meters: TaskMeters,
+    taskName: String,
+) {
+    log.error("booster-task - task[{}] produced exception", taskName, t)
+    meters.failureCounter(t).increment()
+}
+
+/**
+ * Record time spent for task execution with pre-bound meters.
+ * @param meters [TaskMeters] of the task.
+ * @param sampleOption optional [Timer.Sample]
+ */
+fun recordTime(
+    meters: TaskMeters,
+    sampleOption: Option<Timer.Sample>,
+) {
+    meters.executionTimer.record(sampleOption)
+}
@@ -0,0 +1,145 @@
+package io.github.booster.task
+
+import arrow.core.Either
+import arrow.core.Option
+import io.github.booster.commons.deadline.DeadlineExceededException
+import io.github.booster.commons.retry.RetrySetting
+import io.github.booster.task.impl.asyncTask
+import io.github.booster.task.impl.parallelTask
+import io.github.booster.task.impl.sequentialTask
+import io.github.booster.task.impl.syncTask
+import io.github.booster.task.impl.tuple2Task
+import io.vavr.Tuple
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.instanceOf
+import org.hamcrest.CoreMatchers.`is`
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class DeadlineTest {
+
+    private fun countingTask(calls: AtomicInteger, delay: Duration = Duration.ZERO) =
+        asyncTask<String, Int> {
+            name("length")
+            processor {
+                calls.incrementAndGet()
+                Mono.just(Option.fromNullable(it.length)).delayElement(delay)
+            }
+        }.build()
+
+    private fun assertDeadlineExceeded(response: Either<Throwable, *>) {
+        assertThat(response.isLeft(), `is`(true))
+        response.mapLeft { assertThat(it, instanceOf(DeadlineExceededException::class.java)) }
+    }
+
+    @Test
+    fun `should execute within deadline`() {
+        val calls = AtomicInteger(0)
+        StepVerifier.create(countingTask(calls).execute("abc").withDeadline(Duration.ofSeconds(1)))
+            .expectNext(Either.Right(Option.fromNullable(3)))
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(1))
+    }
+
+    @Test
+    fun `should not execute after deadline`() {
+        val calls = AtomicInteger(0)
+        StepVerifier.create(countingTask(calls).execute("abc").withDeadline(Duration.ZERO))
+            .consumeNextWith { assertDeadlineExceeded(it) }
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(0))
+    }
+
+    @Test
+    fun `should not execute second task after deadline`() {
+        val calls = AtomicInteger(0)
+        val secondCalls = AtomicInteger(0)
+        val task = sequentialTask {
+            firstTask(countingTask(calls, Duration.ofMillis(100)))
+            secondTask(syncTask<Int, String> {
+                name("string")
+                processor {
+                    secondCalls.incrementAndGet()
+                    Option.fromNullable(it.toString())
+                }
+            }.build())
+        }.build()
+
+        StepVerifier.create(task.execute("abc").withDeadline(Duration.ofMillis(50)))
+            .consumeNextWith { assertDeadlineExceeded(it) }
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(1))
+        assertThat(secondCalls.get(), equalTo(0))
+    }
+
+    @Test
+    fun `should not fan out after deadline`() {
+        val calls = AtomicInteger(0)
+        val task = parallelTask {
+            task(countingTask(calls))
+        }.build()
+
+        StepVerifier.create(task.execute(listOf("a", "ab")).withDeadline(Duration.ZERO))
+            .consumeNextWith { assertDeadlineExceeded(it) }
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(0))
+    }
+
+    @Test
+    fun `should not execute tuple after deadline`() {
+        val calls = AtomicInteger(0)
+        val task = tuple2Task {
+            name("tuple")
+            firstTask(countingTask(calls))
+            secondTask(countingTask(calls))
+        }.build()
+
+        StepVerifier.create(
+            task.execute(Tuple.of(Option.fromNullable("a"), Option.fromNullable("ab")))
+                .withDeadline(Duration.ZERO)
+        ).consumeNextWith { assertDeadlineExceeded(it) }
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(0))
+    }
+
+    @Test
+    fun `should stop retries after deadline`() {
+        val calls = AtomicInteger(0)
+        val setting = RetrySetting()
+        setting.maxAttempts = 10
+        setting.initialBackOffMillis = 50
+        val task = syncTask<String, Int> {
+            name("retry")
+            retryOption(setting.buildRetry("retry"))
+            processor {
+                calls.incrementAndGet()
+                throw IllegalStateException()
+            }
+        }.build()
+
+        StepVerifier.create(task.execute("abc").withDeadline(Duration.ofMillis(120)))
+            .consumeNextWith { assertDeadlineExceeded(it) }
+            .verifyComplete()
+        assertThat(calls.get() < 10, `is`(true))
+    }
+
+    @Test
+    fun `should keep earlier deadline`() {
+        StepVerifier.create(
+            Mono.deferContextual { Mono.just(remainingBudget(it)) }
+                .withDeadline(Duration.ofSeconds(1))
+                .withDeadline(Duration.ofSeconds(10))
+        ).consumeNextWith {
+            assertThat(it.isDefined(), `is`(true))
+            assertThat(it.orNull()!! <= Duration.ofSeconds(1), `is`(true))
+        }.verifyComplete()
+
+        StepVerifier.create(Mono.deferContextual { Mono.just(remainingBudget(it)) })
+            .expectNext(Option.fromNullable(null))
+            .verifyComplete()
+    }
+}
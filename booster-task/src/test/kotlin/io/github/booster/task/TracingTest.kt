@@ -0,0 +1,198 @@
+package io.github.booster.task
+
+import arrow.core.Option
+import io.github.booster.commons.circuit.breaker.CircuitBreakerSetting
+import io.github.booster.commons.retry.RetrySetting
+import io.github.booster.task.impl.sequentialTask
+import io.github.booster.task.impl.syncTask
+import io.opentelemetry.api.trace.StatusCode
+import io.opentelemetry.api.trace.Tracer
+import io.opentelemetry.context.Context
+import io.opentelemetry.sdk.common.CompletableResultCode
+import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor
+import io.opentelemetry.sdk.trace.export.SpanExporter
+import io.opentelemetry.sdk.trace.samplers.Sampler
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.notNullValue
+import org.hamcrest.MatcherAssert.assertThat
+import org.hamcrest.Matchers.hasSize
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.Executors
+
+internal class TracingTest {
+
+    private class CollectingExporter : SpanExporter {
+
+        val spans = ConcurrentLinkedQueue<SpanData>()
+
+        override fun export(spans: MutableCollection<SpanData>): CompletableResultCode {
+            this.spans.addAll(spans)
+            return CompletableResultCode.ofSuccess()
+        }
+
+        override fun flush(): CompletableResultCode = CompletableResultCode.ofSuccess()
+
+        override fun shutdown(): CompletableResultCode = CompletableResultCode.ofSuccess()
+
+        fun span(name: String): SpanData = this.spans.first { it.name == name }
+    }
+
+    private val exporter = CollectingExporter()
+
+    private fun tracer(sampler: Sampler = Sampler.alwaysOn()): Tracer =
+        SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(this.exporter))
+            .setSampler(sampler)
+            .build()
+            .get("booster-task")
+
+    @Test
+    fun `should record task attributes`() {
+        val retrySetting = RetrySetting()
+        retrySetting.maxAttempts = 3
+        retrySetting.initialBackOffMillis = 1
+        val task = syncTask<String, Int> {
+            name("length")
+            retryOption(retrySetting.buildRetry("length"))
+            circuitBreakerOption(Option.fromNullable(CircuitBreakerSetting().buildCircuitBreaker("length").orNull))
+            tracerOption(Option.fromNullable(tracer()))
+            processor { throw IllegalStateException("failed") }
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.isLeft(), equalTo(true)) }
+            .verifyComplete()
+
+        assertThat(this.exporter.spans, hasSize(1))
+        val span = this.exporter.span("length")
+        assertThat(span.attributes.get(TASK_NAME_ATTRIBUTE), equalTo("length"))
+        assertThat(span.attributes.get(TASK_ATTEMPTS_ATTRIBUTE), equalTo(3L))
+        assertThat(span.attributes.get(TASK_CIRCUIT_BREAKER_STATE_ATTRIBUTE), equalTo("CLOSED"))
+        assertThat(span.attributes.get(TASK_SCHEDULER_ATTRIBUTE), equalTo("calling_thread"))
+        assertThat(span.status.statusCode, equalTo(StatusCode.ERROR))
+    }
+
+    @Test
+    fun `should record queue wait on thread pool`() {
+        val executor = Executors.newSingleThreadExecutor()
+        try {
+            val task = syncTask<String, Int> {
+                name("length")
+                executorOption(Option.fromNullable(executor))
+                tracerOption(Option.fromNullable(tracer()))
+                processor { Option.fromNullable(it.length) }
+            }.build()
+
+            StepVerifier.create(task.execute("abc"))
+                .consumeNextWith { assertThat(it.orNull()?.orNull(), equalTo(3)) }
+                .verifyComplete()
+
+            val span = this.exporter.span("length")
+            assertThat(span.attributes.get(TASK_QUEUE_WAIT_ATTRIBUTE), notNullValue())
+            assertThat(span.attributes.get(TASK_ATTEMPTS_ATTRIBUTE), equalTo(1L))
+            assertThat(span.status.statusCode, equalTo(StatusCode.UNSET))
+        } finally {
+            executor.shutdown()
+        }
+    }
+
+    @Test
+    fun `should parent task spans to composite span`() {
+        val tracer = Option.fromNullable(tracer())
+        val first = syncTask<String, Int> {
+            name("length")
+            tracerOption(tracer)
+            processor { Option.fromNullable(it.length) }
+        }.build()
+        val second = syncTask<Int, String> {
+            name("string")
+            tracerOption(tracer)
+            processor { Option.fromNullable(it.toString()) }
+        }.build()
+        val task = sequentialTask<String, Int, String> {
+            name("seq")
+            firstTask(first)
+            secondTask(second)
+            tracerOption(tracer)
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.orNull()?.orNull(), equalTo("3")) }
+            .verifyComplete()
+
+        assertThat(this.exporter.spans, hasSize(3))
+        val parent = this.exporter.span("seq")
+        assertThat(this.exporter.span("length").parentSpanId, equalTo(parent.spanId))
+        assertThat(this.exporter.span("string").parentSpanId, equalTo(parent.spanId))
+        assertThat(this.exporter.span("length").traceId, equalTo(parent.traceId))
+    }
+
+    @Test
+    fun `should parent task span to trace context`() {
+        val tracer = tracer()
+        val task = syncTask<String, Int> {
+            name("length")
+            tracerOption(Option.fromNullable(tracer))
+            processor { Option.fromNullable(it.length) }
+        }.build()
+
+        val request = tracer.spanBuilder("request").startSpan()
+        StepVerifier.create(task.execute("abc").withTraceContext(Context.root().with(request)))
+            .consumeNextWith { assertThat(it.orNull()?.orNull(), equalTo(3)) }
+            .verifyComplete()
+        request.end()
+
+        val span = this.exporter.span("length")
+        assertThat(span.parentSpanId, equalTo(request.spanContext.spanId))
+        assertThat(span.traceId, equalTo(request.spanContext.traceId))
+    }
+
+    @Test
+    fun `should not trace without tracer`() {
+        tracer()
+        val task = syncTask<String, Int> {
+            name("length")
+            processor { Option.fromNullable(it.length) }
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.orNull()?.orNull(), equalTo(3)) }
+            .verifyComplete()
+        assertThat(this.exporter.spans, hasSize(0))
+    }
+
+    @Test
+    fun `should not record unsampled span`() {
+        val task = syncTask<String, Int> {
+            name("length")
+            tracerOption(Option.fromNullable(tracer(Sampler.alwaysOff())))
+            processor { Option.fromNullable(it.length) }
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.orNull()?.orNull(), equalTo(3)) }
+            .verifyComplete()
+        assertThat(this.exporter.spans, hasSize(0))
+    }
+
+    @Test
+    fun `should end span once when execution completes empty or fails`() {
+        val tracer = tracer()
+
+        StepVerifier.create(
+            traced<String, Int>(tracer, "empty", { }, Mono.just("abc")) { Mono.empty() }
+        ).verifyComplete()
+        StepVerifier.create(
+            traced<String, Int>(tracer, "error", { }, Mono.just("abc")) { Mono.error(IllegalStateException()) }
+        ).verifyError(IllegalStateException::class.java)
+
+        assertThat(this.exporter.spans, hasSize(2))
+        assertThat(this.exporter.span("empty").status.statusCode, equalTo(StatusCode.UNSET))
+        assertThat(this.exporter.span("error").status.statusCode, equalTo(StatusCode.ERROR))
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.Maybe
+import io.github.booster.task.Task
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.instanceOf
+import org.hamcrest.MatcherAssert.assertThat
+import org.hamcrest.Matchers.contains
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.Collections
+
+internal class AnyOfTaskTest {
+
+    private val meterRegistry = SimpleMeterRegistry()
+
+    private val started: MutableList<String> = Collections.synchronizedList(mutableListOf())
+
+    private val cancelled: MutableList<String> = Collections.synchronizedList(mutableListOf())
+
+    /**
+     * Responds with its name after the delay, fails if failing, never responds without a delay.
+     */
+    private fun alternative(name: String, delay: Duration?, failing: Boolean = false): Task<String, String> =
+        asyncTask<String, String> {
+            name(name)
+            processor {
+                started.add(name)
+                when {
+                    failing -> Mono.error(IllegalStateException(name))
+                    delay == null -> Mono.never<Option<String>>().doOnCancel { cancelled.add(name) }
+                    else -> Mono.just(Option.fromNullable("$it,$name"))
+                        .delayElement(delay)
+                        .doOnCancel { cancelled.add(name) }
+                }
+            }
+        }.build()
+
+    private fun won(name: String): Double =
+        this.meterRegistry.find("task_race_won_count").tags("name", "race", "alternative", name)
+            .counter()?.count() ?: 0.0
+
+    @Test
+    fun `should fail to create`() {
+        assertThrows(IllegalArgumentException::class.java) {
+            raceTask<String, String> {
+                task(alternative("primary", null))
+            }.build()
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            raceTask<String, String> {
+                task(alternative("primary", null))
+                task(alternative("secondary", null))
+                stagger(Duration.ofMillis(-1))
+            }.build()
+        }
+    }
+
+    @Test
+    fun `should return first response`() {
+        val task = raceTask {
+            name("race")
+            registry(MetricsRegistry(meterRegistry))
+            task(alternative("primary", null))
+            task(alternative("secondary", Duration.ofMillis(10)))
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc,secondary")))
+            .verifyComplete()
+        assertThat(this.started, contains("primary", "secondary"))
+        assertThat(this.cancelled, contains("primary"))
+        assertThat(this.won("secondary"), equalTo(1.0))
+        assertThat(this.won("primary"), equalTo(0.0))
+    }
+
+    @Test
+    fun `should not start alternatives if first responds within stagger`() {
+        val task = raceTask {
+            task(alternative("primary", Duration.ofMillis(10)))
+            task(alternative("secondary", Duration.ofMillis(10)))
+            stagger(Duration.ofMillis(200))
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc,primary")))
+            .verifyComplete()
+        assertThat(this.started, contains("primary"))
+        assertThat(task.name, equalTo("any_of_primary_secondary"))
+    }
+
+    @Test
+    fun `should start alternative after stagger`() {
+        val task = raceTask {
+            task(alternative("primary", null))
+            task(alternative("secondary", Duration.ofMillis(10)))
+            stagger(Duration.ofMillis(50))
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc,secondary")))
+            .verifyComplete()
+        assertThat(this.started, contains("primary", "secondary"))
+        assertThat(this.cancelled, contains("primary"))
+    }
+
+    @Test
+    fun `should start alternative right away on failure`() {
+        val task = raceTask {
+            task(alternative("primary", null, true))
+            task(alternative("secondary", Duration.ofMillis(10)))
+            task(alternative("tertiary", Duration.ofMillis(10)))
+            stagger(Duration.ofSeconds(10))
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc,secondary")))
+            .expectComplete()
+            .verify(Duration.ofSeconds(1))
+        assertThat(this.started, contains("primary", "secondary"))
+    }
+
+    @Test
+    fun `should wait for stagger while a started alternative is running`() {
+        val task = raceTask {
+            task(alternative("primary", Duration.ofMillis(300)))
+            task(alternative("secondary", null, true))
+            task(alternative("tertiary", Duration.ofMillis(10)))
+            stagger(Duration.ofMillis(200))
+        }.build()
+
+        // secondary fails while primary is still running, so tertiary waits for the stagger delay.
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc,primary")))
+            .expectComplete()
+            .verify(Duration.ofSeconds(1))
+        assertThat(this.started, contains("primary", "secondary"))
+    }
+
+    @Test
+    fun `should fail when alternatives complete empty`() {
+        val empty = object : Task<String, String> {
+            override fun execute(request: Mono<Maybe<String>>): Mono<Maybe<String>> = Mono.empty()
+
+            override val name: String
+                get() = "empty"
+        }
+        val task = raceTask {
+            task(empty)
+            task(empty)
+            stagger(Duration.ofSeconds(10))
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.swap().orNull(), instanceOf(NoSuchElementException::class.java)) }
+            .expectComplete()
+            .verify(Duration.ofSeconds(1))
+    }
+
+    @Test
+    fun `should return first failure if all fail`() {
+        val task = raceTask {
+            task(alternative("primary", null, true))
+            task(alternative("secondary", null, true))
+            stagger(Duration.ofMillis(10))
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith {
+                val failure = it.swap().orNull()
+                assertThat(failure, instanceOf(IllegalStateException::class.java))
+                assertThat(failure?.message, equalTo("primary"))
+            }
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should pass empty request to first alternative`() {
+        val task = raceTask {
+            task(alternative("primary", Duration.ofMillis(1)))
+            task(alternative("secondary", Duration.ofMillis(1)))
+        }.build()
+
+        StepVerifier.create(task.execute(Option.fromNullable(null)))
+            .expectNext(Either.Right(Option.fromNullable(null)))
+            .verifyComplete()
+        assertThat(this.started.isEmpty(), equalTo(true))
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.`is`
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+
+internal class BatchingTaskTest {
+
+    private fun lengthBatchTask(batches: MutableList<List<String>>, registry: MetricsRegistry = MetricsRegistry()) =
+        batchingTask<String, Int> {
+            name("length")
+            registry(registry)
+            maxBatchSize(3)
+            maxBatchWait(Duration.ofMillis(50))
+            processor { requests ->
+                batches.add(requests)
+                if (requests.contains("error")) {
+                    Mono.error(IllegalArgumentException())
+                } else {
+                    Mono.just(requests.filter { it != "missing" }.associateWith { it.length })
+                }
+            }
+        }.build()
+
+    @Test
+    fun `should batch requests`() {
+        val batches = CopyOnWriteArrayList<List<String>>()
+        val meterRegistry = SimpleMeterRegistry()
+        val task = lengthBatchTask(batches, MetricsRegistry(meterRegistry))
+
+        StepVerifier.create(
+            Flux.just("a", "ab", "abc", "abcd", "abcde")
+                .flatMapSequential { task.execute(it) }
+                .collectList()
+        ).consumeNextWith {
+            assertThat(
+                it,
+                equalTo(listOf(1, 2, 3, 4, 5).map { length -> Either.Right(Option.fromNullable(length)) })
+            )
+        }.verifyComplete()
+
+        assertThat(batches.size, equalTo(2))
+        assertThat(batches[0], equalTo(listOf("a", "ab", "abc")))
+        assertThat(batches[1], equalTo(listOf("abcd", "abcde")))
+        assertThat(meterRegistry.get("task_batch_count").counter().count(), equalTo(2.0))
+    }
+
+    @Test
+    fun `should remove duplicate requests`() {
+        val batches = CopyOnWriteArrayList<List<String>>()
+        val task = lengthBatchTask(batches)
+
+        StepVerifier.create(
+            Flux.just("a", "a", "ab")
+                .flatMapSequential { task.execute(it) }
+                .collectList()
+        ).consumeNextWith {
+            assertThat(it.size, equalTo(3))
+            assertThat(it.all { either -> either.isRight() }, `is`(true))
+        }.verifyComplete()
+
+        assertThat(batches.size, equalTo(1))
+        assertThat(batches[0], equalTo(listOf("a", "ab")))
+    }
+
+    @Test
+    fun `should return empty for missing responses`() {
+        val task = lengthBatchTask(CopyOnWriteArrayList())
+
+        StepVerifier.create(task.execute("missing"))
+            .expectNext(Either.Right(Option.fromNullable(null)))
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should fail every request in failed batch`() {
+        val task = lengthBatchTask(CopyOnWriteArrayList())
+
+        StepVerifier.create(
+            Flux.just("a", "error")
+                .flatMapSequential { task.execute(it) }
+                .collectList()
+        ).consumeNextWith {
+            assertThat(it.size, equalTo(2))
+            assertThat(it.all { either -> either.isLeft() }, `is`(true))
+        }.verifyComplete()
+    }
+
+    @Test
+    fun `should wait for slow batches`() {
+        val task = batchingTask<String, Int> {
+            name("length")
+            maxBatchSize(2)
+            maxBatchWait(Duration.ofMillis(10))
+            processor { requests ->
+                Mono.just(requests.associateWith { it.length }).delayElement(Duration.ofMillis(100))
+            }
+        }.build()
+
+        StepVerifier.create(
+            Flux.interval(Duration.ofMillis(5))
+                .take(40)
+                .flatMap { task.execute(it.toString()) }
+                .collectList()
+        ).consumeNextWith {
+            assertThat(it.size, equalTo(40))
+            assertThat(it.all { either -> either.isRight() }, `is`(true))
+        }.verifyComplete()
+    }
+
+    @Test
+    fun `should reject requests after dispose`() {
+        val task = lengthBatchTask(CopyOnWriteArrayList())
+        task.dispose()
+
+        StepVerifier.create(task.execute("a"))
+            .consumeNextWith {
+                assertThat(it.isLeft(), `is`(true))
+            }.verifyComplete()
+        assertThat(task.isDisposed, `is`(true))
+    }
+
+    @Test
+    fun `should fail create task`() {
+        assertThrows(IllegalArgumentException::class.java) {
+            batchingTask<String, Int> {
+                name("length")
+            }.build()
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            batchingTask<String, Int> {
+                name("length")
+                maxBatchSize(0)
+                processor { Mono.just(mapOf()) }
+            }.build()
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            batchingTask<String, Int> {
+                name("length")
+                maxBatchWait(Duration.ZERO)
+                processor { Mono.just(mapOf()) }
+            }.build()
+        }
+    }
+}
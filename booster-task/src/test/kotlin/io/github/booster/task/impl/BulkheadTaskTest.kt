@@ -0,0 +1,119 @@
+package io.github.booster.task.impl
+
+import arrow.core.Option
+import io.github.booster.commons.bulkhead.BulkheadSetting
+import io.github.booster.commons.deadline.DeadlineExceededException
+import io.github.booster.task.withDeadline
+import io.github.resilience4j.bulkhead.BulkheadFullException
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.instanceOf
+import org.hamcrest.CoreMatchers.startsWith
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Mono
+import reactor.core.publisher.Sinks
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class BulkheadTaskTest {
+
+    @Test
+    fun `should reject when bulkhead is full`() {
+        val setting = BulkheadSetting()
+        setting.maxConcurrentCalls = 1
+        val invocations = AtomicInteger(0)
+        val sink = Sinks.one<Option<Int>>()
+        val task = asyncTask<String, Int> {
+            name("length")
+            bulkheadOption(setting.buildBulkhead("length"))
+            processor {
+                invocations.incrementAndGet()
+                sink.asMono()
+            }
+        }.build()
+
+        val first = task.execute("abc").toFuture()
+
+        StepVerifier.create(task.execute("abcd"))
+            .consumeNextWith {
+                assertThat(it.isLeft(), equalTo(true))
+                assertThat(it.swap().orNull(), instanceOf(BulkheadFullException::class.java))
+            }.verifyComplete()
+        assertThat(invocations.get(), equalTo(1))
+
+        sink.tryEmitValue(Option.fromNullable(3))
+        assertThat(first.get().orNull()!!.orNull(), equalTo(3))
+
+        StepVerifier.create(task.execute("abcd"))
+            .consumeNextWith { assertThat(it.isRight(), equalTo(true)) }
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should run on thread pool bulkhead`() {
+        val setting = BulkheadSetting()
+        setting.type = BulkheadSetting.Type.THREAD_POOL
+        setting.coreThreadPoolSize = 1
+        setting.maxThreadPoolSize = 1
+        val task = syncTask<String, String> {
+            name("thread")
+            threadPoolBulkheadOption(setting.buildThreadPoolBulkhead("thread"))
+            processor { Option.fromNullable(Thread.currentThread().name) }
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith {
+                assertThat(it.orNull()!!.orNull()!!, startsWith("bulkhead-thread"))
+            }.verifyComplete()
+    }
+
+    @Test
+    fun `should free thread pool bulkhead thread on cancel`() {
+        val setting = BulkheadSetting()
+        setting.type = BulkheadSetting.Type.THREAD_POOL
+        setting.coreThreadPoolSize = 1
+        setting.maxThreadPoolSize = 1
+        val invocations = AtomicInteger(0)
+        val task = asyncTask<String, Int> {
+            name("length")
+            threadPoolBulkheadOption(setting.buildThreadPoolBulkhead("length"))
+            processor {
+                if (invocations.incrementAndGet() == 1) Mono.never() else Mono.just(Option.fromNullable(it.length))
+            }
+        }.build()
+
+        val hanging = task.execute("abc").subscribe()
+        Thread.sleep(100)
+        hanging.dispose()
+
+        StepVerifier.create(task.execute("abcd"))
+            .consumeNextWith { assertThat(it.orNull()!!.orNull(), equalTo(4)) }
+            .expectComplete()
+            .verify(Duration.ofSeconds(1))
+    }
+
+    @Test
+    fun `should keep deadline on thread pool bulkhead`() {
+        val setting = BulkheadSetting()
+        setting.type = BulkheadSetting.Type.THREAD_POOL
+        val invocations = AtomicInteger(0)
+        val task = asyncTask<String, Int> {
+            name("length")
+            threadPoolBulkheadOption(setting.buildThreadPoolBulkhead("length"))
+            processor {
+                invocations.incrementAndGet()
+                Mono.just(Option.fromNullable(it.length))
+            }
+        }.build()
+
+        StepVerifier.create(
+            Mono.delay(Duration.ofMillis(50))
+                .flatMap { task.execute("abc") }
+                .withDeadline(Duration.ofMillis(10))
+        ).consumeNextWith {
+            assertThat(it.swap().orNull(), instanceOf(DeadlineExceededException::class.java))
+        }.verifyComplete()
+        assertThat(invocations.get(), equalTo(0))
+    }
+}
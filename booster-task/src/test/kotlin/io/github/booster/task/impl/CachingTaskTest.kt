@@ -0,0 +1,258 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import com.google.common.base.Ticker
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.CacheContext
+import io.github.booster.task.lengthTask
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+internal class CachingTaskTest {
+
+    private class FakeTicker : Ticker() {
+        val nanos = AtomicLong(0)
+
+        override fun read(): Long = this.nanos.get()
+
+        fun advance(duration: Duration) {
+            this.nanos.addAndGet(duration.toNanos())
+        }
+    }
+
+    private fun countingTask(calls: AtomicInteger, release: CountDownLatch? = null) =
+        syncTask<String, Int> {
+            name("length")
+            processor {
+                // every call after the first waits for release, if given.
+                if (calls.incrementAndGet() > 1) {
+                    release?.await(5, TimeUnit.SECONDS)
+                }
+                if (it == "error") {
+                    throw IllegalArgumentException()
+                }
+                Option.fromNullable(it.length)
+            }
+        }.build()
+
+    private fun tickingTask(
+        calls: AtomicInteger,
+        cacheContext: CacheContext,
+        registry: MetricsRegistry,
+        ticker: Ticker,
+        release: CountDownLatch? = null
+    ) = CachingTask(countingTask(calls, release), { it as Any }, cacheContext, registry, ticker)
+
+    private fun await(condition: () -> Boolean) {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        while (!condition() && System.nanoTime() < deadline) {
+            Thread.sleep(10)
+        }
+    }
+
+    private fun refreshContext() =
+        CacheContext(
+            10,
+            Option.fromNullable(null),
+            Option.fromNullable(null),
+            Option.fromNullable(Duration.ofSeconds(1))
+        )
+
+    @Test
+    fun `should cache responses`() {
+        val calls = AtomicInteger(0)
+        val meterRegistry = SimpleMeterRegistry()
+        val task = cachingTask {
+            task(countingTask(calls))
+            registry(MetricsRegistry(meterRegistry))
+        }.build()
+
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .verifyComplete()
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .verifyComplete()
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable(3)))
+            .verifyComplete()
+
+        assertThat(calls.get(), equalTo(2))
+        assertThat(
+            meterRegistry.get("task_cache_count").tag("result", "hit").counter().count(),
+            equalTo(1.0)
+        )
+        assertThat(
+            meterRegistry.get("task_cache_count").tag("result", "miss").counter().count(),
+            equalTo(2.0)
+        )
+        assertThat(task.name, equalTo("length"))
+    }
+
+    @Test
+    fun `should expire responses`() {
+        val calls = AtomicInteger(0)
+        val ticker = FakeTicker()
+        val task = tickingTask(
+            calls,
+            CacheContext(10, Option.fromNullable(Duration.ofSeconds(1))),
+            MetricsRegistry(),
+            ticker
+        )
+
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .verifyComplete()
+        ticker.advance(Duration.ofMillis(500))
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(1))
+
+        ticker.advance(Duration.ofMillis(600))
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(2))
+    }
+
+    @Test
+    fun `should refresh stale responses`() {
+        val calls = AtomicInteger(0)
+        val ticker = FakeTicker()
+        val task = tickingTask(calls, this.refreshContext(), MetricsRegistry(), ticker)
+
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .verifyComplete()
+        ticker.advance(Duration.ofSeconds(2))
+
+        // stale response is served while refreshing.
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .verifyComplete()
+        this.await { calls.get() == 2 }
+        assertThat(calls.get(), equalTo(2))
+
+        // refreshed response is fresh again.
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(2))
+    }
+
+    @Test
+    fun `should serve hit without waiting for refresh`() {
+        val calls = AtomicInteger(0)
+        val ticker = FakeTicker()
+        val release = CountDownLatch(1)
+        val task = tickingTask(calls, this.refreshContext(), MetricsRegistry(), ticker, release)
+
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .verifyComplete()
+        ticker.advance(Duration.ofSeconds(2))
+
+        // refresh blocks until released, the hit is served regardless.
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(1))
+
+        release.countDown()
+        this.await { calls.get() == 2 }
+        assertThat(calls.get(), equalTo(2))
+    }
+
+    @Test
+    fun `should not cache negative responses`() {
+        val calls = AtomicInteger(0)
+        val task = tickingTask(calls, CacheContext(10), MetricsRegistry(), Ticker.systemTicker())
+
+        StepVerifier.create(task.execute("error"))
+            .expectNextMatches { it.isLeft() }
+            .verifyComplete()
+        StepVerifier.create(task.execute("error"))
+            .expectNextMatches { it.isLeft() }
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(2))
+    }
+
+    @Test
+    fun `should cache negative responses`() {
+        val calls = AtomicInteger(0)
+        val task = tickingTask(
+            calls,
+            CacheContext(10, cacheNegative = true),
+            MetricsRegistry(),
+            Ticker.systemTicker()
+        )
+
+        StepVerifier.create(task.execute("error"))
+            .expectNextMatches { it.isLeft() }
+            .verifyComplete()
+        StepVerifier.create(task.execute("error"))
+            .expectNextMatches { it.isLeft() }
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(1))
+    }
+
+    @Test
+    fun `should count evictions`() {
+        val calls = AtomicInteger(0)
+        val meterRegistry = SimpleMeterRegistry()
+        val task = cachingTask {
+            task(countingTask(calls))
+            registry(MetricsRegistry(meterRegistry))
+            maxSize(1)
+        }.build()
+
+        StepVerifier.create(task.execute("a"))
+            .expectNext(Either.Right(Option.fromNullable(1)))
+            .verifyComplete()
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .verifyComplete()
+        assertThat(
+            meterRegistry.get("task_cache_count").tag("result", "eviction").counter().count(),
+            equalTo(1.0)
+        )
+    }
+
+    @Test
+    fun `should not cache empty requests`() {
+        val task = cachingTask {
+            task(lengthTask)
+        }.build()
+
+        StepVerifier.create(task.execute(Mono.just(Either.Right(Option.fromNullable(null)))))
+            .expectNext(Either.Right(Option.fromNullable(0)))
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should fail create task`() {
+        assertThrows(IllegalArgumentException::class.java) {
+            cachingTask<String, Int> {
+                maxSize(10)
+            }.build()
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            cachingTask<String, Int> {
+                task(lengthTask)
+                maxSize(0)
+            }.build()
+        }
+    }
+}
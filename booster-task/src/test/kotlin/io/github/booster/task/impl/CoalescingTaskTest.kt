@@ -0,0 +1,112 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.lengthTask
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.`is`
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class CoalescingTaskTest {
+
+    private fun countingTask(calls: AtomicInteger, registry: MetricsRegistry) =
+        asyncTask<String, Int> {
+            name("length")
+            registry(registry)
+            coalescing { it }
+            processor {
+                calls.incrementAndGet()
+                Mono.just(Option.fromNullable(it.length))
+                    .delayElement(Duration.ofMillis(50))
+            }
+        }.build()
+
+    @Test
+    fun `should coalesce concurrent requests`() {
+        val calls = AtomicInteger(0)
+        val meterRegistry = SimpleMeterRegistry()
+        val task = countingTask(calls, MetricsRegistry(meterRegistry))
+
+        StepVerifier.create(
+            Flux.range(0, 10)
+                .flatMap { task.execute(if (it % 2 == 0) "ab" else "abc") }
+                .collectList()
+        ).consumeNextWith {
+            assertThat(it.size, equalTo(10))
+            assertThat(it.count { either -> either == Either.Right(Option.fromNullable(2)) }, equalTo(5))
+            assertThat(it.count { either -> either == Either.Right(Option.fromNullable(3)) }, equalTo(5))
+        }.verifyComplete()
+
+        assertThat(calls.get(), equalTo(2))
+        assertThat(meterRegistry.get("task_coalesced_count").counter().count(), equalTo(8.0))
+    }
+
+    @Test
+    fun `should execute again after completion`() {
+        val calls = AtomicInteger(0)
+        val task = countingTask(calls, MetricsRegistry())
+
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .verifyComplete()
+        StepVerifier.create(task.execute("ab"))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(2))
+    }
+
+    @Test
+    fun `should share errors`() {
+        val calls = AtomicInteger(0)
+        val task = syncTask<String, Int> {
+            name("error")
+            coalescing { it }
+            processor {
+                calls.incrementAndGet()
+                Thread.sleep(50)
+                throw IllegalStateException()
+            }
+        }.build()
+
+        StepVerifier.create(
+            Flux.range(0, 3)
+                .flatMap { Mono.just("a").delayElement(Duration.ofMillis(it.toLong())).flatMap { req -> task.execute(req) } }
+                .collectList()
+        ).consumeNextWith {
+            assertThat(it.size, equalTo(3))
+            assertThat(it.all { either -> either.isLeft() }, `is`(true))
+        }.verifyComplete()
+        assertThat(calls.get(), equalTo(1))
+    }
+
+    @Test
+    fun `should not coalesce empty requests`() {
+        val task = coalescingTask {
+            task(lengthTask)
+            key { it }
+        }.build()
+
+        StepVerifier.create(task.execute(Option.fromNullable(null)))
+            .expectNext(Either.Right(Option.fromNullable(0)))
+            .verifyComplete()
+        assertThat(task.name, equalTo(lengthTask.name))
+    }
+
+    @Test
+    fun `should fail create task`() {
+        assertThrows(IllegalArgumentException::class.java) {
+            coalescingTask<String, Int> {
+                task(lengthTask)
+            }.build()
+        }
+    }
+}
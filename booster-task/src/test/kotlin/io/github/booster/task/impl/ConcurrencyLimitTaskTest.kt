@@ -0,0 +1,125 @@
+package io.github.booster.task.impl
+
+import arrow.core.Option
+import io.github.booster.commons.concurrency.AdaptiveLimit
+import io.github.booster.commons.concurrency.ConcurrencyLimitExceededException
+import io.github.booster.commons.concurrency.ConcurrencyLimiter
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.instanceOf
+import org.hamcrest.Matchers.lessThan
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Mono
+import reactor.core.publisher.Sinks
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class ConcurrencyLimitTaskTest {
+
+    private class FixedLimit(override val limit: Int) : AdaptiveLimit {
+        var samples = 0
+        var drops = 0
+        var lastRttNanos = 0L
+
+        override fun onSample(rttNanos: Long, inFlight: Int, dropped: Boolean) {
+            this.samples++
+            this.lastRttNanos = rttNanos
+            if (dropped) {
+                this.drops++
+            }
+        }
+    }
+
+    @Test
+    fun `should reject over limit`() {
+        val limit = FixedLimit(1)
+        val limiter = ConcurrencyLimiter("length", limit)
+        val invocations = AtomicInteger(0)
+        val sink = Sinks.one<Option<Int>>()
+        val task = asyncTask<String, Int> {
+            name("length")
+            concurrencyLimiterOption(Option.fromNullable(limiter))
+            processor {
+                invocations.incrementAndGet()
+                sink.asMono()
+            }
+        }.build()
+
+        val first = task.execute("abc").toFuture()
+        assertThat(limiter.inFlightCount, equalTo(1))
+
+        StepVerifier.create(task.execute("abcd"))
+            .consumeNextWith {
+                assertThat(it.isLeft(), equalTo(true))
+                assertThat(it.swap().orNull(), instanceOf(ConcurrencyLimitExceededException::class.java))
+            }.verifyComplete()
+        assertThat(invocations.get(), equalTo(1))
+
+        sink.tryEmitValue(Option.fromNullable(3))
+        assertThat(first.get().orNull()!!.orNull(), equalTo(3))
+        assertThat(limiter.inFlightCount, equalTo(0))
+        assertThat(limit.samples, equalTo(1))
+    }
+
+    @Test
+    fun `should shrink on timeout`() {
+        val limit = FixedLimit(10)
+        val limiter = ConcurrencyLimiter("length", limit)
+        val task = asyncTask<String, Int> {
+            name("length")
+            concurrencyLimiterOption(Option.fromNullable(limiter))
+            processor { Mono.error(TimeoutException("timed out")) }
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.isLeft(), equalTo(true)) }
+            .verifyComplete()
+        assertThat(limiter.inFlightCount, equalTo(0))
+        assertThat(limit.drops, equalTo(1))
+    }
+
+    @Test
+    fun `should ignore other failures`() {
+        val limit = FixedLimit(10)
+        val limiter = ConcurrencyLimiter("length", limit)
+        val task = asyncTask<String, Int> {
+            name("length")
+            concurrencyLimiterOption(Option.fromNullable(limiter))
+            processor { Mono.error(IllegalStateException("failed")) }
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.isLeft(), equalTo(true)) }
+            .verify(Duration.ofSeconds(1))
+        assertThat(limiter.inFlightCount, equalTo(0))
+        assertThat(limit.samples, equalTo(0))
+    }
+
+    @Test
+    fun `should not count upstream time`() {
+        val limit = FixedLimit(1)
+        val limiter = ConcurrencyLimiter("str", limit)
+        val upstreamSink = Sinks.one<Option<Int>>()
+        val first = asyncTask<String, Int> {
+            name("length")
+            processor { upstreamSink.asMono() }
+        }.build()
+        val second = asyncTask<Int, String> {
+            name("str")
+            concurrencyLimiterOption(Option.fromNullable(limiter))
+            processor { Mono.just(Option.fromNullable(it.toString())) }
+        }.build()
+
+        val response = second.execute(first.execute("abc")).toFuture()
+        Thread.sleep(200)
+        assertThat(limiter.inFlightCount, equalTo(0))
+
+        upstreamSink.tryEmitValue(Option.fromNullable(3))
+        assertThat(response.get().orNull()!!.orNull(), equalTo("3"))
+        assertThat(limiter.inFlightCount, equalTo(0))
+        assertThat(limit.samples, equalTo(1))
+        assertThat(limit.lastRttNanos, lessThan(Duration.ofMillis(200).toNanos()))
+    }
+}
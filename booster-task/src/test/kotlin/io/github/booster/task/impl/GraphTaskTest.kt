@@ -0,0 +1,199 @@
+package io.github.booster.task.impl
+
+import arrow.core.Option
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.NODE
+import io.github.booster.task.STATUS
+import io.github.booster.task.TASK_GRAPH_NODE_TIME
+import io.github.booster.task.Task
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.instanceOf
+import org.hamcrest.MatcherAssert.assertThat
+import org.hamcrest.Matchers.greaterThan
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class GraphTaskTest {
+
+    private val length = NodeKey<Int>("length")
+    private val upper = NodeKey<String>("upper")
+    private val doubled = NodeKey<Int>("doubled")
+    private val summary = NodeKey<String>("summary")
+
+    private val inFlight = AtomicInteger(0)
+    private val maxInFlight = AtomicInteger(0)
+
+    private fun <Request, Response> delayedTask(
+        name: String,
+        counter: AtomicInteger,
+        process: (Request) -> Response
+    ): Task<Request, Response> =
+        asyncTask<Request, Response> {
+            name(name)
+            processor {
+                counter.incrementAndGet()
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), ::maxOf)
+                Mono.delay(Duration.ofMillis(100))
+                    .map<Option<Response>> { _ -> Option.fromNullable(process(it)) }
+                    .doOnSuccess { inFlight.decrementAndGet() }
+            }
+        }.build()
+
+    @Test
+    fun `should execute diamond once per node`() {
+        val counter = AtomicInteger(0)
+        val task = graphTask<String, String> {
+            name("diamond")
+            node(length, delayedTask<String, Int>("length", counter) { it.length })
+            node(upper, delayedTask<String, String>("upper", counter) { it.uppercase() })
+            node(doubled, delayedTask<Int, Int>("doubled", counter) { it * 2 }, length) { it[length] }
+            node(
+                summary,
+                syncTask<String, String> { name("summary"); processor { Option.fromNullable(it) } }.build(),
+                upper, doubled
+            ) { "${it[upper]}:${it[doubled]}" }
+            output(summary)
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.orNull()!!.orNull(), equalTo("ABC:6")) }
+            .verifyComplete()
+        // length and upper are independent and run concurrently.
+        assertThat(maxInFlight.get(), greaterThan(1))
+        assertThat(counter.get(), equalTo(3))
+    }
+
+    @Test
+    fun `should pass dependency failure on`() {
+        val invocations = AtomicInteger(0)
+        val task = graphTask<String, Int> {
+            name("failure")
+            node(length, syncTask<String, Int> {
+                name("length")
+                processor { throw IllegalStateException("failed") }
+            }.build())
+            node(doubled, syncTask<Int, Int> {
+                name("doubled")
+                processor {
+                    invocations.incrementAndGet()
+                    Option.fromNullable(it * 2)
+                }
+            }.build(), length) { it[length] }
+            output(doubled)
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith {
+                assertThat(it.isLeft(), equalTo(true))
+                assertThat(it.swap().orNull(), instanceOf(IllegalStateException::class.java))
+            }.verifyComplete()
+        assertThat(invocations.get(), equalTo(0))
+    }
+
+    @Test
+    fun `should aggregate all nodes`() {
+        val task = graphTask<String, String> {
+            name("aggregate")
+            node(length, syncTask<String, Int> {
+                name("length")
+                processor { Option.fromNullable(it.length) }
+            }.build())
+            node(upper, syncTask<String, String> {
+                name("upper")
+                processor { throw IllegalArgumentException("failed") }
+            }.build())
+            aggregator { results ->
+                "${results[length].orNull()!!.orNull()}:${results[upper].isLeft()}"
+            }
+        }.build()
+
+        StepVerifier.create(task.execute("abcd"))
+            .consumeNextWith { assertThat(it.orNull()!!.orNull(), equalTo("4:true")) }
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should fail on undeclared dependency`() {
+        val task = graphTask<String, Boolean> {
+            name("undeclared")
+            node(length, syncTask<String, Int> {
+                name("length")
+                processor { Option.fromNullable(it.length) }
+            }.build())
+            node(upper, syncTask<String, String> {
+                name("upper")
+                processor { Option.fromNullable(it) }
+            }.build()) { it[length].toString() }
+            aggregator { results -> results[upper].isLeft() }
+        }.build()
+
+        StepVerifier.create(task.execute("abcd"))
+            .consumeNextWith { assertThat(it.orNull()!!.orNull(), equalTo(true)) }
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should record node metrics`() {
+        val meterRegistry = SimpleMeterRegistry()
+        val task = graphTask<String, Int> {
+            name("metrics")
+            registry(MetricsRegistry(meterRegistry))
+            node(length, syncTask<String, Int> {
+                name("length")
+                processor { Option.fromNullable(it.length) }
+            }.build())
+            output(length)
+        }.build()
+
+        StepVerifier.create(task.execute("abcd"))
+            .expectNextCount(1)
+            .verifyComplete()
+        assertThat(
+            meterRegistry.get(TASK_GRAPH_NODE_TIME).tag(NODE, "length").tag(STATUS, "success").timer().count(),
+            equalTo(1L)
+        )
+    }
+
+    @Test
+    fun `should not build invalid graph`() {
+        val task = syncTask<Int, Int> {
+            name("identity")
+            processor { Option.fromNullable(it) }
+        }.build()
+
+        assertThrows<IllegalArgumentException> {
+            graphTask<Int, Int> {
+                name("cycle")
+                node(length, task, doubled) { it[doubled] }
+                node(doubled, task, length) { it[length] }
+                output(length)
+            }.build()
+        }
+        assertThrows<IllegalArgumentException> {
+            graphTask<Int, Int> {
+                name("unknown")
+                node(length, task, doubled) { it[doubled] }
+                output(length)
+            }.build()
+        }
+        assertThrows<IllegalArgumentException> {
+            graphTask<Int, Int> {
+                name("duplicate")
+                node(length, task)
+                node(length, task)
+                output(length)
+            }.build()
+        }
+        assertThrows<IllegalArgumentException> {
+            graphTask<Int, Int> {
+                name("no output")
+                node(length, task)
+            }.build()
+        }
+    }
+}
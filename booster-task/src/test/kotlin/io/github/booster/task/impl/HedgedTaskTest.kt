@@ -0,0 +1,199 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.HedgeContext
+import io.github.booster.task.Maybe
+import io.github.booster.task.Task
+import io.github.booster.task.lengthTask
+import io.github.resilience4j.circuitbreaker.CircuitBreaker
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.instanceOf
+import org.hamcrest.CoreMatchers.`is`
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class HedgedTaskTest {
+
+    /**
+     * First execution is slow, later executions are fast.
+     */
+    private fun slowFirstTask(calls: AtomicInteger, cancelled: AtomicInteger) =
+        asyncTask<String, Int> {
+            name("length")
+            processor {
+                val delay = if (calls.incrementAndGet() == 1) 1000L else 10L
+                if (it == "error") {
+                    Mono.error(IllegalArgumentException())
+                } else {
+                    Mono.just(Option.fromNullable(it.length))
+                        .delayElement(Duration.ofMillis(delay))
+                        .doOnCancel { cancelled.incrementAndGet() }
+                }
+            }
+        }.build()
+
+    @Test
+    fun `should hedge slow execution`() {
+        val calls = AtomicInteger(0)
+        val cancelled = AtomicInteger(0)
+        val meterRegistry = SimpleMeterRegistry()
+        val task = hedgedTask {
+            task(slowFirstTask(calls, cancelled))
+            delay(Duration.ofMillis(50))
+            budget(1.0)
+            registry(MetricsRegistry(meterRegistry))
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable(3)))
+            .expectComplete()
+            .verify(Duration.ofMillis(500))
+
+        assertThat(calls.get(), equalTo(2))
+        assertThat(cancelled.get(), equalTo(1))
+        assertThat(
+            meterRegistry.get("task_hedge_count").tag("result", "sent").counter().count(),
+            equalTo(1.0)
+        )
+        assertThat(
+            meterRegistry.get("task_hedge_count").tag("result", "won").counter().count(),
+            equalTo(1.0)
+        )
+        assertThat(task.name, equalTo("length"))
+    }
+
+    @Test
+    fun `should not hedge fast execution`() {
+        val calls = AtomicInteger(0)
+        val cancelled = AtomicInteger(0)
+        val task = hedgedTask {
+            task(slowFirstTask(calls.apply { set(1) }, cancelled))
+            delay(Duration.ofMillis(200))
+            budget(1.0)
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable(3)))
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(2))
+        assertThat(cancelled.get(), equalTo(0))
+    }
+
+    @Test
+    fun `should return failure before hedging`() {
+        val calls = AtomicInteger(0)
+        val task = hedgedTask {
+            task(slowFirstTask(calls, AtomicInteger(0)))
+            delay(Duration.ofMillis(200))
+            budget(1.0)
+        }.build()
+
+        StepVerifier.create(task.execute("error"))
+            .consumeNextWith { assertThat(it.isLeft(), `is`(true)) }
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(1))
+    }
+
+    @Test
+    fun `should not hedge over budget`() {
+        val calls = AtomicInteger(0)
+        val meterRegistry = SimpleMeterRegistry()
+        val task = hedgedTask {
+            task(slowFirstTask(calls, AtomicInteger(0)))
+            delay(Duration.ofMillis(50))
+            budget(0.05)
+            registry(MetricsRegistry(meterRegistry))
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable(3)))
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(1))
+        assertThat(
+            meterRegistry.get("task_hedge_count").tag("result", "rejected").counter().count(),
+            equalTo(1.0)
+        )
+    }
+
+    @Test
+    fun `should not hedge when circuit breaker is not closed`() {
+        val calls = AtomicInteger(0)
+        val circuitBreaker = CircuitBreaker.ofDefaults("hedge")
+        circuitBreaker.transitionToForcedOpenState()
+        val task = HedgedTask(
+            slowFirstTask(calls, AtomicInteger(0)),
+            HedgeContext(Duration.ofMillis(50), budget = 1.0),
+            MetricsRegistry(),
+            Option.fromNullable(circuitBreaker)
+        )
+
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable(3)))
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(1))
+    }
+
+    @Test
+    fun `should fail when executions complete empty`() {
+        val task = HedgedTask(
+            object : Task<String, Int> {
+                override fun execute(request: Mono<Maybe<String>>): Mono<Maybe<Int>> = Mono.empty()
+
+                override val name: String
+                    get() = "empty"
+            },
+            HedgeContext(Duration.ofMillis(10), budget = 1.0),
+            MetricsRegistry()
+        )
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.swap().orNull(), instanceOf(NoSuchElementException::class.java)) }
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should hedge from builder`() {
+        val calls = AtomicInteger(0)
+        val task = syncTask<String, Int> {
+            name("length")
+            hedging(HedgeContext(Duration.ofMillis(50), budget = 1.0))
+            processor {
+                if (calls.incrementAndGet() == 1) {
+                    Thread.sleep(1000)
+                }
+                Option.fromNullable(it.length)
+            }
+            executorOption(Option.fromNullable(java.util.concurrent.Executors.newFixedThreadPool(2)))
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable(3)))
+            .expectComplete()
+            .verify(Duration.ofMillis(500))
+        assertThat(calls.get(), equalTo(2))
+    }
+
+    @Test
+    fun `should fail create task`() {
+        assertThrows(IllegalArgumentException::class.java) {
+            hedgedTask<String, Int> {
+                task(lengthTask)
+            }.build()
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            hedgedTask<String, Int> {
+                task(lengthTask)
+                delay(Duration.ofMillis(10))
+                budget(0.0)
+            }.build()
+        }
+    }
+}
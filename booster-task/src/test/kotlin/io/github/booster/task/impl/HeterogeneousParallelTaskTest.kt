@@ -0,0 +1,127 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import io.github.booster.task.Task
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.instanceOf
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+
+internal class HeterogeneousParallelTaskTest {
+
+    private val lengthTask: Task<String, Int> = syncTask<String, Int> {
+        name("length")
+        processor { Option.fromNullable(it.length) }
+    }.build()
+
+    private val upperTask: Task<String, String> = syncTask<String, String> {
+        name("upper")
+        processor { Option.fromNullable(it.uppercase()) }
+    }.build()
+
+    private val squareTask: Task<Int, Int> = asyncTask<Int, Int> {
+        name("square")
+        processor { Mono.just(Option.fromNullable(it * it)) }
+    }.build()
+
+    @Test
+    fun `should execute more than 8 branches`() {
+        val task = heterogeneousParallelTask<Int, Int> {
+            name("sum")
+            val keys = (0 until 10).map { offset -> branch(squareTask) { it + offset } }
+            aggregator { results -> keys.sumOf { results[it].orNull()!!.orNull()!! } }
+        }.build()
+
+        StepVerifier.create(task.execute(1))
+            .consumeNextWith { assertThat(it.orNull()!!.orNull(), equalTo((1..10).sumOf { it * it })) }
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should aggregate different types`() {
+        val task = heterogeneousParallelTask<String, String> {
+            name("mixed")
+            val length = branch(lengthTask)
+            val upper = branch(upperTask)
+            val square = branch(squareTask) { it.length }
+            aggregator { results ->
+                assertThat(results.size, equalTo(3))
+                "${results[upper].orNull()!!.orNull()}:${results[length].orNull()!!.orNull()}:" +
+                    "${results[square].orNull()!!.orNull()}"
+            }
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.orNull()!!.orNull(), equalTo("ABC:3:9")) }
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should keep branch failures`() {
+        val task = heterogeneousParallelTask<String, Boolean> {
+            name("failure")
+            val length = branch(lengthTask)
+            val failed = branch(squareTask) { throw IllegalStateException("failed") }
+            aggregator { results -> results[length].isRight() && results[failed].isLeft() }
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.orNull()!!.orNull(), equalTo(true)) }
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should pass request exception to branches`() {
+        val task = heterogeneousParallelTask<String, Boolean> {
+            name("exception")
+            val length = branch(lengthTask)
+            val upper = branch(upperTask)
+            aggregator { results -> results[length].isLeft() && results[upper].isLeft() }
+        }.build()
+
+        StepVerifier.create(task.execute(Either.Left(IllegalArgumentException("bad request"))))
+            .consumeNextWith { assertThat(it.orNull()!!.orNull(), equalTo(true)) }
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should reject key of another task`() {
+        lateinit var foreign: BranchKey<Int>
+        heterogeneousParallelTask<String, Int> {
+            name("other")
+            foreign = branch(lengthTask)
+            aggregator { 0 }
+        }.build()
+
+        val task = heterogeneousParallelTask<String, Int> {
+            name("task")
+            branch(lengthTask)
+            aggregator { results -> results[foreign].orNull()!!.orNull() }
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith {
+                assertThat(it.swap().orNull(), instanceOf(IllegalArgumentException::class.java))
+            }.verifyComplete()
+    }
+
+    @Test
+    fun `should not build without branches or aggregator`() {
+        assertThrows<IllegalArgumentException> {
+            heterogeneousParallelTask<String, Int> {
+                name("empty")
+                aggregator { 0 }
+            }.build()
+        }
+        assertThrows<IllegalArgumentException> {
+            heterogeneousParallelTask<String, Int> {
+                name("no aggregator")
+                branch(lengthTask)
+            }.build()
+        }
+    }
+}
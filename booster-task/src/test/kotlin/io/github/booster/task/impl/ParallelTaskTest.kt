@@ -3,8 +3,11 @@ package io.github.booster.task.impl
 import arrow.core.Either
 import arrow.core.Option
 import arrow.core.getOrElse
+import io.github.booster.task.CompletionPolicy
+import io.github.booster.task.QuorumNotReachedException
 import io.github.booster.task.circuitBreakerConfig
 import io.github.booster.task.emptyThreadPool
+import io.github.booster.task.lengthTask
 import io.github.booster.task.retryConfig
 import io.github.booster.task.threadPool
 import io.github.booster.task.util.isAllRight
@@ -12,11 +15,17 @@ import org.hamcrest.CoreMatchers.instanceOf
 import org.hamcrest.CoreMatchers.`is`
 import org.hamcrest.CoreMatchers.notNullValue
 import org.hamcrest.MatcherAssert.assertThat
+import org.hamcrest.Matchers.contains
 import org.hamcrest.Matchers.containsInAnyOrder
 import org.hamcrest.Matchers.hasSize
 import org.junit.jupiter.api.Assertions.assertThrows
 import org.junit.jupiter.api.Test
+import reactor.core.publisher.Mono
 import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.Collections
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
 
 internal class ParallelTaskTest {
 
@@ -253,4 +262,213 @@ internal class ParallelTaskTest {
             notNullValue()
         )
     }
+
+    @Test
+    fun `should limit concurrency`() {
+        val running = AtomicInteger(0)
+        val maxRunning = AtomicInteger(0)
+        val task = parallelTask {
+            name("parallel")
+            registry(io.github.booster.task.registry)
+            maxConcurrency(2)
+            task(
+                asyncTask<String, Int> {
+                    name("length")
+                    registry(io.github.booster.task.registry)
+                    processor {
+                        Mono.fromSupplier {
+                            maxRunning.accumulateAndGet(running.incrementAndGet()) { a, b -> maxOf(a, b) }
+                            Option.fromNullable(it.length)
+                        }.delayElement(Duration.ofMillis(10))
+                            .doOnNext { running.decrementAndGet() }
+                    }
+                }.build()
+            )
+        }.build()
+
+        StepVerifier.create(task.execute(listOf("a", "ab", "abc", "abcd", "abcde")))
+            .consumeNextWith {
+                assertThat(it.isRight(), `is`(true))
+                assertThat(it.getOrNull()?.orNull(), contains(1, 2, 3, 4, 5))
+            }.verifyComplete()
+        assertThat(maxRunning.get(), `is`(2))
+    }
+
+    @Test
+    fun `should emit in completion order`() {
+        val task = parallelTask {
+            name("parallel")
+            registry(io.github.booster.task.registry)
+            maxConcurrency(2)
+            ordered(false)
+            task(
+                asyncTask<String, Int> {
+                    name("length")
+                    registry(io.github.booster.task.registry)
+                    processor {
+                        Mono.just(Option.fromNullable(it.length))
+                            .delayElement(Duration.ofMillis(if (it.length == 1) 100L else 1L))
+                    }
+                }.build()
+            )
+        }.build()
+
+        StepVerifier.create(task.execute(listOf("a", "ab", "abc")))
+            .consumeNextWith {
+                assertThat(it.isRight(), `is`(true))
+                assertThat(it.getOrNull()?.orNull(), contains(2, 3, 1))
+            }.verifyComplete()
+    }
+
+    @Test
+    fun `should fail with invalid concurrency`() {
+        assertThrows(
+            IllegalArgumentException::class.java
+        ) {
+            parallelTask<String, Int> {
+                name("parallel")
+                maxConcurrency(0)
+                task(lengthTask)
+            }.build()
+        }
+    }
+
+    /**
+     * Responds with the length, fails on "error", and never responds to "slow" requests.
+     */
+    private fun quorumTask(cancelled: MutableList<String>) =
+        asyncTask<String, Int> {
+            name("length")
+            registry(io.github.booster.task.registry)
+            processor {
+                when {
+                    it == "error" -> Mono.error(IllegalArgumentException())
+                    it.startsWith("slow") -> Mono.never<Option<Int>>().doOnCancel { cancelled.add(it) }
+                    else -> Mono.just(Option.fromNullable(it.length))
+                }
+            }
+        }.build()
+
+    @Test
+    fun `should complete with first success`() {
+        val cancelled = Collections.synchronizedList(mutableListOf<String>())
+        val task = parallelTask {
+            name("parallel")
+            firstSuccess()
+            task(quorumTask(cancelled))
+        }.build()
+
+        StepVerifier.create(task.execute(listOf("slow1", "error", "slow2", "ab")))
+            .consumeNextWith {
+                assertThat(it.getOrNull()?.orNull(), contains(2))
+            }.verifyComplete()
+        assertThat(cancelled, containsInAnyOrder("slow1", "slow2"))
+    }
+
+    @Test
+    fun `should complete with first successes`() {
+        val cancelled = Collections.synchronizedList(mutableListOf<String>())
+        val task = parallelTask {
+            name("parallel")
+            firstSuccesses(2)
+            task(quorumTask(cancelled))
+        }.build()
+
+        StepVerifier.create(task.execute(listOf("slow1", "a", "error", "ab")))
+            .consumeNextWith {
+                assertThat(it.getOrNull()?.orNull(), contains(1, 2))
+            }.verifyComplete()
+        assertThat(cancelled, contains("slow1"))
+    }
+
+    @Test
+    fun `should fail without enough successes`() {
+        val task = parallelTask {
+            name("parallel")
+            completion(CompletionPolicy.firstSuccesses(2))
+            task(quorumTask(mutableListOf()))
+        }.build()
+
+        StepVerifier.create(task.execute(listOf("error", "a", "error")))
+            .consumeNextWith {
+                assertThat(it.swap().orNull(), instanceOf(QuorumNotReachedException::class.java))
+            }.verifyComplete()
+    }
+
+    @Test
+    fun `should complete with responses within timeout`() {
+        val cancelled = Collections.synchronizedList(mutableListOf<String>())
+        val responses = mutableListOf<List<Any?>>()
+        val task = parallelTask {
+            name("parallel")
+            allWithin(Duration.ofMillis(100))
+            aggregator { results ->
+                responses.add(results.map { result -> result.fold<Any?>({ it }, { it.orNull() }) })
+                Option.fromNullable(results.mapNotNull { result -> result.getOrNull()?.orNull() })
+            }
+            task(quorumTask(cancelled))
+        }.build()
+
+        StepVerifier.create(task.execute(listOf("slow1", "a", "ab")))
+            .consumeNextWith {
+                assertThat(it.getOrNull()?.orNull(), contains(1, 2))
+            }.verifyComplete()
+        assertThat(responses[0][0], instanceOf(TimeoutException::class.java))
+        assertThat(responses[0].drop(1), contains<Any?>(1, 2))
+        assertThat(cancelled, contains("slow1"))
+    }
+
+    @Test
+    fun `should complete empty input under every policy`() {
+        val policies = listOf(
+            CompletionPolicy.all(),
+            CompletionPolicy.firstSuccess(),
+            CompletionPolicy.allWithin(Duration.ofMillis(10))
+        )
+        policies.forEach { policy ->
+            val task = ParallelTask(
+                "parallel",
+                quorumTask(mutableListOf()),
+                Option.fromNullable(null),
+                Option.fromNullable(null),
+                Option.fromNullable(null),
+                io.github.booster.task.registry,
+                completionPolicy = policy
+            )
+
+            StepVerifier.create(task.execute(listOf()))
+                .consumeNextWith { assertThat(it.getOrNull()?.orNull(), hasSize(0)) }
+                .verifyComplete()
+        }
+    }
+
+    @Test
+    fun `should fail when no element completes within timeout`() {
+        val task = parallelTask {
+            name("parallel")
+            allWithin(Duration.ofMillis(50))
+            task(quorumTask(Collections.synchronizedList(mutableListOf())))
+        }.build()
+
+        StepVerifier.create(task.execute(listOf("slow1", "slow2")))
+            .consumeNextWith {
+                assertThat(it.swap().orNull(), instanceOf(TimeoutException::class.java))
+            }.verifyComplete()
+    }
+
+    @Test
+    fun `should fail with invalid completion policy`() {
+        assertThrows(IllegalArgumentException::class.java) {
+            parallelTask<String, Int> {
+                firstSuccesses(0)
+                task(lengthTask)
+            }.build()
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            parallelTask<String, Int> {
+                allWithin(Duration.ZERO)
+                task(lengthTask)
+            }.build()
+        }
+    }
 }
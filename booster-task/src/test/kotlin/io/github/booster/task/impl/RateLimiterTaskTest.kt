@@ -0,0 +1,68 @@
+package io.github.booster.task.impl
+
+import arrow.core.Option
+import io.github.booster.commons.rate.limiter.RateLimiterSetting
+import io.github.booster.commons.retry.RetrySetting
+import io.github.resilience4j.ratelimiter.RequestNotPermitted
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.instanceOf
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Test
+import reactor.test.StepVerifier
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class RateLimiterTaskTest {
+
+    private fun rateLimiterSetting(): RateLimiterSetting {
+        val setting = RateLimiterSetting()
+        setting.limitForPeriod = 2
+        setting.limitRefreshPeriodMillis = 60000
+        return setting
+    }
+
+    @Test
+    fun `should reject over rate`() {
+        val invocations = AtomicInteger(0)
+        val task = syncTask<String, Int> {
+            name("length")
+            rateLimiterOption(rateLimiterSetting().buildRateLimiter("length"))
+            processor {
+                invocations.incrementAndGet()
+                Option.fromNullable(it.length)
+            }
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.isRight(), equalTo(true)) }
+            .verifyComplete()
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.isRight(), equalTo(true)) }
+            .verifyComplete()
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.swap().orNull(), instanceOf(RequestNotPermitted::class.java)) }
+            .verifyComplete()
+        assertThat(invocations.get(), equalTo(2))
+    }
+
+    @Test
+    fun `should take a permit per attempt`() {
+        val retrySetting = RetrySetting()
+        retrySetting.maxAttempts = 3
+        retrySetting.initialBackOffMillis = 1
+        val invocations = AtomicInteger(0)
+        val task = syncTask<String, Int> {
+            name("length")
+            retryOption(retrySetting.buildRetry("length"))
+            rateLimiterOption(rateLimiterSetting().buildRateLimiter("length"))
+            processor {
+                invocations.incrementAndGet()
+                throw IllegalStateException("failed")
+            }
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.swap().orNull(), instanceOf(RequestNotPermitted::class.java)) }
+            .verifyComplete()
+        assertThat(invocations.get(), equalTo(2))
+    }
+}
@@ -1,6 +1,9 @@
 package io.github.booster.task.impl
 
+import arrow.core.Either
 import arrow.core.Option
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.Task
 import io.github.booster.task.circuitBreakerConfig
 import io.github.booster.task.retryConfig
 import io.github.booster.task.threadPool
@@ -10,8 +13,11 @@ import org.hamcrest.CoreMatchers.`is`
 import org.hamcrest.CoreMatchers.notNullValue
 import org.hamcrest.MatcherAssert.assertThat
 import org.junit.jupiter.api.Assertions.assertThrows
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.junit.jupiter.api.Test
 import reactor.test.StepVerifier
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 
 internal class SequentialTaskTest {
 
@@ -176,4 +182,105 @@ internal class SequentialTaskTest {
             notNullValue()
         )
     }
+
+    private fun queueWaits(meterRegistry: SimpleMeterRegistry, name: String): Long =
+        meterRegistry.find("task_queue_wait_time").tags("name", name).timer()?.count() ?: 0L
+
+    private fun threadTask(
+        name: String,
+        meterRegistry: SimpleMeterRegistry,
+        executor: ExecutorService,
+        retried: Boolean = false
+    ): Task<String, String> =
+        syncTask<String, String> {
+            name(name)
+            registry(MetricsRegistry(meterRegistry))
+            executorOption(Option.fromNullable(executor))
+            if (retried) {
+                retryOption(Option.fromNullable(retryConfig.get("test")))
+            }
+            processor { Option.fromNullable(it + "," + Thread.currentThread().name) }
+        }.build()
+
+    @Test
+    fun `should run tasks sharing a scheduler on the same thread`() {
+        val executor = Executors.newFixedThreadPool(4)
+        val meterRegistry = SimpleMeterRegistry()
+        val first = sequentialTask {
+            firstTask(threadTask("first", meterRegistry, executor))
+            secondTask(threadTask("second", meterRegistry, executor))
+        }.build()
+        val task = sequentialTask {
+            firstTask(first)
+            secondTask(threadTask("third", meterRegistry, executor))
+        }.build()
+
+        repeat(10) {
+            StepVerifier.create(task.execute("abc"))
+                .consumeNextWith {
+                    val threads = it.orNull()!!.orNull()!!.split(",").drop(1)
+                    assertThat(threads.size, equalTo(3))
+                    assertThat(threads.toSet().size, equalTo(1))
+                }
+                .verifyComplete()
+        }
+        assertThat(queueWaits(meterRegistry, "first"), equalTo(10L))
+        assertThat(queueWaits(meterRegistry, "second"), equalTo(0L))
+        assertThat(queueWaits(meterRegistry, "third"), equalTo(0L))
+        executor.shutdown()
+    }
+
+    @Test
+    fun `should not fuse tasks on different schedulers`() {
+        val executor = Executors.newFixedThreadPool(1)
+        val other = Executors.newFixedThreadPool(1)
+        val meterRegistry = SimpleMeterRegistry()
+        val task = sequentialTask {
+            firstTask(threadTask("first", meterRegistry, executor))
+            secondTask(threadTask("second", meterRegistry, other))
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.orNull()!!.orNull()!!.split(",").drop(1).toSet().size, equalTo(2)) }
+            .verifyComplete()
+        assertThat(queueWaits(meterRegistry, "second"), equalTo(1L))
+        executor.shutdown()
+        other.shutdown()
+    }
+
+    @Test
+    fun `should not fuse after retried task`() {
+        val executor = Executors.newFixedThreadPool(1)
+        val meterRegistry = SimpleMeterRegistry()
+        val task = sequentialTask {
+            firstTask(threadTask("first", meterRegistry, executor, true))
+            secondTask(threadTask("second", meterRegistry, executor))
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.isRight(), equalTo(true)) }
+            .verifyComplete()
+        assertThat(queueWaits(meterRegistry, "second"), equalTo(1L))
+        executor.shutdown()
+    }
+
+    @Test
+    fun `should pass failure to fused task`() {
+        val executor = Executors.newFixedThreadPool(1)
+        val task = sequentialTask<String, String, String> {
+            firstTask(
+                syncTask<String, String> {
+                    name("failing")
+                    executorOption(Option.fromNullable(executor))
+                    processor { throw IllegalStateException("failing") }
+                }.build()
+            )
+            secondTask(threadTask("second", SimpleMeterRegistry(), executor))
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat((it as Either.Left).value is IllegalStateException, equalTo(true)) }
+            .verifyComplete()
+        executor.shutdown()
+    }
 }
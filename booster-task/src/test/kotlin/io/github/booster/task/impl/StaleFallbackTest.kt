@@ -0,0 +1,195 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.FallbackContext
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException
+import io.github.resilience4j.circuitbreaker.CircuitBreaker
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.instanceOf
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class StaleFallbackTest {
+
+    private val meterRegistry = SimpleMeterRegistry()
+
+    private fun task(
+        calls: AtomicInteger,
+        failing: AtomicBoolean,
+        circuitBreaker: CircuitBreaker? = null,
+        suffix: String = "",
+        release: CountDownLatch? = null
+    ) = syncTask<String, String> {
+        name("fallback")
+        registry(MetricsRegistry(meterRegistry))
+        circuitBreakerOption(Option.fromNullable(circuitBreaker))
+        fallback(FallbackContext())
+        processor {
+            // every call after the first waits for release, if given.
+            if (calls.incrementAndGet() > 1) {
+                release?.await(5, TimeUnit.SECONDS)
+            }
+            if (failing.get()) {
+                throw IllegalStateException("failing")
+            }
+            if (it == "empty") Option.fromNullable(null) else Option.fromNullable(it + suffix)
+        }
+    }.build()
+
+    private fun count(result: String): Double =
+        this.meterRegistry.find("task_fallback_count").tags("name", "fallback", "result", result)
+            .counter()?.count() ?: 0.0
+
+    private fun await(condition: () -> Boolean) {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        while (!condition() && System.nanoTime() < deadline) {
+            Thread.sleep(10)
+        }
+    }
+
+    @Test
+    fun `should fail to create`() {
+        assertThrows(IllegalArgumentException::class.java) {
+            syncTask<String, String> {
+                name("fallback")
+                fallback(FallbackContext(0))
+                processor { Option.fromNullable(it) }
+            }.build()
+        }
+    }
+
+    @Test
+    fun `should serve stale response on failure`() {
+        val calls = AtomicInteger(0)
+        val failing = AtomicBoolean(true)
+        val task = this.task(calls, failing)
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.swap().orNull(), instanceOf(IllegalStateException::class.java)) }
+            .verifyComplete()
+        assertThat(this.count("missed"), equalTo(1.0))
+
+        failing.set(false)
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc")))
+            .verifyComplete()
+
+        failing.set(true)
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc")))
+            .verifyComplete()
+        assertThat(this.count("served"), equalTo(1.0))
+        assertThat(calls.get(), equalTo(3))
+    }
+
+    @Test
+    fun `should serve stale response while circuit is open`() {
+        val calls = AtomicInteger(0)
+        val circuitBreaker = CircuitBreaker.ofDefaults("fallback")
+        val task = this.task(calls, AtomicBoolean(false), circuitBreaker)
+
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc")))
+            .verifyComplete()
+
+        circuitBreaker.transitionToOpenState()
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc")))
+            .verifyComplete()
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc")))
+            .verifyComplete()
+        StepVerifier.create(task.execute("def"))
+            .consumeNextWith { assertThat(it.swap().orNull(), instanceOf(CallNotPermittedException::class.java)) }
+            .verifyComplete()
+
+        assertThat(calls.get(), equalTo(1))
+        assertThat(this.count("served"), equalTo(2.0))
+        assertThat(this.count("refreshed"), equalTo(0.0))
+    }
+
+    @Test
+    fun `should refresh stale response once circuit closes`() {
+        val calls = AtomicInteger(0)
+        val failing = AtomicBoolean(false)
+        val circuitBreaker = CircuitBreaker.ofDefaults("fallback")
+        val release = CountDownLatch(1)
+        val task = this.task(calls, failing, circuitBreaker, release = release)
+
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc")))
+            .verifyComplete()
+        circuitBreaker.transitionToOpenState()
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc")))
+            .verifyComplete()
+
+        // stale response is served without waiting for the refresh in the background.
+        circuitBreaker.transitionToClosedState()
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc")))
+            .verify(Duration.ofSeconds(1))
+        assertThat(this.count("refreshed"), equalTo(0.0))
+
+        release.countDown()
+        this.await { this.count("refreshed") == 1.0 }
+        assertThat(calls.get(), equalTo(2))
+        assertThat(this.count("refreshed"), equalTo(1.0))
+
+        // refreshed, executions go through again.
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc")))
+            .verifyComplete()
+        assertThat(calls.get(), equalTo(3))
+        assertThat(this.count("served"), equalTo(2.0))
+    }
+
+    @Test
+    fun `should keep stale response if refresh fails`() {
+        val calls = AtomicInteger(0)
+        val failing = AtomicBoolean(false)
+        val task = this.task(calls, failing)
+
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc")))
+            .verifyComplete()
+        failing.set(true)
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc")))
+            .verifyComplete()
+        StepVerifier.create(task.execute("abc"))
+            .expectNext(Either.Right(Option.fromNullable("abc")))
+            .verifyComplete()
+
+        this.await { calls.get() == 3 }
+        assertThat(calls.get(), equalTo(3))
+        assertThat(this.count("served"), equalTo(2.0))
+        assertThat(this.count("refreshed"), equalTo(0.0))
+    }
+
+    @Test
+    fun `should not keep empty response`() {
+        val calls = AtomicInteger(0)
+        val failing = AtomicBoolean(false)
+        val task = this.task(calls, failing)
+
+        StepVerifier.create(task.execute("empty"))
+            .expectNext(Either.Right(Option.fromNullable(null)))
+            .verifyComplete()
+        failing.set(true)
+        StepVerifier.create(task.execute("empty"))
+            .consumeNextWith { assertThat(it.swap().orNull(), instanceOf(IllegalStateException::class.java)) }
+            .verifyComplete()
+        assertThat(this.count("missed"), equalTo(1.0))
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import io.github.booster.task.lengthTask
+import io.github.booster.task.threadPool
+import org.hamcrest.CoreMatchers.instanceOf
+import org.hamcrest.CoreMatchers.`is`
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicLong
+
+internal class StreamingTaskTest {
+
+    @Test
+    fun `should process stream`() {
+        val task = streamingTask {
+            name("streaming")
+            registry(io.github.booster.task.registry)
+            executorOption(threadPool)
+            task(lengthTask)
+        }.build()
+
+        StepVerifier.create(task.executeValues(Flux.just("a", "ab", "abc")))
+            .expectNext(Either.Right(Option.fromNullable(1)))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .expectNext(Either.Right(Option.fromNullable(3)))
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should keep going after element error`() {
+        val task = streamingTask {
+            task(lengthTask)
+        }.build()
+
+        StepVerifier.create(
+            task.execute(
+                Flux.just(
+                    Either.Left(IllegalArgumentException()),
+                    Either.Right(Option.fromNullable("abc"))
+                )
+            )
+        ).consumeNextWith {
+            assertThat(it.isLeft(), `is`(true))
+            assertThat(it.swap().getOrNull(), instanceOf(IllegalArgumentException::class.java))
+        }.expectNext(Either.Right(Option.fromNullable(3)))
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should apply backpressure`() {
+        val requested = AtomicLong(0)
+        val task = streamingTask {
+            maxConcurrency(2)
+            task(lengthTask)
+        }.build()
+
+        StepVerifier.create(
+            task.executeValues(
+                Flux.range(0, 1000)
+                    .map { "a".repeat(it) }
+                    .doOnRequest { requested.addAndGet(it) }
+            ).take(3)
+        ).expectNextCount(3)
+            .verifyComplete()
+        assertThat(requested.get() < 1000, `is`(true))
+    }
+
+    @Test
+    fun `should emit in completion order`() {
+        val task = streamingTask {
+            maxConcurrency(2)
+            ordered(false)
+            task(
+                asyncTask<String, Int> {
+                    name("length")
+                    processor {
+                        Mono.just(Option.fromNullable(it.length))
+                            .delayElement(Duration.ofMillis(if (it.length == 1) 100L else 1L))
+                    }
+                }.build()
+            )
+        }.build()
+
+        StepVerifier.create(task.executeValues(Flux.just("a", "ab", "abc")))
+            .expectNext(Either.Right(Option.fromNullable(2)))
+            .expectNext(Either.Right(Option.fromNullable(3)))
+            .expectNext(Either.Right(Option.fromNullable(1)))
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should fail create task`() {
+        assertThrows(IllegalArgumentException::class.java) {
+            streamingTask<String, Int> {
+                name("streaming")
+            }.build()
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            streamingTask {
+                maxConcurrency(0)
+                task(lengthTask)
+            }.build()
+        }
+    }
+}
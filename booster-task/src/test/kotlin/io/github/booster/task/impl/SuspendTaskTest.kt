@@ -0,0 +1,206 @@
+package io.github.booster.task.impl
+
+import arrow.core.Either
+import arrow.core.Option
+import io.github.booster.commons.circuit.breaker.CircuitBreakerSetting
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.commons.retry.RetrySetting
+import io.github.booster.task.FAILURE
+import io.github.booster.task.NAME
+import io.github.booster.task.STATUS
+import io.github.booster.task.SUCCESS
+import io.github.booster.task.TASK_EXECUTION_RESULT_COUNT
+import io.github.booster.task.TASK_EXECUTION_TIME
+import io.github.booster.task.lengthTask
+import io.github.booster.task.threadPool
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.instanceOf
+import org.hamcrest.CoreMatchers.startsWith
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import reactor.test.StepVerifier
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class SuspendTaskTest {
+
+    private val task = suspendTask<String, Int> {
+        name("length")
+        defaultRequestHandler { Option.fromNullable(0) }
+        processor {
+            delay(1)
+            Option.fromNullable(it.length)
+        }
+    }.build()
+
+    @Test
+    fun `should fail build`() {
+        Assertions.assertThrows(IllegalArgumentException::class.java) {
+            suspendTask<String, Int> {
+                processor { Option.fromNullable(it.length) }
+            }.build()
+        }
+        Assertions.assertThrows(IllegalArgumentException::class.java) {
+            suspendTask<String, Int> {
+                name("length")
+            }.build()
+        }
+    }
+
+    @Test
+    fun `should execute suspending`() {
+        runBlocking {
+            assertThat(task.executeSuspending("abc").getOrNull()?.orNull(), equalTo(3))
+            assertThat(task.executeSuspending(Either.Right(Option.fromNullable(null))).getOrNull()?.orNull(), equalTo(0))
+        }
+    }
+
+    @Test
+    fun `should handle exceptions`() {
+        val handled = suspendTask<String, Int> {
+            name("length")
+            exceptionHandler { Option.fromNullable(-1) }
+            processor { Option.fromNullable(it.length) }
+        }.build()
+
+        runBlocking {
+            assertThat(
+                handled.executeSuspending(Either.Left(IllegalArgumentException())).getOrNull()?.orNull(),
+                equalTo(-1)
+            )
+            assertThat(
+                task.executeSuspending(Either.Left(IllegalArgumentException())).swap().orNull(),
+                instanceOf(IllegalArgumentException::class.java)
+            )
+            assertThat(
+                handled.executeSuspending(Either.Right(Option.fromNullable(null))).getOrNull()?.isEmpty(),
+                equalTo(true)
+            )
+        }
+    }
+
+    @Test
+    fun `should retry`() {
+        val retrySetting = RetrySetting()
+        retrySetting.maxAttempts = 3
+        retrySetting.initialBackOffMillis = 1
+        val invocations = AtomicInteger(0)
+        val failing = suspendTask<String, Int> {
+            name("length")
+            retryOption(retrySetting.buildRetry("length"))
+            processor {
+                invocations.incrementAndGet()
+                throw IllegalStateException("failed")
+            }
+        }.build()
+        val recovering = suspendTask<String, Int> {
+            name("length")
+            retryOption(retrySetting.buildRetry("length"))
+            processor {
+                if (invocations.incrementAndGet() < 5) {
+                    throw IllegalStateException("failed")
+                }
+                Option.fromNullable(it.length)
+            }
+        }.build()
+
+        runBlocking {
+            assertThat(
+                failing.executeSuspending("abc").swap().orNull(),
+                instanceOf(IllegalStateException::class.java)
+            )
+            assertThat(invocations.get(), equalTo(3))
+            assertThat(recovering.executeSuspending("abc").getOrNull()?.orNull(), equalTo(3))
+            assertThat(invocations.get(), equalTo(5))
+        }
+    }
+
+    @Test
+    fun `should not run when circuit breaker is open`() {
+        val circuitBreakerOption = Option.fromNullable(CircuitBreakerSetting().buildCircuitBreaker("length").orNull)
+        val invocations = AtomicInteger(0)
+        val open = suspendTask<String, Int> {
+            name("length")
+            circuitBreakerOption(circuitBreakerOption)
+            processor {
+                invocations.incrementAndGet()
+                Option.fromNullable(it.length)
+            }
+        }.build()
+
+        runBlocking {
+            assertThat(open.executeSuspending("abc").getOrNull()?.orNull(), equalTo(3))
+            circuitBreakerOption.orNull()!!.transitionToOpenState()
+            assertThat(
+                open.executeSuspending("abc").swap().orNull(),
+                instanceOf(CallNotPermittedException::class.java)
+            )
+        }
+        assertThat(invocations.get(), equalTo(1))
+    }
+
+    @Test
+    fun `should run on executor`() {
+        val threaded = suspendTask<String, String> {
+            name("thread")
+            executorOption(threadPool)
+            processor { Option.fromNullable(Thread.currentThread().name) }
+        }.build()
+
+        runBlocking {
+            assertThat(threaded.executeSuspending("abc").getOrNull()?.orNull(), startsWith("pool-"))
+        }
+    }
+
+    @Test
+    fun `should execute with mono`() {
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.getOrNull()?.orNull(), equalTo(3)) }
+            .verifyComplete()
+        StepVerifier.create(lengthTask.execute("abc").flatMap { task.execute(Either.Right(Option.fromNullable("abc"))) })
+            .consumeNextWith { assertThat(it.getOrNull()?.orNull(), equalTo(3)) }
+            .verifyComplete()
+    }
+
+    @Test
+    fun `should execute mono tasks suspending`() {
+        runBlocking {
+            assertThat(lengthTask.executeSuspending("abc").getOrNull()?.orNull(), equalTo(3))
+            assertThat(lengthTask.executeSuspending(Either.Right(Option.fromNullable(null))).getOrNull()?.orNull(), equalTo(0))
+        }
+    }
+
+    @Test
+    fun `should record metrics`() {
+        val meterRegistry = SimpleMeterRegistry()
+        val metered = suspendTask<String, Int> {
+            name("metered")
+            registry(MetricsRegistry(meterRegistry))
+            processor {
+                if (it.isEmpty()) {
+                    throw IllegalStateException("empty")
+                }
+                Option.fromNullable(it.length)
+            }
+        }.build()
+
+        runBlocking {
+            metered.executeSuspending("abc")
+            metered.executeSuspending("")
+        }
+
+        assertThat(
+            meterRegistry.find(TASK_EXECUTION_RESULT_COUNT).tags(NAME, "metered", STATUS, SUCCESS).counter()?.count(),
+            equalTo(1.0)
+        )
+        assertThat(
+            meterRegistry.find(TASK_EXECUTION_RESULT_COUNT).tags(NAME, "metered", STATUS, FAILURE).counter()?.count(),
+            equalTo(1.0)
+        )
+        assertThat(meterRegistry.find(TASK_EXECUTION_TIME).tags(NAME, "metered").timer()?.count(), equalTo(2L))
+    }
+}
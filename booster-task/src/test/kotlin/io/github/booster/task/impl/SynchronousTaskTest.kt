@@ -2,6 +2,11 @@ package io.github.booster.task.impl
 
 import arrow.core.Either
 import arrow.core.Option
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.ExecutionType
+import io.github.booster.task.NAME
+import io.github.booster.task.TASK_QUEUE_WAIT_TIME
+import io.github.booster.task.TASK_RUN_TIME
 import io.github.booster.task.TaskExecutionContext
 import io.github.booster.task.circuitBreakerConfig
 import io.github.booster.task.defaultLengthFuncObj
@@ -12,9 +17,11 @@ import io.github.booster.task.registry
 import io.github.booster.task.retryConfig
 import io.github.booster.task.syncLengthFunc
 import io.github.booster.task.threadPool
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.hamcrest.CoreMatchers.equalTo
 import org.hamcrest.CoreMatchers.instanceOf
 import org.hamcrest.CoreMatchers.notNullValue
+import org.hamcrest.CoreMatchers.nullValue
 import org.hamcrest.MatcherAssert.assertThat
 import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.Test
@@ -191,6 +198,46 @@ internal class SynchronousTaskTest {
             }.verifyComplete()
     }
 
+    @Test
+    fun `should record queue wait and run time`() {
+        val meterRegistry = SimpleMeterRegistry()
+        val publishOn = syncTask<String, Int> {
+            name("publish")
+            registry(MetricsRegistry(meterRegistry))
+            executorOption(threadPool)
+            processor { Option.fromNullable(it.length) }
+        }.build()
+        val subscribeOn = SynchronousTask<String, Int>(
+            "subscribe",
+            RequestHandlers(Option.fromNullable(null), Option.fromNullable(null)),
+            TaskExecutionContext(
+                threadPool,
+                Option.fromNullable(null),
+                Option.fromNullable(null),
+                MetricsRegistry(meterRegistry),
+                ExecutionType.SUBSCRIBE_ON
+            )
+        ) { Option.fromNullable(it.length) }
+        val callingThread = syncTask<String, Int> {
+            name("calling")
+            registry(MetricsRegistry(meterRegistry))
+            processor { Option.fromNullable(it.length) }
+        }.build()
+
+        listOf(publishOn, subscribeOn, callingThread).forEach { task ->
+            StepVerifier.create(task.execute("abc"))
+                .consumeNextWith { assertThat(it.getOrNull()?.orNull(), equalTo(3)) }
+                .verifyComplete()
+        }
+
+        listOf("publish", "subscribe").forEach {
+            assertThat(meterRegistry.get(TASK_QUEUE_WAIT_TIME).tag(NAME, it).timer().count(), equalTo(1L))
+            assertThat(meterRegistry.get(TASK_RUN_TIME).tag(NAME, it).timer().count(), equalTo(1L))
+        }
+        assertThat(meterRegistry.find(TASK_QUEUE_WAIT_TIME).tag(NAME, "calling").timer(), nullValue())
+        assertThat(meterRegistry.get(TASK_RUN_TIME).tag(NAME, "calling").timer().count(), equalTo(1L))
+    }
+
     @Test
     fun `should create simple sync task`() {
         val task = syncTask {
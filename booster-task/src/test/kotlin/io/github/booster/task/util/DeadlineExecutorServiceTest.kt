@@ -0,0 +1,191 @@
+package io.github.booster.task.util
+
+import arrow.core.Option
+import io.github.booster.commons.deadline.DeadlineExceededException
+import io.github.booster.commons.metrics.MetricsRegistry
+import io.github.booster.task.EXECUTOR_EXPIRED_COUNT
+import io.github.booster.task.EXECUTOR_QUEUE_WAIT_TIME
+import io.github.booster.task.EXECUTOR_REJECTED_COUNT
+import io.github.booster.task.NAME
+import io.github.booster.task.TASK_QUEUE_WAIT_TIME
+import io.github.booster.task.impl.syncTask
+import io.github.booster.task.withDeadline
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.instanceOf
+import org.hamcrest.CoreMatchers.startsWith
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+internal class DeadlineExecutorServiceTest {
+
+    private val meterRegistry = SimpleMeterRegistry()
+
+    private fun executor(queueSize: Int = 10) =
+        DeadlineExecutorService(
+            "edf",
+            1,
+            queueSize,
+            Duration.ofSeconds(1),
+            MetricsRegistry(this.meterRegistry)
+        ) { Thread(it, "edf-thread") }
+
+    /**
+     * Occupies the single thread until the latch is released.
+     */
+    private fun block(executor: DeadlineExecutorService): CountDownLatch {
+        val started = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        executor.execute {
+            started.countDown()
+            release.await()
+        }
+        started.await()
+        return release
+    }
+
+    private fun releaseLater(release: CountDownLatch) {
+        Thread {
+            Thread.sleep(20)
+            release.countDown()
+        }.start()
+    }
+
+    @Test
+    fun `should fail to create`() {
+        assertThrows(IllegalArgumentException::class.java) {
+            DeadlineExecutorService(" ", 1, 1, Duration.ZERO)
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            DeadlineExecutorService("edf", 0, 1, Duration.ZERO)
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            DeadlineExecutorService("edf", 1, 0, Duration.ZERO)
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            DeadlineExecutorService("edf", 1, 1, Duration.ofMillis(-1))
+        }
+    }
+
+    @Test
+    fun `should run earliest deadline first`() {
+        val executor = this.executor()
+        val release = this.block(executor)
+        val order = Collections.synchronizedList(mutableListOf<Int>())
+        val done = CountDownLatch(4)
+        val now = System.nanoTime()
+
+        listOf(3, 1, 4, 2).forEach { position ->
+            executor.execute(
+                {
+                    order.add(position)
+                    done.countDown()
+                },
+                now + TimeUnit.SECONDS.toNanos(position.toLong()),
+                { done.countDown() }
+            )
+        }
+        release.countDown()
+
+        assertThat(done.await(1, TimeUnit.SECONDS), equalTo(true))
+        assertThat(order, equalTo(listOf(1, 2, 3, 4)))
+        executor.shutdown()
+    }
+
+    @Test
+    fun `should drop expired work`() {
+        val executor = this.executor()
+        val release = this.block(executor)
+        val ran = CountDownLatch(1)
+        val expired = CountDownLatch(1)
+        val queued = CountDownLatch(1)
+
+        executor.execute({ ran.countDown() }, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(5)) {
+            expired.countDown()
+        }
+        executor.execute { queued.countDown() }
+        Thread.sleep(20)
+        release.countDown()
+
+        assertThat(expired.await(1, TimeUnit.SECONDS), equalTo(true))
+        assertThat(queued.await(1, TimeUnit.SECONDS), equalTo(true))
+        assertThat(ran.count, equalTo(1L))
+        assertThat(this.meterRegistry.find(EXECUTOR_EXPIRED_COUNT).tags(NAME, "edf").counter()?.count(), equalTo(1.0))
+        assertThat(this.meterRegistry.find(EXECUTOR_QUEUE_WAIT_TIME).tags(NAME, "edf").timer()?.count(), equalTo(3L))
+        executor.shutdown()
+    }
+
+    @Test
+    fun `should reject when queue is full`() {
+        val executor = this.executor(1)
+        val release = this.block(executor)
+        executor.execute { }
+
+        assertThrows(RejectedExecutionException::class.java) { executor.execute { } }
+        StepVerifier.create(executor.emitOn("abc"))
+            .expectError(RejectedExecutionException::class.java)
+            .verify()
+        assertThat(this.meterRegistry.find(EXECUTOR_REJECTED_COUNT).tags(NAME, "edf").counter()?.count(), equalTo(2.0))
+        release.countDown()
+        executor.shutdown()
+    }
+
+    @Test
+    fun `should cancel queued work`() {
+        val executor = this.executor()
+        val release = this.block(executor)
+        val ran = CountDownLatch(1)
+        val handle = executor.execute({ ran.countDown() }, System.nanoTime() + TimeUnit.SECONDS.toNanos(1)) { }
+
+        assertThat(executor.cancel(handle), equalTo(true))
+        release.countDown()
+        assertThat(ran.await(50, TimeUnit.MILLISECONDS), equalTo(false))
+        executor.shutdown()
+    }
+
+    @Test
+    fun `should emit on pool thread`() {
+        val executor = this.executor()
+        StepVerifier.create(executor.emitOn("abc").map { Thread.currentThread().name })
+            .expectNext("edf-thread")
+            .verifyComplete()
+
+        val release = this.block(executor)
+        this.releaseLater(release)
+        StepVerifier.create(executor.emitOn("abc").withDeadline(Duration.ofMillis(5)))
+            .expectError(DeadlineExceededException::class.java)
+            .verify(Duration.ofSeconds(1))
+        executor.shutdown()
+    }
+
+    @Test
+    fun `should run tasks by deadline`() {
+        val executor = this.executor()
+        val task = syncTask<String, String> {
+            name("edf")
+            registry(MetricsRegistry(meterRegistry))
+            executorOption(Option.fromNullable(executor))
+            processor { Option.fromNullable(Thread.currentThread().name) }
+        }.build()
+
+        StepVerifier.create(task.execute("abc"))
+            .consumeNextWith { assertThat(it.getOrNull()?.orNull(), startsWith("edf-thread")) }
+            .verifyComplete()
+        assertThat(this.meterRegistry.find(TASK_QUEUE_WAIT_TIME).tags(NAME, "edf").timer()?.count(), equalTo(1L))
+
+        val release = this.block(executor)
+        this.releaseLater(release)
+        StepVerifier.create(task.execute("abc").withDeadline(Duration.ofMillis(5)))
+            .consumeNextWith { assertThat(it.swap().orNull(), instanceOf(DeadlineExceededException::class.java)) }
+            .expectComplete()
+            .verify(Duration.ofSeconds(1))
+        executor.shutdown()
+    }
+}
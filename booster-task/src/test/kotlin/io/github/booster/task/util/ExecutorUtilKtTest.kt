@@ -0,0 +1,53 @@
+package io.github.booster.task.util
+
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.`is`
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class ExecutorUtilKtTest {
+
+    @Test
+    fun `should create virtual thread executor if available`() {
+        val executor = virtualThreadExecutor("virtual")
+        val available = Runtime.version().feature() >= 21
+        assertThat(executor.isDefined(), equalTo(available))
+        executor.map {
+            assertThat(it.submit<String> { Thread.currentThread().name }.get(), equalTo("virtual0"))
+            it.shutdown()
+        }
+    }
+
+    @Test
+    fun `should limit concurrency`() {
+        val running = AtomicInteger(0)
+        val maxRunning = AtomicInteger(0)
+        val executor = BoundedExecutorService(Executors.newCachedThreadPool(), 2)
+
+        val futures = (1..10).map {
+            executor.submit(Runnable {
+                maxRunning.accumulateAndGet(running.incrementAndGet()) { a, b -> maxOf(a, b) }
+                Thread.sleep(20)
+                running.decrementAndGet()
+            })
+        }
+        futures.forEach { it.get() }
+        assertThat(maxRunning.get(), equalTo(2))
+
+        executor.shutdown()
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS), `is`(true))
+        assertThat(executor.isShutdown, `is`(true))
+        assertThat(executor.isTerminated, `is`(true))
+    }
+
+    @Test
+    fun `should fail with invalid concurrency`() {
+        assertThrows(IllegalArgumentException::class.java) {
+            BoundedExecutorService(Executors.newCachedThreadPool(), 0)
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.booster.task.util
+
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.`is`
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import java.time.Duration
+
+internal class LatencyWindowTest {
+
+    @Test
+    fun `should be empty without enough samples`() {
+        val window = LatencyWindow(100, 0.95)
+        (1..10).forEach { window.record(it.toLong()) }
+        assertThat(window.get().isDefined(), `is`(false))
+    }
+
+    @Test
+    fun `should compute percentile`() {
+        val window = LatencyWindow(100, 0.95)
+        (1..100).forEach { window.record(Duration.ofMillis(it.toLong()).toNanos()) }
+        assertThat(window.get().orNull(), equalTo(Duration.ofMillis(95)))
+    }
+
+    @Test
+    fun `should only keep recent samples`() {
+        val window = LatencyWindow(100, 0.5)
+        (1..100).forEach { window.record(Duration.ofMillis(1000).toNanos()) }
+        (1..100).forEach { window.record(Duration.ofMillis(it.toLong()).toNanos()) }
+        assertThat(window.get().orNull(), equalTo(Duration.ofMillis(50)))
+    }
+
+    @Test
+    fun `should fail create window`() {
+        assertThrows(IllegalArgumentException::class.java) { LatencyWindow(0, 0.5) }
+        assertThrows(IllegalArgumentException::class.java) { LatencyWindow(10, 0.0) }
+        assertThrows(IllegalArgumentException::class.java) { LatencyWindow(10, 1.5) }
+    }
+}
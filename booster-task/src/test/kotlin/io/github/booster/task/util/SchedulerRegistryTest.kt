@@ -0,0 +1,88 @@
+package io.github.booster.task.util
+
+import arrow.core.Option
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.not
+import org.hamcrest.CoreMatchers.sameInstance
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Mono
+import reactor.core.scheduler.Schedulers
+import java.util.concurrent.Executors
+
+internal class SchedulerRegistryTest {
+
+    @Test
+    fun `should reuse scheduler per thread pool`() {
+        val registry = SchedulerRegistry()
+        val executor = Executors.newFixedThreadPool(1)
+        val anotherExecutor = Executors.newFixedThreadPool(1)
+
+        val scheduler = registry.get(executor)
+        assertThat(registry.get(executor), sameInstance(scheduler))
+        assertThat(registry.register("pool", executor), sameInstance(scheduler))
+        assertThat(registry.tryGet("pool").orNull(), sameInstance(scheduler))
+        assertThat(registry.get(anotherExecutor), not(sameInstance(scheduler)))
+
+        registry.dispose()
+        assertThat(executor.isShutdown, equalTo(true))
+        assertThat(anotherExecutor.isShutdown, equalTo(true))
+        assertThat(registry.tryGet("pool").isEmpty(), equalTo(true))
+    }
+
+    @Test
+    fun `should share scheduler between tasks`() {
+        val executor = Option.fromNullable(Executors.newFixedThreadPool(1))
+        assertThat(toScheduler(executor).orNull(), sameInstance(toScheduler(executor).orNull()))
+        executor.map { it.shutdown() }
+    }
+
+    @Test
+    fun `should provide built-in schedulers`() {
+        val registry = SchedulerRegistry()
+        assertThat(registry.tryGet(SchedulerRegistry.PARALLEL).orNull(), sameInstance(Schedulers.parallel()))
+        assertThat(
+            registry.tryGet(SchedulerRegistry.BOUNDED_ELASTIC).orNull(),
+            sameInstance(Schedulers.boundedElastic())
+        )
+        assertThat(registry.tryGet("abc").isEmpty(), equalTo(true))
+
+        val executor = Executors.newFixedThreadPool(1)
+        assertThrows(IllegalArgumentException::class.java) { registry.register(SchedulerRegistry.PARALLEL, executor) }
+        assertThrows(IllegalArgumentException::class.java) { registry.register(" ", executor) }
+        registry.dispose()
+        assertThat(Schedulers.parallel().isDisposed, equalTo(false))
+        executor.shutdown()
+    }
+
+    @Test
+    fun `should run on registered thread pool`() {
+        val registry = SchedulerRegistry()
+        val executor = Executors.newSingleThreadExecutor { Thread(it, "registered") }
+        registry.register("registered", executor)
+
+        val thread = Mono.fromCallable { Thread.currentThread().name }
+            .subscribeOn(registry.tryGet("registered").orNull()!!)
+            .block()
+        assertThat(thread, equalTo("registered"))
+        registry.dispose()
+    }
+
+    @Test
+    fun `should drop shut down thread pools`() {
+        val registry = SchedulerRegistry()
+        val executor = Executors.newFixedThreadPool(1)
+        registry.register("pool", executor)
+        executor.shutdown()
+
+        val anotherExecutor = Executors.newFixedThreadPool(1)
+        registry.get(anotherExecutor)
+        assertThat(registry.tryGet("pool").isEmpty(), equalTo(true))
+
+        registry.remove(anotherExecutor)
+        registry.dispose()
+        assertThat(anotherExecutor.isShutdown, equalTo(false))
+        anotherExecutor.shutdown()
+    }
+}